@@ -0,0 +1,658 @@
+package com.bankingapp.accountimport;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.dto.AccountImportJobDTO;
+import com.bankingapp.dto.AccountImportResultDTO;
+import com.bankingapp.entity.AccountBalanceBucket;
+import com.bankingapp.entity.AccountImportCheckpoint;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
+import com.bankingapp.repository.AccountImportCheckpointRepository;
+import com.bankingapp.search.UserSearchIndex;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import com.bankingapp.statistics.UserStatisticsCounters;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of users, accounts and opening balances from a CSV file, for customer migrations.
+ *
+ * The file is cut into chunks of whole lines; up to twice the parallelism chunks are memory mapped
+ * and parsed ahead on the import pool while the calling thread writes them in file order, one
+ * database transaction per chunk with JDBC batch inserts. The checkpoint row is updated in the same
+ * transaction, so an interrupted import restarts after the last committed chunk without inserting
+ * any row twice. Rejected rows are appended to {file}.errors.csv before their chunk commits; a chunk
+ * that fails to commit may list its rejected rows again on restart.
+ *
+ * Each row holds one account. Rows sharing a username belong to one user; a username or email that
+ * already exists is reused only when both match the same user. Opening balances are posted as
+ * completed deposits, with their daily rollup row and balance history, so the balance equals the net
+ * of the account's transactions from the start.
+ *
+ * Imports submitted through submit run one at a time on the import job pool; the checkpoint ID is
+ * the job handle.
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class AccountImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountImporter.class);
+
+    static final String OPENING_BALANCE_PREFIX = "OPENING-";
+    private static final String OPENING_BALANCE_DESCRIPTION = "Opening balance (migrated)";
+
+    // Not a BCrypt hash, so it never matches; imported users without a hash have to reset their password
+    private static final String UNUSABLE_PASSWORD_HASH = "!imported";
+
+    private static final String ERROR_FILE_SUFFIX = ".errors.csv";
+    private static final int IN_LIST_SIZE = 1000;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountImportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    @Qualifier("importExecutor")
+    private Executor importExecutor;
+
+    @Autowired
+    @Qualifier("importJobExecutor")
+    private Executor importJobExecutor;
+
+    @Autowired
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @Autowired
+    private UserStatisticsCounters userStatisticsCounters;
+
+    @Value("${app.account-import.directory:data/import}")
+    private String directory;
+
+    @Value("${app.account-import.chunk-size-bytes:4194304}")
+    private long chunkSize;
+
+    @Value("${app.account-import.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.account-import.batch-size:1000}")
+    private int batchSize;
+
+    // Imports submitted on this node by checkpoint ID, kept after they finish so a failure can be reported
+    private final Map<Long, CompletableFuture<AccountImportResultDTO>> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Resolve an import file name inside the import directory
+     */
+    public Path resolve(String fileName) {
+        Path importDirectory = Paths.get(directory).toAbsolutePath().normalize();
+        Path file = importDirectory.resolve(fileName).normalize();
+        if (!file.startsWith(importDirectory) || file.equals(importDirectory)) {
+            throw new IllegalArgumentException("Import file must be inside the import directory: " + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+
+    /**
+     * Queue an import of file, unless an import of the same file is already queued or running on this node
+     * @return the import job; its ID is the checkpoint ID
+     */
+    public AccountImportJobDTO submit(Path file) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import file " + file, e);
+        }
+        AccountImportCheckpoint checkpoint = findOrCreateCheckpoint(source(file, size));
+        jobs.compute(checkpoint.getId(), (id, job) -> job != null && !job.isDone() ? job
+            : CompletableFuture.supplyAsync(() -> importFile(file), importJobExecutor)
+                .whenComplete((result, failure) -> {
+                    if (failure != null) {
+                        logger.error("Account import {} failed; submit it again to resume", file, failure);
+                    }
+                }));
+        return toJob(checkpoint);
+    }
+
+    /**
+     * Get the state of an import job by checkpoint ID
+     */
+    public Optional<AccountImportJobDTO> getJob(Long id) {
+        return checkpointRepository.findById(id).map(this::toJob);
+    }
+
+    /**
+     * Import file, continuing after the last committed chunk of an earlier run of the same file
+     */
+    public AccountImportResultDTO importFile(Path file) {
+        long startedAt = System.currentTimeMillis();
+        Path errorFile = file.resolveSibling(file.getFileName() + ERROR_FILE_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            String source = source(file, size);
+            AccountImportCheckpoint checkpoint = findOrCreateCheckpoint(source);
+            long resumedFrom = checkpoint.getNextOffset();
+            if (checkpoint.getCompletedAt() != null) {
+                logger.info("Account import {} already completed at {}", source, checkpoint.getCompletedAt());
+                return result(checkpoint, resumedFrom, 0, startedAt, errorFile);
+            }
+            logger.info("Starting account import {} at offset {} with {} parsers", source, resumedFrom, parallelism);
+
+            boolean newErrorFile = !Files.exists(errorFile) || Files.size(errorFile) == 0;
+            long processedLines = 0;
+            Deque<CompletableFuture<ImportChunk>> parsing = new ArrayDeque<>();
+            try (BufferedWriter errors = Files.newBufferedWriter(errorFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (newErrorFile) {
+                    errors.write("line,reason,row");
+                    errors.newLine();
+                }
+
+                long nextStart = resumedFrom;
+                while (nextStart < size || !parsing.isEmpty()) {
+                    while (nextStart < size && parsing.size() < parallelism * 2) {
+                        long start = nextStart;
+                        long end = ImportChunk.chunkEnd(channel, start, chunkSize);
+                        parsing.add(CompletableFuture.supplyAsync(() -> parse(channel, start, end), importExecutor));
+                        nextStart = end;
+                    }
+                    ImportChunk chunk = await(parsing.poll());
+                    checkpoint = importChunk(chunk, checkpoint, size, errors);
+                    processedLines += chunk.lineCount;
+                    evictQueryResults();
+                    logger.debug("Account import {} progress: offset {} of {}, {} accounts",
+                                 source, chunk.endOffset, size, checkpoint.getImportedAccounts());
+                }
+            } finally {
+                parsing.forEach(future -> future.cancel(true));
+            }
+
+            AccountImportResultDTO result = result(checkpoint, resumedFrom, processedLines, startedAt, errorFile);
+            logger.info("Account import {} completed: {} users, {} accounts, {} rejected rows, {} lines/s",
+                        source, result.getImportedUsers(), result.getImportedAccounts(),
+                        result.getRejectedRows(), result.getLinesPerSecond());
+            reloadInMemoryViews();
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to import accounts from " + file, e);
+        }
+    }
+
+    private AccountImportCheckpoint findOrCreateCheckpoint(String source) {
+        return checkpointRepository.findBySource(source)
+            .orElseGet(() -> checkpointRepository.save(new AccountImportCheckpoint(source)));
+    }
+
+    // The checkpoint source: a file changed since an earlier run is a new import
+    private static String source(Path file, long size) {
+        return file.getFileName() + ":" + size;
+    }
+
+    private static ImportChunk parse(FileChannel channel, long start, long end) {
+        try {
+            return ImportChunk.parse(channel, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ImportChunk await(CompletableFuture<ImportChunk> parsed) {
+        try {
+            return parsed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // ===================== Chunk Writes =====================
+
+    /**
+     * Write the rows of one chunk and advance the checkpoint past it in a single transaction
+     * @return the updated checkpoint
+     */
+    private AccountImportCheckpoint importChunk(ImportChunk chunk, AccountImportCheckpoint checkpoint,
+                                                long fileSize, Writer errors) {
+        long firstLine = checkpoint.getNextLine();
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<ImportChunk.RejectedRow> rejected = new ArrayList<>(chunk.rejectedRows);
+            List<ImportChunk.Row> rows = dedupe(chunk.rows, firstLine, rejected::add);
+            rows = rejectExisting(rows, rejected::add);
+
+            Map<String, Long> userIds = findUserIds(usernames(rows));
+            List<ImportChunk.Row> newUsers = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (ImportChunk.Row row : rows) {
+                if (!userIds.containsKey(key(row.username)) && seen.add(key(row.username))) {
+                    newUsers.add(row);
+                }
+            }
+            insertUsers(newUsers);
+            userIds.putAll(findUserIds(usernames(newUsers)));
+
+            insertAccounts(rows, userIds);
+            insertOpeningBalances(rows);
+
+            writeErrors(errors, firstLine, rejected);
+
+            checkpoint.setNextOffset(chunk.endOffset);
+            checkpoint.setNextLine(firstLine + chunk.lineCount);
+            checkpoint.setImportedUsers(checkpoint.getImportedUsers() + newUsers.size());
+            checkpoint.setImportedAccounts(checkpoint.getImportedAccounts() + rows.size());
+            checkpoint.setRejectedRows(checkpoint.getRejectedRows() + rejected.size());
+            if (chunk.endOffset >= fileSize) {
+                checkpoint.setCompletedAt(LocalDateTime.now());
+            }
+            return checkpointRepository.save(checkpoint);
+        });
+    }
+
+    /**
+     * Drop rows repeating an account number, and rows whose username or email is listed with
+     * a different email or username earlier in the chunk
+     */
+    private static List<ImportChunk.Row> dedupe(List<ImportChunk.Row> rows, long firstLine,
+                                                Consumer<ImportChunk.RejectedRow> rejected) {
+        List<ImportChunk.Row> kept = new ArrayList<>(rows.size());
+        Set<String> accountNumbers = new HashSet<>();
+        Map<String, ImportChunk.Row> byUsername = new HashMap<>();
+        Map<String, ImportChunk.Row> byEmail = new HashMap<>();
+        for (ImportChunk.Row row : rows) {
+            ImportChunk.Row sameUsername = byUsername.get(key(row.username));
+            ImportChunk.Row sameEmail = byEmail.get(key(row.email));
+            if (accountNumbers.contains(row.accountNumber)) {
+                rejected.accept(rejection(row, "Duplicate account number in file"));
+            } else if (sameUsername != null && !key(sameUsername.email).equals(key(row.email))) {
+                rejected.accept(rejection(row, "Username listed with another email on line "
+                    + (firstLine + sameUsername.line + 1)));
+            } else if (sameEmail != null && !key(sameEmail.username).equals(key(row.username))) {
+                rejected.accept(rejection(row, "Email listed with another username on line "
+                    + (firstLine + sameEmail.line + 1)));
+            } else {
+                accountNumbers.add(row.accountNumber);
+                byUsername.putIfAbsent(key(row.username), row);
+                byEmail.putIfAbsent(key(row.email), row);
+                kept.add(row);
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Drop rows whose account number exists, or whose username or email belongs to a different existing user
+     */
+    private List<ImportChunk.Row> rejectExisting(List<ImportChunk.Row> rows, Consumer<ImportChunk.RejectedRow> rejected) {
+        Set<String> existingAccountNumbers = new HashSet<>();
+        List<String> accountNumbers = new ArrayList<>(rows.size());
+        rows.forEach(row -> accountNumbers.add(row.accountNumber));
+        for (List<String> slice : slices(accountNumbers)) {
+            existingAccountNumbers.addAll(jdbcTemplate.queryForList(
+                "SELECT account_number FROM accounts WHERE account_number IN (:accountNumbers)",
+                new MapSqlParameterSource("accountNumbers", slice), String.class));
+        }
+
+        // username key -> email key of existing users, and the reverse
+        Map<String, String> emailByUsername = new HashMap<>();
+        Map<String, String> usernameByEmail = new HashMap<>();
+        List<String> usernames = usernames(rows);
+        List<String> emails = new ArrayList<>(usernames.size());
+        rows.forEach(row -> emails.add(row.email));
+        for (int i = 0; i < Math.max(usernames.size(), emails.size()); i += IN_LIST_SIZE) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("usernames", slice(usernames, i))
+                .addValue("emails", slice(emails, i));
+            jdbcTemplate.query("SELECT username, email FROM users WHERE username IN (:usernames) OR email IN (:emails)",
+                parameters, (resultSet) -> {
+                    String username = key(resultSet.getString("username"));
+                    String email = key(resultSet.getString("email"));
+                    emailByUsername.put(username, email);
+                    usernameByEmail.put(email, username);
+                });
+        }
+
+        List<ImportChunk.Row> kept = new ArrayList<>(rows.size());
+        for (ImportChunk.Row row : rows) {
+            String existingEmail = emailByUsername.get(key(row.username));
+            String existingUsername = usernameByEmail.get(key(row.email));
+            if (existingAccountNumbers.contains(row.accountNumber)) {
+                rejected.accept(rejection(row, "Account number already exists"));
+            } else if (existingEmail != null && !existingEmail.equals(key(row.email))) {
+                rejected.accept(rejection(row, "Username is taken by another user"));
+            } else if (existingUsername != null && !existingUsername.equals(key(row.username))) {
+                rejected.accept(rejection(row, "Email is in use by another user"));
+            } else {
+                kept.add(row);
+            }
+        }
+        return kept;
+    }
+
+    private Map<String, Long> findUserIds(List<String> usernames) {
+        Map<String, Long> userIds = new HashMap<>();
+        for (List<String> slice : slices(usernames)) {
+            jdbcTemplate.query("SELECT id, username FROM users WHERE username IN (:usernames)",
+                new MapSqlParameterSource("usernames", slice),
+                (resultSet) -> {
+                    userIds.put(key(resultSet.getString("username")), resultSet.getLong("id"));
+                });
+        }
+        return userIds;
+    }
+
+    private void insertUsers(List<ImportChunk.Row> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO users (username, email, password_hash, first_name, last_name, phone, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?)",
+            users, batchSize, (statement, row) -> {
+                statement.setString(1, row.username);
+                statement.setString(2, row.email);
+                statement.setString(3, row.passwordHash != null ? row.passwordHash : UNUSABLE_PASSWORD_HASH);
+                statement.setString(4, row.firstName);
+                statement.setString(5, row.lastName);
+                statement.setString(6, row.phone);
+                statement.setTimestamp(7, now);
+                statement.setTimestamp(8, now);
+            });
+    }
+
+    private void insertAccounts(List<ImportChunk.Row> rows, Map<String, Long> userIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO accounts (account_number, user_id, account_type, balance, is_active, created_at, updated_at, last_activity_at) " +
+            "VALUES (?, ?, ?, ?, TRUE, ?, ?, ?)",
+            rows, batchSize, (statement, row) -> {
+                statement.setString(1, row.accountNumber);
+                statement.setLong(2, userIds.get(key(row.username)));
+                statement.setString(3, row.accountType.name());
+                statement.setBigDecimal(4, row.openingBalance);
+                statement.setTimestamp(5, now);
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+            });
+    }
+
+    /**
+     * Post each positive opening balance as a completed deposit; the transaction ID is derived from the
+     * account number, so the deposit is unique per account
+     */
+    private void insertOpeningBalances(List<ImportChunk.Row> rows) {
+        List<ImportChunk.Row> funded = new ArrayList<>(rows.size());
+        List<String> accountNumbers = new ArrayList<>(rows.size());
+        for (ImportChunk.Row row : rows) {
+            if (row.openingBalance.signum() > 0) {
+                funded.add(row);
+                accountNumbers.add(row.accountNumber);
+            }
+        }
+        if (funded.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> accountIds = new HashMap<>();
+        for (List<String> slice : slices(accountNumbers)) {
+            jdbcTemplate.query("SELECT id, account_number FROM accounts WHERE account_number IN (:accountNumbers)",
+                new MapSqlParameterSource("accountNumbers", slice),
+                (resultSet) -> {
+                    accountIds.put(resultSet.getString("account_number"), resultSet.getLong("id"));
+                });
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO transactions (transaction_id, to_account_id, transaction_type, amount, description, status, " +
+            "created_at, to_balance_after) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            funded, batchSize, (statement, row) -> {
+                statement.setString(1, OPENING_BALANCE_PREFIX + row.accountNumber);
+                statement.setLong(2, accountIds.get(row.accountNumber));
+                statement.setString(3, Transaction.TransactionType.DEPOSIT.name());
+                statement.setBigDecimal(4, row.openingBalance);
+                statement.setString(5, OPENING_BALANCE_DESCRIPTION);
+                statement.setString(6, Transaction.TransactionStatus.COMPLETED.name());
+                statement.setTimestamp(7, now);
+                statement.setBigDecimal(8, row.openingBalance);
+            });
+
+        insertOpeningRollups(funded, accountIds, now);
+        insertOpeningBalanceHistory(funded, accountIds, now);
+    }
+
+    /**
+     * Count each opening deposit in the account's daily rollup; the accounts are new, so no rollup row exists yet
+     */
+    private void insertOpeningRollups(List<ImportChunk.Row> funded, Map<String, Long> accountIds, Timestamp now) {
+        Date today = Date.valueOf(now.toLocalDateTime().toLocalDate());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO daily_account_rollup (account_id, rollup_date, completed_count, pending_count, failed_count, " +
+            "inflow_count, outflow_count, deposit_count, deposit_amount, withdrawal_count, withdrawal_amount, " +
+            "transfer_in_count, transfer_in_amount, transfer_out_count, transfer_out_amount, min_amount, max_amount, " +
+            "first_transaction_at, last_transaction_at, updated_at) " +
+            "VALUES (?, ?, 1, 0, 0, 1, 0, 1, ?, 0, 0, 0, 0, 0, 0, ?, ?, ?, ?, ?)",
+            funded, batchSize, (statement, row) -> {
+                statement.setLong(1, accountIds.get(row.accountNumber));
+                statement.setDate(2, today);
+                statement.setBigDecimal(3, row.openingBalance);
+                statement.setBigDecimal(4, row.openingBalance);
+                statement.setBigDecimal(5, row.openingBalance);
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+                statement.setTimestamp(8, now);
+            });
+    }
+
+    /**
+     * Record each opening balance as the first balance history row of its account and start its chart buckets
+     */
+    private void insertOpeningBalanceHistory(List<ImportChunk.Row> funded, Map<String, Long> accountIds, Timestamp now) {
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO account_balance_history (account_id, balance, change_amount, change_type, " +
+            "transaction_reference, recorded_at) VALUES (?, ?, ?, ?, ?, ?)",
+            funded, batchSize, (statement, row) -> {
+                statement.setLong(1, accountIds.get(row.accountNumber));
+                statement.setBigDecimal(2, row.openingBalance);
+                statement.setBigDecimal(3, row.openingBalance);
+                statement.setString(4, Transaction.TransactionType.DEPOSIT.name());
+                statement.setString(5, OPENING_BALANCE_PREFIX + row.accountNumber);
+                statement.setTimestamp(6, now);
+            });
+
+        for (AccountBalanceBucket.Resolution resolution : AccountBalanceBucket.Resolution.values()) {
+            Timestamp bucketStart = Timestamp.valueOf(resolution.bucketStart(now.toLocalDateTime()));
+            jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "INSERT INTO account_balance_bucket (account_id, resolution, bucket_start, min_balance, max_balance, " +
+                "last_balance, change_count) VALUES (?, ?, ?, ?, ?, ?, 1)",
+                funded, batchSize, (statement, row) -> {
+                    statement.setLong(1, accountIds.get(row.accountNumber));
+                    statement.setString(2, resolution.name());
+                    statement.setTimestamp(3, bucketStart);
+                    statement.setBigDecimal(4, row.openingBalance);
+                    statement.setBigDecimal(5, row.openingBalance);
+                    statement.setBigDecimal(6, row.openingBalance);
+                });
+        }
+    }
+
+    // ===================== Helpers =====================
+
+    private static void writeErrors(Writer errors, long firstLine, List<ImportChunk.RejectedRow> rejected) {
+        try {
+            rejected.sort((a, b) -> Integer.compare(a.line, b.line));
+            for (ImportChunk.RejectedRow row : rejected) {
+                errors.write(Long.toString(firstLine + row.line + 1));
+                errors.write(',');
+                errors.write(quote(row.reason));
+                errors.write(',');
+                errors.write(quote(row.text));
+                errors.write(System.lineSeparator());
+            }
+            errors.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write import errors", e);
+        }
+    }
+
+    private void evictQueryResults() {
+        // Cached "no user with this email" results would hide the users just inserted
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private void reloadInMemoryViews() {
+        try {
+            balanceLeaderboard.load();
+            userSearchIndex.load();
+            accountTypeStatistics.reconcile();
+            userStatisticsCounters.reconcile();
+        } catch (RuntimeException e) {
+            logger.error("Failed to reload in-memory views after account import", e);
+        }
+    }
+
+    private AccountImportJobDTO toJob(AccountImportCheckpoint checkpoint) {
+        AccountImportJobDTO job = new AccountImportJobDTO();
+        job.setId(checkpoint.getId());
+        job.setSource(checkpoint.getSource());
+        job.setNextOffset(checkpoint.getNextOffset());
+        job.setFileSize(Long.parseLong(checkpoint.getSource().substring(checkpoint.getSource().lastIndexOf(':') + 1)));
+        job.setImportedUsers(checkpoint.getImportedUsers());
+        job.setImportedAccounts(checkpoint.getImportedAccounts());
+        job.setRejectedRows(checkpoint.getRejectedRows());
+        job.setStartedAt(checkpoint.getStartedAt());
+        job.setUpdatedAt(checkpoint.getUpdatedAt());
+        job.setCompletedAt(checkpoint.getCompletedAt());
+
+        CompletableFuture<AccountImportResultDTO> running = jobs.get(checkpoint.getId());
+        if (checkpoint.getCompletedAt() != null) {
+            job.setStatus(AccountImportJobDTO.COMPLETED);
+        } else if (running != null && !running.isDone()) {
+            job.setStatus(AccountImportJobDTO.RUNNING);
+        } else if (running != null && running.isCompletedExceptionally()) {
+            job.setStatus(AccountImportJobDTO.FAILED);
+            job.setError(failure(running).getMessage());
+        } else {
+            job.setStatus(AccountImportJobDTO.STOPPED);
+        }
+        return job;
+    }
+
+    private static Throwable failure(CompletableFuture<?> job) {
+        try {
+            job.join();
+            throw new IllegalStateException("Import job did not fail");
+        } catch (CompletionException e) {
+            return e.getCause() != null ? e.getCause() : e;
+        } catch (CancellationException e) {
+            return e;
+        }
+    }
+
+    private static AccountImportResultDTO result(AccountImportCheckpoint checkpoint, long resumedFrom,
+                                                 long processedLines, long startedAt, Path errorFile) {
+        return new AccountImportResultDTO(checkpoint.getSource(), resumedFrom, checkpoint.getImportedUsers(),
+            checkpoint.getImportedAccounts(), checkpoint.getRejectedRows(), processedLines,
+            System.currentTimeMillis() - startedAt, errorFile.toString());
+    }
+
+    private static ImportChunk.RejectedRow rejection(ImportChunk.Row row, String reason) {
+        return new ImportChunk.RejectedRow(row.line, reason, row.text);
+    }
+
+    private static List<String> usernames(Collection<ImportChunk.Row> rows) {
+        List<String> usernames = new ArrayList<>(rows.size());
+        Set<String> seen = new HashSet<>();
+        for (ImportChunk.Row row : rows) {
+            if (seen.add(key(row.username))) {
+                usernames.add(row.username);
+            }
+        }
+        return usernames;
+    }
+
+    // Usernames and emails compare case-insensitively, like the database collation
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static List<List<String>> slices(List<String> values) {
+        List<List<String>> slices = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += IN_LIST_SIZE) {
+            slices.add(slice(values, i));
+        }
+        return slices;
+    }
+
+    private static List<String> slice(List<String> values, int from) {
+        if (from >= values.size()) {
+            // IN () is not valid SQL; no row has a null username or email
+            return Collections.singletonList(null);
+        }
+        return values.subList(from, Math.min(values.size(), from + IN_LIST_SIZE));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
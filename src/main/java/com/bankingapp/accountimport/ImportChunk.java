@@ -0,0 +1,272 @@
+package com.bankingapp.accountimport;
+
+import com.bankingapp.entity.Account;
+import com.bankingapp.util.ValidationUtil;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One parsed slice of an import file: the whole lines in [startOffset, endOffset).
+ *
+ * Chunks end right after a line break, so they can be memory mapped and parsed independently.
+ * Lines are numbered from 0 within the chunk; the importer adds the line count of the chunks
+ * before it when reporting errors.
+ */
+final class ImportChunk {
+
+    static final String[] COLUMNS = {
+        "username", "email", "password_hash", "first_name", "last_name", "phone",
+        "account_number", "account_type", "opening_balance"
+    };
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    final long startOffset;
+    final long endOffset;
+    final List<Row> rows = new ArrayList<>();
+    final List<RejectedRow> rejectedRows = new ArrayList<>();
+    int lineCount;
+
+    private ImportChunk(long startOffset, long endOffset) {
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * Valid input row
+     */
+    static final class Row {
+        final int line;
+        final String username;
+        final String email;
+        final String passwordHash;
+        final String firstName;
+        final String lastName;
+        final String phone;
+        final String accountNumber;
+        final Account.AccountType accountType;
+        final BigDecimal openingBalance;
+        final String text;
+
+        Row(int line, String username, String email, String passwordHash, String firstName, String lastName,
+            String phone, String accountNumber, Account.AccountType accountType, BigDecimal openingBalance, String text) {
+            this.line = line;
+            this.username = username;
+            this.email = email;
+            this.passwordHash = passwordHash;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.phone = phone;
+            this.accountNumber = accountNumber;
+            this.accountType = accountType;
+            this.openingBalance = openingBalance;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Input line left out of the import, with the reason
+     */
+    static final class RejectedRow {
+        final int line;
+        final String reason;
+        final String text;
+
+        RejectedRow(int line, String reason, String text) {
+            this.line = line;
+            this.reason = reason;
+            this.text = text;
+        }
+    }
+
+    // ===================== Chunking =====================
+
+    /**
+     * Get the end of the chunk starting at start: the first line break at or after start + targetSize, or the file size
+     */
+    static long chunkEnd(FileChannel channel, long start, long targetSize) throws IOException {
+        long size = channel.size();
+        long position = start + targetSize;
+        if (position >= size) {
+            return size;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    // ===================== Parsing =====================
+
+    /**
+     * Memory map [start, end) and parse its lines; the first line of the file must be the header
+     */
+    static ImportChunk parse(FileChannel channel, long start, long end) throws IOException {
+        ImportChunk chunk = new ImportChunk(start, end);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+
+        int lineStart = 0;
+        int limit = buffer.limit();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int textEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            byte[] bytes = new byte[textEnd - lineStart];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(lineStart + i);
+            }
+            String text = new String(bytes, StandardCharsets.UTF_8);
+
+            int line = chunk.lineCount++;
+            if (start == 0 && line == 0) {
+                checkHeader(text);
+            } else if (!text.trim().isEmpty()) {
+                chunk.parseLine(line, text);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private static void checkHeader(String text) {
+        if (!text.isEmpty() && text.charAt(0) == BYTE_ORDER_MARK) {
+            text = text.substring(1);
+        }
+        List<String> header = splitFields(text);
+        if (header == null || header.size() != COLUMNS.length) {
+            throw new IllegalArgumentException("Import file header must be: " + String.join(",", COLUMNS));
+        }
+        for (int i = 0; i < COLUMNS.length; i++) {
+            if (!COLUMNS[i].equalsIgnoreCase(header.get(i).trim())) {
+                throw new IllegalArgumentException("Import file header must be: " + String.join(",", COLUMNS));
+            }
+        }
+    }
+
+    private void parseLine(int line, String text) {
+        List<String> fields = splitFields(text);
+        if (fields == null) {
+            reject(line, "Unterminated quoted field", text);
+            return;
+        }
+        if (fields.size() != COLUMNS.length) {
+            reject(line, "Expected " + COLUMNS.length + " fields but found " + fields.size(), text);
+            return;
+        }
+
+        String username = fields.get(0).trim();
+        String email = fields.get(1).trim();
+        String passwordHash = fields.get(2).trim();
+        String firstName = fields.get(3).trim();
+        String lastName = fields.get(4).trim();
+        String phone = fields.get(5).trim();
+        String accountNumber = fields.get(6).trim();
+
+        if (!ValidationUtil.isValidUsername(username)) {
+            reject(line, "Invalid username", text);
+        } else if (!ValidationUtil.isValidEmail(email)) {
+            reject(line, "Invalid email", text);
+        } else if (!ValidationUtil.isValidPasswordHash(passwordHash)) {
+            // A plain-text password or foreign hash would be stored as is and could never be verified
+            reject(line, "Invalid password hash", text);
+        } else if (!ValidationUtil.isValidName(firstName) || !ValidationUtil.isValidName(lastName)) {
+            reject(line, "Invalid first or last name", text);
+        } else if (!ValidationUtil.isValidPhone(phone)) {
+            reject(line, "Invalid phone", text);
+        } else if (!ValidationUtil.isValidAccountNumber(accountNumber)) {
+            reject(line, "Invalid account number", text);
+        } else {
+            Account.AccountType accountType = parseAccountType(fields.get(7).trim());
+            BigDecimal openingBalance = parseAmount(fields.get(8).trim());
+            if (accountType == null) {
+                reject(line, "Invalid account type", text);
+            } else if (!ValidationUtil.isValidBalance(openingBalance)) {
+                reject(line, "Invalid opening balance", text);
+            } else {
+                rows.add(new Row(line, username, email, passwordHash.isEmpty() ? null : passwordHash, firstName,
+                    lastName, phone.isEmpty() ? null : phone, accountNumber, accountType, openingBalance, text));
+            }
+        }
+    }
+
+    private void reject(int line, String reason, String text) {
+        rejectedRows.add(new RejectedRow(line, reason, text));
+    }
+
+    private static Account.AccountType parseAccountType(String value) {
+        try {
+            return Account.AccountType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Split one CSV line; fields may be quoted, with "" for a quote inside
+     * @return the fields, or null when a quoted field is not closed on this line
+     */
+    static List<String> splitFields(String text) {
+        List<String> fields = new ArrayList<>(COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
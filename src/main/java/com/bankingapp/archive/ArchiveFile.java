@@ -0,0 +1,484 @@
+package com.bankingapp.archive;
+
+import com.bankingapp.entity.ArchivedTransaction;
+import com.bankingapp.entity.Transaction;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable columnar file holding one month of archived transactions for one account range,
+ * read through a memory-mapped buffer.
+ *
+ * Layout (big-endian):
+ *   header    int magic, int version, int yearMonth (yyyymm), long rangeStart, long rangeEnd,
+ *             int rowCount, int accountCount, long baseCreatedAt (epoch micros, UTC), int dictionaryPosition
+ *   columns   COLUMN_COUNT x (int position, int compressedLength, int rawLength)
+ *   accounts  accountCount x (long accountId, int rowCount, int postingsPosition), sorted by accountId
+ *   postings  ascending row numbers of each account, delta-encoded as unsigned varints
+ *   dictionary  transaction types, then statuses: byte count, then count x (byte length, ASCII name)
+ *   blocks    one deflate-compressed block per column
+ *
+ * Rows are sorted by (createdAt, id) and hold every transaction with either side in the range, so
+ * a transfer between two ranges is stored in both files. Column encodings:
+ *   id, createdAt          delta from the previous row (createdAt from baseCreatedAt), zigzag varint
+ *   from/to account        varint of accountId + 1, 0 for none
+ *   type, status           one byte per row, the position of the name in the dictionary; 0xFF for null
+ *   amount                 zigzag varint of the amount in cents
+ *   from/to balance after  varint of zigzag(cents) + 1, 0 for none
+ *   transactionId, desc.   varint of UTF-8 length + 1 (0 for null) followed by the bytes
+ */
+final class ArchiveFile {
+
+    private static final int MAGIC = 0x42544341; // "BTCA"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int ACCOUNT_ENTRY_SIZE = 16;
+
+    static final int ID = 0;
+    static final int CREATED_AT = 1;
+    static final int FROM_ACCOUNT = 2;
+    static final int TO_ACCOUNT = 3;
+    static final int TYPE = 4;
+    static final int STATUS = 5;
+    static final int AMOUNT = 6;
+    static final int FROM_BALANCE = 7;
+    static final int TO_BALANCE = 8;
+    static final int TRANSACTION_ID = 9;
+    static final int DESCRIPTION = 10;
+    private static final int COLUMN_COUNT = 11;
+
+    private static final int COLUMNS_START = HEADER_SIZE;
+    private static final int ACCOUNTS_START = COLUMNS_START + COLUMN_COUNT * 12;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final YearMonth month;
+    private final long rangeStart;
+    private final long rangeEnd;
+    private final int rowCount;
+    private final int accountCount;
+    private final long baseCreatedAt;
+    private final Transaction.TransactionType[] types;
+    private final Transaction.TransactionStatus[] statuses;
+
+    private ArchiveFile(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a transaction archive file: " + path);
+        }
+        int yearMonth = buffer.getInt(8);
+        this.month = YearMonth.of(yearMonth / 100, yearMonth % 100);
+        this.rangeStart = buffer.getLong(12);
+        this.rangeEnd = buffer.getLong(20);
+        this.rowCount = buffer.getInt(28);
+        this.accountCount = buffer.getInt(32);
+        this.baseCreatedAt = buffer.getLong(36);
+
+        ByteBuffer dictionary = buffer.duplicate();
+        dictionary.position(buffer.getInt(44));
+        this.types = Arrays.stream(readNames(dictionary))
+            .map(Transaction.TransactionType::valueOf).toArray(Transaction.TransactionType[]::new);
+        this.statuses = Arrays.stream(readNames(dictionary))
+            .map(Transaction.TransactionStatus::valueOf).toArray(Transaction.TransactionStatus[]::new);
+    }
+
+    // ===================== Reading =====================
+
+    static ArchiveFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ArchiveFile(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    YearMonth getMonth() {
+        return month;
+    }
+
+    long getRangeStart() {
+        return rangeStart;
+    }
+
+    long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Row numbers of the account's transactions in (createdAt, id) order
+     */
+    int[] rowsOf(long accountId) {
+        int low = 0;
+        int high = accountCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = ACCOUNTS_START + middle * ACCOUNT_ENTRY_SIZE;
+            long current = buffer.getLong(position);
+            if (current < accountId) {
+                low = middle + 1;
+            } else if (current > accountId) {
+                high = middle - 1;
+            } else {
+                int[] rows = new int[buffer.getInt(position + 8)];
+                int postings = buffer.getInt(position + 12);
+                int previous = 0;
+                for (int i = 0; i < rows.length; i++) {
+                    long[] varint = readVarLong(buffer, postings);
+                    previous += (int) varint[0];
+                    rows[i] = previous;
+                    postings = (int) varint[1];
+                }
+                return rows;
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Decode a numeric column (ids, timestamps as epoch micros, account ids, amounts and balances in cents)
+     * Nullable columns use Long.MIN_VALUE for null
+     */
+    long[] readLongColumn(int column) {
+        ByteBuffer block = ByteBuffer.wrap(inflate(column));
+        long[] values = new long[rowCount];
+        long previous = column == CREATED_AT ? baseCreatedAt : 0;
+        for (int i = 0; i < rowCount; i++) {
+            long raw = readVarLong(block);
+            switch (column) {
+                case ID:
+                case CREATED_AT:
+                    previous += unzigzag(raw);
+                    values[i] = previous;
+                    break;
+                case FROM_ACCOUNT:
+                case TO_ACCOUNT:
+                    values[i] = raw == 0 ? Long.MIN_VALUE : raw - 1;
+                    break;
+                case AMOUNT:
+                    values[i] = unzigzag(raw);
+                    break;
+                case FROM_BALANCE:
+                case TO_BALANCE:
+                    values[i] = raw == 0 ? Long.MIN_VALUE : unzigzag(raw - 1);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Not a numeric column: " + column);
+            }
+        }
+        return values;
+    }
+
+    Transaction.TransactionType[] readTypeColumn() {
+        byte[] codes = inflate(TYPE);
+        Transaction.TransactionType[] values = new Transaction.TransactionType[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = codes[i] < 0 ? null : types[codes[i]];
+        }
+        return values;
+    }
+
+    Transaction.TransactionStatus[] readStatusColumn() {
+        byte[] codes = inflate(STATUS);
+        Transaction.TransactionStatus[] values = new Transaction.TransactionStatus[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            values[i] = codes[i] < 0 ? null : statuses[codes[i]];
+        }
+        return values;
+    }
+
+    String[] readStringColumn(int column) {
+        if (column != TRANSACTION_ID && column != DESCRIPTION) {
+            throw new IllegalArgumentException("Not a string column: " + column);
+        }
+        ByteBuffer block = ByteBuffer.wrap(inflate(column));
+        String[] values = new String[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            int length = (int) readVarLong(block);
+            if (length > 0) {
+                byte[] bytes = new byte[length - 1];
+                block.get(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+
+    static LocalDateTime toDateTime(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+            (int) Math.floorMod(epochMicros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+
+    static long toEpochMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1000;
+    }
+
+    private byte[] inflate(int column) {
+        int entry = COLUMNS_START + column * 12;
+        int position = buffer.getInt(entry);
+        byte[] compressed = new byte[buffer.getInt(entry + 4)];
+        byte[] raw = new byte[buffer.getInt(entry + 8)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        view.get(compressed);
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                length += inflater.inflate(raw, length, raw.length - length);
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("Truncated column " + column + " in archive file: " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt column " + column + " in archive file: " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return raw;
+    }
+
+    // ===================== Writing =====================
+
+    /**
+     * Write rows (every side in or out of the range; sorted by createdAt, then id) as a new archive file.
+     * The file is written under a temporary name and moved into place, so readers never see a partial file.
+     */
+    static ArchiveFile write(Path path, YearMonth month, long rangeStart, long rangeEnd,
+                             List<ArchivedTransaction> rows) throws IOException {
+        ByteArrayOutputStream[] columns = new ByteArrayOutputStream[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columns[i] = new ByteArrayOutputStream();
+        }
+        TreeMap<Long, IntList> rowsByAccount = new TreeMap<>();
+
+        long baseCreatedAt = rows.isEmpty() ? 0 : toEpochMicros(rows.get(0).getCreatedAt());
+        long previousId = 0;
+        long previousCreatedAt = baseCreatedAt;
+        for (int row = 0; row < rows.size(); row++) {
+            ArchivedTransaction transaction = rows.get(row);
+            long createdAt = toEpochMicros(transaction.getCreatedAt());
+
+            writeVarLong(columns[ID], zigzag(transaction.getId() - previousId));
+            writeVarLong(columns[CREATED_AT], zigzag(createdAt - previousCreatedAt));
+            writeVarLong(columns[FROM_ACCOUNT], transaction.getFromAccountId() == null ? 0 : transaction.getFromAccountId() + 1);
+            writeVarLong(columns[TO_ACCOUNT], transaction.getToAccountId() == null ? 0 : transaction.getToAccountId() + 1);
+            columns[TYPE].write(transaction.getTransactionType() == null ? -1 : transaction.getTransactionType().ordinal());
+            columns[STATUS].write(transaction.getStatus() == null ? -1 : transaction.getStatus().ordinal());
+            writeVarLong(columns[AMOUNT], zigzag(toCents(transaction.getAmount())));
+            writeVarLong(columns[FROM_BALANCE], transaction.getFromBalanceAfter() == null
+                ? 0 : zigzag(toCents(transaction.getFromBalanceAfter())) + 1);
+            writeVarLong(columns[TO_BALANCE], transaction.getToBalanceAfter() == null
+                ? 0 : zigzag(toCents(transaction.getToBalanceAfter())) + 1);
+            writeString(columns[TRANSACTION_ID], transaction.getTransactionId());
+            writeString(columns[DESCRIPTION], transaction.getDescription());
+
+            for (Long accountId : new Long[] {transaction.getFromAccountId(), transaction.getToAccountId()}) {
+                if (accountId != null && accountId >= rangeStart && accountId < rangeEnd) {
+                    IntList accountRows = rowsByAccount.computeIfAbsent(accountId, id -> new IntList());
+                    if (accountRows.size == 0 || accountRows.last() != row) {
+                        accountRows.add(row);
+                    }
+                }
+            }
+            previousId = transaction.getId();
+            previousCreatedAt = createdAt;
+        }
+
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+        writeNames(dictionary, Transaction.TransactionType.values());
+        writeNames(dictionary, Transaction.TransactionStatus.values());
+
+        ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        int[] postingOffsets = new int[rowsByAccount.size()];
+        int account = 0;
+        for (IntList accountRows : rowsByAccount.values()) {
+            postingOffsets[account++] = postings.size();
+            int previous = 0;
+            for (int i = 0; i < accountRows.size; i++) {
+                writeVarLong(postings, accountRows.values[i] - previous);
+                previous = accountRows.values[i];
+            }
+        }
+
+        byte[][] compressed = new byte[COLUMN_COUNT][];
+        long totalSize = ACCOUNTS_START + (long) rowsByAccount.size() * ACCOUNT_ENTRY_SIZE + postings.size() + dictionary.size();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            compressed[i] = deflate(columns[i].toByteArray());
+            totalSize += compressed[i].length;
+        }
+        if (totalSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Archive file too large: " + totalSize + " bytes");
+        }
+
+        ByteBuffer output = ByteBuffer.allocate((int) totalSize);
+        output.putInt(MAGIC).putInt(VERSION).putInt(month.getYear() * 100 + month.getMonthValue())
+              .putLong(rangeStart).putLong(rangeEnd).putInt(rows.size()).putInt(rowsByAccount.size())
+              .putLong(baseCreatedAt);
+        int postingsStart = ACCOUNTS_START + rowsByAccount.size() * ACCOUNT_ENTRY_SIZE;
+        int dictionaryStart = postingsStart + postings.size();
+        output.putInt(dictionaryStart);
+        int blockPosition = dictionaryStart + dictionary.size();
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            output.putInt(blockPosition).putInt(compressed[i].length).putInt(columns[i].size());
+            blockPosition += compressed[i].length;
+        }
+        account = 0;
+        for (Map.Entry<Long, IntList> entry : rowsByAccount.entrySet()) {
+            output.putLong(entry.getKey()).putInt(entry.getValue().size).putInt(postingsStart + postingOffsets[account++]);
+        }
+        output.put(postings.toByteArray());
+        output.put(dictionary.toByteArray());
+        for (byte[] block : compressed) {
+            output.put(block);
+        }
+        output.flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(path);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void writeNames(ByteArrayOutputStream out, Enum<?>[] values) {
+        out.write(values.length);
+        for (Enum<?> value : values) {
+            byte[] name = value.name().getBytes(StandardCharsets.US_ASCII);
+            out.write(name.length);
+            out.write(name, 0, name.length);
+        }
+    }
+
+    private static String[] readNames(ByteBuffer in) {
+        String[] names = new String[in.get() & 0xFF];
+        for (int i = 0; i < names.length; i++) {
+            byte[] name = new byte[in.get() & 0xFF];
+            in.get(name);
+            names[i] = new String(name, StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            writeVarLong(out, 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length + 1L);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * Read a varint at an absolute position; returns {value, next position}
+     */
+    private static long[] readVarLong(ByteBuffer in, int position) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return new long[] {value, position};
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int last() {
+            return values[size - 1];
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.bankingapp.archive;
+
+import com.bankingapp.dto.ArchivedTransactionSummaryDTO;
+import com.bankingapp.dto.TransactionDTO;
+import com.bankingapp.entity.ArchivedTransaction;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.ArchivedTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Columnar cold store for archived transactions.
+ *
+ * Each month of transactions_archive is exported to one ArchiveFile per account range
+ * ({directory}/yyyyMM/range-{rangeStart}.bca); a "complete" marker is written once every range
+ * of the month is on disk. History, count and sum queries read the files of complete months directly,
+ * decoding only the columns they need, so multi-year statements and audits barely touch the database.
+ * Months without a complete export (archived since the last export, or all of them while columnar
+ * export is disabled) are read from transactions_archive, which also keeps the rows for point lookups.
+ */
+@Component
+public class TransactionArchiveStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveStore.class);
+
+    private static final DateTimeFormatter MONTH_DIRECTORY = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String COMPLETE_MARKER = "complete";
+    private static final String FILE_SUFFIX = ".bca";
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Value("${app.transaction-archive.columnar.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.transaction-archive.columnar.directory:data/transaction-archive}")
+    private String directory;
+
+    @Value("${app.transaction-archive.columnar.account-range-size:10000}")
+    private long accountRangeSize;
+
+    private final ConcurrentMap<Path, ArchiveFile> openFiles = new ConcurrentHashMap<>();
+    private Path archiveDirectory;
+
+    @PostConstruct
+    public void init() throws IOException {
+        archiveDirectory = Paths.get(directory);
+        if (enabled) {
+            Files.createDirectories(archiveDirectory);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ===================== Export =====================
+
+    /**
+     * Export every archived month before firstHotMonth that has no complete export yet
+     * @return number of months exported
+     */
+    public int exportMonthsBefore(YearMonth firstHotMonth) {
+        LocalDateTime earliest = archivedTransactionRepository.getEarliestCreatedAt();
+        if (earliest == null) {
+            return 0;
+        }
+
+        int exported = 0;
+        for (YearMonth month = YearMonth.from(earliest); month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            if (!isExported(month)) {
+                exportMonth(month);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
+    public boolean isExported(YearMonth month) {
+        return Files.exists(monthDirectory(month).resolve(COMPLETE_MARKER));
+    }
+
+    /**
+     * Write the archive files of one month, one account range at a time
+     * @return number of files written
+     */
+    public int exportMonth(YearMonth month) {
+        LocalDateTime startDate = month.atDay(1).atStartOfDay();
+        LocalDateTime endDate = month.plusMonths(1).atDay(1).atStartOfDay();
+        Path monthDirectory = monthDirectory(month);
+
+        try {
+            Files.createDirectories(monthDirectory);
+            int files = 0;
+            long rows = 0;
+            Long maxAccountId = archivedTransactionRepository.getMaxAccountId(startDate, endDate);
+            for (long rangeStart = 0; maxAccountId != null && rangeStart <= maxAccountId; rangeStart += accountRangeSize) {
+                long rangeEnd = rangeStart + accountRangeSize;
+                List<ArchivedTransaction> transactions =
+                    archivedTransactionRepository.findForAccountRange(startDate, endDate, rangeStart, rangeEnd);
+                if (transactions.isEmpty()) {
+                    continue;
+                }
+                Path path = monthDirectory.resolve("range-" + rangeStart + FILE_SUFFIX);
+                ArchiveFile.write(path, month, rangeStart, rangeEnd, transactions);
+                openFiles.remove(path);
+                files++;
+                rows += transactions.size();
+            }
+            Files.write(monthDirectory.resolve(COMPLETE_MARKER), new byte[0]);
+            logger.info("Exported archived transactions of {}: {} rows in {} files", month, rows, files);
+            return files;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export archived transactions of " + month, e);
+        }
+    }
+
+    // ===================== Queries =====================
+
+    /**
+     * Get archived transactions of account created in [startDate, endDate), oldest first
+     */
+    public List<TransactionDTO> getHistory(long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<TransactionDTO> history = new ArrayList<>();
+        List<ArchivedTransaction> unexported = new ArrayList<>();
+        for (ArchiveFile file : filesFor(accountId, startDate, endDate, unexported)) {
+            int[] rows = file.rowsOf(accountId);
+            if (rows.length == 0) {
+                continue;
+            }
+            long[] createdAt = file.readLongColumn(ArchiveFile.CREATED_AT);
+            long[] ids = file.readLongColumn(ArchiveFile.ID);
+            long[] fromAccounts = file.readLongColumn(ArchiveFile.FROM_ACCOUNT);
+            long[] toAccounts = file.readLongColumn(ArchiveFile.TO_ACCOUNT);
+            Transaction.TransactionType[] types = file.readTypeColumn();
+            Transaction.TransactionStatus[] statuses = file.readStatusColumn();
+            long[] amounts = file.readLongColumn(ArchiveFile.AMOUNT);
+            long[] fromBalances = file.readLongColumn(ArchiveFile.FROM_BALANCE);
+            long[] toBalances = file.readLongColumn(ArchiveFile.TO_BALANCE);
+            String[] transactionIds = file.readStringColumn(ArchiveFile.TRANSACTION_ID);
+            String[] descriptions = file.readStringColumn(ArchiveFile.DESCRIPTION);
+
+            long start = ArchiveFile.toEpochMicros(startDate);
+            long end = ArchiveFile.toEpochMicros(endDate);
+            for (int row : rows) {
+                if (createdAt[row] < start || createdAt[row] >= end) {
+                    continue;
+                }
+                ArchivedTransaction transaction = new ArchivedTransaction();
+                transaction.setId(ids[row]);
+                transaction.setTransactionId(transactionIds[row]);
+                transaction.setFromAccountId(nullable(fromAccounts[row]));
+                transaction.setToAccountId(nullable(toAccounts[row]));
+                transaction.setTransactionType(types[row]);
+                transaction.setStatus(statuses[row]);
+                transaction.setAmount(BigDecimal.valueOf(amounts[row], 2));
+                transaction.setFromBalanceAfter(fromBalances[row] == Long.MIN_VALUE ? null : BigDecimal.valueOf(fromBalances[row], 2));
+                transaction.setToBalanceAfter(toBalances[row] == Long.MIN_VALUE ? null : BigDecimal.valueOf(toBalances[row], 2));
+                transaction.setDescription(descriptions[row]);
+                transaction.setCreatedAt(ArchiveFile.toDateTime(createdAt[row]));
+                history.add(TransactionDTO.fromArchived(transaction));
+            }
+        }
+        if (!unexported.isEmpty()) {
+            for (ArchivedTransaction transaction : unexported) {
+                history.add(TransactionDTO.fromArchived(transaction));
+            }
+            // Months never overlap, so a stable sort by time interleaves them and keeps each month's order
+            history.sort(Comparator.comparing(TransactionDTO::getCreatedAt));
+        }
+        return history;
+    }
+
+    /**
+     * Count and sum archived transactions of account created in [startDate, endDate)
+     * Amounts cover completed transactions only, split into credits (account on the receiving side) and debits
+     */
+    public ArchivedTransactionSummaryDTO summarize(long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        long totalCount = 0;
+        long completedCount = 0;
+        long creditCount = 0;
+        long creditCents = 0;
+        long debitCount = 0;
+        long debitCents = 0;
+
+        long start = ArchiveFile.toEpochMicros(startDate);
+        long end = ArchiveFile.toEpochMicros(endDate);
+        List<ArchivedTransaction> unexported = new ArrayList<>();
+        for (ArchiveFile file : filesFor(accountId, startDate, endDate, unexported)) {
+            int[] rows = file.rowsOf(accountId);
+            if (rows.length == 0) {
+                continue;
+            }
+            long[] createdAt = file.readLongColumn(ArchiveFile.CREATED_AT);
+            long[] toAccounts = file.readLongColumn(ArchiveFile.TO_ACCOUNT);
+            Transaction.TransactionStatus[] statuses = file.readStatusColumn();
+            long[] amounts = file.readLongColumn(ArchiveFile.AMOUNT);
+
+            for (int row : rows) {
+                if (createdAt[row] < start || createdAt[row] >= end) {
+                    continue;
+                }
+                totalCount++;
+                if (statuses[row] != Transaction.TransactionStatus.COMPLETED) {
+                    continue;
+                }
+                completedCount++;
+                if (toAccounts[row] == accountId) {
+                    creditCount++;
+                    creditCents += amounts[row];
+                } else {
+                    debitCount++;
+                    debitCents += amounts[row];
+                }
+            }
+        }
+        for (ArchivedTransaction transaction : unexported) {
+            totalCount++;
+            if (transaction.getStatus() != Transaction.TransactionStatus.COMPLETED) {
+                continue;
+            }
+            completedCount++;
+            long cents = transaction.getAmount().movePointRight(2).longValueExact();
+            if (Long.valueOf(accountId).equals(transaction.getToAccountId())) {
+                creditCount++;
+                creditCents += cents;
+            } else {
+                debitCount++;
+                debitCents += cents;
+            }
+        }
+        return new ArchivedTransactionSummaryDTO(accountId, totalCount, completedCount,
+            creditCount, BigDecimal.valueOf(creditCents, 2), debitCount, BigDecimal.valueOf(debitCents, 2));
+    }
+
+    /**
+     * Count archived transactions of account created in [startDate, endDate)
+     */
+    public long count(long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        long count = 0;
+        long start = ArchiveFile.toEpochMicros(startDate);
+        long end = ArchiveFile.toEpochMicros(endDate);
+        List<ArchivedTransaction> unexported = new ArrayList<>();
+        for (ArchiveFile file : filesFor(accountId, startDate, endDate, unexported)) {
+            int[] rows = file.rowsOf(accountId);
+            if (rows.length == 0) {
+                continue;
+            }
+            long[] createdAt = file.readLongColumn(ArchiveFile.CREATED_AT);
+            for (int row : rows) {
+                if (createdAt[row] >= start && createdAt[row] < end) {
+                    count++;
+                }
+            }
+        }
+        return count + unexported.size();
+    }
+
+    /**
+     * Archive files of account for the completely exported months of [startDate, endDate). Rows of the other
+     * months are read from transactions_archive into unexported, one query per run of consecutive months.
+     */
+    private List<ArchiveFile> filesFor(long accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                       List<ArchivedTransaction> unexported) {
+        List<ArchiveFile> files = new ArrayList<>();
+        if (!endDate.isAfter(startDate)) {
+            return files;
+        }
+        long rangeStart = accountId - Math.floorMod(accountId, accountRangeSize);
+        YearMonth lastMonth = YearMonth.from(endDate.minusNanos(1));
+        LocalDateTime unexportedFrom = null;
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            LocalDateTime monthStart = max(month.atDay(1).atStartOfDay(), startDate);
+            if (!enabled || !isExported(month)) {
+                if (unexportedFrom == null) {
+                    unexportedFrom = monthStart;
+                }
+                continue;
+            }
+            if (unexportedFrom != null) {
+                unexported.addAll(archivedTransactionRepository.findForAccount(accountId, unexportedFrom, monthStart));
+                unexportedFrom = null;
+            }
+            Path path = monthDirectory(month).resolve("range-" + rangeStart + FILE_SUFFIX);
+            ArchiveFile file = openFiles.computeIfAbsent(path, this::openIfExists);
+            if (file != null) {
+                files.add(file);
+            }
+        }
+        if (unexportedFrom != null) {
+            unexported.addAll(archivedTransactionRepository.findForAccount(accountId, unexportedFrom, endDate));
+        }
+        return files;
+    }
+
+    private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private ArchiveFile openIfExists(Path path) {
+        if (!Files.exists(path)) {
+            // Not cached, so a month exported later is picked up
+            return null;
+        }
+        try {
+            return ArchiveFile.open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open archive file: " + path, e);
+        }
+    }
+
+    private Path monthDirectory(YearMonth month) {
+        return archiveDirectory.resolve(month.format(MONTH_DIRECTORY));
+    }
+
+    private static Long nullable(long value) {
+        return value == Long.MIN_VALUE ? null : value;
+    }
+}
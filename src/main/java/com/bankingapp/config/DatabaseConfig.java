@@ -1,5 +1,170 @@
 package com.bankingapp.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection routing for the primary and its read replicas.
+ *
+ * With app.datasource.workload-pools.enabled=true the primary (spring.datasource) is reached through one pool per
+ * {@link Workload}, chosen by {@link WorkloadPool} annotations, so reports and batch jobs cannot exhaust the
+ * connections deposits and transfers need. With app.datasource.replicas.enabled=true
+ * @Transactional(readOnly = true) work goes to healthy, caught-up replicas. Every pool publishes the
+ * hikaricp.* meters (pending threads, acquire time, timeouts) and db.pool.saturation, tagged by pool name.
+ * With neither enabled Spring Boot's single auto-configured pool is used.
+ */
+@Configuration
+@Conditional(DatabaseConfig.RoutingEnabledCondition.class)
 public class DatabaseConfig {
 
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties, WorkloadPoolProperties workloadPools,
+                                        Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (!workloadPools.isEnabled()) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            dataSource.setPoolName("primary");
+            bindMetrics(dataSource, meterRegistry.getIfAvailable());
+            return dataSource;
+        }
+
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            WorkloadPoolProperties.Pool settings = workloadPools.getPool(workload);
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            // spring.datasource.hikari.* applies to every pool; the workload's own settings override it
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            pool.setPoolName(workload.poolName());
+            pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+            pool.setConnectionTimeout(settings.getConnectionTimeoutMs());
+            int minimumIdle = settings.getMinimumIdle() != null ? settings.getMinimumIdle()
+                : pool.getMinimumIdle() >= 0 ? pool.getMinimumIdle() : WorkloadPoolProperties.Pool.DEFAULT_MINIMUM_IDLE;
+            pool.setMinimumIdle(Math.min(minimumIdle, settings.getMaximumPoolSize()));
+            if (settings.getIdleTimeoutMs() != null) {
+                pool.setIdleTimeout(settings.getIdleTimeoutMs());
+            }
+            if (StringUtils.hasText(settings.getConnectionInitSql())) {
+                pool.setConnectionInitSql(settings.getConnectionInitSql());
+            }
+            bindMetrics(pool, meterRegistry.getIfAvailable());
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                                      DataSourceProperties primaryProperties,
+                                                      ReplicaDataSourceProperties replicaProperties,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        int index = 0;
+        for (ReplicaDataSourceProperties.Node node : replicaProperties.getNodes()) {
+            String name = node.getName() != null ? node.getName() : "replica-" + index;
+            index++;
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername() != null ? node.getUsername() : primaryProperties.determineUsername());
+            replica.setPassword(node.getPassword() != null ? node.getPassword() : primaryProperties.determinePassword());
+            replica.setMaximumPoolSize(replicaProperties.getPoolSize());
+            replica.setConnectionTimeout(replicaProperties.getConnectionTimeoutMs());
+            replica.setReadOnly(true);
+            // An unreachable replica must not stop startup; it stays out of rotation until a probe succeeds
+            replica.setInitializationFailTimeout(-1);
+            bindMetrics(replica, meterRegistry.getIfAvailable());
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties);
+    }
+
+    /**
+     * The DataSource JPA uses; connections are fetched lazily so the routing sees the transaction's
+     * read-only flag and the caller's workload. Hibernate must release them when each transaction ends
+     * (hibernate.connection.handling_mode in application.yml), or an open-in-view session keeps the
+     * connection its first transaction was routed to.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        DataSource routingDataSource = replicaRoutingDataSource.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(routingDataSource != null ? routingDataSource : primaryDataSource);
+    }
+
+    private void bindMetrics(HikariDataSource pool, MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return;
+        }
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        Gauge.builder("db.pool.saturation", pool, DatabaseConfig::saturation)
+            .description("Share of the pool's maximum connections in use")
+            .tag("pool", pool.getPoolName())
+            .register(meterRegistry);
+    }
+
+    private static double saturation(HikariDataSource pool) {
+        HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+        if (poolBean == null || pool.getMaximumPoolSize() <= 0) {
+            return 0.0;
+        }
+        return (double) poolBean.getActiveConnections() / pool.getMaximumPoolSize();
+    }
+
+    static class RoutingEnabledCondition extends AnyNestedCondition {
+
+        RoutingEnabledCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @ConditionalOnProperty(name = "app.datasource.workload-pools.enabled", havingValue = "true")
+        static class WorkloadPoolsEnabled {
+        }
+
+        @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+        static class ReplicasEnabled {
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+    public static class ReadYourWritesConfig implements WebMvcConfigurer {
+
+        private final ReplicaDataSourceProperties replicaProperties;
+
+        public ReadYourWritesConfig(ReplicaDataSourceProperties replicaProperties) {
+            this.replicaProperties = replicaProperties;
+        }
+
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(replicaProperties.getReadYourWritesWindowMs()));
+        }
+    }
 }
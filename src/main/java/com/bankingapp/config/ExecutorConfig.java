@@ -0,0 +1,82 @@
+package com.bankingapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded thread pools for fan-out work; each pool size also caps the database connections that work can hold.
+ * Tasks run as the reporting workload, so their connections come from the reporting pool.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean(name = "auditExecutor")
+    public ThreadPoolTaskExecutor auditExecutor(@Value("${app.balance-checkpoint.audit-parallelism:8}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("audit-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = "analyticsExecutor")
+    public ThreadPoolTaskExecutor analyticsExecutor(@Value("${app.cash-flow.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("analytics-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = "importExecutor")
+    public ThreadPoolTaskExecutor importExecutor(@Value("${app.account-import.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("import-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // Runs submitted imports one at a time; each import parses ahead on importExecutor
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("import-job-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        // An import stopped at shutdown resumes after its last committed chunk when submitted again
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    @Bean(name = "statementExecutor")
+    public ThreadPoolTaskExecutor statementExecutor(@Value("${app.statement.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("statement-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    @Bean(name = "reconciliationExecutor")
+    public ThreadPoolTaskExecutor reconciliationExecutor(@Value("${app.reconciliation.parallelism:2}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("reconciliation-");
+        executor.setTaskDecorator(task -> WorkloadContext.wrap(Workload.REPORTING, task));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
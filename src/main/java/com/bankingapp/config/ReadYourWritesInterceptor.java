@@ -0,0 +1,54 @@
+package com.bankingapp.config;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after any write request they made,
+ * so a replica that has not caught up yet cannot hide the user's own changes
+ */
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final int PRUNE_THRESHOLD = 10000;
+
+    private final long windowMillis;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(long windowMillis) {
+        this.windowMillis = windowMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String user = request.getRemoteUser();
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis) {
+                ReplicaRoutingContext.pinToPrimary();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRoutingContext.clear();
+        String user = request.getRemoteUser();
+        if (user == null || !isWrite(request.getMethod())) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PRUNE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= windowMillis);
+        }
+    }
+
+    private boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,90 @@
+package com.bankingapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for read replicas (app.datasource.replicas.*). Credentials default to the primary's;
+ * for a local setup point the nodes at a second MySQL instance, or at H2 with lag-query set to a
+ * query against a table holding the simulated lag.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replicas")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /**
+     * Replicas further behind than this are skipped until they catch up
+     */
+    private long maxLagSeconds = 5;
+
+    /**
+     * Returns the replica's lag in seconds; the Seconds_Behind_Source (or Seconds_Behind_Master) column is used
+     * when present, otherwise the first column. No row or a null lag marks the replica down; blank skips the lag check
+     */
+    private String lagQuery = "SHOW REPLICA STATUS";
+
+    /**
+     * How often replicas are probed; 0 disables the periodic check
+     */
+    private long healthCheckIntervalMs = 5000;
+
+    private long connectionTimeoutMs = 2000;
+
+    private int poolSize = 10;
+
+    /**
+     * How long reads of a user who just issued a write request stay on the primary
+     */
+    private long readYourWritesWindowMs = 10000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<Node> getNodes() { return nodes; }
+    public void setNodes(List<Node> nodes) { this.nodes = nodes; }
+
+    public long getMaxLagSeconds() { return maxLagSeconds; }
+    public void setMaxLagSeconds(long maxLagSeconds) { this.maxLagSeconds = maxLagSeconds; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public long getHealthCheckIntervalMs() { return healthCheckIntervalMs; }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) { this.healthCheckIntervalMs = healthCheckIntervalMs; }
+
+    public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+
+    public int getPoolSize() { return poolSize; }
+    public void setPoolSize(int poolSize) { this.poolSize = poolSize; }
+
+    public long getReadYourWritesWindowMs() { return readYourWritesWindowMs; }
+    public void setReadYourWritesWindowMs(long readYourWritesWindowMs) { this.readYourWritesWindowMs = readYourWritesWindowMs; }
+
+    public static class Node {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankingapp.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound hint that keeps read-only work on the primary, for reads that must see the caller's own writes
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {}
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    public static void clear() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    /**
+     * Run work with its connections taken from the primary
+     */
+    public static <T> T onPrimary(Supplier<T> work) {
+        boolean alreadyPinned = isPinnedToPrimary();
+        pinToPrimary();
+        try {
+            return work.get();
+        } finally {
+            if (!alreadyPinned) {
+                clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.bankingapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource that hands out replica connections to read-only transactions and primary connections to everything else.
+ *
+ * Replicas are taken round robin, skipping any that failed their last probe or lag more than the configured limit;
+ * with none available, or when the current thread is pinned through {@link ReplicaRoutingContext}, reads use the
+ * primary. The decision is made when a connection is requested, so this must sit behind a
+ * LazyConnectionDataSourceProxy for the transaction's read-only flag to be known by then.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final long maxLagSeconds;
+    private final String lagQuery;
+    private final long healthCheckIntervalMs;
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                    ReplicaDataSourceProperties properties) {
+        this.primary = primary;
+        replicaDataSources.forEach((name, dataSource) -> replicas.add(new Replica(name, dataSource)));
+        this.maxLagSeconds = properties.getMaxLagSeconds();
+        this.lagQuery = properties.getLagQuery();
+        this.healthCheckIntervalMs = properties.getHealthCheckIntervalMs();
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        checkReplicas();
+        if (healthCheckIntervalMs > 0 && !replicas.isEmpty()) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-health-"));
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, healthCheckIntervalMs, healthCheckIntervalMs,
+                                                 TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) replica.dataSource).close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close replica pool {}", replica.name, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = replicaForCurrentRead();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                markUnavailable(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Replica replicaForCurrentRead() {
+        if (replicas.isEmpty()
+            || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            || ReplicaRoutingContext.isPinnedToPrimary()) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // ===================== Health =====================
+
+    /**
+     * Probe every replica and update which ones may serve reads
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                Long lagSeconds = StringUtils.hasText(lagQuery) ? measureLag(connection) : Long.valueOf(0L);
+                replica.lagSeconds = lagSeconds;
+                if (lagSeconds == null) {
+                    markUnavailable(replica, "replication is not running");
+                } else if (lagSeconds > maxLagSeconds) {
+                    markUnavailable(replica, "lagging " + lagSeconds + "s behind the primary");
+                } else {
+                    markAvailable(replica);
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = null;
+                markUnavailable(replica, e.getMessage());
+            }
+        }
+    }
+
+    private Long measureLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return null;
+            }
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            int lagColumn = 1;
+            for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                for (String name : LAG_COLUMNS) {
+                    if (name.equalsIgnoreCase(metaData.getColumnLabel(column))) {
+                        lagColumn = column;
+                    }
+                }
+            }
+            long lagSeconds = resultSet.getLong(lagColumn);
+            return resultSet.wasNull() ? null : lagSeconds;
+        }
+    }
+
+    private void markAvailable(Replica replica) {
+        if (!replica.available) {
+            logger.info("Replica {} is serving reads (lag {}s)", replica.name, replica.lagSeconds);
+        }
+        replica.available = true;
+        replica.probed = true;
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        if (replica.available || !replica.probed) {
+            logger.warn("Replica {} taken out of read rotation: {}", replica.name, reason);
+        }
+        replica.available = false;
+        replica.probed = true;
+    }
+
+    /**
+     * Whether the named replica is currently in the read rotation
+     */
+    public boolean isAvailable(String replicaName) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(replicaName) && replica.available);
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Replicas start out of rotation until their first probe passes
+        private volatile boolean available;
+        private volatile boolean probed;
+        private volatile Long lagSeconds;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
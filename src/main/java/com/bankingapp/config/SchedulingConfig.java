@@ -0,0 +1,15 @@
+package com.bankingapp.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled batch jobs in com.bankingapp.job; disable with app.scheduling.enabled=false
+ * Jobs share the scheduler pool sized by spring.task.scheduling.pool.size, so a long run does not delay the others
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
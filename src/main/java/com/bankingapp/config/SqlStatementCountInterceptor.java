@@ -0,0 +1,41 @@
+package com.bankingapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Per-request N+1 detector: warns when a request issues more SQL statements than the threshold
+ */
+@Component
+public class SqlStatementCountInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementCountInterceptor.class);
+
+    @Value("${app.sql.statement-warn-threshold:20}")
+    private long warnThreshold;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SqlStatementCounter.reset();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        long statementCount = SqlStatementCounter.getCount();
+        SqlStatementCounter.clear();
+
+        if (statementCount > warnThreshold) {
+            logger.warn("Request {} {} issued {} SQL statements (threshold {}) - possible N+1 in {}",
+                       request.getMethod(), request.getRequestURI(), statementCount, warnThreshold, handler);
+        } else {
+            logger.debug("Request {} {} issued {} SQL statements", request.getMethod(), request.getRequestURI(), statementCount);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.bankingapp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting SQL statements issued on the current thread.
+ * Registered through hibernate.session_factory.statement_inspector; Hibernate instantiates it,
+ * so the count is kept in a static thread-local rather than in a Spring bean.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> STATEMENT_COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENT_COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Start counting from zero on the current thread
+     */
+    public static void reset() {
+        STATEMENT_COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Statements issued on the current thread since the last reset
+     */
+    public static long getCount() {
+        return STATEMENT_COUNT.get()[0];
+    }
+
+    /**
+     * Release the counter of the current thread (pooled request threads)
+     */
+    public static void clear() {
+        STATEMENT_COUNT.remove();
+    }
+}
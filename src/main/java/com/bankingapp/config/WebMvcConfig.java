@@ -0,0 +1,20 @@
+package com.bankingapp.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "app.sql.statement-detector.enabled", havingValue = "true", matchIfMissing = true)
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SqlStatementCountInterceptor sqlStatementCountInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sqlStatementCountInterceptor);
+    }
+}
@@ -0,0 +1,29 @@
+package com.bankingapp.config;
+
+/**
+ * Database workloads that get their own connection pool, so slow work of one kind cannot starve another
+ */
+public enum Workload {
+
+    /**
+     * Deposits, withdrawals and transfers
+     */
+    MONEY_MOVEMENT,
+
+    /**
+     * Everything not annotated otherwise: lookups, history pages and other user-facing requests
+     */
+    INTERACTIVE,
+
+    /**
+     * Statistics, analytics and scheduled batch jobs
+     */
+    REPORTING;
+
+    /**
+     * Pool name used for Hikari and the pool metric tag
+     */
+    public String poolName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
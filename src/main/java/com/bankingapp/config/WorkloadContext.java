@@ -0,0 +1,59 @@
+package com.bankingapp.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound workload used to pick the connection pool; unset means {@link Workload#INTERACTIVE}
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {}
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+
+    /**
+     * Switch the current thread to workload
+     * @return the previously set workload (possibly null), to hand back to {@link #restore}
+     */
+    public static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public static <T> T call(Workload workload, Supplier<T> work) {
+        Workload previous = enter(workload);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wrap task so it runs under workload on whichever thread executes it
+     */
+    public static Runnable wrap(Workload workload, Runnable task) {
+        return () -> {
+            Workload previous = enter(workload);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.bankingapp.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies {@link WorkloadPool} annotations; ordered ahead of the transaction interceptor so the workload is
+ * set before a transaction opens its connection
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadPoolAspect {
+
+    @Around("@within(com.bankingapp.config.WorkloadPool) || @annotation(com.bankingapp.config.WorkloadPool)")
+    public Object runOnWorkloadPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        WorkloadPool workloadPool = AnnotationUtils.findAnnotation(
+            ((MethodSignature) joinPoint.getSignature()).getMethod(), WorkloadPool.class);
+        if (workloadPool == null) {
+            workloadPool = AnnotationUtils.findAnnotation(joinPoint.getTarget().getClass(), WorkloadPool.class);
+        }
+        if (workloadPool == null) {
+            return joinPoint.proceed();
+        }
+        Workload previous = WorkloadContext.enter(workloadPool.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.bankingapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration for the per-workload primary pools (app.datasource.workload-pools.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.workload-pools")
+public class WorkloadPoolProperties {
+
+    private boolean enabled = false;
+
+    private Pool moneyMovement = new Pool(20, 1000);
+    private Pool interactive = new Pool(15, 3000);
+    private Pool reporting = new Pool(5, 30000);
+
+    public Pool getPool(Workload workload) {
+        switch (workload) {
+            case MONEY_MOVEMENT:
+                return moneyMovement;
+            case REPORTING:
+                return reporting;
+            default:
+                return interactive;
+        }
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Pool getMoneyMovement() { return moneyMovement; }
+    public void setMoneyMovement(Pool moneyMovement) { this.moneyMovement = moneyMovement; }
+
+    public Pool getInteractive() { return interactive; }
+    public void setInteractive(Pool interactive) { this.interactive = interactive; }
+
+    public Pool getReporting() { return reporting; }
+    public void setReporting(Pool reporting) { this.reporting = reporting; }
+
+    /**
+     * Settings of one workload's pool; anything left unset comes from spring.datasource.hikari.*
+     */
+    public static class Pool {
+
+        /**
+         * Idle connections kept when neither the pool nor spring.datasource.hikari sets minimum-idle
+         */
+        static final int DEFAULT_MINIMUM_IDLE = 2;
+
+        private int maximumPoolSize;
+        private Integer minimumIdle;
+
+        /**
+         * How long a caller waits for a free connection before failing
+         */
+        private long connectionTimeoutMs;
+
+        private Long idleTimeoutMs;
+
+        /**
+         * Run on every new connection, e.g. "SET SESSION max_execution_time = 5000" to cap statement time on MySQL
+         */
+        private String connectionInitSql;
+
+        public Pool() {}
+
+        public Pool(int maximumPoolSize, long connectionTimeoutMs) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeoutMs = connectionTimeoutMs;
+        }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+
+        public Integer getMinimumIdle() { return minimumIdle; }
+        public void setMinimumIdle(Integer minimumIdle) { this.minimumIdle = minimumIdle; }
+
+        public long getConnectionTimeoutMs() { return connectionTimeoutMs; }
+        public void setConnectionTimeoutMs(long connectionTimeoutMs) { this.connectionTimeoutMs = connectionTimeoutMs; }
+
+        public Long getIdleTimeoutMs() { return idleTimeoutMs; }
+        public void setIdleTimeoutMs(Long idleTimeoutMs) { this.idleTimeoutMs = idleTimeoutMs; }
+
+        public String getConnectionInitSql() { return connectionInitSql; }
+        public void setConnectionInitSql(String connectionInitSql) { this.connectionInitSql = connectionInitSql; }
+    }
+}
@@ -0,0 +1,48 @@
+package com.bankingapp.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Primary DataSource that hands each workload connections from its own pool. Like the replica routing,
+ * the pool is chosen when a connection is requested, so it must sit behind a LazyConnectionDataSourceProxy.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadRoutingDataSource.class);
+
+    private final Map<Workload, DataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        this.pools = new EnumMap<>(pools);
+        setTargetDataSources(new HashMap<>(this.pools));
+        setDefaultTargetDataSource(this.pools.get(Workload.INTERACTIVE));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach((workload, pool) -> {
+            if (pool instanceof Closeable) {
+                try {
+                    ((Closeable) pool).close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close {} pool", workload.poolName(), e);
+                }
+            }
+        });
+    }
+}
@@ -1,8 +1,11 @@
 package com.bankingapp.controller;
 
 
+import com.bankingapp.accountimport.AccountImporter;
 import com.bankingapp.dto.*;
 import com.bankingapp.entity.Account;
+import com.bankingapp.exception.AccountNotFoundException;
+import com.bankingapp.reconciliation.BalanceReconciler;
 import com.bankingapp.security.UserPrincipal;
 import com.bankingapp.service.AccountService;
 import com.bankingapp.service.TransactionService;
@@ -18,6 +21,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,6 +33,7 @@ import javax.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +54,12 @@ public class AccountController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private AccountImporter accountImporter;
+
+    @Autowired
+    private BalanceReconciler balanceReconciler;
+
     /**
      * Get all accounts for the current user
      */
@@ -481,6 +492,271 @@ public class AccountController {
         }
     }
 
+    /**
+     * Get downsampled account balance chart
+     */
+    @GetMapping("/{accountId}/balance-history/chart")
+    @Operation(summary = "Get balance chart", description = "Get min/max/last balance per minute, hour or day for a time range")
+    public ResponseEntity<?> getBalanceChart(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Fetching balance chart for account {} for user: {}", accountId, currentUser.getUsername());
+
+        try {
+            Account account = accountService.getAccountById(accountId);
+            
+            // Security check: ensure user owns this account
+            if (!account.getUser().getId().equals(currentUser.getId())) {
+                logger.warn("User {} attempted to access balance chart for account {} owned by another user", 
+                           currentUser.getUsername(), accountId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse(false, "Access denied to this account"));
+            }
+
+            LocalDateTime chartEnd = endDate != null ? endDate : LocalDateTime.now();
+            BalanceHistoryChartDTO chart = accountService.getBalanceChart(accountId, startDate, chartEnd);
+            
+            logger.info("Retrieved {} {} balance points for account {}", 
+                       chart.getPoints().size(), chart.getResolution(), accountId);
+            return ResponseEntity.ok(chart);
+
+        } catch (RuntimeException e) {
+            logger.error("Account {} not found for user: {}", accountId, currentUser.getUsername());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse(false, "Account not found"));
+        } catch (Exception e) {
+            logger.error("Error fetching balance chart for account {} for user: {}", 
+                        accountId, currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch balance chart"));
+        }
+    }
+
+    /**
+     * Get account balance as of a past time
+     */
+    @GetMapping("/{accountId}/balance/as-of")
+    @Operation(summary = "Get balance as of time", description = "Get the balance of a specific account at a past point in time")
+    public ResponseEntity<?> getBalanceAsOf(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Fetching balance as of {} for account {} for user: {}", timestamp, accountId, currentUser.getUsername());
+
+        try {
+            Account account = accountService.getAccountById(accountId);
+            
+            // Security check: ensure user owns this account
+            if (!account.getUser().getId().equals(currentUser.getId())) {
+                logger.warn("User {} attempted to access historical balance for account {} owned by another user", 
+                           currentUser.getUsername(), accountId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ApiResponse(false, "Access denied to this account"));
+            }
+
+            return ResponseEntity.ok(accountService.getBalanceAsOf(accountId, timestamp));
+
+        } catch (RuntimeException e) {
+            logger.error("Account {} not found for user: {}", accountId, currentUser.getUsername());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse(false, "Account not found"));
+        }
+    }
+
+    /**
+     * Get balances of many accounts as of a past time (Admin only)
+     */
+    @GetMapping("/balances/as-of")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get balances as of time", description = "Get balances of several accounts at a past point in time (Admin only)")
+    public ResponseEntity<?> getBalancesAsOf(
+            @RequestParam List<Long> accountIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Admin {} fetching balances of {} accounts as of {}", 
+                   currentUser.getUsername(), accountIds.size(), timestamp);
+
+        try {
+            Map<Long, BalanceAsOfDTO> balances = accountService.getBalancesAsOf(accountIds, timestamp);
+            return ResponseEntity.ok(balances.values());
+
+        } catch (Exception e) {
+            logger.error("Error fetching historical balances for admin: {}", currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch historical balances"));
+        }
+    }
+
+    /**
+     * Start importing users, accounts and opening balances from a CSV file in the import directory (Admin only)
+     * The import runs in the background; re-submitting the same file resumes after the last committed chunk
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import accounts", description = "Start importing users, accounts and opening balances from a CSV file in the import directory (Admin only)")
+    public ResponseEntity<?> importAccounts(
+            @RequestParam String file,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        logger.info("Admin {} importing accounts from {}", currentUser.getUsername(), file);
+
+        try {
+            AccountImportJobDTO job = accountImporter.submit(accountImporter.resolve(file));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected account import of {} for admin {}: {}", file, currentUser.getUsername(), e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error starting account import of {} for admin: {}", file, currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to start account import"));
+        }
+    }
+
+    /**
+     * Get the progress of a bulk account import (Admin only)
+     */
+    @GetMapping("/import/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get account import progress", description = "Get the status and committed progress of a bulk account import (Admin only)")
+    public ResponseEntity<AccountImportJobDTO> getImportJob(
+            @Parameter(description = "Import job ID") @PathVariable Long jobId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+
+        logger.debug("Admin {} fetching account import {}", currentUser.getUsername(), jobId);
+
+        return accountImporter.getJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Check every account balance against its completed transactions and write a discrepancy report (Admin only)
+     * Paced to the configured database load budget, so it is safe during business hours
+     */
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconcile balances", description = "Check every account balance against its completed transactions (Admin only)")
+    public ResponseEntity<?> reconcileBalances(@AuthenticationPrincipal UserPrincipal currentUser) {
+
+        logger.info("Admin {} reconciling account balances", currentUser.getUsername());
+
+        try {
+            BalanceReconciliationResultDTO result = balanceReconciler.reconcile();
+            return ResponseEntity.ok(result);
+
+        } catch (Exception e) {
+            logger.error("Error reconciling balances for admin: {}", currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Balance reconciliation failed"));
+        }
+    }
+
+    /**
+     * Get active account counts and balance distribution per account type (Admin only)
+     */
+    @GetMapping("/type-distribution")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get account type distribution", description = "Get active account counts and balance distribution per account type (Admin only)")
+    public ResponseEntity<?> getAccountTypeDistribution(@AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Admin {} fetching account type distribution", currentUser.getUsername());
+
+        try {
+            List<AccountTypeDistributionDTO> distribution = accountService.getBalanceDistributionByType();
+            return ResponseEntity.ok(distribution);
+
+        } catch (Exception e) {
+            logger.error("Error fetching account type distribution for admin: {}", currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch account type distribution"));
+        }
+    }
+
+    /**
+     * Get active accounts with the highest balances (Admin only)
+     */
+    @GetMapping("/leaderboard")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get balance leaderboard", description = "Get active accounts with the highest balances (Admin only)")
+    public ResponseEntity<?> getBalanceLeaderboard(
+            @RequestParam(defaultValue = "10") int limit,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Admin {} fetching top {} accounts by balance", currentUser.getUsername(), limit);
+
+        if (limit < 1 || limit > 1000) {
+            return ResponseEntity.badRequest()
+                .body(new ApiResponse(false, "Limit must be between 1 and 1000"));
+        }
+
+        try {
+            List<AccountSummaryDTO> accounts = accountService.getTopAccountsByBalance(limit);
+            return ResponseEntity.ok(accounts);
+
+        } catch (Exception e) {
+            logger.error("Error fetching balance leaderboard for admin: {}", currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch balance leaderboard"));
+        }
+    }
+
+    /**
+     * Get active accounts with a balance above a threshold (Admin only)
+     */
+    @GetMapping("/high-balance")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get high balance accounts", description = "Get active accounts with a balance above the threshold (Admin only)")
+    public ResponseEntity<?> getHighBalanceAccounts(
+            @RequestParam BigDecimal threshold,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Admin {} fetching accounts with balance above {}", currentUser.getUsername(), threshold);
+
+        try {
+            List<AccountSummaryDTO> accounts = accountService.getHighBalanceAccounts(threshold);
+            return ResponseEntity.ok(accounts);
+
+        } catch (Exception e) {
+            logger.error("Error fetching high balance accounts for admin: {}", currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch high balance accounts"));
+        }
+    }
+
+    /**
+     * Get position of an account in the balance ranking (Admin only)
+     */
+    @GetMapping("/{accountId}/balance-rank")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get balance rank", description = "Get rank of an account among active accounts by balance (Admin only)")
+    public ResponseEntity<?> getBalanceRank(
+            @Parameter(description = "Account ID") @PathVariable Long accountId,
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        
+        logger.info("Admin {} fetching balance rank of account {}", currentUser.getUsername(), accountId);
+
+        try {
+            AccountBalanceRankDTO rank = accountService.getBalanceRank(accountId);
+            return ResponseEntity.ok(rank);
+
+        } catch (AccountNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ApiResponse(false, "Account not found"));
+        } catch (Exception e) {
+            logger.error("Error fetching balance rank of account {} for admin: {}", accountId, currentUser.getUsername(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse(false, "Failed to fetch balance rank"));
+        }
+    }
+
     /**
      * Search accounts by criteria (Admin only)
      */
@@ -8,6 +8,8 @@ import com.bankingapp.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -81,17 +83,24 @@ public class UserController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDTO>> getAllUsers(@RequestParam(required = false) String search) {
+    public ResponseEntity<List<UserDTO>> getAllUsers(
+            @RequestParam(required = false) String search,
+            @RequestParam(defaultValue = "true") boolean includeInactive,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         logger.info("Admin getting all users with search: {}", search);
         
-        List<User> users;
         if (search != null && !search.trim().isEmpty()) {
-            users = userService.searchUsers(search);
-        } else {
-            users = userService.getAllActiveUsers();
+            Page<User> users = userService.searchUsers(search, includeInactive, PageRequest.of(page, size));
+            List<UserDTO> userDTOs = users.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+            return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(users.getTotalElements()))
+                .body(userDTOs);
         }
         
-        List<UserDTO> userDTOs = users.stream()
+        List<UserDTO> userDTOs = userService.getAllActiveUsers().stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
         
@@ -0,0 +1,54 @@
+package com.bankingapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for an account's position in the balance ranking of active accounts
+ */
+public class AccountBalanceRankDTO {
+
+    private Long accountId;
+    private BigDecimal balance;
+    private Long rank; // 1 = highest balance
+    private Long totalAccounts;
+    private Double percentile; // share of active accounts with a lower or equal rank position
+
+    // Constructors
+    public AccountBalanceRankDTO() {}
+
+    public AccountBalanceRankDTO(Long accountId, BigDecimal balance, Long rank, Long totalAccounts) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.rank = rank;
+        this.totalAccounts = totalAccounts;
+        if (rank != null && totalAccounts != null && totalAccounts > 0) {
+            this.percentile = 100.0 * (totalAccounts - rank + 1) / totalAccounts;
+        }
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public Long getRank() { return rank; }
+    public void setRank(Long rank) { this.rank = rank; }
+
+    public Long getTotalAccounts() { return totalAccounts; }
+    public void setTotalAccounts(Long totalAccounts) { this.totalAccounts = totalAccounts; }
+
+    public Double getPercentile() { return percentile; }
+    public void setPercentile(Double percentile) { this.percentile = percentile; }
+
+    @Override
+    public String toString() {
+        return "AccountBalanceRankDTO{" +
+                "accountId=" + accountId +
+                ", balance=" + balance +
+                ", rank=" + rank +
+                ", totalAccounts=" + totalAccounts +
+                '}';
+    }
+}
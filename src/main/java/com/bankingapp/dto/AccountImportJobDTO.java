@@ -0,0 +1,76 @@
+package com.bankingapp.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the state of a bulk account import job, identified by its checkpoint ID
+ */
+public class AccountImportJobDTO {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+    // Not completed and not running on this node; submitting the file again resumes it
+    public static final String STOPPED = "STOPPED";
+
+    private Long id;
+    private String source;
+    private String status;
+    private String error;
+
+    // Committed progress, over every run of this source
+    private Long nextOffset;
+    private Long fileSize;
+    private Long importedUsers;
+    private Long importedAccounts;
+    private Long rejectedRows;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public AccountImportJobDTO() {
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public Long getNextOffset() { return nextOffset; }
+    public void setNextOffset(Long nextOffset) { this.nextOffset = nextOffset; }
+
+    public Long getFileSize() { return fileSize; }
+    public void setFileSize(Long fileSize) { this.fileSize = fileSize; }
+
+    public Long getImportedUsers() { return importedUsers; }
+    public void setImportedUsers(Long importedUsers) { this.importedUsers = importedUsers; }
+
+    public Long getImportedAccounts() { return importedAccounts; }
+    public void setImportedAccounts(Long importedAccounts) { this.importedAccounts = importedAccounts; }
+
+    public Long getRejectedRows() { return rejectedRows; }
+    public void setRejectedRows(Long rejectedRows) { this.rejectedRows = rejectedRows; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public boolean isDone() {
+        return !RUNNING.equals(status);
+    }
+}
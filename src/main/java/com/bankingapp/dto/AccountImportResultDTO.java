@@ -0,0 +1,65 @@
+package com.bankingapp.dto;
+
+/**
+ * DTO for the outcome of a bulk account import run
+ */
+public class AccountImportResultDTO {
+
+    private String source;
+    private Long resumedFromOffset;
+
+    // Totals over every run of this source, including earlier interrupted ones
+    private Long importedUsers;
+    private Long importedAccounts;
+    private Long rejectedRows;
+
+    // This run only
+    private Long processedLines;
+    private Long elapsedMillis;
+    private String errorFile;
+
+    // Constructors
+    public AccountImportResultDTO() {
+    }
+
+    public AccountImportResultDTO(String source, Long resumedFromOffset, Long importedUsers, Long importedAccounts,
+                                  Long rejectedRows, Long processedLines, Long elapsedMillis, String errorFile) {
+        this.source = source;
+        this.resumedFromOffset = resumedFromOffset;
+        this.importedUsers = importedUsers;
+        this.importedAccounts = importedAccounts;
+        this.rejectedRows = rejectedRows;
+        this.processedLines = processedLines;
+        this.elapsedMillis = elapsedMillis;
+        this.errorFile = errorFile;
+    }
+
+    // Getters and Setters
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+
+    public Long getResumedFromOffset() { return resumedFromOffset; }
+    public void setResumedFromOffset(Long resumedFromOffset) { this.resumedFromOffset = resumedFromOffset; }
+
+    public Long getImportedUsers() { return importedUsers; }
+    public void setImportedUsers(Long importedUsers) { this.importedUsers = importedUsers; }
+
+    public Long getImportedAccounts() { return importedAccounts; }
+    public void setImportedAccounts(Long importedAccounts) { this.importedAccounts = importedAccounts; }
+
+    public Long getRejectedRows() { return rejectedRows; }
+    public void setRejectedRows(Long rejectedRows) { this.rejectedRows = rejectedRows; }
+
+    public Long getProcessedLines() { return processedLines; }
+    public void setProcessedLines(Long processedLines) { this.processedLines = processedLines; }
+
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(Long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public String getErrorFile() { return errorFile; }
+    public void setErrorFile(String errorFile) { this.errorFile = errorFile; }
+
+    public Long getLinesPerSecond() {
+        return elapsedMillis == null || elapsedMillis == 0 ? processedLines : processedLines * 1000 / elapsedMillis;
+    }
+}
@@ -0,0 +1,153 @@
+package com.bankingapp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for summed daily rollup counters of a single account
+ */
+public class AccountRollupSummaryDTO {
+
+    // Status counts
+    private Long completedCount;
+    private Long pendingCount;
+    private Long failedCount;
+
+    // Direction counts
+    private Long inflowCount;
+    private Long outflowCount;
+
+    // Completed counts and sums by type
+    private Long depositCount;
+    private BigDecimal depositAmount;
+    private Long withdrawalCount;
+    private BigDecimal withdrawalAmount;
+    private Long transferInCount;
+    private BigDecimal transferInAmount;
+    private Long transferOutCount;
+    private BigDecimal transferOutAmount;
+
+    // Amount range of completed transactions and activity window; null without transactions
+    private BigDecimal minAmount;
+    private BigDecimal maxAmount;
+    private LocalDateTime firstTransactionAt;
+    private LocalDateTime lastTransactionAt;
+
+    // Constructors
+    public AccountRollupSummaryDTO() {
+        this(0L, 0L, 0L, 0L, 0L, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO);
+    }
+
+    public AccountRollupSummaryDTO(Long completedCount, Long pendingCount, Long failedCount,
+                                   Long inflowCount, Long outflowCount,
+                                   Long depositCount, BigDecimal depositAmount,
+                                   Long withdrawalCount, BigDecimal withdrawalAmount,
+                                   Long transferInCount, BigDecimal transferInAmount,
+                                   Long transferOutCount, BigDecimal transferOutAmount) {
+        this(completedCount, pendingCount, failedCount, inflowCount, outflowCount, depositCount, depositAmount,
+             withdrawalCount, withdrawalAmount, transferInCount, transferInAmount, transferOutCount, transferOutAmount,
+             null, null, null, null);
+    }
+
+    public AccountRollupSummaryDTO(Long completedCount, Long pendingCount, Long failedCount,
+                                   Long inflowCount, Long outflowCount,
+                                   Long depositCount, BigDecimal depositAmount,
+                                   Long withdrawalCount, BigDecimal withdrawalAmount,
+                                   Long transferInCount, BigDecimal transferInAmount,
+                                   Long transferOutCount, BigDecimal transferOutAmount,
+                                   BigDecimal minAmount, BigDecimal maxAmount,
+                                   LocalDateTime firstTransactionAt, LocalDateTime lastTransactionAt) {
+        this.completedCount = completedCount;
+        this.pendingCount = pendingCount;
+        this.failedCount = failedCount;
+        this.inflowCount = inflowCount;
+        this.outflowCount = outflowCount;
+        this.depositCount = depositCount;
+        this.depositAmount = depositAmount;
+        this.withdrawalCount = withdrawalCount;
+        this.withdrawalAmount = withdrawalAmount;
+        this.transferInCount = transferInCount;
+        this.transferInAmount = transferInAmount;
+        this.transferOutCount = transferOutCount;
+        this.transferOutAmount = transferOutAmount;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.firstTransactionAt = firstTransactionAt;
+        this.lastTransactionAt = lastTransactionAt;
+    }
+
+    // Getters and Setters
+    public Long getCompletedCount() { return completedCount; }
+    public void setCompletedCount(Long completedCount) { this.completedCount = completedCount; }
+
+    public Long getPendingCount() { return pendingCount; }
+    public void setPendingCount(Long pendingCount) { this.pendingCount = pendingCount; }
+
+    public Long getFailedCount() { return failedCount; }
+    public void setFailedCount(Long failedCount) { this.failedCount = failedCount; }
+
+    public Long getInflowCount() { return inflowCount; }
+    public void setInflowCount(Long inflowCount) { this.inflowCount = inflowCount; }
+
+    public Long getOutflowCount() { return outflowCount; }
+    public void setOutflowCount(Long outflowCount) { this.outflowCount = outflowCount; }
+
+    public Long getDepositCount() { return depositCount; }
+    public void setDepositCount(Long depositCount) { this.depositCount = depositCount; }
+
+    public BigDecimal getDepositAmount() { return depositAmount; }
+    public void setDepositAmount(BigDecimal depositAmount) { this.depositAmount = depositAmount; }
+
+    public Long getWithdrawalCount() { return withdrawalCount; }
+    public void setWithdrawalCount(Long withdrawalCount) { this.withdrawalCount = withdrawalCount; }
+
+    public BigDecimal getWithdrawalAmount() { return withdrawalAmount; }
+    public void setWithdrawalAmount(BigDecimal withdrawalAmount) { this.withdrawalAmount = withdrawalAmount; }
+
+    public Long getTransferInCount() { return transferInCount; }
+    public void setTransferInCount(Long transferInCount) { this.transferInCount = transferInCount; }
+
+    public BigDecimal getTransferInAmount() { return transferInAmount; }
+    public void setTransferInAmount(BigDecimal transferInAmount) { this.transferInAmount = transferInAmount; }
+
+    public Long getTransferOutCount() { return transferOutCount; }
+    public void setTransferOutCount(Long transferOutCount) { this.transferOutCount = transferOutCount; }
+
+    public BigDecimal getTransferOutAmount() { return transferOutAmount; }
+    public void setTransferOutAmount(BigDecimal transferOutAmount) { this.transferOutAmount = transferOutAmount; }
+
+    public BigDecimal getMinAmount() { return minAmount; }
+    public void setMinAmount(BigDecimal minAmount) { this.minAmount = minAmount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public LocalDateTime getFirstTransactionAt() { return firstTransactionAt; }
+    public void setFirstTransactionAt(LocalDateTime firstTransactionAt) { this.firstTransactionAt = firstTransactionAt; }
+
+    public LocalDateTime getLastTransactionAt() { return lastTransactionAt; }
+    public void setLastTransactionAt(LocalDateTime lastTransactionAt) { this.lastTransactionAt = lastTransactionAt; }
+
+    // Utility methods
+    public long getTotalCount() {
+        return completedCount + pendingCount + failedCount;
+    }
+
+    public BigDecimal getTotalInflow() {
+        return depositAmount.add(transferInAmount);
+    }
+
+    public BigDecimal getTotalOutflow() {
+        return withdrawalAmount.add(transferOutAmount);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountRollupSummaryDTO{" +
+                "totalCount=" + getTotalCount() +
+                ", completedCount=" + completedCount +
+                ", inflow=" + getTotalInflow() +
+                ", outflow=" + getTotalOutflow() +
+                '}';
+    }
+}
@@ -1,5 +1,6 @@
 package com.bankingapp.dto;
 
+import com.bankingapp.entity.Account;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.math.BigDecimal;
@@ -35,6 +36,15 @@ public class AccountSummaryDTO {
         this.status = isActive ? "Active" : "Inactive";
     }
 
+    /**
+     * Constructor used by JPQL projection queries
+     */
+    public AccountSummaryDTO(Long id, String accountNumber, Account.AccountType accountType,
+                           BigDecimal balance, Boolean isActive, LocalDateTime lastTransactionDate) {
+        this(id, accountNumber, accountType != null ? accountType.name() : null, balance, isActive);
+        this.lastTransactionDate = lastTransactionDate;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
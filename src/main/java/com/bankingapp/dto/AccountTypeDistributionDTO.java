@@ -0,0 +1,54 @@
+package com.bankingapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the balance distribution of active accounts of one account type
+ */
+public class AccountTypeDistributionDTO {
+
+    private String accountType;
+    private Long accountCount;
+    private BigDecimal totalBalance;
+    private BigDecimal averageBalance;
+    private BigDecimal balanceStandardDeviation; // population standard deviation
+
+    // Constructors
+    public AccountTypeDistributionDTO() {}
+
+    public AccountTypeDistributionDTO(String accountType, Long accountCount, BigDecimal totalBalance,
+                                      BigDecimal averageBalance, BigDecimal balanceStandardDeviation) {
+        this.accountType = accountType;
+        this.accountCount = accountCount;
+        this.totalBalance = totalBalance;
+        this.averageBalance = averageBalance;
+        this.balanceStandardDeviation = balanceStandardDeviation;
+    }
+
+    // Getters and Setters
+    public String getAccountType() { return accountType; }
+    public void setAccountType(String accountType) { this.accountType = accountType; }
+
+    public Long getAccountCount() { return accountCount; }
+    public void setAccountCount(Long accountCount) { this.accountCount = accountCount; }
+
+    public BigDecimal getTotalBalance() { return totalBalance; }
+    public void setTotalBalance(BigDecimal totalBalance) { this.totalBalance = totalBalance; }
+
+    public BigDecimal getAverageBalance() { return averageBalance; }
+    public void setAverageBalance(BigDecimal averageBalance) { this.averageBalance = averageBalance; }
+
+    public BigDecimal getBalanceStandardDeviation() { return balanceStandardDeviation; }
+    public void setBalanceStandardDeviation(BigDecimal balanceStandardDeviation) { this.balanceStandardDeviation = balanceStandardDeviation; }
+
+    @Override
+    public String toString() {
+        return "AccountTypeDistributionDTO{" +
+                "accountType='" + accountType + '\'' +
+                ", accountCount=" + accountCount +
+                ", totalBalance=" + totalBalance +
+                ", averageBalance=" + averageBalance +
+                ", balanceStandardDeviation=" + balanceStandardDeviation +
+                '}';
+    }
+}
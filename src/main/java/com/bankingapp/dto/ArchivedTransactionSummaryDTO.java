@@ -0,0 +1,61 @@
+package com.bankingapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for counts and sums of one account's archived transactions over a period
+ */
+public class ArchivedTransactionSummaryDTO {
+
+    private Long accountId;
+    private Long totalCount;
+    private Long completedCount;
+
+    // Completed counts and sums by direction
+    private Long creditCount;
+    private BigDecimal creditAmount;
+    private Long debitCount;
+    private BigDecimal debitAmount;
+
+    // Constructors
+    public ArchivedTransactionSummaryDTO() {
+    }
+
+    public ArchivedTransactionSummaryDTO(Long accountId, Long totalCount, Long completedCount,
+                                         Long creditCount, BigDecimal creditAmount,
+                                         Long debitCount, BigDecimal debitAmount) {
+        this.accountId = accountId;
+        this.totalCount = totalCount;
+        this.completedCount = completedCount;
+        this.creditCount = creditCount;
+        this.creditAmount = creditAmount;
+        this.debitCount = debitCount;
+        this.debitAmount = debitAmount;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public Long getTotalCount() { return totalCount; }
+    public void setTotalCount(Long totalCount) { this.totalCount = totalCount; }
+
+    public Long getCompletedCount() { return completedCount; }
+    public void setCompletedCount(Long completedCount) { this.completedCount = completedCount; }
+
+    public Long getCreditCount() { return creditCount; }
+    public void setCreditCount(Long creditCount) { this.creditCount = creditCount; }
+
+    public BigDecimal getCreditAmount() { return creditAmount; }
+    public void setCreditAmount(BigDecimal creditAmount) { this.creditAmount = creditAmount; }
+
+    public Long getDebitCount() { return debitCount; }
+    public void setDebitCount(Long debitCount) { this.debitCount = debitCount; }
+
+    public BigDecimal getDebitAmount() { return debitAmount; }
+    public void setDebitAmount(BigDecimal debitAmount) { this.debitAmount = debitAmount; }
+
+    public BigDecimal getNetAmount() {
+        return creditAmount.subtract(debitAmount);
+    }
+}
@@ -0,0 +1,64 @@
+package com.bankingapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a point-in-time account balance and how it was derived
+ */
+public class BalanceAsOfDTO {
+
+    private Long accountId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime asOf;
+
+    private BigDecimal balance;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime checkpointAt; // null when replayed from the first transaction
+
+    private BigDecimal checkpointBalance;
+    private Long replayedTransactions;
+
+    // Constructors
+    public BalanceAsOfDTO() {}
+
+    public BalanceAsOfDTO(Long accountId, LocalDateTime asOf, BigDecimal balance) {
+        this.accountId = accountId;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+    public void setAsOf(LocalDateTime asOf) { this.asOf = asOf; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public LocalDateTime getCheckpointAt() { return checkpointAt; }
+    public void setCheckpointAt(LocalDateTime checkpointAt) { this.checkpointAt = checkpointAt; }
+
+    public BigDecimal getCheckpointBalance() { return checkpointBalance; }
+    public void setCheckpointBalance(BigDecimal checkpointBalance) { this.checkpointBalance = checkpointBalance; }
+
+    public Long getReplayedTransactions() { return replayedTransactions; }
+    public void setReplayedTransactions(Long replayedTransactions) { this.replayedTransactions = replayedTransactions; }
+
+    @Override
+    public String toString() {
+        return "BalanceAsOfDTO{" +
+                "accountId=" + accountId +
+                ", asOf=" + asOf +
+                ", balance=" + balance +
+                ", checkpointAt=" + checkpointAt +
+                ", replayedTransactions=" + replayedTransactions +
+                '}';
+    }
+}
@@ -0,0 +1,66 @@
+package com.bankingapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a downsampled account balance chart
+ */
+public class BalanceHistoryChartDTO {
+
+    private Long accountId;
+    private String resolution; // MINUTE, HOUR, DAY
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime periodStart;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime periodEnd;
+
+    private BigDecimal openingBalance;
+    private List<BalanceHistoryPointDTO> points = new ArrayList<>();
+
+    // Constructors
+    public BalanceHistoryChartDTO() {}
+
+    public BalanceHistoryChartDTO(Long accountId, String resolution, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        this.accountId = accountId;
+        this.resolution = resolution;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+
+    public LocalDateTime getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDateTime periodStart) { this.periodStart = periodStart; }
+
+    public LocalDateTime getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDateTime periodEnd) { this.periodEnd = periodEnd; }
+
+    public BigDecimal getOpeningBalance() { return openingBalance; }
+    public void setOpeningBalance(BigDecimal openingBalance) { this.openingBalance = openingBalance; }
+
+    public List<BalanceHistoryPointDTO> getPoints() { return points; }
+    public void setPoints(List<BalanceHistoryPointDTO> points) { this.points = points; }
+
+    @Override
+    public String toString() {
+        return "BalanceHistoryChartDTO{" +
+                "accountId=" + accountId +
+                ", resolution='" + resolution + '\'' +
+                ", periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", points=" + points.size() +
+                '}';
+    }
+}
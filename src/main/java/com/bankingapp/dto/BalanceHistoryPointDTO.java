@@ -0,0 +1,58 @@
+package com.bankingapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one point of a downsampled balance history chart
+ */
+public class BalanceHistoryPointDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime bucketStart;
+
+    private BigDecimal minBalance;
+    private BigDecimal maxBalance;
+    private BigDecimal lastBalance;
+    private Long changeCount;
+
+    // Constructors
+    public BalanceHistoryPointDTO() {}
+
+    public BalanceHistoryPointDTO(LocalDateTime bucketStart, BigDecimal minBalance, BigDecimal maxBalance,
+                                  BigDecimal lastBalance, Long changeCount) {
+        this.bucketStart = bucketStart;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.lastBalance = lastBalance;
+        this.changeCount = changeCount;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+
+    public BigDecimal getMinBalance() { return minBalance; }
+    public void setMinBalance(BigDecimal minBalance) { this.minBalance = minBalance; }
+
+    public BigDecimal getMaxBalance() { return maxBalance; }
+    public void setMaxBalance(BigDecimal maxBalance) { this.maxBalance = maxBalance; }
+
+    public BigDecimal getLastBalance() { return lastBalance; }
+    public void setLastBalance(BigDecimal lastBalance) { this.lastBalance = lastBalance; }
+
+    public Long getChangeCount() { return changeCount; }
+    public void setChangeCount(Long changeCount) { this.changeCount = changeCount; }
+
+    @Override
+    public String toString() {
+        return "BalanceHistoryPointDTO{" +
+                "bucketStart=" + bucketStart +
+                ", minBalance=" + minBalance +
+                ", maxBalance=" + maxBalance +
+                ", lastBalance=" + lastBalance +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+package com.bankingapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for the outcome of a balance reconciliation run
+ */
+public class BalanceReconciliationResultDTO {
+
+    private Long partitions;
+    private Long accountsChecked;
+    private Long transactionsAggregated;
+
+    // Accounts whose balance still differs from their completed transactions after a recheck
+    private Long discrepancies;
+    // Sum of recorded minus expected balance over those accounts
+    private BigDecimal netDifference;
+    private String reportFile;
+
+    private Long elapsedMillis;
+    // Time workers waited for the database load budget, summed over workers
+    private Long throttledMillis;
+
+    // Constructors
+    public BalanceReconciliationResultDTO() {
+    }
+
+    public BalanceReconciliationResultDTO(Long partitions, Long accountsChecked, Long transactionsAggregated,
+                                          Long discrepancies, BigDecimal netDifference, String reportFile,
+                                          Long elapsedMillis, Long throttledMillis) {
+        this.partitions = partitions;
+        this.accountsChecked = accountsChecked;
+        this.transactionsAggregated = transactionsAggregated;
+        this.discrepancies = discrepancies;
+        this.netDifference = netDifference;
+        this.reportFile = reportFile;
+        this.elapsedMillis = elapsedMillis;
+        this.throttledMillis = throttledMillis;
+    }
+
+    // Getters and Setters
+    public Long getPartitions() { return partitions; }
+    public void setPartitions(Long partitions) { this.partitions = partitions; }
+
+    public Long getAccountsChecked() { return accountsChecked; }
+    public void setAccountsChecked(Long accountsChecked) { this.accountsChecked = accountsChecked; }
+
+    public Long getTransactionsAggregated() { return transactionsAggregated; }
+    public void setTransactionsAggregated(Long transactionsAggregated) { this.transactionsAggregated = transactionsAggregated; }
+
+    public Long getDiscrepancies() { return discrepancies; }
+    public void setDiscrepancies(Long discrepancies) { this.discrepancies = discrepancies; }
+
+    public BigDecimal getNetDifference() { return netDifference; }
+    public void setNetDifference(BigDecimal netDifference) { this.netDifference = netDifference; }
+
+    public String getReportFile() { return reportFile; }
+    public void setReportFile(String reportFile) { this.reportFile = reportFile; }
+
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(Long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public Long getThrottledMillis() { return throttledMillis; }
+    public void setThrottledMillis(Long throttledMillis) { this.throttledMillis = throttledMillis; }
+
+    public boolean isBalanced() {
+        return discrepancies != null && discrepancies == 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bankingapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for account cash flow analysis
+ */
+public class CashFlowDTO {
+
+    private Long accountId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime periodStart;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime periodEnd;
+
+    private BigDecimal totalInflow = BigDecimal.ZERO;
+    private BigDecimal totalOutflow = BigDecimal.ZERO;
+    private Long inflowCount = 0L;
+    private Long outflowCount = 0L;
+    private List<CashFlowPeriodDTO> periods = new ArrayList<>(); // one entry per calendar month in the range
+
+    // Constructors
+    public CashFlowDTO() {}
+
+    public CashFlowDTO(Long accountId, LocalDateTime periodStart, LocalDateTime periodEnd) {
+        this.accountId = accountId;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+    }
+
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+
+    public LocalDateTime getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDateTime periodStart) { this.periodStart = periodStart; }
+
+    public LocalDateTime getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDateTime periodEnd) { this.periodEnd = periodEnd; }
+
+    public BigDecimal getTotalInflow() { return totalInflow; }
+    public void setTotalInflow(BigDecimal totalInflow) { this.totalInflow = totalInflow; }
+
+    public BigDecimal getTotalOutflow() { return totalOutflow; }
+    public void setTotalOutflow(BigDecimal totalOutflow) { this.totalOutflow = totalOutflow; }
+
+    public Long getInflowCount() { return inflowCount; }
+    public void setInflowCount(Long inflowCount) { this.inflowCount = inflowCount; }
+
+    public Long getOutflowCount() { return outflowCount; }
+    public void setOutflowCount(Long outflowCount) { this.outflowCount = outflowCount; }
+
+    public List<CashFlowPeriodDTO> getPeriods() { return periods; }
+    public void setPeriods(List<CashFlowPeriodDTO> periods) { this.periods = periods; }
+
+    // Utility methods
+    public BigDecimal getNetCashFlow() {
+        BigDecimal inflow = totalInflow != null ? totalInflow : BigDecimal.ZERO;
+        BigDecimal outflow = totalOutflow != null ? totalOutflow : BigDecimal.ZERO;
+        return inflow.subtract(outflow);
+    }
+
+    public String getFormattedNetCashFlow() {
+        return formatCurrency(getNetCashFlow());
+    }
+
+    private String formatCurrency(BigDecimal amount) {
+        if (amount == null) return "$0.00";
+        return String.format("$%,.2f", amount);
+    }
+
+    @Override
+    public String toString() {
+        return "CashFlowDTO{" +
+                "accountId=" + accountId +
+                ", periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", totalInflow=" + totalInflow +
+                ", totalOutflow=" + totalOutflow +
+                ", netCashFlow=" + getFormattedNetCashFlow() +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.bankingapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO for the cash flow of one period (a calendar month, clipped to the requested range)
+ */
+public class CashFlowPeriodDTO {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate periodStart;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate periodEnd;
+
+    private BigDecimal totalInflow = BigDecimal.ZERO;
+    private BigDecimal totalOutflow = BigDecimal.ZERO;
+    private Long inflowCount = 0L;
+    private Long outflowCount = 0L;
+
+    // Constructors
+    public CashFlowPeriodDTO() {}
+
+    public CashFlowPeriodDTO(LocalDate periodStart, LocalDate periodEnd, BigDecimal totalInflow,
+                             BigDecimal totalOutflow, Long inflowCount, Long outflowCount) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.totalInflow = totalInflow;
+        this.totalOutflow = totalOutflow;
+        this.inflowCount = inflowCount;
+        this.outflowCount = outflowCount;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+
+    public BigDecimal getTotalInflow() { return totalInflow; }
+    public void setTotalInflow(BigDecimal totalInflow) { this.totalInflow = totalInflow; }
+
+    public BigDecimal getTotalOutflow() { return totalOutflow; }
+    public void setTotalOutflow(BigDecimal totalOutflow) { this.totalOutflow = totalOutflow; }
+
+    public Long getInflowCount() { return inflowCount; }
+    public void setInflowCount(Long inflowCount) { this.inflowCount = inflowCount; }
+
+    public Long getOutflowCount() { return outflowCount; }
+    public void setOutflowCount(Long outflowCount) { this.outflowCount = outflowCount; }
+
+    // Utility methods
+    public BigDecimal getNetCashFlow() {
+        BigDecimal inflow = totalInflow != null ? totalInflow : BigDecimal.ZERO;
+        BigDecimal outflow = totalOutflow != null ? totalOutflow : BigDecimal.ZERO;
+        return inflow.subtract(outflow);
+    }
+
+    @Override
+    public String toString() {
+        return "CashFlowPeriodDTO{" +
+                "periodStart=" + periodStart +
+                ", periodEnd=" + periodEnd +
+                ", totalInflow=" + totalInflow +
+                ", totalOutflow=" + totalOutflow +
+                '}';
+    }
+}
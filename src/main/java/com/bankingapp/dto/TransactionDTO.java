@@ -1,5 +1,6 @@
 package com.bankingapp.dto;
 
+import com.bankingapp.entity.ArchivedTransaction;
 import com.bankingapp.entity.Transaction;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -399,10 +400,38 @@ public class TransactionDTO {
         dto.setDescription(transaction.getDescription());
         dto.setStatus(transaction.getStatus());
         dto.setCreatedAt(transaction.getCreatedAt());
+        // Single-sided transactions carry the balance of the only account involved
+        if (transaction.getToBalanceAfter() != null && transaction.getFromAccount() == null) {
+            dto.setBalanceAfter(transaction.getToBalanceAfter());
+        } else if (transaction.getFromBalanceAfter() != null && transaction.getToAccount() == null) {
+            dto.setBalanceAfter(transaction.getFromBalanceAfter());
+        }
         
         return dto;
     }
 
+    public static TransactionDTO fromArchived(ArchivedTransaction archived) {
+        if (archived == null) return null;
+
+        TransactionDTO dto = new TransactionDTO();
+        dto.setId(archived.getId());
+        dto.setTransactionId(archived.getTransactionId());
+        dto.setFromAccountId(archived.getFromAccountId());
+        dto.setToAccountId(archived.getToAccountId());
+        dto.setTransactionType(archived.getTransactionType());
+        dto.setAmount(archived.getAmount());
+        dto.setDescription(archived.getDescription());
+        dto.setStatus(archived.getStatus());
+        dto.setCreatedAt(archived.getCreatedAt());
+        if (archived.getToBalanceAfter() != null && archived.getFromAccountId() == null) {
+            dto.setBalanceAfter(archived.getToBalanceAfter());
+        } else if (archived.getFromBalanceAfter() != null && archived.getToAccountId() == null) {
+            dto.setBalanceAfter(archived.getFromBalanceAfter());
+        }
+
+        return dto;
+    }
+
     public Transaction toEntity() {
         Transaction transaction = new Transaction();
         transaction.setId(this.id);
@@ -1,5 +1,6 @@
 package com.bankingapp.dto;
 
+import com.bankingapp.entity.Transaction;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.math.BigDecimal;
@@ -26,6 +27,15 @@ public class TransactionSummaryDTO {
     private String direction; // "in", "out", "internal"
     private String icon;
     private String otherParty; // Other account involved in transaction
+    private BigDecimal balanceAfter; // Viewing account's balance after this transaction
+    private String formattedBalanceAfter;
+
+    // Both sides as selected by the projection query; resolved into direction/otherParty per viewing account
+    private Long fromAccountId;
+    private String fromAccountNumber;
+    private String toAccountNumber;
+    private BigDecimal fromBalanceAfter;
+    private BigDecimal toBalanceAfter;
 
     // Constructors
     public TransactionSummaryDTO() {}
@@ -39,6 +49,28 @@ public class TransactionSummaryDTO {
         this.createdAt = LocalDateTime.now();
     }
 
+    /**
+     * Constructor used by JPQL projection queries; account numbers and running balances come from the same query
+     */
+    public TransactionSummaryDTO(Long id, String transactionId, Transaction.TransactionType type, BigDecimal amount,
+                                 Transaction.TransactionStatus status, LocalDateTime createdAt, String description,
+                                 Long fromAccountId, String fromAccountNumber, String toAccountNumber,
+                                 BigDecimal fromBalanceAfter, BigDecimal toBalanceAfter) {
+        this.id = id;
+        this.transactionId = transactionId;
+        this.type = type != null ? type.name() : null;
+        this.amount = amount;
+        this.formattedAmount = formatCurrency(amount);
+        this.status = status != null ? status.name() : null;
+        this.createdAt = createdAt;
+        this.description = description;
+        this.fromAccountId = fromAccountId;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.fromBalanceAfter = fromBalanceAfter;
+        this.toBalanceAfter = toBalanceAfter;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -82,7 +114,33 @@ public class TransactionSummaryDTO {
     public String getOtherParty() { return otherParty; }
     public void setOtherParty(String otherParty) { this.otherParty = otherParty; }
 
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+    public void setBalanceAfter(BigDecimal balanceAfter) {
+        this.balanceAfter = balanceAfter;
+        this.formattedBalanceAfter = balanceAfter != null ? formatCurrency(balanceAfter) : null;
+    }
+
+    public String getFormattedBalanceAfter() { return formattedBalanceAfter; }
+    public void setFormattedBalanceAfter(String formattedBalanceAfter) { this.formattedBalanceAfter = formattedBalanceAfter; }
+
     // Utility methods
+    /**
+     * Resolve direction, other party and running balance as seen from the given account
+     */
+    public TransactionSummaryDTO withPerspective(Long accountId) {
+        boolean outgoing = fromAccountId != null && fromAccountId.equals(accountId);
+        if (outgoing) {
+            this.direction = "out";
+            this.otherParty = maskAccountNumber(toAccountNumber);
+            setBalanceAfter(fromBalanceAfter);
+        } else {
+            this.direction = "in";
+            this.otherParty = maskAccountNumber(fromAccountNumber);
+            setBalanceAfter(toBalanceAfter);
+        }
+        return this;
+    }
+
     public String getMaskedTransactionId() {
         if (transactionId == null || transactionId.length() < 8) {
             return transactionId;
@@ -90,6 +148,13 @@ public class TransactionSummaryDTO {
         return transactionId.substring(0, 4) + "****" + transactionId.substring(transactionId.length() - 4);
     }
 
+    private String maskAccountNumber(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 4) {
+            return accountNumber;
+        }
+        return "****" + accountNumber.substring(accountNumber.length() - 4);
+    }
+
     private String formatCurrency(BigDecimal amount) {
         if (amount == null) return "$0.00";
         return String.format("$%,.2f", amount);
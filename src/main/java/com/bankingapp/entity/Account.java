@@ -1,5 +1,8 @@
 package com.bankingapp.entity;
 
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import javax.validation.constraints.DecimalMin;
 import javax.validation.constraints.NotBlank;
@@ -9,14 +12,20 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "accounts")
+@Table(name = "accounts",
+		indexes = @Index(name = "idx_accounts_dormancy_scan", columnList = "is_active, dormant_at, last_activity_at, id"))
+@NamedEntityGraph(name = FetchPlans.ACCOUNT_WITH_OWNER, attributeNodes = @NamedAttributeNode("user"))
+// Only the account number lookup is cached: balances are read-modify-written by money movement and
+// updated in bulk by jobs, so account state must always come from the database
+@NaturalIdCache(region = CacheRegions.ACCOUNT_NATURAL_ID)
 public class Account {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
 	@NotBlank
-	@Column(name = "account_number", unique = true, nullable = false)
+	@NaturalId
+	@Column(name = "account_number", unique = true, nullable = false, updatable = false)
 	private String accountNumber;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -40,6 +49,18 @@ public class Account {
 	@Column(name = "updated_at")
 	private LocalDateTime updatedAt;
 
+	/**
+	 * Time of the latest transaction touching this account (creation time until the first one)
+	 */
+	@Column(name = "last_activity_at")
+	private LocalDateTime lastActivityAt;
+
+	/**
+	 * Time the account was reported dormant; cleared by its next transaction so a later dormancy is reported again
+	 */
+	@Column(name = "dormant_at")
+	private LocalDateTime dormantAt;
+
 	@OneToMany(mappedBy = "fromAccount", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	private List<Transaction> outgoingTransactions;
 
@@ -54,6 +75,9 @@ public class Account {
 	protected void onCreate() {
 		createdAt = LocalDateTime.now();
 		updatedAt = LocalDateTime.now();
+		if (lastActivityAt == null) {
+			lastActivityAt = createdAt;
+		}
 	}
 
 	@PreUpdate
@@ -136,6 +160,23 @@ public class Account {
 		this.updatedAt = updatedAt;
 	}
 
+	public LocalDateTime getLastActivityAt() {
+		return lastActivityAt;
+	}
+
+	public void setLastActivityAt(LocalDateTime lastActivityAt) {
+		this.lastActivityAt = lastActivityAt;
+		this.dormantAt = null;
+	}
+
+	public LocalDateTime getDormantAt() {
+		return dormantAt;
+	}
+
+	public void setDormantAt(LocalDateTime dormantAt) {
+		this.dormantAt = dormantAt;
+	}
+
 	public List<Transaction> getOutgoingTransactions() {
 		return outgoingTransactions;
 	}
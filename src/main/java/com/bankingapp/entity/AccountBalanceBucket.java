@@ -0,0 +1,128 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Downsampled balance history: min, max and last balance of an account per minute, hour or day.
+ * Maintained next to AccountBalanceHistory so charts read one row per bucket instead of every change.
+ */
+@Entity
+@Table(name = "account_balance_bucket",
+		uniqueConstraints = @UniqueConstraint(name = "uk_balance_bucket", columnNames = {"account_id", "resolution", "bucket_start"}))
+public class AccountBalanceBucket {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "account_id", nullable = false)
+	private Long accountId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 10, nullable = false)
+	private Resolution resolution;
+
+	@Column(name = "bucket_start", nullable = false)
+	private LocalDateTime bucketStart;
+
+	@Column(name = "min_balance", precision = 15, scale = 2, nullable = false)
+	private BigDecimal minBalance;
+
+	@Column(name = "max_balance", precision = 15, scale = 2, nullable = false)
+	private BigDecimal maxBalance;
+
+	@Column(name = "last_balance", precision = 15, scale = 2, nullable = false)
+	private BigDecimal lastBalance;
+
+	@Column(name = "change_count", nullable = false)
+	private Long changeCount = 0L;
+
+	public enum Resolution {
+		MINUTE(ChronoUnit.MINUTES), HOUR(ChronoUnit.HOURS), DAY(ChronoUnit.DAYS);
+
+		private final ChronoUnit unit;
+
+		Resolution(ChronoUnit unit) {
+			this.unit = unit;
+		}
+
+		public ChronoUnit getUnit() {
+			return unit;
+		}
+
+		public LocalDateTime bucketStart(LocalDateTime time) {
+			return time.truncatedTo(unit);
+		}
+	}
+
+	// Constructors
+	public AccountBalanceBucket() {
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAccountId() {
+		return accountId;
+	}
+
+	public void setAccountId(Long accountId) {
+		this.accountId = accountId;
+	}
+
+	public Resolution getResolution() {
+		return resolution;
+	}
+
+	public void setResolution(Resolution resolution) {
+		this.resolution = resolution;
+	}
+
+	public LocalDateTime getBucketStart() {
+		return bucketStart;
+	}
+
+	public void setBucketStart(LocalDateTime bucketStart) {
+		this.bucketStart = bucketStart;
+	}
+
+	public BigDecimal getMinBalance() {
+		return minBalance;
+	}
+
+	public void setMinBalance(BigDecimal minBalance) {
+		this.minBalance = minBalance;
+	}
+
+	public BigDecimal getMaxBalance() {
+		return maxBalance;
+	}
+
+	public void setMaxBalance(BigDecimal maxBalance) {
+		this.maxBalance = maxBalance;
+	}
+
+	public BigDecimal getLastBalance() {
+		return lastBalance;
+	}
+
+	public void setLastBalance(BigDecimal lastBalance) {
+		this.lastBalance = lastBalance;
+	}
+
+	public Long getChangeCount() {
+		return changeCount;
+	}
+
+	public void setChangeCount(Long changeCount) {
+		this.changeCount = changeCount;
+	}
+}
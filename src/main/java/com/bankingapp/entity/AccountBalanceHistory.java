@@ -0,0 +1,114 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of an account balance after each change.
+ * Rows are clustered for reads by (account_id, recorded_at), so a month of one account is a single range scan.
+ */
+@Entity
+@Table(name = "account_balance_history",
+		indexes = @Index(name = "idx_balance_history_account_recorded", columnList = "account_id, recorded_at"))
+public class AccountBalanceHistory {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "account_id", nullable = false, updatable = false)
+	private Long accountId;
+
+	@Column(precision = 15, scale = 2, nullable = false, updatable = false)
+	private BigDecimal balance;
+
+	// Signed: positive for credits, negative for debits
+	@Column(name = "change_amount", precision = 15, scale = 2, nullable = false, updatable = false)
+	private BigDecimal changeAmount;
+
+	@Column(name = "change_type", length = 20, nullable = false, updatable = false)
+	private String changeType;
+
+	@Column(name = "transaction_reference", updatable = false)
+	private String transactionReference;
+
+	@Column(name = "recorded_at", nullable = false, updatable = false)
+	private LocalDateTime recordedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		if (recordedAt == null) {
+			recordedAt = LocalDateTime.now();
+		}
+	}
+
+	// Constructors
+	public AccountBalanceHistory() {
+	}
+
+	public AccountBalanceHistory(Long accountId, BigDecimal balance, BigDecimal changeAmount, String changeType,
+			String transactionReference) {
+		this.accountId = accountId;
+		this.balance = balance;
+		this.changeAmount = changeAmount;
+		this.changeType = changeType;
+		this.transactionReference = transactionReference;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAccountId() {
+		return accountId;
+	}
+
+	public void setAccountId(Long accountId) {
+		this.accountId = accountId;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+
+	public BigDecimal getChangeAmount() {
+		return changeAmount;
+	}
+
+	public void setChangeAmount(BigDecimal changeAmount) {
+		this.changeAmount = changeAmount;
+	}
+
+	public String getChangeType() {
+		return changeType;
+	}
+
+	public void setChangeType(String changeType) {
+		this.changeType = changeType;
+	}
+
+	public String getTransactionReference() {
+		return transactionReference;
+	}
+
+	public void setTransactionReference(String transactionReference) {
+		this.transactionReference = transactionReference;
+	}
+
+	public LocalDateTime getRecordedAt() {
+		return recordedAt;
+	}
+
+	public void setRecordedAt(LocalDateTime recordedAt) {
+		this.recordedAt = recordedAt;
+	}
+}
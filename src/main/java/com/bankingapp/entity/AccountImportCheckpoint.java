@@ -0,0 +1,146 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk account import, committed together with each imported chunk.
+ * A restarted import of the same source continues at nextOffset, so no row is inserted twice.
+ */
+@Entity
+@Table(name = "account_import_checkpoint",
+		uniqueConstraints = @UniqueConstraint(name = "uk_account_import_source", columnNames = "source"))
+public class AccountImportCheckpoint {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// File name and size of the import file
+	@Column(nullable = false, updatable = false)
+	private String source;
+
+	// Byte offset and line number of the first line not yet imported
+	@Column(name = "next_offset", nullable = false)
+	private Long nextOffset = 0L;
+
+	@Column(name = "next_line", nullable = false)
+	private Long nextLine = 0L;
+
+	@Column(name = "imported_users", nullable = false)
+	private Long importedUsers = 0L;
+
+	@Column(name = "imported_accounts", nullable = false)
+	private Long importedAccounts = 0L;
+
+	@Column(name = "rejected_rows", nullable = false)
+	private Long rejectedRows = 0L;
+
+	@Column(name = "started_at", updatable = false)
+	private LocalDateTime startedAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Column(name = "completed_at")
+	private LocalDateTime completedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		startedAt = LocalDateTime.now();
+		updatedAt = LocalDateTime.now();
+	}
+
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	// Constructors
+	public AccountImportCheckpoint() {
+	}
+
+	public AccountImportCheckpoint(String source) {
+		this.source = source;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getSource() {
+		return source;
+	}
+
+	public void setSource(String source) {
+		this.source = source;
+	}
+
+	public Long getNextOffset() {
+		return nextOffset;
+	}
+
+	public void setNextOffset(Long nextOffset) {
+		this.nextOffset = nextOffset;
+	}
+
+	public Long getNextLine() {
+		return nextLine;
+	}
+
+	public void setNextLine(Long nextLine) {
+		this.nextLine = nextLine;
+	}
+
+	public Long getImportedUsers() {
+		return importedUsers;
+	}
+
+	public void setImportedUsers(Long importedUsers) {
+		this.importedUsers = importedUsers;
+	}
+
+	public Long getImportedAccounts() {
+		return importedAccounts;
+	}
+
+	public void setImportedAccounts(Long importedAccounts) {
+		this.importedAccounts = importedAccounts;
+	}
+
+	public Long getRejectedRows() {
+		return rejectedRows;
+	}
+
+	public void setRejectedRows(Long rejectedRows) {
+		this.rejectedRows = rejectedRows;
+	}
+
+	public LocalDateTime getStartedAt() {
+		return startedAt;
+	}
+
+	public void setStartedAt(LocalDateTime startedAt) {
+		this.startedAt = startedAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	public LocalDateTime getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(LocalDateTime completedAt) {
+		this.completedAt = completedAt;
+	}
+}
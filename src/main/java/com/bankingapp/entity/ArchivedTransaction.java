@@ -0,0 +1,156 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of a transaction moved out of the transactions table by the archive job.
+ * Keeps the original id and account ids so archived rows can still be looked up by id or transactionId.
+ */
+@Entity
+@Table(name = "transactions_archive",
+		uniqueConstraints = @UniqueConstraint(name = "uk_archive_transaction_id", columnNames = "transaction_id"),
+		indexes = {
+				@Index(name = "idx_archive_from_account_created", columnList = "from_account_id, created_at"),
+				@Index(name = "idx_archive_to_account_created", columnList = "to_account_id, created_at") })
+public class ArchivedTransaction {
+	@Id
+	private Long id;
+
+	@Column(name = "transaction_id", nullable = false, updatable = false)
+	private String transactionId;
+
+	@Column(name = "from_account_id", updatable = false)
+	private Long fromAccountId;
+
+	@Column(name = "to_account_id", updatable = false)
+	private Long toAccountId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "transaction_type", nullable = false, updatable = false)
+	private Transaction.TransactionType transactionType;
+
+	@Column(precision = 15, scale = 2, nullable = false, updatable = false)
+	private BigDecimal amount;
+
+	@Column(columnDefinition = "TEXT", updatable = false)
+	private String description;
+
+	@Enumerated(EnumType.STRING)
+	@Column(updatable = false)
+	private Transaction.TransactionStatus status;
+
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(name = "from_balance_after", precision = 15, scale = 2, updatable = false)
+	private BigDecimal fromBalanceAfter;
+
+	@Column(name = "to_balance_after", precision = 15, scale = 2, updatable = false)
+	private BigDecimal toBalanceAfter;
+
+	@Column(name = "archived_at", updatable = false)
+	private LocalDateTime archivedAt;
+
+	// Constructors
+	public ArchivedTransaction() {
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTransactionId() {
+		return transactionId;
+	}
+
+	public void setTransactionId(String transactionId) {
+		this.transactionId = transactionId;
+	}
+
+	public Long getFromAccountId() {
+		return fromAccountId;
+	}
+
+	public void setFromAccountId(Long fromAccountId) {
+		this.fromAccountId = fromAccountId;
+	}
+
+	public Long getToAccountId() {
+		return toAccountId;
+	}
+
+	public void setToAccountId(Long toAccountId) {
+		this.toAccountId = toAccountId;
+	}
+
+	public Transaction.TransactionType getTransactionType() {
+		return transactionType;
+	}
+
+	public void setTransactionType(Transaction.TransactionType transactionType) {
+		this.transactionType = transactionType;
+	}
+
+	public BigDecimal getAmount() {
+		return amount;
+	}
+
+	public void setAmount(BigDecimal amount) {
+		this.amount = amount;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public Transaction.TransactionStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(Transaction.TransactionStatus status) {
+		this.status = status;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public BigDecimal getFromBalanceAfter() {
+		return fromBalanceAfter;
+	}
+
+	public void setFromBalanceAfter(BigDecimal fromBalanceAfter) {
+		this.fromBalanceAfter = fromBalanceAfter;
+	}
+
+	public BigDecimal getToBalanceAfter() {
+		return toBalanceAfter;
+	}
+
+	public void setToBalanceAfter(BigDecimal toBalanceAfter) {
+		this.toBalanceAfter = toBalanceAfter;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	public void setArchivedAt(LocalDateTime archivedAt) {
+		this.archivedAt = archivedAt;
+	}
+}
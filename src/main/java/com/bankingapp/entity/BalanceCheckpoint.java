@@ -0,0 +1,99 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Balance of an account as of checkpointAt, i.e. after every completed transaction created before it.
+ * Point-in-time balances start from the nearest prior checkpoint and replay only the transactions after it.
+ */
+@Entity
+@Table(name = "balance_checkpoint",
+		uniqueConstraints = @UniqueConstraint(name = "uk_checkpoint_account_time", columnNames = {"account_id", "checkpoint_at"}))
+public class BalanceCheckpoint {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "account_id", nullable = false, updatable = false)
+	private Long accountId;
+
+	@Column(name = "checkpoint_at", nullable = false, updatable = false)
+	private LocalDateTime checkpointAt;
+
+	@Column(precision = 15, scale = 2, nullable = false, updatable = false)
+	private BigDecimal balance;
+
+	// Completed transactions replayed since the previous checkpoint
+	@Column(name = "transaction_count", nullable = false, updatable = false)
+	private Long transactionCount = 0L;
+
+	@Column(name = "created_at", updatable = false)
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	protected void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+
+	// Constructors
+	public BalanceCheckpoint() {
+	}
+
+	public BalanceCheckpoint(Long accountId, LocalDateTime checkpointAt, BigDecimal balance, Long transactionCount) {
+		this.accountId = accountId;
+		this.checkpointAt = checkpointAt;
+		this.balance = balance;
+		this.transactionCount = transactionCount;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAccountId() {
+		return accountId;
+	}
+
+	public void setAccountId(Long accountId) {
+		this.accountId = accountId;
+	}
+
+	public LocalDateTime getCheckpointAt() {
+		return checkpointAt;
+	}
+
+	public void setCheckpointAt(LocalDateTime checkpointAt) {
+		this.checkpointAt = checkpointAt;
+	}
+
+	public BigDecimal getBalance() {
+		return balance;
+	}
+
+	public void setBalance(BigDecimal balance) {
+		this.balance = balance;
+	}
+
+	public Long getTransactionCount() {
+		return transactionCount;
+	}
+
+	public void setTransactionCount(Long transactionCount) {
+		this.transactionCount = transactionCount;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+}
@@ -0,0 +1,39 @@
+package com.bankingapp.entity;
+
+/**
+ * Registry of second-level cache regions. Each region is sized and expired in ehcache.xml.
+ * Entities are cached READ_WRITE: a write soft-locks its entry until commit and the committed
+ * state replaces it, so readers never see uncommitted or rolled-back values. Bulk JPQL updates
+ * evict the whole region of the updated entity.
+ */
+public final class CacheRegions {
+
+	/**
+	 * Users by id - login, token validation and account ownership checks
+	 */
+	public static final String USER = "user";
+
+	/**
+	 * Username to user id
+	 */
+	public static final String USER_NATURAL_ID = "user-natural-id";
+
+	/**
+	 * Account number to account id. Account entities themselves are not cached, so a lookup by
+	 * number still reads the current row by id.
+	 */
+	public static final String ACCOUNT_NATURAL_ID = "account-natural-id";
+
+	/**
+	 * Results of queries marked cacheable (user by email), invalidated by any write to their tables
+	 */
+	public static final String QUERY_RESULTS = "default-query-results-region";
+
+	/**
+	 * Last write time per table, checked before a cached query result is used
+	 */
+	public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+	private CacheRegions() {
+	}
+}
@@ -0,0 +1,265 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "daily_account_rollup",
+		uniqueConstraints = @UniqueConstraint(name = "uk_rollup_account_date", columnNames = {"account_id", "rollup_date"}),
+		indexes = @Index(name = "idx_rollup_account_date", columnList = "account_id, rollup_date"))
+public class DailyAccountRollup {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "account_id", nullable = false)
+	private Long accountId;
+
+	@Column(name = "rollup_date", nullable = false)
+	private LocalDate rollupDate;
+
+	// Status counts (all transaction types, either direction)
+	@Column(name = "completed_count", nullable = false)
+	private Long completedCount = 0L;
+
+	@Column(name = "pending_count", nullable = false)
+	private Long pendingCount = 0L;
+
+	@Column(name = "failed_count", nullable = false)
+	private Long failedCount = 0L;
+
+	// Direction counts (all statuses)
+	@Column(name = "inflow_count", nullable = false)
+	private Long inflowCount = 0L;
+
+	@Column(name = "outflow_count", nullable = false)
+	private Long outflowCount = 0L;
+
+	// Completed counts and sums by type and direction
+	@Column(name = "deposit_count", nullable = false)
+	private Long depositCount = 0L;
+
+	@Column(name = "deposit_amount", precision = 19, scale = 2, nullable = false)
+	private BigDecimal depositAmount = BigDecimal.ZERO;
+
+	@Column(name = "withdrawal_count", nullable = false)
+	private Long withdrawalCount = 0L;
+
+	@Column(name = "withdrawal_amount", precision = 19, scale = 2, nullable = false)
+	private BigDecimal withdrawalAmount = BigDecimal.ZERO;
+
+	@Column(name = "transfer_in_count", nullable = false)
+	private Long transferInCount = 0L;
+
+	@Column(name = "transfer_in_amount", precision = 19, scale = 2, nullable = false)
+	private BigDecimal transferInAmount = BigDecimal.ZERO;
+
+	@Column(name = "transfer_out_count", nullable = false)
+	private Long transferOutCount = 0L;
+
+	@Column(name = "transfer_out_amount", precision = 19, scale = 2, nullable = false)
+	private BigDecimal transferOutAmount = BigDecimal.ZERO;
+
+	// Smallest and largest completed amount, and first and last transaction time (any status);
+	// null on days without such transactions
+	@Column(name = "min_amount", precision = 19, scale = 2)
+	private BigDecimal minAmount;
+
+	@Column(name = "max_amount", precision = 19, scale = 2)
+	private BigDecimal maxAmount;
+
+	@Column(name = "first_transaction_at")
+	private LocalDateTime firstTransactionAt;
+
+	@Column(name = "last_transaction_at")
+	private LocalDateTime lastTransactionAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@PrePersist
+	@PreUpdate
+	protected void onUpdate() {
+		updatedAt = LocalDateTime.now();
+	}
+
+	// Constructors
+	public DailyAccountRollup() {
+	}
+
+	public DailyAccountRollup(Long accountId, LocalDate rollupDate) {
+		this.accountId = accountId;
+		this.rollupDate = rollupDate;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAccountId() {
+		return accountId;
+	}
+
+	public void setAccountId(Long accountId) {
+		this.accountId = accountId;
+	}
+
+	public LocalDate getRollupDate() {
+		return rollupDate;
+	}
+
+	public void setRollupDate(LocalDate rollupDate) {
+		this.rollupDate = rollupDate;
+	}
+
+	public Long getCompletedCount() {
+		return completedCount;
+	}
+
+	public void setCompletedCount(Long completedCount) {
+		this.completedCount = completedCount;
+	}
+
+	public Long getPendingCount() {
+		return pendingCount;
+	}
+
+	public void setPendingCount(Long pendingCount) {
+		this.pendingCount = pendingCount;
+	}
+
+	public Long getFailedCount() {
+		return failedCount;
+	}
+
+	public void setFailedCount(Long failedCount) {
+		this.failedCount = failedCount;
+	}
+
+	public Long getInflowCount() {
+		return inflowCount;
+	}
+
+	public void setInflowCount(Long inflowCount) {
+		this.inflowCount = inflowCount;
+	}
+
+	public Long getOutflowCount() {
+		return outflowCount;
+	}
+
+	public void setOutflowCount(Long outflowCount) {
+		this.outflowCount = outflowCount;
+	}
+
+	public Long getDepositCount() {
+		return depositCount;
+	}
+
+	public void setDepositCount(Long depositCount) {
+		this.depositCount = depositCount;
+	}
+
+	public BigDecimal getDepositAmount() {
+		return depositAmount;
+	}
+
+	public void setDepositAmount(BigDecimal depositAmount) {
+		this.depositAmount = depositAmount;
+	}
+
+	public Long getWithdrawalCount() {
+		return withdrawalCount;
+	}
+
+	public void setWithdrawalCount(Long withdrawalCount) {
+		this.withdrawalCount = withdrawalCount;
+	}
+
+	public BigDecimal getWithdrawalAmount() {
+		return withdrawalAmount;
+	}
+
+	public void setWithdrawalAmount(BigDecimal withdrawalAmount) {
+		this.withdrawalAmount = withdrawalAmount;
+	}
+
+	public Long getTransferInCount() {
+		return transferInCount;
+	}
+
+	public void setTransferInCount(Long transferInCount) {
+		this.transferInCount = transferInCount;
+	}
+
+	public BigDecimal getTransferInAmount() {
+		return transferInAmount;
+	}
+
+	public void setTransferInAmount(BigDecimal transferInAmount) {
+		this.transferInAmount = transferInAmount;
+	}
+
+	public Long getTransferOutCount() {
+		return transferOutCount;
+	}
+
+	public void setTransferOutCount(Long transferOutCount) {
+		this.transferOutCount = transferOutCount;
+	}
+
+	public BigDecimal getTransferOutAmount() {
+		return transferOutAmount;
+	}
+
+	public void setTransferOutAmount(BigDecimal transferOutAmount) {
+		this.transferOutAmount = transferOutAmount;
+	}
+
+	public BigDecimal getMinAmount() {
+		return minAmount;
+	}
+
+	public void setMinAmount(BigDecimal minAmount) {
+		this.minAmount = minAmount;
+	}
+
+	public BigDecimal getMaxAmount() {
+		return maxAmount;
+	}
+
+	public void setMaxAmount(BigDecimal maxAmount) {
+		this.maxAmount = maxAmount;
+	}
+
+	public LocalDateTime getFirstTransactionAt() {
+		return firstTransactionAt;
+	}
+
+	public void setFirstTransactionAt(LocalDateTime firstTransactionAt) {
+		this.firstTransactionAt = firstTransactionAt;
+	}
+
+	public LocalDateTime getLastTransactionAt() {
+		return lastTransactionAt;
+	}
+
+	public void setLastTransactionAt(LocalDateTime lastTransactionAt) {
+		this.lastTransactionAt = lastTransactionAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
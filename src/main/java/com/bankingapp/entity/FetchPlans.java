@@ -0,0 +1,22 @@
+package com.bankingapp.entity;
+
+/**
+ * Registry of named fetch plans (entity graphs) per read use case.
+ * Repository methods feeding DTO conversion in a loop declare one of these with @EntityGraph,
+ * so associations the conversion touches arrive in the same select instead of one query per row.
+ */
+public final class FetchPlans {
+
+	/**
+	 * Account with its owner - AccountDTO.fromEntity, account lists and admin account search
+	 */
+	public static final String ACCOUNT_WITH_OWNER = "Account.withOwner";
+
+	/**
+	 * Transaction with both accounts and their owners - TransactionDTO.fromEntity, history and search
+	 */
+	public static final String TRANSACTION_WITH_ACCOUNTS = "Transaction.withAccounts";
+
+	private FetchPlans() {
+	}
+}
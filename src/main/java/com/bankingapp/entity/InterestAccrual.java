@@ -0,0 +1,65 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Interest accrued on a savings account but not yet posted: the sub-cent remainder carried from day
+ * to day, so no fraction of a cent is lost to rounding. lastAccrualDate is the latest day accrued,
+ * which keeps any day from being accrued twice.
+ */
+@Entity
+@Table(name = "interest_accrual")
+public class InterestAccrual {
+	@Id
+	@Column(name = "account_id")
+	private Long accountId;
+
+	@Column(name = "accrued_interest", precision = 19, scale = 10, nullable = false)
+	private BigDecimal accruedInterest = BigDecimal.ZERO;
+
+	@Column(name = "last_accrual_date", nullable = false)
+	private LocalDate lastAccrualDate;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	// Constructors
+	public InterestAccrual() {
+	}
+
+	// Getters and Setters
+	public Long getAccountId() {
+		return accountId;
+	}
+
+	public void setAccountId(Long accountId) {
+		this.accountId = accountId;
+	}
+
+	public BigDecimal getAccruedInterest() {
+		return accruedInterest;
+	}
+
+	public void setAccruedInterest(BigDecimal accruedInterest) {
+		this.accruedInterest = accruedInterest;
+	}
+
+	public LocalDate getLastAccrualDate() {
+		return lastAccrualDate;
+	}
+
+	public void setLastAccrualDate(LocalDate lastAccrualDate) {
+		this.lastAccrualDate = lastAccrualDate;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -0,0 +1,125 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Completed account ID partition [partitionStart, partitionEnd) of one day's interest accrual,
+ * written in the transaction that posts the partition's interest. A resumed run skips these partitions.
+ */
+@Entity
+@Table(name = "interest_accrual_checkpoint",
+		uniqueConstraints = @UniqueConstraint(name = "uk_interest_checkpoint_partition",
+				columnNames = {"accrual_date", "partition_start"}))
+public class InterestAccrualCheckpoint {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "accrual_date", nullable = false, updatable = false)
+	private LocalDate accrualDate;
+
+	@Column(name = "partition_start", nullable = false, updatable = false)
+	private Long partitionStart;
+
+	@Column(name = "partition_end", nullable = false, updatable = false)
+	private Long partitionEnd;
+
+	@Column(name = "accrued_accounts", nullable = false, updatable = false)
+	private Long accruedAccounts = 0L;
+
+	@Column(name = "posted_count", nullable = false, updatable = false)
+	private Long postedCount = 0L;
+
+	@Column(name = "posted_amount", precision = 19, scale = 2, nullable = false, updatable = false)
+	private BigDecimal postedAmount = BigDecimal.ZERO;
+
+	@Column(name = "completed_at", updatable = false)
+	private LocalDateTime completedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		completedAt = LocalDateTime.now();
+	}
+
+	// Constructors
+	public InterestAccrualCheckpoint() {
+	}
+
+	public InterestAccrualCheckpoint(LocalDate accrualDate, Long partitionStart, Long partitionEnd,
+									 Long accruedAccounts, Long postedCount, BigDecimal postedAmount) {
+		this.accrualDate = accrualDate;
+		this.partitionStart = partitionStart;
+		this.partitionEnd = partitionEnd;
+		this.accruedAccounts = accruedAccounts;
+		this.postedCount = postedCount;
+		this.postedAmount = postedAmount;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDate getAccrualDate() {
+		return accrualDate;
+	}
+
+	public void setAccrualDate(LocalDate accrualDate) {
+		this.accrualDate = accrualDate;
+	}
+
+	public Long getPartitionStart() {
+		return partitionStart;
+	}
+
+	public void setPartitionStart(Long partitionStart) {
+		this.partitionStart = partitionStart;
+	}
+
+	public Long getPartitionEnd() {
+		return partitionEnd;
+	}
+
+	public void setPartitionEnd(Long partitionEnd) {
+		this.partitionEnd = partitionEnd;
+	}
+
+	public Long getAccruedAccounts() {
+		return accruedAccounts;
+	}
+
+	public void setAccruedAccounts(Long accruedAccounts) {
+		this.accruedAccounts = accruedAccounts;
+	}
+
+	public Long getPostedCount() {
+		return postedCount;
+	}
+
+	public void setPostedCount(Long postedCount) {
+		this.postedCount = postedCount;
+	}
+
+	public BigDecimal getPostedAmount() {
+		return postedAmount;
+	}
+
+	public void setPostedAmount(BigDecimal postedAmount) {
+		this.postedAmount = postedAmount;
+	}
+
+	public LocalDateTime getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(LocalDateTime completedAt) {
+		this.completedAt = completedAt;
+	}
+}
@@ -0,0 +1,125 @@
+package com.bankingapp.entity;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Account ID partition [partitionStart, partitionEnd) whose statements for one month are all on disk.
+ * A resumed run skips these partitions and rewrites the files of any other partition.
+ */
+@Entity
+@Table(name = "statement_checkpoint",
+		uniqueConstraints = @UniqueConstraint(name = "uk_statement_checkpoint_partition",
+				columnNames = {"statement_month", "partition_start"}))
+public class StatementCheckpoint {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	// First day of the statement month
+	@Column(name = "statement_month", nullable = false, updatable = false)
+	private LocalDate statementMonth;
+
+	@Column(name = "partition_start", nullable = false, updatable = false)
+	private Long partitionStart;
+
+	@Column(name = "partition_end", nullable = false, updatable = false)
+	private Long partitionEnd;
+
+	@Column(name = "statement_count", nullable = false, updatable = false)
+	private Long statementCount = 0L;
+
+	@Column(name = "transaction_count", nullable = false, updatable = false)
+	private Long transactionCount = 0L;
+
+	@Column(name = "bytes_written", nullable = false, updatable = false)
+	private Long bytesWritten = 0L;
+
+	@Column(name = "completed_at", updatable = false)
+	private LocalDateTime completedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		completedAt = LocalDateTime.now();
+	}
+
+	// Constructors
+	public StatementCheckpoint() {
+	}
+
+	public StatementCheckpoint(LocalDate statementMonth, Long partitionStart, Long partitionEnd,
+							   Long statementCount, Long transactionCount, Long bytesWritten) {
+		this.statementMonth = statementMonth;
+		this.partitionStart = partitionStart;
+		this.partitionEnd = partitionEnd;
+		this.statementCount = statementCount;
+		this.transactionCount = transactionCount;
+		this.bytesWritten = bytesWritten;
+	}
+
+	// Getters and Setters
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public LocalDate getStatementMonth() {
+		return statementMonth;
+	}
+
+	public void setStatementMonth(LocalDate statementMonth) {
+		this.statementMonth = statementMonth;
+	}
+
+	public Long getPartitionStart() {
+		return partitionStart;
+	}
+
+	public void setPartitionStart(Long partitionStart) {
+		this.partitionStart = partitionStart;
+	}
+
+	public Long getPartitionEnd() {
+		return partitionEnd;
+	}
+
+	public void setPartitionEnd(Long partitionEnd) {
+		this.partitionEnd = partitionEnd;
+	}
+
+	public Long getStatementCount() {
+		return statementCount;
+	}
+
+	public void setStatementCount(Long statementCount) {
+		this.statementCount = statementCount;
+	}
+
+	public Long getTransactionCount() {
+		return transactionCount;
+	}
+
+	public void setTransactionCount(Long transactionCount) {
+		this.transactionCount = transactionCount;
+	}
+
+	public Long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	public void setBytesWritten(Long bytesWritten) {
+		this.bytesWritten = bytesWritten;
+	}
+
+	public LocalDateTime getCompletedAt() {
+		return completedAt;
+	}
+
+	public void setCompletedAt(LocalDateTime completedAt) {
+		this.completedAt = completedAt;
+	}
+}
@@ -7,23 +7,34 @@ import javax.validation.constraints.NotNull;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+/**
+ * The table may be range partitioned by month (TransactionPartitionService), which rules out foreign keys
+ * and unique keys without created_at. The mapping declares neither, so schema updates do not try to add
+ * them back: transaction_id is unique together with created_at only.
+ */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions",
+		uniqueConstraints = @UniqueConstraint(name = "uk_transactions_transaction_id", columnNames = {"transaction_id", "created_at"}))
+@NamedEntityGraph(name = FetchPlans.TRANSACTION_WITH_ACCOUNTS,
+		attributeNodes = {
+				@NamedAttributeNode(value = "fromAccount", subgraph = "account"),
+				@NamedAttributeNode(value = "toAccount", subgraph = "account") },
+		subgraphs = @NamedSubgraph(name = "account", attributeNodes = @NamedAttributeNode("user")))
 public class Transaction {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
 	@NotBlank
-	@Column(name = "transaction_id", unique = true, nullable = false)
+	@Column(name = "transaction_id", nullable = false)
 	private String transactionId;
 
 	@ManyToOne(fetch = FetchType.LAZY)
-	@JoinColumn(name = "from_account_id")
+	@JoinColumn(name = "from_account_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
 	private Account fromAccount;
 
 	@ManyToOne(fetch = FetchType.LAZY)
-	@JoinColumn(name = "to_account_id")
+	@JoinColumn(name = "to_account_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
 	private Account toAccount;
 
 	@Enumerated(EnumType.STRING)
@@ -44,6 +55,13 @@ public class Transaction {
 	@Column(name = "created_at")
 	private LocalDateTime createdAt;
 
+	// Running balances written together with the account balance update; null for rows that predate them
+	@Column(name = "from_balance_after", precision = 15, scale = 2)
+	private BigDecimal fromBalanceAfter;
+
+	@Column(name = "to_balance_after", precision = 15, scale = 2)
+	private BigDecimal toBalanceAfter;
+
 	public enum TransactionType {
 		DEPOSIT, WITHDRAWAL, TRANSFER
 	}
@@ -139,4 +157,20 @@ public class Transaction {
 	public void setCreatedAt(LocalDateTime createdAt) {
 		this.createdAt = createdAt;
 	}
+
+	public BigDecimal getFromBalanceAfter() {
+		return fromBalanceAfter;
+	}
+
+	public void setFromBalanceAfter(BigDecimal fromBalanceAfter) {
+		this.fromBalanceAfter = fromBalanceAfter;
+	}
+
+	public BigDecimal getToBalanceAfter() {
+		return toBalanceAfter;
+	}
+
+	public void setToBalanceAfter(BigDecimal toBalanceAfter) {
+		this.toBalanceAfter = toBalanceAfter;
+	}
 }
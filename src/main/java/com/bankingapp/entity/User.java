@@ -1,5 +1,10 @@
 package com.bankingapp.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import javax.persistence.*;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
@@ -9,6 +14,9 @@ import java.util.List;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USER)
+@NaturalIdCache(region = CacheRegions.USER_NATURAL_ID)
 public class User {
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -16,7 +24,8 @@ public class User {
 
 	@NotBlank
 	@Size(min = 3, max = 50)
-	@Column(unique = true, nullable = false)
+	@NaturalId
+	@Column(unique = true, nullable = false, updatable = false)
 	private String username;
 
 	@NotBlank
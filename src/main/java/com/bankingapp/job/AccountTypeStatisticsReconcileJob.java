@@ -0,0 +1,42 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically replaces the in-memory per-type account counters with database totals
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class AccountTypeStatisticsReconcileJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountTypeStatisticsReconcileJob.class);
+
+    @Autowired
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @Value("${app.account-statistics.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${app.account-statistics.reconcile-cron:0 */15 * * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int drifted = accountTypeStatistics.reconcile();
+            if (drifted > 0) {
+                logger.info("Reconciled account type statistics: {} account types had drifted", drifted);
+            }
+        } catch (Exception e) {
+            logger.error("Account type statistics reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.service.AccountBalanceHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nightly retention job for the minute and hour balance buckets
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class BalanceBucketRetentionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceBucketRetentionJob.class);
+
+    @Autowired
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
+    @Scheduled(cron = "${app.balance-history.retention-cron:0 15 3 * * *}")
+    public void run() {
+        try {
+            accountBalanceHistoryService.pruneExpiredBuckets();
+        } catch (Exception e) {
+            logger.error("Balance bucket retention failed", e);
+        }
+    }
+}
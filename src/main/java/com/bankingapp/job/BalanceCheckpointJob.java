@@ -0,0 +1,81 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.service.BalanceCheckpointService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Nightly balance checkpoint job
+ * Writes one checkpoint per account at midnight, one account per database transaction; the first
+ * run replays each account's full history, later runs only the previous day
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class BalanceCheckpointJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCheckpointJob.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Value("${app.balance-checkpoint.enabled:true}")
+    private boolean checkpointEnabled;
+
+    @Value("${app.balance-checkpoint.batch-size:500}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.balance-checkpoint.cron:0 10 0 * * *}")
+    public void run() {
+        if (checkpointEnabled) {
+            createCheckpoints(LocalDate.now().atStartOfDay());
+        }
+    }
+
+    /**
+     * Create checkpoints for all accounts at the given time
+     * @return number of checkpoints created
+     */
+    public long createCheckpoints(LocalDateTime checkpointAt) {
+        logger.info("Starting balance checkpoint run for {}", checkpointAt);
+
+        long createdCheckpoints = 0;
+        long failedAccounts = 0;
+        Long lastAccountId = 0L;
+
+        List<Long> accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, batchSize));
+        while (!accountIds.isEmpty()) {
+            for (Long accountId : accountIds) {
+                try {
+                    if (balanceCheckpointService.createCheckpoint(accountId, checkpointAt)) {
+                        createdCheckpoints++;
+                    }
+                } catch (Exception e) {
+                    failedAccounts++;
+                    logger.error("Balance checkpoint failed for account: {}", accountId, e);
+                }
+            }
+
+            lastAccountId = accountIds.get(accountIds.size() - 1);
+            logger.debug("Balance checkpoint progress: {} created (last account ID: {})", createdCheckpoints, lastAccountId);
+            accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, batchSize));
+        }
+
+        logger.info("Balance checkpoint run completed: {} created, {} failed", createdCheckpoints, failedAccounts);
+        return createdCheckpoints;
+    }
+}
@@ -0,0 +1,43 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically rebuilds the in-memory balance leaderboard from the accounts table, correcting balances
+ * changed by other instances or bulk updates
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class BalanceLeaderboardReconcileJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLeaderboardReconcileJob.class);
+
+    @Autowired
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @Value("${app.leaderboard.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${app.leaderboard.reconcile-cron:0 */10 * * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int drifted = balanceLeaderboard.reconcile();
+            if (drifted > 0) {
+                logger.info("Reconciled balance leaderboard: {} accounts had drifted", drifted);
+            }
+        } catch (Exception e) {
+            logger.error("Balance leaderboard reconciliation failed", e);
+        }
+    }
+}
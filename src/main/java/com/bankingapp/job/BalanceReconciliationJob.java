@@ -0,0 +1,41 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.reconciliation.BalanceReconciler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Balance reconciliation job
+ * Checks every account balance against its completed transactions; the run is throttled to
+ * app.reconciliation.db-load-budget, so it is scheduled during business hours by default
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class BalanceReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceReconciliationJob.class);
+
+    @Autowired
+    private BalanceReconciler balanceReconciler;
+
+    @Value("${app.reconciliation.enabled:false}")
+    private boolean reconciliationEnabled;
+
+    @Scheduled(cron = "${app.reconciliation.cron:0 0 11 * * MON-FRI}")
+    public void run() {
+        if (!reconciliationEnabled) {
+            return;
+        }
+        try {
+            balanceReconciler.reconcile();
+        } catch (Exception e) {
+            logger.error("Balance reconciliation job failed", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.search.TransactionDescriptionIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically adds transactions saved by other instances and bulk jobs to this instance's description index
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class DescriptionIndexCatchUpJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionIndexCatchUpJob.class);
+
+    @Autowired
+    private TransactionDescriptionIndex transactionDescriptionIndex;
+
+    @Scheduled(cron = "${app.search.description-index.catch-up-cron:0 * * * * *}")
+    public void run() {
+        try {
+            long processed = transactionDescriptionIndex.catchUpRecent();
+            logger.debug("Description index caught up on {} transactions", processed);
+        } catch (Exception e) {
+            logger.error("Description index catch-up failed", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Nightly dormancy job
+ * Walks active accounts whose last activity is older than the dormancy period in
+ * (lastActivityAt, id) order and publishes an ACCOUNT_DORMANT event for each one.
+ * Accounts whose event the broker acknowledged get dormant_at set and are skipped by later runs until a
+ * transaction clears it.
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class DormantAccountJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DormantAccountJob.class);
+
+    private static final String DORMANT_EVENT = "ACCOUNT_DORMANT";
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${app.kafka.topics.account:account-events}")
+    private String accountTopic;
+
+    @Value("${app.dormancy.enabled:true}")
+    private boolean dormancyEnabled;
+
+    @Value("${app.dormancy.inactive-days:365}")
+    private int inactiveDays;
+
+    @Value("${app.dormancy.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.dormancy.send-timeout-seconds:30}")
+    private long sendTimeoutSeconds;
+
+    @Scheduled(cron = "${app.dormancy.cron:0 30 2 * * *}")
+    public void run() {
+        if (!dormancyEnabled) {
+            return;
+        }
+
+        backfillLastActivity();
+        detectDormantAccounts(LocalDate.now().minusDays(inactiveDays).atStartOfDay());
+    }
+
+    /**
+     * Publish a dormancy event for every active account without activity since the given time and not yet reported
+     * @return number of dormant accounts found
+     */
+    public long detectDormantAccounts(LocalDateTime sinceDate) {
+        logger.info("Starting dormant account scan for accounts inactive since {}", sinceDate);
+
+        long dormantAccounts = 0;
+        long failedEvents = 0;
+        LocalDateTime afterActivityAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        Long afterId = 0L;
+
+        List<Object[]> chunk = accountRepository.findDormantAccountChunk(
+            sinceDate, afterActivityAt, afterId, PageRequest.of(0, chunkSize));
+        while (!chunk.isEmpty()) {
+            // Send the whole chunk before waiting, so the broker acknowledges it in one round of batches
+            List<ListenableFuture<SendResult<String, String>>> sends = new ArrayList<>(chunk.size());
+            for (Object[] row : chunk) {
+                try {
+                    sends.add(kafkaTemplate.send(accountTopic, (String) row[1], DORMANT_EVENT));
+                } catch (Exception e) {
+                    sends.add(null);
+                    logger.warn("Failed to publish {} event for account: {}", DORMANT_EVENT, row[1], e);
+                }
+            }
+
+            List<Long> reported = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Object[] row = chunk.get(i);
+                if (sends.get(i) != null && acknowledged(sends.get(i), (String) row[1])) {
+                    reported.add((Long) row[0]);
+                } else {
+                    failedEvents++;
+                }
+                dormantAccounts++;
+            }
+            // Accounts whose event was not acknowledged stay unmarked, so the next run publishes them again
+            if (!reported.isEmpty()) {
+                accountRepository.markDormant(reported, sinceDate, LocalDateTime.now());
+            }
+
+            Object[] last = chunk.get(chunk.size() - 1);
+            afterId = (Long) last[0];
+            afterActivityAt = (LocalDateTime) last[3];
+            logger.debug("Dormant account scan progress: {} accounts (last account ID: {})", dormantAccounts, afterId);
+            chunk = accountRepository.findDormantAccountChunk(
+                sinceDate, afterActivityAt, afterId, PageRequest.of(0, chunkSize));
+        }
+
+        logger.info("Dormant account scan completed: {} dormant accounts, {} events failed", dormantAccounts, failedEvents);
+        return dormantAccounts;
+    }
+
+    private boolean acknowledged(ListenableFuture<SendResult<String, String>> send, String accountNumber) {
+        try {
+            send.get(sendTimeoutSeconds, TimeUnit.SECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for " + DORMANT_EVENT + " events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("Failed to publish {} event for account: {}", DORMANT_EVENT, accountNumber, e);
+            return false;
+        }
+    }
+
+    /**
+     * Fill last_activity_at for accounts that predate the column; a no-op once every row is set
+     * @return number of accounts updated
+     */
+    public long backfillLastActivity() {
+        long updatedAccounts = 0;
+        Long lastAccountId = 0L;
+
+        List<Long> accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, chunkSize));
+        while (!accountIds.isEmpty()) {
+            Long chunkEnd = accountIds.get(accountIds.size() - 1);
+            updatedAccounts += accountRepository.backfillLastActivity(lastAccountId, chunkEnd);
+            lastAccountId = chunkEnd;
+            accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, chunkSize));
+        }
+
+        if (updatedAccounts > 0) {
+            logger.info("Backfilled last activity for {} accounts", updatedAccounts);
+        }
+        return updatedAccounts;
+    }
+}
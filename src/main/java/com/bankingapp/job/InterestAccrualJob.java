@@ -0,0 +1,71 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.repository.InterestAccrualCheckpointRepository;
+import com.bankingapp.service.InterestAccrualService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Nightly savings interest job
+ * Accrues the day that just ended, first finishing any of the previous catch-up-days days that an
+ * interrupted or missed run left incomplete; days before the first run are never accrued
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class InterestAccrualJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualJob.class);
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Value("${app.interest.enabled:false}")
+    private boolean interestEnabled;
+
+    @Value("${app.interest.catch-up-days:7}")
+    private int catchUpDays;
+
+    @Scheduled(cron = "${app.interest.cron:0 30 0 * * *}")
+    public void run() {
+        if (!interestEnabled) {
+            return;
+        }
+        try {
+            accrueThrough(LocalDate.now().minusDays(1));
+        } catch (Exception e) {
+            logger.error("Interest accrual job failed", e);
+        }
+    }
+
+    /**
+     * Accrue every day from the oldest catch-up day through lastDay, oldest first
+     * @return number of days accrued
+     */
+    public int accrueThrough(LocalDate lastDay) {
+        LocalDate firstDay = lastDay.minusDays(catchUpDays);
+        LocalDate firstAccrual = checkpointRepository.getEarliestAccrualDate();
+        if (firstAccrual == null || firstAccrual.isAfter(lastDay)) {
+            firstDay = lastDay;
+        } else if (firstAccrual.isAfter(firstDay)) {
+            firstDay = firstAccrual;
+        }
+
+        int days = 0;
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            interestAccrualService.accrue(day);
+            days++;
+        }
+        return days;
+    }
+}
@@ -0,0 +1,103 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.service.CashFlowService;
+import com.bankingapp.service.TransactionRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Backfill job for the daily account rollup table
+ * Rebuilds rollup rows from existing transactions, one account per database transaction. A run
+ * without failures is recorded, and statistics are only read from the rollup after that.
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class RollupBackfillJob implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupBackfillJob.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private CashFlowService cashFlowService;
+
+    @Value("${app.rollup.backfill.enabled:false}")
+    private boolean backfillEnabled;
+
+    @Value("${app.rollup.backfill.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * First day owned by the incremental path; defaults to today
+     */
+    @Value("${app.rollup.backfill.cutoff-date:}")
+    private String cutoffDate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!backfillEnabled) {
+            return;
+        }
+
+        LocalDate cutoff = cutoffDate == null || cutoffDate.trim().isEmpty()
+            ? LocalDate.now() : LocalDate.parse(cutoffDate.trim());
+        backfill(cutoff);
+    }
+
+    /**
+     * Rebuild rollups for all accounts for days before cutoff
+     * @return number of accounts processed
+     */
+    public long backfill(LocalDate cutoff) {
+        logger.info("Starting rollup backfill for days before {}", cutoff);
+
+        long processedAccounts = 0;
+        long failedAccounts = 0;
+        long writtenRows = 0;
+        Long lastAccountId = 0L;
+
+        List<Long> accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, batchSize));
+        while (!accountIds.isEmpty()) {
+            for (Long accountId : accountIds) {
+                try {
+                    writtenRows += transactionRollupService.rebuildAccountRollups(accountId, cutoff);
+                    cashFlowService.evictAccount(accountId);
+                    processedAccounts++;
+                } catch (Exception e) {
+                    failedAccounts++;
+                    logger.error("Rollup backfill failed for account: {}", accountId, e);
+                }
+            }
+
+            lastAccountId = accountIds.get(accountIds.size() - 1);
+            logger.info("Rollup backfill progress: {} accounts, {} rows (last account ID: {})",
+                       processedAccounts, writtenRows, lastAccountId);
+            accountIds = accountRepository.findAccountIdsAfter(lastAccountId, PageRequest.of(0, batchSize));
+        }
+
+        if (failedAccounts > 0) {
+            logger.warn("Rollup backfill finished with {} failed accounts ({} accounts, {} rows); statistics keep " +
+                        "reading transactions until a backfill completes", failedAccounts, processedAccounts, writtenRows);
+            return processedAccounts;
+        }
+        transactionRollupService.recordBackfillCompleted(cutoff, processedAccounts);
+        logger.info("Rollup backfill completed: {} accounts, {} rows", processedAccounts, writtenRows);
+        return processedAccounts;
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.statement.StatementGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Monthly statement job
+ * Writes the statements of the month that just ended; a rerun after a failure resumes where the last run stopped
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class StatementJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementJob.class);
+
+    @Autowired
+    private StatementGenerator statementGenerator;
+
+    @Value("${app.statement.enabled:false}")
+    private boolean statementsEnabled;
+
+    @Scheduled(cron = "${app.statement.cron:0 0 4 1 * *}")
+    public void run() {
+        if (!statementsEnabled) {
+            return;
+        }
+        try {
+            statementGenerator.generate(YearMonth.now().minusMonths(1));
+        } catch (Exception e) {
+            logger.error("Statement job failed", e);
+        }
+    }
+}
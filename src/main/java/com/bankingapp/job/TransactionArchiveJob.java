@@ -0,0 +1,103 @@
+package com.bankingapp.job;
+
+import com.bankingapp.archive.TransactionArchiveStore;
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.service.TransactionPartitionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nightly transaction tiering job
+ * Keeps monthly partitions created ahead of time (app.transaction-partitioning) and moves transactions
+ * older than the hot window of app.transaction-archive.hot-months full months to transactions_archive,
+ * then exports newly archived months to columnar files when app.transaction-archive.columnar.enabled is set
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class TransactionArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionArchiveJob.class);
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    @Autowired
+    private TransactionArchiveStore transactionArchiveStore;
+
+    @Value("${app.transaction-partitioning.enabled:false}")
+    private boolean partitioningEnabled;
+
+    @Value("${app.transaction-archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.transaction-archive.hot-months:13}")
+    private int hotMonths;
+
+    @Value("${app.transaction-archive.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${app.transaction-archive.cron:0 45 1 * * *}")
+    public void run() {
+        try {
+            YearMonth currentMonth = YearMonth.now();
+            if (partitioningEnabled) {
+                maintainPartitions(currentMonth);
+            }
+            if (archiveEnabled) {
+                YearMonth firstHotMonth = currentMonth.minusMonths(hotMonths);
+                archiveBefore(firstHotMonth);
+                if (transactionArchiveStore.isEnabled()) {
+                    transactionArchiveStore.exportMonthsBefore(firstHotMonth);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Transaction archive job failed", e);
+        }
+    }
+
+    /**
+     * Partition the transactions table on first run, then keep future monthly partitions in place
+     */
+    public void maintainPartitions(YearMonth currentMonth) {
+        if (transactionPartitionService.getPartitionNames().isEmpty()) {
+            transactionPartitionService.partitionTable(currentMonth);
+        }
+        transactionPartitionService.ensureFuturePartitions(currentMonth);
+    }
+
+    /**
+     * Move every transaction created before firstHotMonth to the archive, a partition at a time
+     * when the table is partitioned and in chunks of batch-size rows otherwise
+     * @return number of transactions archived
+     */
+    public long archiveBefore(YearMonth firstHotMonth) {
+        logger.info("Archiving transactions created before {}", firstHotMonth);
+
+        long archived = 0;
+        List<String> partitionNames = partitioningEnabled
+            ? transactionPartitionService.getPartitionNames() : Collections.<String>emptyList();
+        if (!partitionNames.isEmpty()) {
+            for (String partitionName : TransactionPartitionService.partitionsBefore(partitionNames, firstHotMonth)) {
+                archived += transactionPartitionService.archivePartition(partitionName);
+            }
+        } else {
+            int chunk = transactionPartitionService.archiveChunk(firstHotMonth.atDay(1).atStartOfDay(), batchSize);
+            while (chunk > 0) {
+                archived += chunk;
+                chunk = transactionPartitionService.archiveChunk(firstHotMonth.atDay(1).atStartOfDay(), batchSize);
+            }
+        }
+
+        logger.info("Transaction archival completed: {} transactions archived", archived);
+        return archived;
+    }
+}
@@ -0,0 +1,35 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.search.UserSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically reloads this instance's user search index to pick up users changed by other instances and bulk imports
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class UserSearchIndexReloadJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndexReloadJob.class);
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Scheduled(cron = "${app.search.user-index.reload-cron:0 */10 * * * *}")
+    public void run() {
+        if (!userSearchIndex.isEnabled()) {
+            return;
+        }
+        try {
+            userSearchIndex.load();
+        } catch (Exception e) {
+            logger.error("User search index reload failed", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankingapp.job;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.statistics.UserStatisticsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically replaces the in-memory user counts with database totals
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class UserStatisticsReconcileJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatisticsReconcileJob.class);
+
+    @Autowired
+    private UserStatisticsCounters userStatisticsCounters;
+
+    @Value("${app.user-statistics.enabled:true}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${app.user-statistics.reconcile-cron:0 */5 * * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (userStatisticsCounters.reconcile()) {
+                logger.info("Reconciled drifted user statistics");
+            }
+        } catch (Exception e) {
+            logger.error("User statistics reconciliation failed", e);
+        }
+    }
+}
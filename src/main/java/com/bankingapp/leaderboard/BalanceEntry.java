@@ -0,0 +1,36 @@
+package com.bankingapp.leaderboard;
+
+import java.math.BigDecimal;
+
+/**
+ * Account balance as ranked by the leaderboard: highest balance first, ties broken by account ID
+ */
+public final class BalanceEntry implements Comparable<BalanceEntry> {
+
+    private final long accountId;
+    private final BigDecimal balance;
+
+    public BalanceEntry(long accountId, BigDecimal balance) {
+        this.accountId = accountId;
+        this.balance = balance != null ? balance : BigDecimal.ZERO;
+    }
+
+    public long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    @Override
+    public int compareTo(BalanceEntry other) {
+        int byBalance = other.balance.compareTo(balance);
+        return byBalance != 0 ? byBalance : Long.compare(accountId, other.accountId);
+    }
+
+    @Override
+    public String toString() {
+        return "BalanceEntry{accountId=" + accountId + ", balance=" + balance + '}';
+    }
+}
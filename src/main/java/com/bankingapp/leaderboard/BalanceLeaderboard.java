@@ -0,0 +1,351 @@
+package com.bankingapp.leaderboard;
+
+import com.bankingapp.entity.Account;
+import com.bankingapp.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory ranking of active accounts by balance for top-N, rank and threshold queries.
+ *
+ * Entries live in a concurrent skip list ordered by balance descending, then account ID, next to
+ * a map from account ID to its current entry. Balance changes are applied once the surrounding
+ * database transaction commits; moving an account happens under the map's per-key lock, so a
+ * concurrent reader may briefly miss the account being moved but never sees it twice. A RankIndex
+ * holding the same entries answers rank queries in O(log n), which the skip list can only do by
+ * walking every entry ahead.
+ *
+ * The ranking is rebuilt at startup by scanning the accounts table in parallel ID ranges. Changes
+ * committed while a rebuild is running are applied to both the live and the rebuilt ranking.
+ * Balances changed without going through updateAccount, by another instance or a bulk SQL update,
+ * are corrected when BalanceLeaderboardReconcileJob rebuilds the ranking.
+ */
+@Component
+public class BalanceLeaderboard implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLeaderboard.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${app.leaderboard.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.leaderboard.load-parallelism:4}")
+    private int loadParallelism;
+
+    @Value("${app.leaderboard.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile Ranking ranking = new Ranking();
+    private volatile Ranking rebuilding;
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Callers fall back to the database until a later load succeeds
+            logger.error("Failed to load balance leaderboard", e);
+        }
+    }
+
+    /**
+     * Rebuild the ranking from all active accounts in the database
+     * @return number of accounts ranked
+     */
+    public int load() {
+        rebuild();
+        return ranking.size();
+    }
+
+    /**
+     * Rebuild the ranking from the database, correcting changes it missed
+     * @return number of accounts whose balance or presence had drifted from the database
+     */
+    public int reconcile() {
+        return rebuild();
+    }
+
+    private synchronized int rebuild() {
+        logger.info("Loading balance leaderboard with {} parallel scans", loadParallelism);
+        long start = System.currentTimeMillis();
+
+        Ranking rebuilt = new Ranking();
+        int drifted;
+        rebuilding = rebuilt;
+        try {
+            List<Object[]> bounds = accountRepository.getAccountIdBounds();
+            if (!bounds.isEmpty() && bounds.get(0)[0] != null) {
+                scanInParallel(rebuilt, (Long) bounds.get(0)[0], (Long) bounds.get(0)[1]);
+            }
+            rebuilt.applyDeferredRemovals();
+            // Changes committed during the scan reached both rankings, so any difference is drift
+            drifted = ready ? rebuilt.countDifferences(ranking) : 0;
+            ranking = rebuilt;
+            ready = true;
+        } finally {
+            rebuilding = null;
+        }
+
+        logger.info("Balance leaderboard loaded: {} accounts ({} drifted) in {} ms", rebuilt.size(), drifted,
+                    System.currentTimeMillis() - start);
+        return drifted;
+    }
+
+    private void scanInParallel(Ranking target, long minId, long maxId) {
+        int slices = Math.max(1, loadParallelism);
+        long span = (maxId - minId) / slices + 1;
+
+        ExecutorService pool = Executors.newFixedThreadPool(slices, new CustomizableThreadFactory("leaderboard-load-"));
+        try {
+            List<Future<Integer>> scans = new ArrayList<>();
+            for (int i = 0; i < slices; i++) {
+                long afterId = minId - 1 + i * span;
+                long toId = Math.min(maxId, afterId + span);
+                scans.add(pool.submit(() -> scanRange(target, afterId, toId)));
+            }
+            for (Future<Integer> scan : scans) {
+                scan.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading balance leaderboard", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Balance leaderboard scan failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int scanRange(Ranking target, long afterId, long toId) {
+        int scanned = 0;
+        List<Object[]> rows = accountRepository.findActiveBalancesInRange(afterId, toId, PageRequest.of(0, loadBatchSize));
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                // Never overwrite a change committed after this row was read
+                target.putIfAbsent((Long) row[0], (BigDecimal) row[1]);
+            }
+            scanned += rows.size();
+            Long lastId = (Long) rows.get(rows.size() - 1)[0];
+            rows = accountRepository.findActiveBalancesInRange(lastId, toId, PageRequest.of(0, loadBatchSize));
+        }
+        return scanned;
+    }
+
+    // ===================== Maintenance =====================
+
+    /**
+     * Apply the account's balance and status once the surrounding database transaction commits
+     */
+    public void updateAccount(Account account) {
+        if (!enabled || account.getId() == null) {
+            return;
+        }
+
+        long accountId = account.getId();
+        BigDecimal balance = account.getBalance();
+        boolean active = Boolean.TRUE.equals(account.getIsActive());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(accountId, balance, active);
+                }
+            });
+        } else {
+            apply(accountId, balance, active);
+        }
+    }
+
+    private void apply(long accountId, BigDecimal balance, boolean active) {
+        Ranking live = ranking;
+        Ranking next = rebuilding;
+        if (active) {
+            live.put(accountId, balance);
+            if (next != null && next != live) {
+                next.put(accountId, balance);
+            }
+        } else {
+            live.remove(accountId);
+            if (next != null && next != live) {
+                next.removeDeferred(accountId);
+            }
+        }
+    }
+
+    // ===================== Queries =====================
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Number of ranked accounts
+     */
+    public int size() {
+        return ranking.size();
+    }
+
+    /**
+     * Highest balances first, at most limit entries
+     */
+    public List<BalanceEntry> getTop(int limit) {
+        List<BalanceEntry> top = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        Iterator<BalanceEntry> iterator = ranking.ordered.iterator();
+        while (top.size() < limit && iterator.hasNext()) {
+            top.add(iterator.next());
+        }
+        return top;
+    }
+
+    /**
+     * Accounts with a balance strictly above the threshold, highest first
+     */
+    public List<BalanceEntry> getAbove(BigDecimal threshold) {
+        // Sorts before every entry holding exactly the threshold balance
+        BalanceEntry boundary = new BalanceEntry(Long.MIN_VALUE, threshold);
+        return new ArrayList<>(ranking.ordered.headSet(boundary));
+    }
+
+    /**
+     * Current entry of the account, empty when it is inactive or unknown
+     */
+    public Optional<BalanceEntry> getEntry(Long accountId) {
+        return Optional.ofNullable(ranking.byAccountId.get(accountId));
+    }
+
+    /**
+     * One-based rank of the entry
+     */
+    public long getRank(BalanceEntry entry) {
+        return ranking.countBefore(entry) + 1L;
+    }
+
+    private static final class Ranking {
+
+        private final ConcurrentSkipListSet<BalanceEntry> ordered = new ConcurrentSkipListSet<>();
+        private final ConcurrentHashMap<Long, BalanceEntry> byAccountId = new ConcurrentHashMap<>();
+        private final Set<Long> removedDuringLoad = ConcurrentHashMap.newKeySet();
+        // Taken inside the map's per-key locks, never the other way round
+        private final ReentrantReadWriteLock rankLock = new ReentrantReadWriteLock();
+        private final RankIndex rankIndex = new RankIndex();
+
+        void put(long accountId, BigDecimal balance) {
+            byAccountId.compute(accountId, (id, previous) -> {
+                BalanceEntry entry = new BalanceEntry(id, balance);
+                if (previous != null) {
+                    ordered.remove(previous);
+                }
+                ordered.add(entry);
+                rankLock.writeLock().lock();
+                try {
+                    if (previous != null) {
+                        rankIndex.remove(previous);
+                    }
+                    rankIndex.add(entry);
+                } finally {
+                    rankLock.writeLock().unlock();
+                }
+                return entry;
+            });
+            removedDuringLoad.remove(accountId);
+        }
+
+        void putIfAbsent(long accountId, BigDecimal balance) {
+            byAccountId.computeIfAbsent(accountId, id -> {
+                BalanceEntry entry = new BalanceEntry(id, balance);
+                ordered.add(entry);
+                rankLock.writeLock().lock();
+                try {
+                    rankIndex.add(entry);
+                } finally {
+                    rankLock.writeLock().unlock();
+                }
+                return entry;
+            });
+        }
+
+        void remove(long accountId) {
+            byAccountId.computeIfPresent(accountId, (id, previous) -> {
+                ordered.remove(previous);
+                rankLock.writeLock().lock();
+                try {
+                    rankIndex.remove(previous);
+                } finally {
+                    rankLock.writeLock().unlock();
+                }
+                return null;
+            });
+        }
+
+        int countBefore(BalanceEntry entry) {
+            rankLock.readLock().lock();
+            try {
+                return rankIndex.countBefore(entry);
+            } finally {
+                rankLock.readLock().unlock();
+            }
+        }
+
+        void removeDeferred(long accountId) {
+            // The scan may still insert the row it read before the deactivation committed
+            removedDuringLoad.add(accountId);
+            remove(accountId);
+        }
+
+        void applyDeferredRemovals() {
+            for (Long accountId : removedDuringLoad) {
+                remove(accountId);
+            }
+            removedDuringLoad.clear();
+        }
+
+        int size() {
+            return byAccountId.size();
+        }
+
+        int countDifferences(Ranking other) {
+            int differences = 0;
+            for (BalanceEntry entry : byAccountId.values()) {
+                BalanceEntry otherEntry = other.byAccountId.get(entry.getAccountId());
+                if (otherEntry == null || otherEntry.getBalance().compareTo(entry.getBalance()) != 0) {
+                    differences++;
+                }
+            }
+            for (Long accountId : other.byAccountId.keySet()) {
+                if (!byAccountId.containsKey(accountId)) {
+                    differences++;
+                }
+            }
+            return differences;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.bankingapp.leaderboard;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap over leaderboard entries.
+ *
+ * Each node keeps the size of its subtree, so the number of entries ranked ahead of any entry is
+ * counted on one path from the root: O(log n) expected, like add and remove. Not thread-safe;
+ * BalanceLeaderboard guards each index with a lock.
+ */
+final class RankIndex {
+
+    private Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Add entry, which must not already be present
+     */
+    void add(BalanceEntry entry) {
+        root = insert(root, new Node(entry));
+    }
+
+    void remove(BalanceEntry entry) {
+        root = delete(root, entry);
+    }
+
+    /**
+     * Number of entries ordered before entry, whether or not entry itself is present
+     */
+    int countBefore(BalanceEntry entry) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.entry.compareTo(entry) < 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (added.priority > node.priority) {
+            split(node, added.entry, added);
+            return added.update();
+        }
+        if (added.entry.compareTo(node.entry) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return node.update();
+    }
+
+    private static Node delete(Node node, BalanceEntry entry) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = entry.compareTo(node.entry);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, entry);
+        } else {
+            node.right = delete(node.right, entry);
+        }
+        return node.update();
+    }
+
+    /**
+     * Split the subtree at node into the entries before key, set as target's left child, and the rest,
+     * set as its right child
+     */
+    private static void split(Node node, BalanceEntry key, Node target) {
+        if (node == null) {
+            target.left = null;
+            target.right = null;
+            return;
+        }
+        if (node.entry.compareTo(key) < 0) {
+            split(node.right, key, target);
+            node.right = target.left;
+            target.left = node.update();
+        } else {
+            split(node.left, key, target);
+            node.left = target.right;
+            target.right = node.update();
+        }
+    }
+
+    /**
+     * Join two subtrees where every entry of left is ordered before every entry of right
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return left.update();
+        }
+        right.left = merge(left, right.left);
+        return right.update();
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node {
+        private final BalanceEntry entry;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        Node(BalanceEntry entry) {
+            this.entry = entry;
+        }
+
+        Node update() {
+            size = size(left) + size(right) + 1;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.bankingapp.reconciliation;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.dto.BalanceReconciliationResultDTO;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that every account's balance equals the net of its completed transactions: credits (account on the
+ * receiving side) minus debits, over transactions and transactions_archive.
+ *
+ * The account ID space is split into aligned partitions of partitionSize IDs, reconciled in parallel on the
+ * reconciliation executor. Each partition streams the amounts of its completed transactions through plain
+ * index range scans, sums them per account in memory and compares the sums with the account balances read
+ * in the same read-only transaction, so the database does no sorting or grouping. All workers share a
+ * LoadBudget that paces them to app.reconciliation.db-load-budget of one connection's time.
+ *
+ * An account that does not match is read again on its own before it is reported, so a transfer committed
+ * between the partition's reads cannot show up as a discrepancy. Confirmed discrepancies are written to
+ * {directory}/balance-reconciliation-yyyyMMdd-HHmmss.csv; balances are never corrected automatically.
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class BalanceReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceReconciler.class);
+
+    private static final DateTimeFormatter REPORT_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final String REPORT_HEADER =
+        "account_id,account_number,recorded_balance,expected_balance,difference,completed_transactions";
+
+    private static final String MOVEMENTS =
+        "SELECT t.to_account_id AS account_id, t.amount FROM transactions t " +
+        "WHERE t.to_account_id >= :start AND t.to_account_id < :end AND t.status = :completed " +
+        "UNION ALL SELECT t.from_account_id, -t.amount FROM transactions t " +
+        "WHERE t.from_account_id >= :start AND t.from_account_id < :end AND t.status = :completed " +
+        "UNION ALL SELECT t.to_account_id, t.amount FROM transactions_archive t " +
+        "WHERE t.to_account_id >= :start AND t.to_account_id < :end AND t.status = :completed " +
+        "UNION ALL SELECT t.from_account_id, -t.amount FROM transactions_archive t " +
+        "WHERE t.from_account_id >= :start AND t.from_account_id < :end AND t.status = :completed";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("reconciliationExecutor")
+    private ThreadPoolTaskExecutor reconciliationExecutor;
+
+    @Value("${app.reconciliation.directory:data/reconciliation}")
+    private String directory;
+
+    @Value("${app.reconciliation.partition-size:10000}")
+    private int partitionSize;
+
+    @Value("${app.reconciliation.db-load-budget:0.25}")
+    private double dbLoadBudget;
+
+    @Value("${app.reconciliation.burst-ms:1000}")
+    private long burstMillis;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private Path reportDirectory;
+
+    @PostConstruct
+    public void init() {
+        // Connector/J streams rows one at a time with this fetch size instead of reading the whole result set into memory
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+        jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+        reportDirectory = Paths.get(directory);
+    }
+
+    /**
+     * Reconcile every account and write the discrepancy report
+     */
+    public BalanceReconciliationResultDTO reconcile() {
+        long startedAt = System.currentTimeMillis();
+        LoadBudget budget = new LoadBudget(dbLoadBudget, TimeUnit.MILLISECONDS.toNanos(burstMillis));
+
+        PartitionResult totals = new PartitionResult();
+        long partitions = 0;
+        List<Object[]> bounds = accountRepository.getAccountIdBounds();
+        if (!bounds.isEmpty() && bounds.get(0)[0] != null) {
+            long firstId = ((Number) bounds.get(0)[0]).longValue();
+            long lastId = ((Number) bounds.get(0)[1]).longValue();
+            long rangeStart = firstId - Math.floorMod(firstId, (long) partitionSize);
+            long rangeEnd = lastId - Math.floorMod(lastId, (long) partitionSize) + partitionSize;
+            logger.info("Reconciling balances over account IDs [{}, {}) with a database load budget of {}",
+                        rangeStart, rangeEnd, dbLoadBudget);
+
+            List<CompletableFuture<PartitionResult>> results = new ArrayList<>();
+            for (long start = rangeStart; start < rangeEnd; start += partitionSize) {
+                long partitionStart = start;
+                results.add(CompletableFuture.supplyAsync(
+                    () -> reconcilePartition(partitionStart, partitionStart + partitionSize, budget), reconciliationExecutor));
+                partitions++;
+            }
+            for (CompletableFuture<PartitionResult> result : results) {
+                totals.add(await(result));
+            }
+        }
+
+        List<Discrepancy> confirmed = new ArrayList<>();
+        for (Discrepancy suspect : totals.discrepancies) {
+            Discrepancy discrepancy = recheck(suspect.accountId, budget);
+            if (discrepancy != null) {
+                confirmed.add(discrepancy);
+            }
+        }
+        BigDecimal netDifference = BigDecimal.ZERO;
+        for (Discrepancy discrepancy : confirmed) {
+            netDifference = netDifference.add(discrepancy.difference());
+        }
+        Path reportFile = writeReport(confirmed, LocalDateTime.now());
+
+        long elapsedMillis = System.currentTimeMillis() - startedAt;
+        long throttledMillis = TimeUnit.NANOSECONDS.toMillis(budget.getPausedNanos());
+        if (confirmed.isEmpty()) {
+            logger.info("Balance reconciliation completed in {} ms ({} ms throttled): {} accounts and {} transactions balance",
+                        elapsedMillis, throttledMillis, totals.accounts, totals.transactions);
+        } else {
+            logger.warn("Balance reconciliation completed in {} ms ({} ms throttled): {} of {} accounts differ from " +
+                        "their transactions by {} in total, see {}", elapsedMillis, throttledMillis, confirmed.size(),
+                        totals.accounts, netDifference, reportFile);
+        }
+        return new BalanceReconciliationResultDTO(partitions, totals.accounts, totals.transactions,
+            (long) confirmed.size(), netDifference, reportFile.toString(), elapsedMillis, throttledMillis);
+    }
+
+    private static PartitionResult await(CompletableFuture<PartitionResult> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compare the balances of the accounts in [start, end) with their transactions, in one read-only transaction
+     */
+    PartitionResult reconcilePartition(long start, long end, LoadBudget budget) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("start", start)
+            .addValue("end", end)
+            .addValue("completed", Transaction.TransactionStatus.COMPLETED.name());
+
+        TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        long busyFrom = System.nanoTime();
+        PartitionResult result = readTemplate.execute(status -> {
+            int size = (int) (end - start);
+            long[] netCents = new long[size];
+            int[] counts = new int[size];
+            jdbcTemplate.query(MOVEMENTS, parameters, resultSet -> {
+                int index = (int) (resultSet.getLong(1) - start);
+                netCents[index] += toCents(resultSet.getBigDecimal(2));
+                counts[index]++;
+            });
+
+            PartitionResult partition = new PartitionResult();
+            jdbcTemplate.query(
+                "SELECT id, account_number, balance FROM accounts WHERE id >= :start AND id < :end",
+                parameters,
+                resultSet -> {
+                    long accountId = resultSet.getLong("id");
+                    int index = (int) (accountId - start);
+                    partition.accounts++;
+                    partition.transactions += counts[index];
+                    BigDecimal balance = resultSet.getBigDecimal("balance");
+                    if (toCents(balance) != netCents[index]) {
+                        partition.discrepancies.add(new Discrepancy(accountId, resultSet.getString("account_number"),
+                            balance, BigDecimal.valueOf(netCents[index], 2), counts[index]));
+                    }
+                });
+            return partition;
+        });
+        budget.pause(System.nanoTime() - busyFrom);
+        return result;
+    }
+
+    /**
+     * Read one account's balance and transactions again
+     * @return the discrepancy, or null if the account now balances
+     */
+    private Discrepancy recheck(long accountId, LoadBudget budget) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("start", accountId)
+            .addValue("end", accountId + 1)
+            .addValue("completed", Transaction.TransactionStatus.COMPLETED.name());
+
+        TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        long busyFrom = System.nanoTime();
+        Discrepancy discrepancy = readTemplate.execute(status -> jdbcTemplate.query(
+            "SELECT a.id, a.account_number, a.balance, COALESCE(m.net, 0) AS net, COALESCE(m.transaction_count, 0) AS transaction_count " +
+            "FROM accounts a LEFT JOIN (SELECT account_id, SUM(amount) AS net, COUNT(*) AS transaction_count " +
+            "FROM (" + MOVEMENTS + ") movements GROUP BY account_id) m ON m.account_id = a.id WHERE a.id = :start",
+            parameters,
+            resultSet -> {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                BigDecimal balance = resultSet.getBigDecimal("balance");
+                BigDecimal expected = resultSet.getBigDecimal("net");
+                if (balance.compareTo(expected) == 0) {
+                    return null;
+                }
+                return new Discrepancy(resultSet.getLong("id"), resultSet.getString("account_number"),
+                    balance, expected, resultSet.getInt("transaction_count"));
+            }));
+        budget.pause(System.nanoTime() - busyFrom);
+        return discrepancy;
+    }
+
+    private Path writeReport(List<Discrepancy> discrepancies, LocalDateTime runAt) {
+        Path reportFile = reportDirectory.resolve("balance-reconciliation-" + runAt.format(REPORT_TIMESTAMP) + ".csv");
+        try {
+            Files.createDirectories(reportDirectory);
+            try (BufferedWriter writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                writer.write(REPORT_HEADER);
+                writer.newLine();
+                for (Discrepancy discrepancy : discrepancies) {
+                    writer.write(discrepancy.accountId + "," + discrepancy.accountNumber + ","
+                        + discrepancy.recordedBalance.toPlainString() + "," + discrepancy.expectedBalance.toPlainString() + ","
+                        + discrepancy.difference().toPlainString() + "," + discrepancy.transactionCount);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write balance reconciliation report " + reportFile, e);
+        }
+        return reportFile;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Account whose recorded balance differs from the net of its completed transactions
+     */
+    static final class Discrepancy {
+        final long accountId;
+        final String accountNumber;
+        final BigDecimal recordedBalance;
+        final BigDecimal expectedBalance;
+        final int transactionCount;
+
+        Discrepancy(long accountId, String accountNumber, BigDecimal recordedBalance, BigDecimal expectedBalance,
+                    int transactionCount) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.recordedBalance = recordedBalance;
+            this.expectedBalance = expectedBalance;
+            this.transactionCount = transactionCount;
+        }
+
+        BigDecimal difference() {
+            return recordedBalance.subtract(expectedBalance);
+        }
+    }
+
+    /**
+     * Counts and suspected discrepancies of reconciled partitions
+     */
+    static final class PartitionResult {
+        long accounts;
+        long transactions;
+        final List<Discrepancy> discrepancies = new ArrayList<>();
+
+        PartitionResult add(PartitionResult other) {
+            accounts += other.accounts;
+            transactions += other.transactions;
+            discrepancies.addAll(other.discrepancies);
+            return this;
+        }
+    }
+}
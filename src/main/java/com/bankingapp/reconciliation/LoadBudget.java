@@ -0,0 +1,66 @@
+package com.bankingapp.reconciliation;
+
+/**
+ * Paces database work to a share of one connection's time. With a share of 0.25 the queries of all workers
+ * together keep the database busy at most a quarter of the wall-clock time; a share of 2 allows two busy
+ * connections. Idle time builds up credit for at most burstNanos, so a pause in the run does not turn into
+ * a burst of full-speed queries afterwards.
+ *
+ * Workers report how long each unit of work held the database and sleep for the pause they are given,
+ * outside any transaction so the connection goes back to the pool meanwhile.
+ */
+final class LoadBudget {
+
+    private final double share;
+    private final long burstNanos;
+
+    // Time at which the database time charged so far is paid back
+    private long paidUntil;
+    private boolean charged;
+    private long pausedNanos;
+
+    LoadBudget(double share, long burstNanos) {
+        if (!(share > 0)) {
+            throw new IllegalArgumentException("Database load budget must be positive: " + share);
+        }
+        this.share = share;
+        this.burstNanos = Math.max(0, burstNanos);
+    }
+
+    /**
+     * Charge busyNanos of database time ending at nowNanos
+     * @return how long to wait before the next query
+     */
+    synchronized long charge(long nowNanos, long busyNanos) {
+        // The work started busyNanos ago and may use up to burstNanos of unused budget before that
+        long credit = nowNanos - busyNanos - burstNanos;
+        if (!charged || paidUntil < credit) {
+            paidUntil = credit;
+            charged = true;
+        }
+        paidUntil += (long) (busyNanos / share);
+        long pause = Math.max(0, paidUntil - nowNanos);
+        pausedNanos += pause;
+        return pause;
+    }
+
+    /**
+     * Charge busyNanos of database time just spent and sleep until the budget allows more
+     */
+    void pause(long busyNanos) {
+        long pause = charge(System.nanoTime(), busyNanos);
+        if (pause <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pause / 1_000_000, (int) (pause % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while throttling balance reconciliation", e);
+        }
+    }
+
+    synchronized long getPausedNanos() {
+        return pausedNanos;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.AccountBalanceBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for downsampled balance buckets
+ * Rows are maintained incrementally by AccountBalanceHistoryService and read by chart endpoints
+ */
+@Repository
+public interface AccountBalanceBucketRepository extends JpaRepository<AccountBalanceBucket, Long> {
+
+    // ===================== Chart Queries =====================
+
+    /**
+     * Find buckets of one resolution for account within time range (inclusive)
+     */
+    List<AccountBalanceBucket> findByAccountIdAndResolutionAndBucketStartBetweenOrderByBucketStart(
+        Long accountId, AccountBalanceBucket.Resolution resolution, LocalDateTime startDate, LocalDateTime endDate);
+
+    // ===================== Incremental Maintenance =====================
+
+    /**
+     * Fold a new balance into an existing bucket in a single statement
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE AccountBalanceBucket b SET " +
+           "b.minBalance = CASE WHEN :balance < b.minBalance THEN :balance ELSE b.minBalance END, " +
+           "b.maxBalance = CASE WHEN :balance > b.maxBalance THEN :balance ELSE b.maxBalance END, " +
+           "b.lastBalance = :balance, " +
+           "b.changeCount = b.changeCount + 1 " +
+           "WHERE b.accountId = :accountId AND b.resolution = :resolution AND b.bucketStart = :bucketStart")
+    int foldIntoBucket(@Param("accountId") Long accountId,
+                       @Param("resolution") AccountBalanceBucket.Resolution resolution,
+                       @Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("balance") BigDecimal balance);
+
+    /**
+     * Create a bucket holding a single balance if none exists yet (concurrent callers are safe)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO account_balance_bucket (account_id, resolution, bucket_start, " +
+           "min_balance, max_balance, last_balance, change_count) " +
+           "VALUES (:accountId, :resolution, :bucketStart, :balance, :balance, :balance, 1)",
+           nativeQuery = true)
+    int insertBucketIfAbsent(@Param("accountId") Long accountId,
+                             @Param("resolution") String resolution,
+                             @Param("bucketStart") LocalDateTime bucketStart,
+                             @Param("balance") BigDecimal balance);
+
+    /**
+     * Remove buckets of one resolution older than cutoff (retention)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM AccountBalanceBucket b WHERE b.resolution = :resolution AND b.bucketStart < :cutoff")
+    int deleteByResolutionBefore(@Param("resolution") AccountBalanceBucket.Resolution resolution,
+                                 @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,36 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.AccountBalanceHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for the append-only account balance history
+ */
+@Repository
+public interface AccountBalanceHistoryRepository extends JpaRepository<AccountBalanceHistory, Long> {
+
+    // ===================== Range Queries =====================
+
+    /**
+     * Find balance history for account
+     */
+    Page<AccountBalanceHistory> findByAccountId(Long accountId, Pageable pageable);
+
+    /**
+     * Find balance history for account within time range (inclusive)
+     */
+    Page<AccountBalanceHistory> findByAccountIdAndRecordedAtBetween(Long accountId, LocalDateTime startDate,
+                                                                   LocalDateTime endDate, Pageable pageable);
+
+    /**
+     * Find latest balance recorded for account before the given time
+     */
+    Optional<AccountBalanceHistory> findFirstByAccountIdAndRecordedAtLessThanOrderByRecordedAtDescIdDesc(
+        Long accountId, LocalDateTime before);
+}
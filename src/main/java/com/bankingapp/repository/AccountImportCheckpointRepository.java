@@ -0,0 +1,16 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.AccountImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for bulk account import progress
+ */
+@Repository
+public interface AccountImportCheckpointRepository extends JpaRepository<AccountImportCheckpoint, Long> {
+
+    Optional<AccountImportCheckpoint> findBySource(String source);
+}
@@ -1,20 +1,26 @@
 package com.bankingapp.repository;
 
 import com.bankingapp.entity.Account;
+import com.bankingapp.entity.FetchPlans;
 import com.bankingapp.dto.AccountSummaryDTO;
-import com.bankingapp.dto.AccountStatisticsDTO;
+import com.bankingapp.repository.projection.AccountPortfolioStatisticsProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.LockModeType;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,15 +29,11 @@ import java.util.Optional;
  * Provides custom queries for banking operations
  */
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account> {
+public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account>,
+        AccountRepositoryCustom {
 
     // ===================== Basic CRUD Operations =====================
 
-    /**
-     * Find account by account number
-     */
-    Optional<Account> findByAccountNumber(String accountNumber);
-
     /**
      * Check if account number exists
      */
@@ -44,16 +46,32 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
     Optional<Account> findByAccountNumberAndUserId(@Param("accountNumber") String accountNumber, 
                                                   @Param("userId") Long userId);
 
+    /**
+     * Find account by ID holding a row lock until the transaction ends, for read-modify-write of the balance
+     * alongside relative updates such as interest posting
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Get next batch of account IDs after the given ID (keyset pagination for batch jobs)
+     */
+    @Query("SELECT a.id FROM Account a WHERE a.id > :afterId ORDER BY a.id")
+    List<Long> findAccountIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     // ===================== User Account Queries =====================
 
     /**
      * Find all accounts for a specific user
      */
+    @EntityGraph(FetchPlans.ACCOUNT_WITH_OWNER)
     List<Account> findByUserId(Long userId);
 
     /**
      * Find all active accounts for a specific user
      */
+    @EntityGraph(FetchPlans.ACCOUNT_WITH_OWNER)
     List<Account> findByUserIdAndIsActiveTrue(Long userId);
 
     /**
@@ -152,18 +170,20 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
     // ===================== Account Summary Queries =====================
 
     /**
-     * Get account summaries for a user
+     * Get account summaries for a user, with last activity as the last transaction date
      */
-    @Query("SELECT new com.bank.dto.AccountSummaryDTO(" +
-           "a.id, a.accountNumber, a.accountType, a.balance, a.isActive) " +
+    @Query("SELECT new com.bankingapp.dto.AccountSummaryDTO(" +
+           "a.id, a.accountNumber, a.accountType, a.balance, a.isActive, " +
+           "a.lastActivityAt) " +
            "FROM Account a WHERE a.user.id = :userId ORDER BY a.createdAt DESC")
     List<AccountSummaryDTO> getAccountSummariesByUserId(@Param("userId") Long userId);
 
     /**
-     * Get active account summaries for a user
+     * Get active account summaries for a user, with last activity as the last transaction date
      */
-    @Query("SELECT new com.bank.dto.AccountSummaryDTO(" +
-           "a.id, a.accountNumber, a.accountType, a.balance, a.isActive) " +
+    @Query("SELECT new com.bankingapp.dto.AccountSummaryDTO(" +
+           "a.id, a.accountNumber, a.accountType, a.balance, a.isActive, " +
+           "a.lastActivityAt) " +
            "FROM Account a WHERE a.user.id = :userId AND a.isActive = true ORDER BY a.createdAt DESC")
     List<AccountSummaryDTO> getActiveAccountSummariesByUserId(@Param("userId") Long userId);
 
@@ -172,6 +192,7 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
     /**
      * Search accounts by multiple criteria
      */
+    @EntityGraph(FetchPlans.ACCOUNT_WITH_OWNER)
     @Query("SELECT a FROM Account a WHERE " +
            "(:accountNumber IS NULL OR a.accountNumber LIKE %:accountNumber%) AND " +
            "(:accountType IS NULL OR a.accountType = :accountType) AND " +
@@ -199,41 +220,71 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
     /**
      * Find dormant accounts (no transactions for specified period)
      */
-    @Query("SELECT a FROM Account a WHERE a.id NOT IN " +
-           "(SELECT DISTINCT t.fromAccount.id FROM Transaction t WHERE t.createdAt >= :sinceDate " +
-           "UNION SELECT DISTINCT t.toAccount.id FROM Transaction t WHERE t.createdAt >= :sinceDate AND t.toAccount IS NOT NULL) " +
-           "AND a.isActive = true")
+    @Query("SELECT a FROM Account a WHERE a.isActive = true AND a.lastActivityAt < :sinceDate")
     List<Account> findDormantAccounts(@Param("sinceDate") LocalDateTime sinceDate);
 
+    /**
+     * Next chunk of dormant accounts not yet reported as (id, accountNumber, userId, lastActivityAt), ordered by
+     * (lastActivityAt, id) so each chunk is a range scan of idx_accounts_dormancy_scan
+     */
+    @Query("SELECT a.id, a.accountNumber, a.user.id, a.lastActivityAt FROM Account a " +
+           "WHERE a.isActive = true AND a.dormantAt IS NULL AND a.lastActivityAt < :sinceDate " +
+           "AND (a.lastActivityAt > :afterActivityAt OR (a.lastActivityAt = :afterActivityAt AND a.id > :afterId)) " +
+           "ORDER BY a.lastActivityAt, a.id")
+    List<Object[]> findDormantAccountChunk(@Param("sinceDate") LocalDateTime sinceDate,
+                                           @Param("afterActivityAt") LocalDateTime afterActivityAt,
+                                           @Param("afterId") Long afterId,
+                                           Pageable pageable);
+
+    /**
+     * Record the dormancy of accounts just reported, unless a transaction has touched them since the scan
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Account a SET a.dormantAt = :dormantAt " +
+           "WHERE a.id IN :accountIds AND a.dormantAt IS NULL AND a.lastActivityAt < :sinceDate")
+    int markDormant(@Param("accountIds") Collection<Long> accountIds,
+                    @Param("sinceDate") LocalDateTime sinceDate,
+                    @Param("dormantAt") LocalDateTime dormantAt);
+
+    /**
+     * Backfill last activity for accounts created before the column existed, one id range at a time
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Account a SET a.lastActivityAt = COALESCE(" +
+           "(SELECT MAX(t.createdAt) FROM Transaction t WHERE t.fromAccount.id = a.id OR t.toAccount.id = a.id), " +
+           "a.createdAt) " +
+           "WHERE a.lastActivityAt IS NULL AND a.id > :fromId AND a.id <= :toId")
+    int backfillLastActivity(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
     // ===================== Statistics and Analytics =====================
 
     /**
      * Get account statistics by user
      */
-    @Query("SELECT new com.bank.dto.AccountStatisticsDTO(" +
-           "COUNT(a), " +
-           "SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.isActive = false THEN 1 ELSE 0 END), " +
-           "AVG(a.balance), " +
-           "SUM(a.balance), " +
-           "MAX(a.balance), " +
-           "MIN(a.balance)) " +
+    @Query("SELECT COUNT(a) AS totalAccounts, " +
+           "COALESCE(SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), 0) AS activeAccounts, " +
+           "COALESCE(SUM(CASE WHEN a.isActive = false THEN 1 ELSE 0 END), 0) AS inactiveAccounts, " +
+           "AVG(a.balance) AS averageBalance, " +
+           "COALESCE(SUM(a.balance), 0) AS totalBalance, " +
+           "MAX(a.balance) AS highestBalance, " +
+           "MIN(a.balance) AS lowestBalance " +
            "FROM Account a WHERE a.user.id = :userId")
-    AccountStatisticsDTO getAccountStatisticsByUserId(@Param("userId") Long userId);
+    AccountPortfolioStatisticsProjection getAccountStatisticsByUserId(@Param("userId") Long userId);
 
     /**
      * Get global account statistics
      */
-    @Query("SELECT new com.bank.dto.AccountStatisticsDTO(" +
-           "COUNT(a), " +
-           "SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), " +
-           "SUM(CASE WHEN a.isActive = false THEN 1 ELSE 0 END), " +
-           "AVG(a.balance), " +
-           "SUM(a.balance), " +
-           "MAX(a.balance), " +
-           "MIN(a.balance)) " +
+    @Query("SELECT COUNT(a) AS totalAccounts, " +
+           "COALESCE(SUM(CASE WHEN a.isActive = true THEN 1 ELSE 0 END), 0) AS activeAccounts, " +
+           "COALESCE(SUM(CASE WHEN a.isActive = false THEN 1 ELSE 0 END), 0) AS inactiveAccounts, " +
+           "AVG(a.balance) AS averageBalance, " +
+           "COALESCE(SUM(a.balance), 0) AS totalBalance, " +
+           "MAX(a.balance) AS highestBalance, " +
+           "MIN(a.balance) AS lowestBalance " +
            "FROM Account a")
-    AccountStatisticsDTO getGlobalAccountStatistics();
+    AccountPortfolioStatisticsProjection getGlobalAccountStatistics();
 
     /**
      * Get account count by type
@@ -248,6 +299,13 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
            "FROM Account a WHERE a.isActive = true GROUP BY a.accountType")
     List<Object[]> getBalanceDistributionByType();
 
+    /**
+     * Get count, balance sum and sum of squared balances per account type (for reconciling in-memory counters)
+     */
+    @Query("SELECT a.accountType, COUNT(a), COALESCE(SUM(a.balance), 0), COALESCE(SUM(a.balance * a.balance), 0) " +
+           "FROM Account a WHERE a.isActive = true GROUP BY a.accountType")
+    List<Object[]> getBalanceMomentsByType();
+
     /**
      * Get monthly account creation statistics
      */
@@ -360,6 +418,41 @@ public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpec
     @Query("SELECT a FROM Account a WHERE a.isActive = true ORDER BY a.balance DESC")
     Page<Account> getTopAccountsByBalance(Pageable pageable);
 
+    /**
+     * Count active accounts ranked ahead of the given balance and account ID (higher balance, or same balance and lower ID)
+     */
+    @Query("SELECT COUNT(a) FROM Account a WHERE a.isActive = true " +
+           "AND (a.balance > :balance OR (a.balance = :balance AND a.id < :accountId))")
+    long countActiveAccountsRankedAhead(@Param("balance") BigDecimal balance, @Param("accountId") Long accountId);
+
+    /**
+     * Count active accounts
+     */
+    long countByIsActiveTrue();
+
+    /**
+     * Get lowest and highest account ID, used to split full-table scans into ranges
+     */
+    @Query("SELECT MIN(a.id), MAX(a.id) FROM Account a")
+    List<Object[]> getAccountIdBounds();
+
+    /**
+     * Get next batch of active account balances within an ID range as {id, balance} (keyset pagination)
+     */
+    @Query("SELECT a.id, a.balance FROM Account a " +
+           "WHERE a.isActive = true AND a.id > :afterId AND a.id <= :toId ORDER BY a.id")
+    List<Object[]> findActiveBalancesInRange(@Param("afterId") Long afterId,
+                                             @Param("toId") Long toId,
+                                             Pageable pageable);
+
+    /**
+     * Get account summaries for the given accounts, with last activity as the last transaction date
+     */
+    @Query("SELECT new com.bankingapp.dto.AccountSummaryDTO(" +
+           "a.id, a.accountNumber, a.accountType, a.balance, a.isActive, a.lastActivityAt) " +
+           "FROM Account a WHERE a.id IN :accountIds")
+    List<AccountSummaryDTO> getAccountSummariesByIds(@Param("accountIds") Collection<Long> accountIds);
+
     /**
      * Get accounts by balance range with pagination
      */
@@ -0,0 +1,16 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.Account;
+
+import java.util.Optional;
+
+/**
+ * Account lookups resolved through the Hibernate natural-id API instead of query derivation
+ */
+public interface AccountRepositoryCustom {
+
+    /**
+     * Find account by account number, resolving the id from the natural-id cache region when present
+     */
+    Optional<Account> findByAccountNumber(String accountNumber);
+}
@@ -0,0 +1,21 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.Account;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Optional;
+
+public class AccountRepositoryImpl implements AccountRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Account> findByAccountNumber(String accountNumber) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Account.class)
+            .loadOptional(accountNumber);
+    }
+}
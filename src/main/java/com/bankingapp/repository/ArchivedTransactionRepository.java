@@ -0,0 +1,74 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.ArchivedTransaction;
+import com.bankingapp.repository.projection.BalanceDeltaProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the cold transaction archive
+ */
+@Repository
+public interface ArchivedTransactionRepository extends JpaRepository<ArchivedTransaction, Long> {
+
+    /**
+     * Find archived transaction by transaction ID
+     */
+    Optional<ArchivedTransaction> findByTransactionId(String transactionId);
+
+    /**
+     * Get creation time of the oldest archived transaction
+     */
+    @Query("SELECT MIN(a.createdAt) FROM ArchivedTransaction a")
+    LocalDateTime getEarliestCreatedAt();
+
+    /**
+     * Sum completed credits and debits of account archived with a creation time in [fromTime, toTime)
+     * (point-in-time balance replay over history moved out of the transactions table)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN a.toAccountId = :accountId THEN a.amount ELSE 0 END), 0) AS creditAmount, " +
+           "COALESCE(SUM(CASE WHEN a.fromAccountId = :accountId THEN a.amount ELSE 0 END), 0) AS debitAmount, " +
+           "COUNT(a) AS transactionCount " +
+           "FROM ArchivedTransaction a WHERE (a.fromAccountId = :accountId OR a.toAccountId = :accountId) " +
+           "AND a.status = 'COMPLETED' AND a.createdAt >= :fromTime AND a.createdAt < :toTime")
+    BalanceDeltaProjection getBalanceDelta(@Param("accountId") Long accountId,
+                                           @Param("fromTime") LocalDateTime fromTime,
+                                           @Param("toTime") LocalDateTime toTime);
+
+    /**
+     * Get highest account id on either side of archived transactions created in [startDate, endDate)
+     */
+    @Query("SELECT MAX(CASE WHEN a.fromAccountId IS NULL OR a.toAccountId > a.fromAccountId " +
+           "THEN a.toAccountId ELSE a.fromAccountId END) FROM ArchivedTransaction a " +
+           "WHERE a.createdAt >= :startDate AND a.createdAt < :endDate")
+    Long getMaxAccountId(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Get archived transactions of account created in [startDate, endDate), in (createdAt, id) order
+     * (months not yet exported to the columnar archive)
+     */
+    @Query("SELECT a FROM ArchivedTransaction a WHERE (a.fromAccountId = :accountId OR a.toAccountId = :accountId) " +
+           "AND a.createdAt >= :startDate AND a.createdAt < :endDate ORDER BY a.createdAt, a.id")
+    List<ArchivedTransaction> findForAccount(@Param("accountId") Long accountId,
+                                             @Param("startDate") LocalDateTime startDate,
+                                             @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Get archived transactions created in [startDate, endDate) with either side in [rangeStart, rangeEnd),
+     * in (createdAt, id) order
+     */
+    @Query("SELECT a FROM ArchivedTransaction a WHERE a.createdAt >= :startDate AND a.createdAt < :endDate " +
+           "AND ((a.fromAccountId >= :rangeStart AND a.fromAccountId < :rangeEnd) " +
+           "OR (a.toAccountId >= :rangeStart AND a.toAccountId < :rangeEnd)) " +
+           "ORDER BY a.createdAt, a.id")
+    List<ArchivedTransaction> findForAccountRange(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate,
+                                                  @Param("rangeStart") Long rangeStart,
+                                                  @Param("rangeEnd") Long rangeEnd);
+}
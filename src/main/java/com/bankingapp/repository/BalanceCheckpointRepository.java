@@ -0,0 +1,23 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.BalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Repository interface for per-account balance checkpoints
+ */
+@Repository
+public interface BalanceCheckpointRepository extends JpaRepository<BalanceCheckpoint, Long> {
+
+    /**
+     * Find nearest checkpoint of account at or before the given time
+     */
+    Optional<BalanceCheckpoint> findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(
+        Long accountId, LocalDateTime time);
+
+    boolean existsByAccountIdAndCheckpointAt(Long accountId, LocalDateTime checkpointAt);
+}
@@ -0,0 +1,128 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.dto.AccountRollupSummaryDTO;
+import com.bankingapp.entity.DailyAccountRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for DailyAccountRollup operations
+ * Rows are maintained incrementally by TransactionRollupService and summed for statistics
+ */
+@Repository
+public interface DailyAccountRollupRepository extends JpaRepository<DailyAccountRollup, Long> {
+
+    // ===================== Basic Queries =====================
+
+    /**
+     * Find rollup row for account and day
+     */
+    Optional<DailyAccountRollup> findByAccountIdAndRollupDate(Long accountId, LocalDate rollupDate);
+
+    /**
+     * Find rollup rows for account within date range
+     */
+    List<DailyAccountRollup> findByAccountIdAndRollupDateBetweenOrderByRollupDate(Long accountId,
+                                                                               LocalDate startDate,
+                                                                               LocalDate endDate);
+
+    // ===================== Aggregation Queries =====================
+
+    /**
+     * Sum rollup rows for account within date range (inclusive)
+     */
+    @Query("SELECT new com.bankingapp.dto.AccountRollupSummaryDTO(" +
+           "COALESCE(SUM(r.completedCount), 0), COALESCE(SUM(r.pendingCount), 0), COALESCE(SUM(r.failedCount), 0), " +
+           "COALESCE(SUM(r.inflowCount), 0), COALESCE(SUM(r.outflowCount), 0), " +
+           "COALESCE(SUM(r.depositCount), 0), COALESCE(SUM(r.depositAmount), 0), " +
+           "COALESCE(SUM(r.withdrawalCount), 0), COALESCE(SUM(r.withdrawalAmount), 0), " +
+           "COALESCE(SUM(r.transferInCount), 0), COALESCE(SUM(r.transferInAmount), 0), " +
+           "COALESCE(SUM(r.transferOutCount), 0), COALESCE(SUM(r.transferOutAmount), 0), " +
+           "MIN(r.minAmount), MAX(r.maxAmount), MIN(r.firstTransactionAt), MAX(r.lastTransactionAt)) " +
+           "FROM DailyAccountRollup r WHERE r.accountId = :accountId " +
+           "AND r.rollupDate BETWEEN :startDate AND :endDate")
+    AccountRollupSummaryDTO summarizeByAccount(@Param("accountId") Long accountId,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    // ===================== Incremental Maintenance =====================
+
+    /**
+     * Apply counter deltas to an existing rollup row in a single statement, widening its amount range
+     * (a null amount leaves it unchanged) and activity window
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE DailyAccountRollup r SET " +
+           "r.completedCount = r.completedCount + :completedCount, " +
+           "r.pendingCount = r.pendingCount + :pendingCount, " +
+           "r.failedCount = r.failedCount + :failedCount, " +
+           "r.inflowCount = r.inflowCount + :inflowCount, " +
+           "r.outflowCount = r.outflowCount + :outflowCount, " +
+           "r.depositCount = r.depositCount + :depositCount, " +
+           "r.depositAmount = r.depositAmount + :depositAmount, " +
+           "r.withdrawalCount = r.withdrawalCount + :withdrawalCount, " +
+           "r.withdrawalAmount = r.withdrawalAmount + :withdrawalAmount, " +
+           "r.transferInCount = r.transferInCount + :transferInCount, " +
+           "r.transferInAmount = r.transferInAmount + :transferInAmount, " +
+           "r.transferOutCount = r.transferOutCount + :transferOutCount, " +
+           "r.transferOutAmount = r.transferOutAmount + :transferOutAmount, " +
+           "r.minAmount = CASE WHEN r.minAmount IS NULL OR r.minAmount > :minAmount THEN :minAmount ELSE r.minAmount END, " +
+           "r.maxAmount = CASE WHEN r.maxAmount IS NULL OR r.maxAmount < :maxAmount THEN :maxAmount ELSE r.maxAmount END, " +
+           "r.firstTransactionAt = CASE WHEN r.firstTransactionAt IS NULL OR r.firstTransactionAt > :firstTransactionAt " +
+           "THEN :firstTransactionAt ELSE r.firstTransactionAt END, " +
+           "r.lastTransactionAt = CASE WHEN r.lastTransactionAt IS NULL OR r.lastTransactionAt < :lastTransactionAt " +
+           "THEN :lastTransactionAt ELSE r.lastTransactionAt END, " +
+           "r.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE r.accountId = :accountId AND r.rollupDate = :rollupDate")
+    int incrementRollup(@Param("accountId") Long accountId,
+                        @Param("rollupDate") LocalDate rollupDate,
+                        @Param("completedCount") long completedCount,
+                        @Param("pendingCount") long pendingCount,
+                        @Param("failedCount") long failedCount,
+                        @Param("inflowCount") long inflowCount,
+                        @Param("outflowCount") long outflowCount,
+                        @Param("depositCount") long depositCount,
+                        @Param("depositAmount") BigDecimal depositAmount,
+                        @Param("withdrawalCount") long withdrawalCount,
+                        @Param("withdrawalAmount") BigDecimal withdrawalAmount,
+                        @Param("transferInCount") long transferInCount,
+                        @Param("transferInAmount") BigDecimal transferInAmount,
+                        @Param("transferOutCount") long transferOutCount,
+                        @Param("transferOutAmount") BigDecimal transferOutAmount,
+                        @Param("minAmount") BigDecimal minAmount,
+                        @Param("maxAmount") BigDecimal maxAmount,
+                        @Param("firstTransactionAt") LocalDateTime firstTransactionAt,
+                        @Param("lastTransactionAt") LocalDateTime lastTransactionAt);
+
+    /**
+     * Create an empty rollup row if none exists yet (concurrent callers are safe)
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT IGNORE INTO daily_account_rollup (account_id, rollup_date, " +
+           "completed_count, pending_count, failed_count, inflow_count, outflow_count, " +
+           "deposit_count, deposit_amount, withdrawal_count, withdrawal_amount, " +
+           "transfer_in_count, transfer_in_amount, transfer_out_count, transfer_out_amount, updated_at) " +
+           "VALUES (:accountId, :rollupDate, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP)",
+           nativeQuery = true)
+    int insertEmptyRollupIfAbsent(@Param("accountId") Long accountId, @Param("rollupDate") LocalDate rollupDate);
+
+    /**
+     * Remove rollup rows for account before cutoff (used by backfill before rebuilding)
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DailyAccountRollup r WHERE r.accountId = :accountId AND r.rollupDate < :cutoffDate")
+    int deleteByAccountIdBefore(@Param("accountId") Long accountId, @Param("cutoffDate") LocalDate cutoffDate);
+}
@@ -0,0 +1,23 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.InterestAccrualCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+/**
+ * Repository interface for completed interest accrual partitions
+ */
+@Repository
+public interface InterestAccrualCheckpointRepository extends JpaRepository<InterestAccrualCheckpoint, Long> {
+
+    boolean existsByAccrualDateAndPartitionStart(LocalDate accrualDate, Long partitionStart);
+
+    /**
+     * Get the first day interest was ever accrued, or null before the first run
+     */
+    @Query("SELECT MIN(c.accrualDate) FROM InterestAccrualCheckpoint c")
+    LocalDate getEarliestAccrualDate();
+}
@@ -0,0 +1,16 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.RollupBackfill;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository interface for completed rollup backfills
+ */
+@Repository
+public interface RollupBackfillRepository extends JpaRepository<RollupBackfill, Long> {
+
+    Optional<RollupBackfill> findFirstByOrderByCutoffDateDesc();
+}
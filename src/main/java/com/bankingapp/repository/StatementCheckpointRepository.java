@@ -0,0 +1,17 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.StatementCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository interface for completed statement partitions
+ */
+@Repository
+public interface StatementCheckpointRepository extends JpaRepository<StatementCheckpoint, Long> {
+
+    List<StatementCheckpoint> findByStatementMonth(LocalDate statementMonth);
+}
@@ -2,10 +2,14 @@ package com.bankingapp.repository;
 
 import com.bankingapp.entity.Transaction;
 import com.bankingapp.entity.Account;
+import com.bankingapp.entity.FetchPlans;
 import com.bankingapp.dto.TransactionSummaryDTO;
 import com.bankingapp.dto.TransactionStatisticsDTO;
+import com.bankingapp.repository.projection.BalanceDeltaProjection;
+import com.bankingapp.repository.projection.TransactionStatisticsProjection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -16,6 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -59,12 +64,14 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     /**
      * Find all transactions for a specific account (both from and to)
      */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
     @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.createdAt DESC")
     List<Transaction> findByAccountId(@Param("accountId") Long accountId);
 
     /**
      * Find transactions for account with pagination
      */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
     @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.createdAt DESC")
     Page<Transaction> findByAccountId(@Param("accountId") Long accountId, Pageable pageable);
 
@@ -90,6 +97,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     /**
      * Find recent transactions for account
      */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
     @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
            "AND t.createdAt >= :sinceDate ORDER BY t.createdAt DESC")
     List<Transaction> findRecentTransactionsByAccount(@Param("accountId") Long accountId,
@@ -102,6 +110,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
            "ORDER BY t.created_at DESC LIMIT :limit", nativeQuery = true)
     List<Transaction> findLatestTransactionsByAccount(@Param("accountId") Long accountId, @Param("limit") int limit);
 
+    /**
+     * Find latest transactions for account, page size as limit
+     */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
+    @Query("SELECT t FROM Transaction t WHERE t.fromAccount.id = :accountId OR t.toAccount.id = :accountId ORDER BY t.createdAt DESC")
+    List<Transaction> findLatestByAccountId(@Param("accountId") Long accountId, Pageable pageable);
+
     // ===================== User-Based Queries =====================
 
     /**
@@ -183,25 +198,43 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
 
     /**
      * Get monthly spending for account
+     * Bounded on both sides so a partitioned table only scans the month's partition
      */
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.fromAccount.id = :accountId " +
            "AND (t.transactionType = 'WITHDRAWAL' OR t.transactionType = 'TRANSFER') " +
-           "AND t.createdAt >= :monthStart AND t.status = 'COMPLETED'")
-    BigDecimal getMonthlySpending(@Param("accountId") Long accountId, @Param("monthStart") LocalDateTime monthStart);
+           "AND t.createdAt >= :monthStart AND t.createdAt < :monthEnd AND t.status = 'COMPLETED'")
+    BigDecimal getMonthlySpending(@Param("accountId") Long accountId, @Param("monthStart") LocalDateTime monthStart,
+                                  @Param("monthEnd") LocalDateTime monthEnd);
 
     /**
      * Get monthly income for account
+     * Bounded on both sides so a partitioned table only scans the month's partition
      */
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t WHERE t.toAccount.id = :accountId " +
            "AND (t.transactionType = 'DEPOSIT' OR t.transactionType = 'TRANSFER') " +
-           "AND t.createdAt >= :monthStart AND t.status = 'COMPLETED'")
-    BigDecimal getMonthlyIncome(@Param("accountId") Long accountId, @Param("monthStart") LocalDateTime monthStart);
+           "AND t.createdAt >= :monthStart AND t.createdAt < :monthEnd AND t.status = 'COMPLETED'")
+    BigDecimal getMonthlyIncome(@Param("accountId") Long accountId, @Param("monthStart") LocalDateTime monthStart,
+                                @Param("monthEnd") LocalDateTime monthEnd);
+
+    /**
+     * Sum completed credits and debits of account created in [fromTime, toTime) (point-in-time balance replay)
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.toAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS creditAmount, " +
+           "COALESCE(SUM(CASE WHEN t.fromAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS debitAmount, " +
+           "COUNT(t) AS transactionCount " +
+           "FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
+           "AND t.status = 'COMPLETED' AND t.createdAt >= :fromTime AND t.createdAt < :toTime")
+    BalanceDeltaProjection getBalanceDelta(@Param("accountId") Long accountId,
+                                           @Param("fromTime") LocalDateTime fromTime,
+                                           @Param("toTime") LocalDateTime toTime);
 
     // ===================== Search and Filter Queries =====================
 
     /**
      * Search transactions by multiple criteria
+     * descriptionPattern comes from DescriptionTokenizer.descriptionPattern, so it matches like the description index
      */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
     @Query("SELECT t FROM Transaction t WHERE " +
            "(:accountId IS NULL OR t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) AND " +
            "(:transactionType IS NULL OR t.transactionType = :transactionType) AND " +
@@ -210,7 +243,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
            "(:maxAmount IS NULL OR t.amount <= :maxAmount) AND " +
            "(:startDate IS NULL OR t.createdAt >= :startDate) AND " +
            "(:endDate IS NULL OR t.createdAt <= :endDate) AND " +
-           "(:description IS NULL OR LOWER(t.description) LIKE LOWER(CONCAT('%', :description, '%')))")
+           "(:descriptionPattern IS NULL OR FUNCTION('REGEXP_LIKE', LOWER(t.description), :descriptionPattern) = true)")
     Page<Transaction> searchTransactions(@Param("accountId") Long accountId,
                                        @Param("transactionType") Transaction.TransactionType transactionType,
                                        @Param("status") Transaction.TransactionStatus status,
@@ -218,12 +251,41 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
                                        @Param("maxAmount") BigDecimal maxAmount,
                                        @Param("startDate") LocalDateTime startDate,
                                        @Param("endDate") LocalDateTime endDate,
-                                       @Param("description") String description,
+                                       @Param("descriptionPattern") String descriptionPattern,
                                        Pageable pageable);
 
+    /**
+     * Search transactions by multiple criteria within the candidates the description index matched
+     */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
+    @Query("SELECT t FROM Transaction t WHERE t.id IN :ids AND " +
+           "(:transactionType IS NULL OR t.transactionType = :transactionType) AND " +
+           "(:status IS NULL OR t.status = :status) AND " +
+           "(:minAmount IS NULL OR t.amount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR t.amount <= :maxAmount) AND " +
+           "(:startDate IS NULL OR t.createdAt >= :startDate) AND " +
+           "(:endDate IS NULL OR t.createdAt <= :endDate)")
+    Page<Transaction> searchTransactionsByIds(@Param("ids") Collection<Long> ids,
+                                            @Param("transactionType") Transaction.TransactionType transactionType,
+                                            @Param("status") Transaction.TransactionStatus status,
+                                            @Param("minAmount") BigDecimal minAmount,
+                                            @Param("maxAmount") BigDecimal maxAmount,
+                                            @Param("startDate") LocalDateTime startDate,
+                                            @Param("endDate") LocalDateTime endDate,
+                                            Pageable pageable);
+
+    /**
+     * Get transaction descriptions after id for index rebuilds (keyset paging)
+     */
+    @Query("SELECT t.id, fa.id, ta.id, t.description FROM Transaction t " +
+           "LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE t.id > :afterId AND t.description IS NOT NULL ORDER BY t.id")
+    List<Object[]> findDescriptionsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
     /**
      * Get transaction history with filters
      */
+    @EntityGraph(FetchPlans.TRANSACTION_WITH_ACCOUNTS)
     @Query("SELECT t FROM Transaction t WHERE " +
            "(t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
            "AND (:transactionType IS NULL OR t.transactionType = :transactionType) " +
@@ -260,6 +322,21 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     @Query("UPDATE Transaction t SET t.status = 'FAILED' WHERE t.status = 'PENDING' AND t.createdAt < :timeoutDate")
     int markTimeoutTransactionsAsFailed(@Param("timeoutDate") LocalDateTime timeoutDate);
 
+    // ===================== Archival Queries =====================
+
+    /**
+     * Get ids of transactions created before cutoff, oldest ids first, for chunked archival
+     */
+    @Query("SELECT t.id FROM Transaction t WHERE t.createdAt < :cutoff ORDER BY t.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    /**
+     * Delete transactions by id once they are copied to the archive
+     */
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
     // ===================== Validation and Utility Queries =====================
 
     /**
@@ -291,6 +368,31 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
            "GROUP BY t.transactionType")
     List<Object[]> getTransactionCountByTypeForAccount(@Param("accountId") Long accountId);
 
+    /**
+     * Get all statistics for account in a single conditional-aggregation pass
+     */
+    @Query("SELECT COUNT(t) AS totalCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' THEN 1 ELSE 0 END), 0) AS completedCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'PENDING' THEN 1 ELSE 0 END), 0) AS pendingCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'FAILED' THEN 1 ELSE 0 END), 0) AS failedCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'DEPOSIT' THEN 1 ELSE 0 END), 0) AS depositCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'WITHDRAWAL' THEN 1 ELSE 0 END), 0) AS withdrawalCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'TRANSFER' THEN 1 ELSE 0 END), 0) AS transferCount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'DEPOSIT' AND t.toAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS depositAmount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'WITHDRAWAL' AND t.fromAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS withdrawalAmount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'TRANSFER' AND t.toAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS transferInAmount, " +
+           "COALESCE(SUM(CASE WHEN t.status = 'COMPLETED' AND t.transactionType = 'TRANSFER' AND t.fromAccount.id = :accountId THEN t.amount ELSE 0 END), 0) AS transferOutAmount, " +
+           "MIN(CASE WHEN t.status = 'COMPLETED' THEN t.amount END) AS minAmount, " +
+           "MAX(CASE WHEN t.status = 'COMPLETED' THEN t.amount END) AS maxAmount, " +
+           "AVG(CASE WHEN t.status = 'COMPLETED' THEN t.amount END) AS averageAmount, " +
+           "MIN(t.createdAt) AS firstTransactionDate, " +
+           "MAX(t.createdAt) AS lastTransactionDate " +
+           "FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
+           "AND t.createdAt >= :startDate AND t.createdAt <= :endDate")
+    TransactionStatisticsProjection getAggregateStatisticsForAccount(@Param("accountId") Long accountId,
+                                                                     @Param("startDate") LocalDateTime startDate,
+                                                                     @Param("endDate") LocalDateTime endDate);
+
     /**
      * Get daily transaction stats for account
      */
@@ -300,14 +402,76 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     List<Object[]> getDailyTransactionStatsForAccount(@Param("accountId") Long accountId, @Param("startDate") LocalDateTime startDate);
 
     /**
-     * Get account transaction summaries
+     * Get outgoing transaction counts, sums, amount range and activity window per day, type and status (rollup backfill)
      */
-    @Query("SELECT new com.bank.dto.TransactionSummaryDTO(" +
-           "t.id, t.transactionId, t.transactionType, t.amount, t.status, t.createdAt, t.description) " +
-           "FROM Transaction t WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
-           "ORDER BY t.createdAt DESC")
+    @Query("SELECT DATE(t.createdAt), t.transactionType, t.status, COUNT(t), COALESCE(SUM(t.amount), 0), " +
+           "MIN(t.amount), MAX(t.amount), MIN(t.createdAt), MAX(t.createdAt) " +
+           "FROM Transaction t WHERE t.fromAccount.id = :accountId AND t.createdAt < :beforeDate " +
+           "GROUP BY DATE(t.createdAt), t.transactionType, t.status")
+    List<Object[]> getDailyOutgoingRollupForAccount(@Param("accountId") Long accountId,
+                                                    @Param("beforeDate") LocalDateTime beforeDate);
+
+    /**
+     * Get incoming transaction counts, sums, amount range and activity window per day, type and status (rollup backfill)
+     */
+    @Query("SELECT DATE(t.createdAt), t.transactionType, t.status, COUNT(t), COALESCE(SUM(t.amount), 0), " +
+           "MIN(t.amount), MAX(t.amount), MIN(t.createdAt), MAX(t.createdAt) " +
+           "FROM Transaction t WHERE t.toAccount.id = :accountId AND t.createdAt < :beforeDate " +
+           "GROUP BY DATE(t.createdAt), t.transactionType, t.status")
+    List<Object[]> getDailyIncomingRollupForAccount(@Param("accountId") Long accountId,
+                                                    @Param("beforeDate") LocalDateTime beforeDate);
+
+    // ===================== Projection Queries =====================
+
+    /**
+     * Get account transaction summaries, with account numbers joined in the same query
+     */
+    @Query(value = "SELECT new com.bankingapp.dto.TransactionSummaryDTO(" +
+           "t.id, t.transactionId, t.transactionType, t.amount, t.status, t.createdAt, t.description, " +
+           "fa.id, fa.accountNumber, ta.accountNumber, t.fromBalanceAfter, t.toBalanceAfter) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId)",
+           countQuery = "SELECT COUNT(t) FROM Transaction t " +
+           "WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId)")
     Page<TransactionSummaryDTO> getTransactionSummariesByAccount(@Param("accountId") Long accountId, Pageable pageable);
 
+    /**
+     * Get filtered account transaction summaries, with account numbers joined in the same query
+     */
+    @Query(value = "SELECT new com.bankingapp.dto.TransactionSummaryDTO(" +
+           "t.id, t.transactionId, t.transactionType, t.amount, t.status, t.createdAt, t.description, " +
+           "fa.id, fa.accountNumber, ta.accountNumber, t.fromBalanceAfter, t.toBalanceAfter) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND (:transactionType IS NULL OR t.transactionType = :transactionType) " +
+           "AND (:status IS NULL OR t.status = :status) " +
+           "AND (:startDate IS NULL OR t.createdAt >= :startDate) " +
+           "AND (:endDate IS NULL OR t.createdAt <= :endDate)",
+           countQuery = "SELECT COUNT(t) FROM Transaction t " +
+           "WHERE (t.fromAccount.id = :accountId OR t.toAccount.id = :accountId) " +
+           "AND (:transactionType IS NULL OR t.transactionType = :transactionType) " +
+           "AND (:status IS NULL OR t.status = :status) " +
+           "AND (:startDate IS NULL OR t.createdAt >= :startDate) " +
+           "AND (:endDate IS NULL OR t.createdAt <= :endDate)")
+    Page<TransactionSummaryDTO> getFilteredTransactionSummaries(@Param("accountId") Long accountId,
+                                                               @Param("transactionType") Transaction.TransactionType transactionType,
+                                                               @Param("status") Transaction.TransactionStatus status,
+                                                               @Param("startDate") LocalDateTime startDate,
+                                                               @Param("endDate") LocalDateTime endDate,
+                                                               Pageable pageable);
+
+    /**
+     * Get recent transaction summaries for account
+     */
+    @Query("SELECT new com.bankingapp.dto.TransactionSummaryDTO(" +
+           "t.id, t.transactionId, t.transactionType, t.amount, t.status, t.createdAt, t.description, " +
+           "fa.id, fa.accountNumber, ta.accountNumber, t.fromBalanceAfter, t.toBalanceAfter) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) AND t.createdAt >= :sinceDate " +
+           "ORDER BY t.createdAt DESC")
+    List<TransactionSummaryDTO> getRecentTransactionSummaries(@Param("accountId") Long accountId,
+                                                             @Param("sinceDate") LocalDateTime sinceDate);
+
     // ===================== Security and Monitoring =====================
 
     /**
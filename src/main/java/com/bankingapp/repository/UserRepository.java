@@ -2,19 +2,26 @@ package com.bankingapp.repository;
 
 
 import com.bankingapp.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    Optional<User> findByUsername(String username);
-    
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    /**
+     * Find user by email; email is mutable so it is not a natural id, the result goes to the query cache instead
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<User> findByEmail(String email);
     
     Boolean existsByUsername(String username);
@@ -22,11 +29,29 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
     
     List<User> findByIsActiveTrue();
+
+    Page<User> findByIsActiveTrue(Pageable pageable);
     
     long countByIsActiveTrue();
+
+    /**
+     * Whether user is active, read from the database: the user cache region is local to each instance,
+     * so a deactivation made on another instance is not visible in cached users until they expire
+     */
+    @Query("SELECT u.isActive FROM User u WHERE u.id = :id")
+    Optional<Boolean> findIsActiveById(@Param("id") Long id);
+
+    /**
+     * Creation times of users created since the given time, for seeding signup-rate windows
+     */
+    @Query("SELECT u.createdAt FROM User u WHERE u.createdAt >= :since")
+    List<LocalDateTime> findCreatedAtSince(@Param("since") LocalDateTime since);
     
     List<User> findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
         String username, String email, String firstName, String lastName);
+
+    Page<User> findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+        String username, String email, String firstName, String lastName, Pageable pageable);
     
     @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
            "(LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
@@ -34,5 +59,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
            "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     List<User> searchActiveUsers(@Param("searchTerm") String searchTerm);
+
+    @Query(value = "SELECT u FROM User u WHERE u.isActive = true AND " +
+                   "(LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                   "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))",
+           countQuery = "SELECT COUNT(u) FROM User u WHERE u.isActive = true AND " +
+                        "(LOWER(u.username) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(u.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+                        "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
+    Page<User> searchActiveUsers(@Param("searchTerm") String searchTerm, Pageable pageable);
+
+    /**
+     * Searchable fields (id, username, email, firstName, lastName, isActive) for keyset-paged index loading
+     */
+    @Query("SELECT u.id, u.username, u.email, u.firstName, u.lastName, u.isActive FROM User u " +
+           "WHERE u.id > :afterId ORDER BY u.id")
+    List<Object[]> findSearchFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
 
@@ -0,0 +1,16 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.entity.User;
+
+import java.util.Optional;
+
+/**
+ * User lookups resolved through the Hibernate natural-id API instead of query derivation
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find user by username, served from the natural-id and user cache regions when present
+     */
+    Optional<User> findByUsername(String username);
+}
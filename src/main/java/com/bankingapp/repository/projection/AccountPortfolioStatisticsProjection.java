@@ -0,0 +1,21 @@
+package com.bankingapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for balance statistics over a set of accounts
+ * Property names match the aliases in AccountRepository.getAccountStatisticsByUserId/getGlobalAccountStatistics
+ */
+public interface AccountPortfolioStatisticsProjection {
+
+    // Account counts
+    Long getTotalAccounts();
+    Long getActiveAccounts();
+    Long getInactiveAccounts();
+
+    // Balance distribution
+    Double getAverageBalance();
+    BigDecimal getTotalBalance();
+    BigDecimal getHighestBalance();
+    BigDecimal getLowestBalance();
+}
@@ -0,0 +1,14 @@
+package com.bankingapp.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the completed credits and debits of an account within a time range
+ * Property names match the aliases in TransactionRepository.getBalanceDelta
+ */
+public interface BalanceDeltaProjection {
+
+    BigDecimal getCreditAmount();
+    BigDecimal getDebitAmount();
+    Long getTransactionCount();
+}
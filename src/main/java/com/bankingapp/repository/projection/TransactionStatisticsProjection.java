@@ -0,0 +1,37 @@
+package com.bankingapp.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the single-pass transaction statistics aggregate of an account
+ * Property names match the aliases in TransactionRepository.getAggregateStatisticsForAccount
+ */
+public interface TransactionStatisticsProjection {
+
+    // Counts by status (all types)
+    Long getTotalCount();
+    Long getCompletedCount();
+    Long getPendingCount();
+    Long getFailedCount();
+
+    // Completed counts by type
+    Long getDepositCount();
+    Long getWithdrawalCount();
+    Long getTransferCount();
+
+    // Completed sums by type and direction
+    BigDecimal getDepositAmount();
+    BigDecimal getWithdrawalAmount();
+    BigDecimal getTransferInAmount();
+    BigDecimal getTransferOutAmount();
+
+    // Amount distribution (completed only)
+    BigDecimal getMinAmount();
+    BigDecimal getMaxAmount();
+    Double getAverageAmount();
+
+    // Activity window
+    LocalDateTime getFirstTransactionDate();
+    LocalDateTime getLastTransactionDate();
+}
@@ -0,0 +1,186 @@
+package com.bankingapp.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * One shard of the description index, owning a subset of accounts.
+ * New postings go to an in-memory table; flushing writes it out as an immutable segment.
+ * Segments are published copy-on-write, so readers never block on a flush or merge.
+ */
+final class DescriptionIndexShard {
+
+    private final int shardNumber;
+    private final Path directory;
+
+    private final TreeMap<Long, TreeMap<String, LongArrayList>> memTable = new TreeMap<>();
+    private int memTablePostings;
+    private long memTableMaxTransactionId;
+
+    private volatile List<IndexSegment> segments = Collections.emptyList();
+    private long nextSegmentNumber;
+
+    DescriptionIndexShard(int shardNumber, Path directory) {
+        this.shardNumber = shardNumber;
+        this.directory = directory;
+    }
+
+    /**
+     * Open existing segment files of this shard
+     */
+    synchronized void load() throws IOException {
+        List<IndexSegment> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().startsWith(filePrefix())
+                             && file.getFileName().toString().endsWith(".seg"))
+                 .sorted()
+                 .forEach(file -> {
+                     try {
+                         loaded.add(IndexSegment.open(file));
+                     } catch (IOException e) {
+                         throw new IllegalStateException("Failed to open index segment: " + file, e);
+                     }
+                 });
+        }
+        for (IndexSegment segment : loaded) {
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(segment.getPath()) + 1);
+        }
+        segments = Collections.unmodifiableList(loaded);
+    }
+
+    /**
+     * Highest transaction id covered by segments on disk
+     */
+    long getPersistedMaxTransactionId() {
+        long max = 0;
+        for (IndexSegment segment : segments) {
+            max = Math.max(max, segment.getMaxTransactionId());
+        }
+        return max;
+    }
+
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    synchronized int getMemTablePostings() {
+        return memTablePostings;
+    }
+
+    synchronized void add(long accountId, long transactionId, List<String> tokens) {
+        TreeMap<String, LongArrayList> terms = memTable.computeIfAbsent(accountId, id -> new TreeMap<>());
+        for (String token : tokens) {
+            terms.computeIfAbsent(token, t -> new LongArrayList()).add(transactionId);
+            memTablePostings++;
+        }
+        memTableMaxTransactionId = Math.max(memTableMaxTransactionId, transactionId);
+    }
+
+    /**
+     * Transaction ids of account with a description token starting with prefix
+     */
+    long[] findByPrefix(long accountId, String prefix) {
+        LongArrayList matches = new LongArrayList();
+        for (IndexSegment segment : segments) {
+            segment.visitPrefix(accountId, prefix, (account, term, postings) -> matches.addAll(postings));
+        }
+        synchronized (this) {
+            TreeMap<String, LongArrayList> terms = memTable.get(accountId);
+            if (terms != null) {
+                for (LongArrayList postings : prefixRange(terms, prefix).values()) {
+                    matches.addAll(postings);
+                }
+            }
+        }
+        return matches.toSortedDistinctArray();
+    }
+
+    /**
+     * Write the in-memory table out as a new segment
+     * @return true if a segment was written
+     */
+    synchronized boolean flush() throws IOException {
+        if (memTable.isEmpty()) {
+            return false;
+        }
+
+        long maxTransactionId = Math.max(memTableMaxTransactionId, getPersistedMaxTransactionId());
+        IndexSegment segment = IndexSegment.write(nextSegmentPath(), maxTransactionId, toSortedPostings(memTable));
+
+        List<IndexSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        segments = Collections.unmodifiableList(updated);
+
+        memTable.clear();
+        memTablePostings = 0;
+        memTableMaxTransactionId = 0;
+        return true;
+    }
+
+    /**
+     * Merge all segments into one, dropping duplicate postings
+     */
+    synchronized void merge() throws IOException {
+        List<IndexSegment> current = segments;
+        if (current.size() < 2) {
+            return;
+        }
+
+        TreeMap<Long, TreeMap<String, LongArrayList>> merged = new TreeMap<>();
+        long maxTransactionId = 0;
+        for (IndexSegment segment : current) {
+            segment.visitAll((accountId, term, postings) -> merged
+                .computeIfAbsent(accountId, id -> new TreeMap<>())
+                .computeIfAbsent(term, t -> new LongArrayList(postings.length))
+                .addAll(postings));
+            maxTransactionId = Math.max(maxTransactionId, segment.getMaxTransactionId());
+        }
+
+        IndexSegment mergedSegment = IndexSegment.write(nextSegmentPath(), maxTransactionId, toSortedPostings(merged));
+        segments = Collections.singletonList(mergedSegment);
+
+        // Old mappings stay valid for in-flight readers until unmapped by GC
+        for (IndexSegment segment : current) {
+            Files.deleteIfExists(segment.getPath());
+        }
+    }
+
+    private SortedMap<Long, SortedMap<String, long[]>> toSortedPostings(
+            TreeMap<Long, TreeMap<String, LongArrayList>> postingsByAccount) {
+        SortedMap<Long, SortedMap<String, long[]>> sorted = new TreeMap<>();
+        for (Map.Entry<Long, TreeMap<String, LongArrayList>> account : postingsByAccount.entrySet()) {
+            SortedMap<String, long[]> terms = new TreeMap<>();
+            for (Map.Entry<String, LongArrayList> term : account.getValue().entrySet()) {
+                terms.put(term.getKey(), term.getValue().toSortedDistinctArray());
+            }
+            sorted.put(account.getKey(), terms);
+        }
+        return sorted;
+    }
+
+    private SortedMap<String, LongArrayList> prefixRange(TreeMap<String, LongArrayList> terms, String prefix) {
+        // Every string with the prefix sorts before prefix + U+FFFF
+        return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private Path nextSegmentPath() {
+        return directory.resolve(String.format("%s%010d.seg", filePrefix(), nextSegmentNumber++));
+    }
+
+    private String filePrefix() {
+        return String.format("shard-%03d-", shardNumber);
+    }
+
+    private long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(filePrefix().length(), name.length() - ".seg".length()));
+    }
+}
@@ -0,0 +1,93 @@
+package com.bankingapp.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits transaction descriptions into lower-case word tokens for the description index.
+ *
+ * A description matches a filter when every token of the filter starts a word of the description.
+ * The index answers that by prefix lookups; wordPrefixPattern states the same rule for the database.
+ * Filters without tokens never reach the index and match as a substring through descriptionPattern.
+ */
+public final class DescriptionTokenizer {
+
+    static final int MIN_TOKEN_LENGTH = 2;
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private DescriptionTokenizer() {
+    }
+
+    /**
+     * Distinct tokens of text in order of first appearance
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean wordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Regular expression matching lower-cased text in which every token starts a word, as the index matches.
+     * Tokens hold only letters and digits, so they need no escaping.
+     * @return null for no tokens, which matches any text
+     */
+    public static String wordPrefixPattern(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder("(?s)^");
+        for (String token : tokens) {
+            pattern.append("(?=.*(^|[^\\p{L}\\p{Nd}])").append(token).append(')');
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * Regular expression for a description filter on lower-cased text: the word prefixes of its tokens,
+     * or the filter itself as a literal substring when it has none (single letters, punctuation),
+     * so such a filter still narrows the search instead of matching everything
+     * @return null for a blank filter
+     */
+    public static String descriptionPattern(String filter) {
+        if (filter == null || filter.trim().isEmpty()) {
+            return null;
+        }
+        List<String> tokens = tokenize(filter);
+        if (!tokens.isEmpty()) {
+            return wordPrefixPattern(tokens);
+        }
+        StringBuilder pattern = new StringBuilder("(?s)");
+        for (char c : filter.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (!Character.isLetterOrDigit(c)) {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.toString();
+    }
+
+    private static void addToken(Set<String> tokens, String token) {
+        if (token.length() < MIN_TOKEN_LENGTH) {
+            return;
+        }
+        tokens.add(token.length() > MAX_TOKEN_LENGTH ? token.substring(0, MAX_TOKEN_LENGTH) : token);
+    }
+}
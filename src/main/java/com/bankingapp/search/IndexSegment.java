@@ -0,0 +1,244 @@
+package com.bankingapp.search;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Immutable on-disk segment of the description index, read through a memory-mapped buffer.
+ *
+ * Layout (big-endian):
+ *   header   int magic, int version, long maxTransactionId, int entryCount
+ *   offsets  int[entryCount] absolute position of each dictionary entry
+ *   entries  long accountId, short termLength, byte[termLength] UTF-8 term, int postingCount, int postingsPosition
+ *   postings ascending transaction ids, delta-encoded as unsigned varints
+ *
+ * Entries are sorted by (accountId, term), so one account's terms are contiguous and
+ * prefix lookups are a binary search followed by a forward scan.
+ */
+final class IndexSegment {
+
+    private static final int MAGIC = 0x42544958; // "BTIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * Receives one posting list per matching dictionary entry
+     */
+    interface EntryVisitor {
+        void visit(long accountId, String term, long[] postings);
+    }
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long maxTransactionId;
+    private final int entryCount;
+
+    private IndexSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Not a description index segment: " + path);
+        }
+        this.maxTransactionId = buffer.getLong(8);
+        this.entryCount = buffer.getInt(16);
+    }
+
+    // ===================== Reading =====================
+
+    static IndexSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new IndexSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getMaxTransactionId() {
+        return maxTransactionId;
+    }
+
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Visit the posting lists of all terms of account starting with prefix
+     */
+    void visitPrefix(long accountId, String prefix, EntryVisitor visitor) {
+        for (int i = lowerBound(accountId, prefix); i < entryCount; i++) {
+            int position = entryPosition(i);
+            if (buffer.getLong(position) != accountId) {
+                return;
+            }
+            String term = readTerm(position);
+            if (!term.startsWith(prefix)) {
+                return;
+            }
+            visitor.visit(accountId, term, readPostings(position));
+        }
+    }
+
+    /**
+     * Visit every entry in (accountId, term) order, used when merging segments
+     */
+    void visitAll(EntryVisitor visitor) {
+        for (int i = 0; i < entryCount; i++) {
+            int position = entryPosition(i);
+            visitor.visit(buffer.getLong(position), readTerm(position), readPostings(position));
+        }
+    }
+
+    /**
+     * First entry index whose key is not less than (accountId, term)
+     */
+    private int lowerBound(long accountId, String term) {
+        int low = 0;
+        int high = entryCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int position = entryPosition(middle);
+            int comparison = Long.compare(buffer.getLong(position), accountId);
+            if (comparison == 0) {
+                comparison = readTerm(position).compareTo(term);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int entryPosition(int index) {
+        return buffer.getInt(HEADER_SIZE + index * 4);
+    }
+
+    private String readTerm(int entryPosition) {
+        int length = buffer.getShort(entryPosition + 8);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(entryPosition + 10);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private long[] readPostings(int entryPosition) {
+        int postingsStart = entryPosition + 10 + buffer.getShort(entryPosition + 8);
+        int count = buffer.getInt(postingsStart);
+        int position = buffer.getInt(postingsStart + 4);
+
+        long[] postings = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            previous += delta;
+            postings[i] = previous;
+        }
+        return postings;
+    }
+
+    // ===================== Writing =====================
+
+    /**
+     * Write postings (sorted by account, then term; each list ascending and distinct) as a new segment.
+     * The file is written under a temporary name and moved into place, so readers never see a partial segment.
+     */
+    static IndexSegment write(Path path, long maxTransactionId,
+                              SortedMap<Long, SortedMap<String, long[]>> postingsByAccount) throws IOException {
+        int entryCount = 0;
+        for (SortedMap<String, long[]> terms : postingsByAccount.values()) {
+            entryCount += terms.size();
+        }
+
+        ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+        DataOutputStream dictionary = new DataOutputStream(dictionaryBytes);
+        ByteArrayOutputStream postingBytes = new ByteArrayOutputStream();
+        int[] entryOffsets = new int[entryCount];
+        int[] postingOffsetSlots = new int[entryCount];
+        int[] postingOffsets = new int[entryCount];
+
+        int entry = 0;
+        for (Map.Entry<Long, SortedMap<String, long[]>> account : postingsByAccount.entrySet()) {
+            for (Map.Entry<String, long[]> term : account.getValue().entrySet()) {
+                byte[] termBytes = term.getKey().getBytes(StandardCharsets.UTF_8);
+                long[] postings = term.getValue();
+
+                entryOffsets[entry] = dictionary.size();
+                dictionary.writeLong(account.getKey());
+                dictionary.writeShort(termBytes.length);
+                dictionary.write(termBytes);
+                dictionary.writeInt(postings.length);
+                postingOffsetSlots[entry] = dictionary.size();
+                dictionary.writeInt(0); // patched below once the postings area position is known
+
+                postingOffsets[entry] = postingBytes.size();
+                long previous = 0;
+                for (long posting : postings) {
+                    writeVarLong(postingBytes, posting - previous);
+                    previous = posting;
+                }
+                entry++;
+            }
+        }
+        dictionary.flush();
+
+        int dictionaryStart = HEADER_SIZE + entryCount * 4;
+        int postingsStart = dictionaryStart + dictionaryBytes.size();
+        long totalSize = (long) postingsStart + postingBytes.size();
+        if (totalSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Index segment too large: " + totalSize + " bytes");
+        }
+
+        ByteBuffer output = ByteBuffer.allocate((int) totalSize);
+        output.putInt(MAGIC).putInt(VERSION).putLong(maxTransactionId).putInt(entryCount);
+        for (int offset : entryOffsets) {
+            output.putInt(dictionaryStart + offset);
+        }
+        output.put(dictionaryBytes.toByteArray());
+        for (int i = 0; i < entryCount; i++) {
+            output.putInt(dictionaryStart + postingOffsetSlots[i], postingsStart + postingOffsets[i]);
+        }
+        output.put(postingBytes.toByteArray());
+        output.flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(path);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
@@ -0,0 +1,31 @@
+package com.bankingapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive int array for in-memory posting lists of document ordinals
+ */
+final class IntArrayList {
+
+    private int[] values;
+    private int size;
+
+    IntArrayList() {
+        values = new int[4];
+    }
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    int get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+}
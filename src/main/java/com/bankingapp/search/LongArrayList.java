@@ -0,0 +1,58 @@
+package com.bankingapp.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable primitive long array for posting lists, avoiding one boxed Long per posting
+ */
+final class LongArrayList {
+
+    private long[] values;
+    private int size;
+
+    LongArrayList() {
+        this(4);
+    }
+
+    LongArrayList(int initialCapacity) {
+        values = new long[Math.max(1, initialCapacity)];
+    }
+
+    void add(long value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    void addAll(long[] other) {
+        for (long value : other) {
+            add(value);
+        }
+    }
+
+    void addAll(LongArrayList other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.values[i]);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Sorted copy without duplicates
+     */
+    long[] toSortedDistinctArray() {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[distinct - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+}
@@ -0,0 +1,343 @@
+package com.bankingapp.search;
+
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inverted index over transaction descriptions, sharded by account.
+ *
+ * Resolves a description filter into the candidate transaction ids of one account, so the
+ * database query can select by primary key instead of scanning every description. A transaction
+ * matches when every token of the filter starts a word of its description, the same rule the
+ * database fallback applies through DescriptionTokenizer.wordPrefixPattern.
+ *
+ * The index is local to each instance. Transactions saved here are added after commit; those saved
+ * by other instances or by bulk JDBC jobs are picked up by catchUpRecent, which
+ * DescriptionIndexCatchUpJob runs every minute, so another instance's transactions show up in
+ * search within about that interval.
+ *
+ * Recovery: the checkpoint file records the highest transaction id up to which every description was
+ * read from the database when the index was last flushed. On startup everything after it (minus an
+ * overlap for out-of-order commits) is re-read; duplicate postings are harmless and dropped when
+ * segments are merged.
+ */
+@Component
+public class TransactionDescriptionIndex implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionDescriptionIndex.class);
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${app.search.description-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.description-index.directory:data/description-index}")
+    private String directory;
+
+    @Value("${app.search.description-index.shards:16}")
+    private int shardCount;
+
+    @Value("${app.search.description-index.flush-threshold:200000}")
+    private int flushThreshold;
+
+    @Value("${app.search.description-index.max-segments-per-shard:8}")
+    private int maxSegmentsPerShard;
+
+    @Value("${app.search.description-index.max-candidates:5000}")
+    private int maxCandidates;
+
+    @Value("${app.search.description-index.catch-up-batch-size:5000}")
+    private int catchUpBatchSize;
+
+    @Value("${app.search.description-index.catch-up-overlap:1000}")
+    private long catchUpOverlap;
+
+    private DescriptionIndexShard[] shards;
+    private Path indexDirectory;
+    private ExecutorService flushExecutor;
+
+    // Highest transaction id up to which catch-up has read every description from the database
+    private final AtomicLong caughtUpThrough = new AtomicLong();
+    private final AtomicLong unflushedPostings = new AtomicLong();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        indexDirectory = Paths.get(directory);
+        Files.createDirectories(indexDirectory);
+
+        shards = new DescriptionIndexShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new DescriptionIndexShard(i, indexDirectory);
+            shards[i].load();
+        }
+        flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "description-index-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        caughtUpThrough.set(readCheckpoint());
+        logger.info("Opened description index in {} ({} shards, checkpoint at transaction {})",
+                   indexDirectory.toAbsolutePath(), shardCount, caughtUpThrough.get());
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        catchUp(Math.max(0, readCheckpoint() - catchUpOverlap));
+    }
+
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            flushAll();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("Failed to flush description index on shutdown", e);
+        }
+    }
+
+    // ===================== Indexing =====================
+
+    /**
+     * Index description of a saved transaction once the surrounding database transaction commits
+     */
+    public void indexTransaction(Transaction transaction) {
+        if (!enabled || transaction.getId() == null || transaction.getDescription() == null) {
+            return;
+        }
+
+        Long transactionId = transaction.getId();
+        Long fromAccountId = transaction.getFromAccount() != null ? transaction.getFromAccount().getId() : null;
+        Long toAccountId = transaction.getToAccount() != null ? transaction.getToAccount().getId() : null;
+        String description = transaction.getDescription();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(transactionId, fromAccountId, toAccountId, description);
+                }
+            });
+        } else {
+            add(transactionId, fromAccountId, toAccountId, description);
+        }
+    }
+
+    /**
+     * Rebuild index entries for all transactions after the given id
+     * @return number of transactions read
+     */
+    public long catchUp(long afterTransactionId) {
+        logger.info("Description index catch-up from transaction {}", afterTransactionId);
+
+        long processed = readDescriptionsAfter(afterTransactionId);
+
+        try {
+            flushAll();
+        } catch (IOException e) {
+            logger.error("Failed to flush description index after catch-up", e);
+        }
+        ready = true;
+        logger.info("Description index catch-up completed: {} transactions (last ID: {})", processed, caughtUpThrough.get());
+        return processed;
+    }
+
+    /**
+     * Index transactions saved since the last catch-up, including those saved by other instances
+     * @return number of transactions read
+     */
+    public synchronized long catchUpRecent() {
+        if (!enabled || !ready) {
+            return 0;
+        }
+        return readDescriptionsAfter(Math.max(0, caughtUpThrough.get() - catchUpOverlap));
+    }
+
+    private long readDescriptionsAfter(long afterTransactionId) {
+        long processed = 0;
+        long lastId = afterTransactionId;
+        List<Object[]> rows = transactionRepository.findDescriptionsAfter(lastId, PageRequest.of(0, catchUpBatchSize));
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                add((Long) row[0], (Long) row[1], (Long) row[2], (String) row[3]);
+            }
+            processed += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+            caughtUpThrough.accumulateAndGet(lastId, Math::max);
+            rows = transactionRepository.findDescriptionsAfter(lastId, PageRequest.of(0, catchUpBatchSize));
+        }
+        return processed;
+    }
+
+    private void add(Long transactionId, Long fromAccountId, Long toAccountId, String description) {
+        List<String> tokens = DescriptionTokenizer.tokenize(description);
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        if (fromAccountId != null) {
+            shardFor(fromAccountId).add(fromAccountId, transactionId, tokens);
+        }
+        if (toAccountId != null && !toAccountId.equals(fromAccountId)) {
+            shardFor(toAccountId).add(toAccountId, transactionId, tokens);
+        }
+
+        if (unflushedPostings.addAndGet(tokens.size()) >= flushThreshold && !flushExecutor.isShutdown()
+                && flushScheduled.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flushInBackground);
+        }
+    }
+
+    // ===================== Querying =====================
+
+    /**
+     * Candidate transaction ids of account whose description has a word starting with each token of the filter.
+     * Empty when the index cannot answer (disabled, still catching up, no usable tokens, or too many candidates),
+     * in which case the caller falls back to the database filter.
+     */
+    public Optional<long[]> findCandidateIds(Long accountId, String description) {
+        if (!ready || accountId == null) {
+            return Optional.empty();
+        }
+
+        List<String> tokens = DescriptionTokenizer.tokenize(description);
+        if (tokens.isEmpty()) {
+            return Optional.empty();
+        }
+
+        DescriptionIndexShard shard = shardFor(accountId);
+        long[] candidates = null;
+        for (String token : tokens) {
+            long[] matches = shard.findByPrefix(accountId, token);
+            candidates = candidates == null ? matches : intersect(candidates, matches);
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+
+        if (candidates.length > maxCandidates) {
+            logger.debug("Description filter '{}' not selective for account {} ({} candidates)",
+                        description, accountId, candidates.length);
+            return Optional.empty();
+        }
+        return Optional.of(candidates);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // ===================== Maintenance =====================
+
+    /**
+     * Flush all shards and advance the checkpoint to the transaction id catch-up has read through
+     */
+    public synchronized void flushAll() throws IOException {
+        long checkpoint = caughtUpThrough.get();
+        unflushedPostings.set(0);
+        for (DescriptionIndexShard shard : shards) {
+            shard.flush();
+            if (shard.getSegmentCount() > maxSegmentsPerShard) {
+                shard.merge();
+            }
+        }
+        writeCheckpoint(checkpoint);
+    }
+
+    private void flushInBackground() {
+        try {
+            flushAll();
+        } catch (IOException e) {
+            logger.error("Failed to flush description index", e);
+        } finally {
+            flushScheduled.set(false);
+        }
+    }
+
+    private DescriptionIndexShard shardFor(long accountId) {
+        return shards[(int) Math.floorMod(accountId, (long) shards.length)];
+    }
+
+    private long readCheckpoint() {
+        Path checkpoint = indexDirectory.resolve(CHECKPOINT_FILE);
+        try {
+            if (!Files.exists(checkpoint)) {
+                return 0;
+            }
+            return Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Unreadable description index checkpoint, rebuilding from the start", e);
+            return 0;
+        }
+    }
+
+    private void writeCheckpoint(long transactionId) throws IOException {
+        Path checkpoint = indexDirectory.resolve(CHECKPOINT_FILE);
+        Path temporary = indexDirectory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.write(temporary, Long.toString(transactionId).getBytes(StandardCharsets.UTF_8));
+        Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static long[] intersect(long[] left, long[] right) {
+        long[] result = new long[Math.min(left.length, right.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[size++] = left[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
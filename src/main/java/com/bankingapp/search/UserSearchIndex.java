@@ -0,0 +1,390 @@
+package com.bankingapp.search;
+
+import com.bankingapp.entity.User;
+import com.bankingapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory trigram index over username, email, first and last name for admin user search.
+ *
+ * Terms of three or more characters are resolved by intersecting the posting lists of their
+ * trigrams; every candidate is then confirmed with a substring check, so results match the
+ * former LIKE '%term%' semantics. Shorter terms scan the in-memory documents instead.
+ * Results are ranked by field (username, email, last name, first name) and match quality
+ * (exact, prefix, substring).
+ *
+ * Updates append a new document and tombstone the old one; the index is compacted once
+ * tombstones make up a quarter of the documents. Updates only arrive from this instance, so
+ * UserSearchIndexReloadJob reloads the index periodically to pick up changes made elsewhere.
+ */
+@Component
+public class UserSearchIndex implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.search.user-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.user-index.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<UserDocument> documents = new ArrayList<>();
+    private Map<Long, Integer> ordinalByUserId = new HashMap<>();
+    private Map<Long, IntArrayList> postings = new HashMap<>();
+    private BitSet tombstones = new BitSet();
+    // Upserts committed while a load reads the database, replayed over what it read; null when not loading
+    private List<UserDocument> upsertsDuringLoad;
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Build the index from all users in the database
+     * @return number of users indexed
+     */
+    public synchronized int load() {
+        logger.info("Loading user search index");
+
+        lock.writeLock().lock();
+        try {
+            upsertsDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<UserDocument> loaded = new ArrayList<>();
+        Long lastId = 0L;
+        List<Object[]> rows = userRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, loadBatchSize));
+        while (!rows.isEmpty()) {
+            for (Object[] row : rows) {
+                loaded.add(new UserDocument((Long) row[0], (String) row[1], (String) row[2],
+                                            (String) row[3], (String) row[4], Boolean.TRUE.equals(row[5])));
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+            rows = userRepository.findSearchFieldsAfter(lastId, PageRequest.of(0, loadBatchSize));
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuild(loaded);
+            // The pages may have been read before these commits; replaying them in commit order leaves the latest
+            for (UserDocument document : upsertsDuringLoad) {
+                apply(document);
+            }
+            ready = true;
+        } finally {
+            upsertsDuringLoad = null;
+            lock.writeLock().unlock();
+        }
+
+        logger.info("User search index loaded: {} users, {} trigrams", loaded.size(), postings.size());
+        return loaded.size();
+    }
+
+    // ===================== Maintenance =====================
+
+    /**
+     * Add or refresh user in the index once the surrounding database transaction commits
+     */
+    public void indexUser(User user) {
+        if (!enabled || user.getId() == null) {
+            return;
+        }
+
+        UserDocument document = new UserDocument(user.getId(), user.getUsername(), user.getEmail(),
+                                                 user.getFirstName(), user.getLastName(),
+                                                 Boolean.TRUE.equals(user.getIsActive()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    upsert(document);
+                }
+            });
+        } else {
+            upsert(document);
+        }
+    }
+
+    private void upsert(UserDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (upsertsDuringLoad != null) {
+                upsertsDuringLoad.add(document);
+            }
+            apply(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(UserDocument document) {
+        Integer previous = ordinalByUserId.get(document.userId);
+        if (previous != null) {
+            UserDocument existing = documents.get(previous);
+            if (existing.hasSameText(document)) {
+                // Activation changes only flip the flag; no trigrams to rewrite
+                documents.set(previous, document);
+                return;
+            }
+            tombstones.set(previous);
+        }
+
+        append(document, documents, ordinalByUserId, postings);
+
+        int tombstoneCount = tombstones.cardinality();
+        if (tombstoneCount >= MIN_COMPACTION_TOMBSTONES && tombstoneCount * 4 >= documents.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        List<UserDocument> live = new ArrayList<>(documents.size() - tombstones.cardinality());
+        for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+            if (!tombstones.get(ordinal)) {
+                live.add(documents.get(ordinal));
+            }
+        }
+        rebuild(live);
+        logger.debug("Compacted user search index to {} users", live.size());
+    }
+
+    private void rebuild(List<UserDocument> source) {
+        List<UserDocument> newDocuments = new ArrayList<>(source.size());
+        Map<Long, Integer> newOrdinals = new HashMap<>(source.size() * 2);
+        Map<Long, IntArrayList> newPostings = new HashMap<>();
+        for (UserDocument document : source) {
+            append(document, newDocuments, newOrdinals, newPostings);
+        }
+        documents = newDocuments;
+        ordinalByUserId = newOrdinals;
+        postings = newPostings;
+        tombstones = new BitSet();
+    }
+
+    private static void append(UserDocument document, List<UserDocument> documents,
+                               Map<Long, Integer> ordinals, Map<Long, IntArrayList> postings) {
+        int ordinal = documents.size();
+        documents.add(document);
+        ordinals.put(document.userId, ordinal);
+        // Ordinals only grow, so every posting list stays sorted
+        for (Long trigram : document.trigrams()) {
+            postings.computeIfAbsent(trigram, key -> new IntArrayList()).add(ordinal);
+        }
+    }
+
+    // ===================== Querying =====================
+
+    /**
+     * Ranked page of ids of users matching the search term.
+     * Empty when the index is disabled or not yet loaded, in which case the caller falls back to the database.
+     */
+    public Optional<Page<Long>> search(String searchTerm, boolean includeInactive, Pageable pageable) {
+        if (!ready || searchTerm == null || searchTerm.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        String term = searchTerm.trim().toLowerCase(Locale.ROOT);
+        List<ScoredUser> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (term.length() < 3) {
+                for (int ordinal = 0; ordinal < documents.size(); ordinal++) {
+                    collect(ordinal, term, includeInactive, matches);
+                }
+            } else {
+                for (int ordinal : candidates(term)) {
+                    collect(ordinal, term, includeInactive, matches);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingInt((ScoredUser match) -> match.score).reversed()
+            .thenComparing(match -> match.username));
+
+        List<Long> pageContent;
+        if (pageable.isPaged()) {
+            int from = (int) Math.min(pageable.getOffset(), matches.size());
+            int to = Math.min(from + pageable.getPageSize(), matches.size());
+            pageContent = matches.subList(from, to).stream().map(match -> match.userId).collect(Collectors.toList());
+        } else {
+            pageContent = matches.stream().map(match -> match.userId).collect(Collectors.toList());
+        }
+        return Optional.of(new PageImpl<>(pageContent, pageable, matches.size()));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void collect(int ordinal, String term, boolean includeInactive, List<ScoredUser> matches) {
+        if (tombstones.get(ordinal)) {
+            return;
+        }
+        UserDocument document = documents.get(ordinal);
+        if (!includeInactive && !document.active) {
+            return;
+        }
+        int score = document.score(term);
+        if (score > 0) {
+            matches.add(new ScoredUser(document.userId, document.username, score));
+        }
+    }
+
+    /**
+     * Ordinals present in the posting list of every trigram of term
+     */
+    private int[] candidates(String term) {
+        List<IntArrayList> lists = new ArrayList<>();
+        for (Long trigram : trigrams(term)) {
+            IntArrayList list = postings.get(trigram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(IntArrayList::size));
+
+        IntArrayList shortest = lists.get(0);
+        int[] result = new int[shortest.size()];
+        for (int i = 0; i < shortest.size(); i++) {
+            result[i] = shortest.get(i);
+        }
+
+        int size = result.length;
+        for (int l = 1; l < lists.size() && size > 0; l++) {
+            IntArrayList other = lists.get(l);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < other.size() && other.get(j) < result[i]) {
+                    j++;
+                }
+                if (j < other.size() && other.get(j) == result[i]) {
+                    result[kept++] = result[i];
+                }
+            }
+            size = kept;
+        }
+        return size == result.length ? result : java.util.Arrays.copyOf(result, size);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Searchable fields of one user, lower-cased
+     */
+    private static final class UserDocument {
+        private final Long userId;
+        private final String username;
+        private final String email;
+        private final String firstName;
+        private final String lastName;
+        private final boolean active;
+
+        UserDocument(Long userId, String username, String email, String firstName, String lastName, boolean active) {
+            this.userId = userId;
+            this.username = normalize(username);
+            this.email = normalize(email);
+            this.firstName = normalize(firstName);
+            this.lastName = normalize(lastName);
+            this.active = active;
+        }
+
+        Set<Long> trigrams() {
+            Set<Long> trigrams = UserSearchIndex.trigrams(username);
+            trigrams.addAll(UserSearchIndex.trigrams(email));
+            trigrams.addAll(UserSearchIndex.trigrams(firstName));
+            trigrams.addAll(UserSearchIndex.trigrams(lastName));
+            return trigrams;
+        }
+
+        boolean hasSameText(UserDocument other) {
+            return username.equals(other.username) && email.equals(other.email)
+                && firstName.equals(other.firstName) && lastName.equals(other.lastName);
+        }
+
+        /**
+         * Relevance of term for this user, 0 when no field contains it
+         */
+        int score(String term) {
+            return fieldScore(username, term, 8) + fieldScore(email, term, 6)
+                + fieldScore(lastName, term, 4) + fieldScore(firstName, term, 3);
+        }
+
+        private static int fieldScore(String field, String term, int weight) {
+            if (field.equals(term)) {
+                return weight * 4;
+            }
+            if (field.startsWith(term)) {
+                return weight * 2;
+            }
+            return field.contains(term) ? weight : 0;
+        }
+
+        private static String normalize(String value) {
+            return value != null ? value.toLowerCase(Locale.ROOT) : "";
+        }
+    }
+
+    private static final class ScoredUser {
+        private final Long userId;
+        private final String username;
+        private final int score;
+
+        ScoredUser(Long userId, String username, int score) {
+            this.userId = userId;
+            this.username = username;
+            this.score = score;
+        }
+    }
+}
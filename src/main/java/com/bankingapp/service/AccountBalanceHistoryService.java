@@ -0,0 +1,214 @@
+package com.bankingapp.service;
+
+import com.bankingapp.dto.AccountBalanceHistoryDTO;
+import com.bankingapp.dto.BalanceHistoryChartDTO;
+import com.bankingapp.dto.BalanceHistoryPointDTO;
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.AccountBalanceBucket;
+import com.bankingapp.entity.AccountBalanceHistory;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.AccountBalanceBucketRepository;
+import com.bankingapp.repository.AccountBalanceHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for account balance history
+ * Appends one history row per balance change and folds it into minute, hour and day buckets,
+ * so charts over any range read at most a few hundred bucket rows
+ */
+@Service
+@Transactional
+public class AccountBalanceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceHistoryService.class);
+
+    @Autowired
+    private AccountBalanceHistoryRepository historyRepository;
+
+    @Autowired
+    private AccountBalanceBucketRepository bucketRepository;
+
+    @Value("${app.balance-history.max-chart-points:500}")
+    private int maxChartPoints;
+
+    @Value("${app.balance-history.minute-retention-days:7}")
+    private int minuteRetentionDays;
+
+    @Value("${app.balance-history.hour-retention-days:180}")
+    private int hourRetentionDays;
+
+    // ===================== Incremental Maintenance =====================
+
+    /**
+     * Record the balance of every account a completed transaction changed.
+     * Must be called after the account balances were updated, inside the same database transaction.
+     */
+    public void recordTransaction(Transaction transaction) {
+        if (transaction.getStatus() != Transaction.TransactionStatus.COMPLETED) {
+            return;
+        }
+
+        LocalDateTime recordedAt = LocalDateTime.now();
+        String changeType = transaction.getTransactionType().name();
+        if (transaction.getFromAccount() != null) {
+            recordBalanceChange(transaction.getFromAccount().getId(),
+                balanceAfter(transaction.getFromBalanceAfter(), transaction.getFromAccount()),
+                transaction.getAmount().negate(), changeType, transaction.getTransactionId(), recordedAt);
+        }
+        if (transaction.getToAccount() != null) {
+            recordBalanceChange(transaction.getToAccount().getId(),
+                balanceAfter(transaction.getToBalanceAfter(), transaction.getToAccount()),
+                transaction.getAmount(), changeType, transaction.getTransactionId(), recordedAt);
+        }
+    }
+
+    /**
+     * Append a balance change and fold it into every downsampled tier
+     */
+    public void recordBalanceChange(Long accountId, BigDecimal balance, BigDecimal changeAmount,
+                                    String changeType, String transactionReference, LocalDateTime recordedAt) {
+        AccountBalanceHistory history = new AccountBalanceHistory(accountId, balance, changeAmount, changeType,
+                                                                  transactionReference);
+        history.setRecordedAt(recordedAt);
+        historyRepository.save(history);
+
+        for (AccountBalanceBucket.Resolution resolution : AccountBalanceBucket.Resolution.values()) {
+            LocalDateTime bucketStart = resolution.bucketStart(recordedAt);
+            // Fast path: the bucket already exists for any account that changed earlier in the same period
+            if (bucketRepository.foldIntoBucket(accountId, resolution, bucketStart, balance) > 0) {
+                continue;
+            }
+            if (bucketRepository.insertBucketIfAbsent(accountId, resolution.name(), bucketStart, balance) == 0
+                    && bucketRepository.foldIntoBucket(accountId, resolution, bucketStart, balance) == 0) {
+                throw new IllegalStateException("Failed to update " + resolution + " balance bucket for account " +
+                                                accountId + " at " + bucketStart);
+            }
+        }
+    }
+
+    // ===================== Queries =====================
+
+    /**
+     * Get balance history for account
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountBalanceHistoryDTO> getBalanceHistory(Long accountId, Pageable pageable) {
+        logger.debug("Fetching balance history for account: {}", accountId);
+        return historyRepository.findByAccountId(accountId, pageable).map(this::convertToDTO);
+    }
+
+    /**
+     * Get balance history for account within time range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountBalanceHistoryDTO> getBalanceHistory(Long accountId, LocalDateTime startDate,
+                                                           LocalDateTime endDate, Pageable pageable) {
+        logger.debug("Fetching balance history for account: {} from {} to {}", accountId, startDate, endDate);
+        return historyRepository.findByAccountIdAndRecordedAtBetween(accountId, startDate, endDate, pageable)
+            .map(this::convertToDTO);
+    }
+
+    /**
+     * Get downsampled balance chart for account.
+     * Uses the finest tier that covers the range within max-chart-points and is still retained,
+     * then merges neighbouring buckets if the range is longer than that.
+     */
+    @Transactional(readOnly = true)
+    public BalanceHistoryChartDTO getBalanceChart(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        AccountBalanceBucket.Resolution resolution = resolveResolution(startDate, endDate, LocalDateTime.now());
+        logger.debug("Fetching {} balance chart for account: {} from {} to {}", resolution, accountId, startDate, endDate);
+
+        List<BalanceHistoryPointDTO> points = bucketRepository
+            .findByAccountIdAndResolutionAndBucketStartBetweenOrderByBucketStart(
+                accountId, resolution, resolution.bucketStart(startDate), endDate)
+            .stream()
+            .map(bucket -> new BalanceHistoryPointDTO(bucket.getBucketStart(), bucket.getMinBalance(),
+                bucket.getMaxBalance(), bucket.getLastBalance(), bucket.getChangeCount()))
+            .collect(Collectors.toList());
+
+        BalanceHistoryChartDTO chart = new BalanceHistoryChartDTO(accountId, resolution.name(), startDate, endDate);
+        historyRepository.findFirstByAccountIdAndRecordedAtLessThanOrderByRecordedAtDescIdDesc(accountId, startDate)
+            .ifPresent(previous -> chart.setOpeningBalance(previous.getBalance()));
+        chart.setPoints(downsample(points, maxChartPoints));
+        return chart;
+    }
+
+    AccountBalanceBucket.Resolution resolveResolution(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime now) {
+        Duration range = Duration.between(startDate, endDate);
+        if (range.toMinutes() <= maxChartPoints && !startDate.isBefore(now.minusDays(minuteRetentionDays))) {
+            return AccountBalanceBucket.Resolution.MINUTE;
+        }
+        if (range.toHours() <= maxChartPoints && !startDate.isBefore(now.minusDays(hourRetentionDays))) {
+            return AccountBalanceBucket.Resolution.HOUR;
+        }
+        return AccountBalanceBucket.Resolution.DAY;
+    }
+
+    /**
+     * Merge runs of neighbouring points so at most maxPoints remain
+     */
+    static List<BalanceHistoryPointDTO> downsample(List<BalanceHistoryPointDTO> points, int maxPoints) {
+        if (points.size() <= maxPoints) {
+            return points;
+        }
+
+        int groupSize = (points.size() + maxPoints - 1) / maxPoints;
+        List<BalanceHistoryPointDTO> merged = new ArrayList<>(maxPoints);
+        for (int start = 0; start < points.size(); start += groupSize) {
+            List<BalanceHistoryPointDTO> group = points.subList(start, Math.min(start + groupSize, points.size()));
+            BalanceHistoryPointDTO first = group.get(0);
+            BalanceHistoryPointDTO point = new BalanceHistoryPointDTO(first.getBucketStart(), first.getMinBalance(),
+                first.getMaxBalance(), group.get(group.size() - 1).getLastBalance(), 0L);
+            for (BalanceHistoryPointDTO member : group) {
+                point.setMinBalance(point.getMinBalance().min(member.getMinBalance()));
+                point.setMaxBalance(point.getMaxBalance().max(member.getMaxBalance()));
+                point.setChangeCount(point.getChangeCount() + member.getChangeCount());
+            }
+            merged.add(point);
+        }
+        return merged;
+    }
+
+    // ===================== Retention =====================
+
+    /**
+     * Drop minute and hour buckets past their retention; day buckets and raw history are kept
+     * @return number of buckets removed
+     */
+    public int pruneExpiredBuckets() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = bucketRepository.deleteByResolutionBefore(AccountBalanceBucket.Resolution.MINUTE,
+                                                                now.minusDays(minuteRetentionDays));
+        removed += bucketRepository.deleteByResolutionBefore(AccountBalanceBucket.Resolution.HOUR,
+                                                             now.minusDays(hourRetentionDays));
+        logger.info("Pruned {} expired balance buckets", removed);
+        return removed;
+    }
+
+    private BigDecimal balanceAfter(BigDecimal recordedBalance, Account account) {
+        return recordedBalance != null ? recordedBalance : account.getBalance();
+    }
+
+    private AccountBalanceHistoryDTO convertToDTO(AccountBalanceHistory history) {
+        AccountBalanceHistoryDTO dto = new AccountBalanceHistoryDTO(history.getAccountId(), history.getBalance(),
+                                                                    history.getChangeType(), history.getChangeAmount());
+        dto.setId(history.getId());
+        dto.setRecordedAt(history.getRecordedAt());
+        dto.setTransactionReference(history.getTransactionReference());
+        return dto;
+    }
+}
@@ -1,18 +1,50 @@
 package com.bankingapp.service;
 
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.dto.AccountBalanceHistoryDTO;
+import com.bankingapp.dto.AccountBalanceRankDTO;
+import com.bankingapp.dto.AccountStatisticsDTO;
+import com.bankingapp.dto.BalanceAsOfDTO;
+import com.bankingapp.dto.BalanceHistoryChartDTO;
+import com.bankingapp.dto.AccountSummaryDTO;
+import com.bankingapp.dto.AccountTypeDistributionDTO;
 import com.bankingapp.entity.Account;
 import com.bankingapp.entity.User;
 import com.bankingapp.exception.AccountNotFoundException;
+import com.bankingapp.leaderboard.BalanceEntry;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
 import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.TransactionRepository;
 import com.bankingapp.repository.UserRepository;
+import com.bankingapp.repository.projection.TransactionStatisticsProjection;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import com.bankingapp.util.PeriodUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -26,6 +58,24 @@ public class AccountService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
+    @Autowired
+    private BalanceCheckpointService balanceCheckpointService;
+
+    @Autowired
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @Autowired
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Account createAccount(Long userId, Account.AccountType accountType) {
         logger.info("Creating account for user: {}, type: {}", userId, accountType);
 
@@ -39,24 +89,51 @@ public class AccountService {
         account.setIsActive(true);
 
         Account savedAccount = accountRepository.save(account);
+        balanceLeaderboard.updateAccount(savedAccount);
+        accountTypeStatistics.recordAccountAdded(savedAccount.getAccountType(), savedAccount.getBalance());
         logger.info("Account created successfully: {}", savedAccount.getAccountNumber());
         
         return savedAccount;
     }
 
+    /**
+     * Get active accounts for user
+     * Read-only and detached, so a later write in the same request reloads them
+     */
+    @Transactional(readOnly = true)
     public List<Account> getUserAccounts(Long userId) {
-        return accountRepository.findByUserIdAndIsActiveTrue(userId);
+        List<Account> accounts = accountRepository.findByUserIdAndIsActiveTrue(userId);
+        accounts.forEach(entityManager::detach);
+        return accounts;
     }
 
+    /**
+     * Get active account summaries for user, read directly into DTOs
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSummaryDTO> getAccountSummaries(Long userId) {
+        return accountRepository.getActiveAccountSummariesByUserId(userId);
+    }
+
+    /**
+     * Get account by ID
+     * Read-only and detached, so a later write in the same request reloads it
+     */
+    @Transactional(readOnly = true)
     public Account getAccountById(Long accountId) {
-        return accountRepository.findById(accountId)
-            .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+        Account account = findAccount(accountId);
+        entityManager.detach(account);
+        return account;
     }
 
     public Account updateAccount(Long accountId, Account accountDetails) {
-        Account account = getAccountById(accountId);
+        Account account = findAccount(accountId);
         
         if (accountDetails.getAccountType() != null) {
+            if (Boolean.TRUE.equals(account.getIsActive()) && account.getAccountType() != accountDetails.getAccountType()) {
+                accountTypeStatistics.recordAccountRemoved(account.getAccountType(), account.getBalance());
+                accountTypeStatistics.recordAccountAdded(accountDetails.getAccountType(), account.getBalance());
+            }
             account.setAccountType(accountDetails.getAccountType());
         }
         
@@ -64,12 +141,190 @@ public class AccountService {
     }
 
     public void deleteAccount(Long accountId) {
-        Account account = getAccountById(accountId);
+        Account account = findAccount(accountId);
+        boolean wasActive = Boolean.TRUE.equals(account.getIsActive());
         account.setIsActive(false);
         accountRepository.save(account);
+        balanceLeaderboard.updateAccount(account);
+        if (wasActive) {
+            accountTypeStatistics.recordAccountRemoved(account.getAccountType(), account.getBalance());
+        }
         logger.info("Account deactivated: {}", account.getAccountNumber());
     }
 
+    // ===================== Account Type Statistics =====================
+
+    /**
+     * Get number of active accounts per account type from the in-memory counters once loaded
+     */
+    @Transactional(readOnly = true)
+    @WorkloadPool(Workload.REPORTING)
+    public Map<String, Long> getAccountCountByType() {
+        if (accountTypeStatistics.isReady()) {
+            return accountTypeStatistics.getAccountCountByType();
+        }
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : accountRepository.getAccountCountByType()) {
+            counts.put(((Account.AccountType) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * Get balance total, mean and standard deviation of active accounts per account type
+     */
+    @Transactional(readOnly = true)
+    @WorkloadPool(Workload.REPORTING)
+    public List<AccountTypeDistributionDTO> getBalanceDistributionByType() {
+        if (accountTypeStatistics.isReady()) {
+            return accountTypeStatistics.getBalanceDistributionByType();
+        }
+        List<AccountTypeDistributionDTO> distribution = new ArrayList<>();
+        for (Object[] row : accountRepository.getBalanceDistributionByType()) {
+            BigDecimal average = row[2] != null ? new BigDecimal(row[2].toString()).setScale(2, RoundingMode.HALF_UP) : null;
+            distribution.add(new AccountTypeDistributionDTO(((Account.AccountType) row[0]).name(),
+                ((Number) row[3]).longValue(), (BigDecimal) row[1], average, null));
+        }
+        return distribution;
+    }
+
+    // ===================== Balance Ranking =====================
+
+    /**
+     * Get active accounts with the highest balances, ranked from memory once the leaderboard is loaded
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSummaryDTO> getTopAccountsByBalance(int limit) {
+        if (!balanceLeaderboard.isReady()) {
+            return accountRepository.getTopAccountsByBalance(PageRequest.of(0, limit)).getContent()
+                .stream().map(this::toSummary).collect(Collectors.toList());
+        }
+        return getSummariesInRankOrder(balanceLeaderboard.getTop(limit));
+    }
+
+    /**
+     * Get active accounts with a balance above the threshold, highest first
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSummaryDTO> getHighBalanceAccounts(BigDecimal threshold) {
+        if (!balanceLeaderboard.isReady()) {
+            return accountRepository.getHighBalanceAccounts(threshold)
+                .stream().map(this::toSummary).collect(Collectors.toList());
+        }
+        return getSummariesInRankOrder(balanceLeaderboard.getAbove(threshold));
+    }
+
+    /**
+     * Get position of account in the balance ranking of active accounts
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceRankDTO getBalanceRank(Long accountId) {
+        if (balanceLeaderboard.isReady()) {
+            Optional<BalanceEntry> entry = balanceLeaderboard.getEntry(accountId);
+            if (entry.isPresent()) {
+                return new AccountBalanceRankDTO(accountId, entry.get().getBalance(),
+                                                 balanceLeaderboard.getRank(entry.get()),
+                                                 (long) balanceLeaderboard.size());
+            }
+        }
+
+        Account account = findAccount(accountId);
+        if (!Boolean.TRUE.equals(account.getIsActive())) {
+            return new AccountBalanceRankDTO(accountId, account.getBalance(), null, null);
+        }
+        long ahead = accountRepository.countActiveAccountsRankedAhead(account.getBalance(), accountId);
+        return new AccountBalanceRankDTO(accountId, account.getBalance(), ahead + 1,
+                                         accountRepository.countByIsActiveTrue());
+    }
+
+    private List<AccountSummaryDTO> getSummariesInRankOrder(List<BalanceEntry> entries) {
+        if (entries.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> accountIds = entries.stream().map(BalanceEntry::getAccountId).collect(Collectors.toList());
+        Map<Long, AccountSummaryDTO> summaries = accountRepository.getAccountSummariesByIds(accountIds)
+            .stream().collect(Collectors.toMap(AccountSummaryDTO::getId, Function.identity()));
+        return accountIds.stream().map(summaries::get).filter(summary -> summary != null)
+            .collect(Collectors.toList());
+    }
+
+    private AccountSummaryDTO toSummary(Account account) {
+        return new AccountSummaryDTO(account.getId(), account.getAccountNumber(), account.getAccountType(),
+                                     account.getBalance(), account.getIsActive(), account.getLastActivityAt());
+    }
+
+    /**
+     * Get balance change history for account
+     */
+    @Transactional(readOnly = true)
+    public Page<AccountBalanceHistoryDTO> getBalanceHistory(Long accountId, Pageable pageable) {
+        return accountBalanceHistoryService.getBalanceHistory(accountId, pageable);
+    }
+
+    /**
+     * Get downsampled balance chart for account within time range
+     */
+    @Transactional(readOnly = true)
+    public BalanceHistoryChartDTO getBalanceChart(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        return accountBalanceHistoryService.getBalanceChart(accountId, startDate, endDate);
+    }
+
+    /**
+     * Get balance of account as of a past time
+     */
+    @Transactional(readOnly = true)
+    public BalanceAsOfDTO getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        findAccount(accountId);
+        return balanceCheckpointService.getBalanceAsOf(accountId, asOf);
+    }
+
+    /**
+     * Get balances of many accounts as of a past time (bulk audit)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<Long, BalanceAsOfDTO> getBalancesAsOf(Collection<Long> accountIds, LocalDateTime asOf) {
+        return balanceCheckpointService.getBalancesAsOf(accountIds, asOf);
+    }
+
+    /**
+     * Get account statistics for period from a single aggregate query over its transactions
+     */
+    @Transactional(readOnly = true)
+    @WorkloadPool(Workload.REPORTING)
+    public AccountStatisticsDTO getAccountStatistics(Long accountId, String period) {
+        Account account = findAccount(accountId);
+
+        LocalDateTime endDate = LocalDateTime.now();
+        LocalDateTime startDate = PeriodUtil.periodStart(period, endDate.toLocalDate());
+        TransactionStatisticsProjection aggregate =
+            transactionRepository.getAggregateStatisticsForAccount(accountId, startDate, endDate);
+
+        AccountStatisticsDTO statistics = new AccountStatisticsDTO(account.getId(), account.getAccountNumber(),
+            account.getAccountType().name(), account.getBalance());
+        statistics.setAccountCreatedDate(account.getCreatedAt());
+        statistics.setTotalTransactions(aggregate.getTotalCount().intValue());
+        statistics.setDepositsCount(aggregate.getDepositCount().intValue());
+        statistics.setWithdrawalsCount(aggregate.getWithdrawalCount().intValue());
+        statistics.setTransfersCount(aggregate.getTransferCount().intValue());
+        statistics.setTotalDeposits(aggregate.getDepositAmount());
+        statistics.setTotalWithdrawals(aggregate.getWithdrawalAmount());
+        statistics.setTotalTransfers(aggregate.getTransferInAmount().add(aggregate.getTransferOutAmount()));
+        statistics.setFirstTransactionDate(aggregate.getFirstTransactionDate());
+        statistics.setLastTransactionDate(aggregate.getLastTransactionDate());
+
+        // Transactions per month over the period
+        long days = Math.max(1, ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()));
+        statistics.setTransactionFrequency(BigDecimal.valueOf(aggregate.getTotalCount() * 30L)
+            .divide(BigDecimal.valueOf(days), 2, RoundingMode.HALF_UP));
+
+        return statistics;
+    }
+
+    private Account findAccount(Long accountId) {
+        return accountRepository.findById(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found"));
+    }
+
     private String generateAccountNumber() {
         Random random = new Random();
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,142 @@
+package com.bankingapp.service;
+
+import com.bankingapp.dto.BalanceAsOfDTO;
+import com.bankingapp.entity.BalanceCheckpoint;
+import com.bankingapp.repository.ArchivedTransactionRepository;
+import com.bankingapp.repository.BalanceCheckpointRepository;
+import com.bankingapp.repository.TransactionRepository;
+import com.bankingapp.repository.projection.BalanceDeltaProjection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for point-in-time balances
+ * A balance as of T is the nearest checkpoint at or before T plus the completed transactions created
+ * between that checkpoint and T, so with daily checkpoints at most one day of transactions is replayed.
+ * Replays that start before the hot window of app.transaction-archive.hot-months also read transactions_archive.
+ */
+@Service
+@Transactional
+public class BalanceCheckpointService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    private static final LocalDateTime BEGINNING_OF_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("auditExecutor")
+    private Executor auditExecutor;
+
+    @Value("${app.transaction-archive.hot-months:13}")
+    private int hotMonths;
+
+    // ===================== Point-in-Time Queries =====================
+
+    /**
+     * Get balance of account as of the given time, i.e. after every completed transaction created before it
+     */
+    @Transactional(readOnly = true)
+    public BalanceAsOfDTO getBalanceAsOf(Long accountId, LocalDateTime asOf) {
+        Optional<BalanceCheckpoint> checkpoint =
+            checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(accountId, asOf);
+        LocalDateTime replayFrom = checkpoint.map(BalanceCheckpoint::getCheckpointAt).orElse(BEGINNING_OF_TIME);
+        BigDecimal openingBalance = checkpoint.map(BalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO);
+
+        BalanceDeltaProjection delta = transactionRepository.getBalanceDelta(accountId, replayFrom, asOf);
+        BigDecimal credits = delta.getCreditAmount();
+        BigDecimal debits = delta.getDebitAmount();
+        long replayed = delta.getTransactionCount();
+        // Transactions before the hot window may have moved to the archive; a row is in one table or the other
+        if (replayFrom.isBefore(YearMonth.now().minusMonths(hotMonths).atDay(1).atStartOfDay())) {
+            BalanceDeltaProjection archived = archivedTransactionRepository.getBalanceDelta(accountId, replayFrom, asOf);
+            credits = credits.add(archived.getCreditAmount());
+            debits = debits.add(archived.getDebitAmount());
+            replayed += archived.getTransactionCount();
+        }
+
+        BalanceAsOfDTO balance = new BalanceAsOfDTO(accountId, asOf, openingBalance.add(credits).subtract(debits));
+        checkpoint.ifPresent(cp -> {
+            balance.setCheckpointAt(cp.getCheckpointAt());
+            balance.setCheckpointBalance(cp.getBalance());
+        });
+        balance.setReplayedTransactions(replayed);
+        return balance;
+    }
+
+    /**
+     * Get balances of many accounts as of the given time, computed in parallel on the audit pool.
+     * Runs outside any caller transaction; each account is read in its own read-only transaction.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Map<Long, BalanceAsOfDTO> getBalancesAsOf(Collection<Long> accountIds, LocalDateTime asOf) {
+        logger.info("Computing balances of {} accounts as of {}", accountIds.size(), asOf);
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        List<CompletableFuture<BalanceAsOfDTO>> futures = accountIds.stream()
+            .distinct()
+            .map(accountId -> CompletableFuture.supplyAsync(
+                () -> readOnlyTransaction.execute(status -> getBalanceAsOf(accountId, asOf)), auditExecutor))
+            .collect(Collectors.toList());
+
+        Map<Long, BalanceAsOfDTO> balances = new LinkedHashMap<>();
+        for (CompletableFuture<BalanceAsOfDTO> future : futures) {
+            BalanceAsOfDTO balance = future.join();
+            balances.put(balance.getAccountId(), balance);
+        }
+        return balances;
+    }
+
+    // ===================== Checkpoints =====================
+
+    /**
+     * Write a checkpoint for account at the given time unless one exists
+     * @return true if a checkpoint was created
+     */
+    public boolean createCheckpoint(Long accountId, LocalDateTime checkpointAt) {
+        if (checkpointAt.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Cannot checkpoint a future balance: " + checkpointAt);
+        }
+        if (checkpointRepository.existsByAccountIdAndCheckpointAt(accountId, checkpointAt)) {
+            return false;
+        }
+
+        BalanceAsOfDTO balance = getBalanceAsOf(accountId, checkpointAt);
+        checkpointRepository.save(new BalanceCheckpoint(accountId, checkpointAt, balance.getBalance(),
+                                                        balance.getReplayedTransactions()));
+        return true;
+    }
+}
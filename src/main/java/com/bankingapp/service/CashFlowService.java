@@ -0,0 +1,202 @@
+package com.bankingapp.service;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.dto.AccountRollupSummaryDTO;
+import com.bankingapp.dto.CashFlowDTO;
+import com.bankingapp.dto.CashFlowPeriodDTO;
+import com.bankingapp.repository.DailyAccountRollupRepository;
+import com.bankingapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Service class for cash flow analysis over the daily rollup.
+ * A range is split into calendar-month partitions that are summed concurrently on the analytics pool,
+ * each in its own read-only transaction. Months that ended before the current month no longer change
+ * through the incremental rollup path, so their totals are cached and only evicted when the account's
+ * rollups are rebuilt. Until a rollup backfill has completed, older days have no rollup rows, so months
+ * are summed from the transactions instead and not cached.
+ */
+@Service
+@Transactional
+@WorkloadPool(Workload.REPORTING)
+public class CashFlowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CashFlowService.class);
+
+    @Autowired
+    private DailyAccountRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("analyticsExecutor")
+    private Executor analyticsExecutor;
+
+    @Value("${app.cash-flow.max-cached-accounts:10000}")
+    private int maxCachedAccounts;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final Map<Long, Map<YearMonth, MonthlyCashFlow>> closedMonths =
+        Collections.synchronizedMap(new LinkedHashMap<Long, Map<YearMonth, MonthlyCashFlow>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Map<YearMonth, MonthlyCashFlow>> eldest) {
+                return size() > maxCachedAccounts;
+            }
+        });
+
+    /**
+     * Get cash flow totals and a per-month series for account between the dates of the given times (inclusive)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CashFlowDTO getCashFlow(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<Partition> partitions = partition(startDate.toLocalDate(), endDate.toLocalDate());
+        YearMonth currentMonth = YearMonth.now(clock);
+        boolean fromRollup = transactionRollupService.isHistoryComplete();
+        Map<YearMonth, MonthlyCashFlow> cached = closedMonths.computeIfAbsent(accountId, id -> new ConcurrentHashMap<>());
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        List<CompletableFuture<MonthlyCashFlow>> futures = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            boolean cacheable = fromRollup && partition.isWholeMonth() && partition.month.isBefore(currentMonth);
+            MonthlyCashFlow hit = cacheable ? cached.get(partition.month) : null;
+            if (hit != null) {
+                futures.add(CompletableFuture.completedFuture(hit));
+                continue;
+            }
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                MonthlyCashFlow computed = readOnlyTransaction.execute(status -> fromRollup
+                    ? summarize(accountId, partition) : summarizeTransactions(accountId, partition));
+                if (cacheable) {
+                    cached.put(partition.month, computed);
+                }
+                return computed;
+            }, analyticsExecutor));
+        }
+
+        CashFlowDTO cashFlow = new CashFlowDTO(accountId, startDate, endDate);
+        BigDecimal totalInflow = BigDecimal.ZERO;
+        BigDecimal totalOutflow = BigDecimal.ZERO;
+        long inflowCount = 0L;
+        long outflowCount = 0L;
+        List<CashFlowPeriodDTO> periods = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            MonthlyCashFlow month = futures.get(i).join();
+            Partition partition = partitions.get(i);
+            periods.add(new CashFlowPeriodDTO(partition.from, partition.to, month.inflow, month.outflow,
+                                              month.inflowCount, month.outflowCount));
+            totalInflow = totalInflow.add(month.inflow);
+            totalOutflow = totalOutflow.add(month.outflow);
+            inflowCount += month.inflowCount;
+            outflowCount += month.outflowCount;
+        }
+        cashFlow.setTotalInflow(totalInflow);
+        cashFlow.setTotalOutflow(totalOutflow);
+        cashFlow.setInflowCount(inflowCount);
+        cashFlow.setOutflowCount(outflowCount);
+        cashFlow.setPeriods(periods);
+        return cashFlow;
+    }
+
+    /**
+     * Drop cached months of account, e.g. after its rollups were rebuilt
+     */
+    public void evictAccount(Long accountId) {
+        closedMonths.remove(accountId);
+    }
+
+    private MonthlyCashFlow summarize(Long accountId, Partition partition) {
+        logger.debug("Summing cash flow for account: {} from {} to {}", accountId, partition.from, partition.to);
+        AccountRollupSummaryDTO summary = rollupRepository.summarizeByAccount(accountId, partition.from, partition.to);
+        return new MonthlyCashFlow(summary.getTotalInflow(), summary.getTotalOutflow(),
+                                   summary.getInflowCount(), summary.getOutflowCount());
+    }
+
+    private MonthlyCashFlow summarizeTransactions(Long accountId, Partition partition) {
+        logger.debug("Summing cash flow from transactions for account: {} from {} to {}",
+                     accountId, partition.from, partition.to);
+        Object[] row = transactionRepository.getCashFlowAnalysis(accountId, partition.from.atStartOfDay(),
+                                                                 partition.to.atTime(LocalTime.MAX)).get(0);
+        return new MonthlyCashFlow((BigDecimal) row[0], (BigDecimal) row[1],
+                                   ((Number) row[2]).longValue(), ((Number) row[3]).longValue());
+    }
+
+    static List<Partition> partition(LocalDate startDate, LocalDate endDate) {
+        List<Partition> partitions = new ArrayList<>();
+        YearMonth month = YearMonth.from(startDate);
+        YearMonth lastMonth = YearMonth.from(endDate);
+        while (!month.isAfter(lastMonth)) {
+            LocalDate from = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+            LocalDate to = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+            partitions.add(new Partition(month, from, to));
+            month = month.plusMonths(1);
+        }
+        return partitions;
+    }
+
+    static final class Partition {
+
+        final YearMonth month;
+        final LocalDate from;
+        final LocalDate to;
+
+        Partition(YearMonth month, LocalDate from, LocalDate to) {
+            this.month = month;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean isWholeMonth() {
+            return from.equals(month.atDay(1)) && to.equals(month.atEndOfMonth());
+        }
+    }
+
+    private static final class MonthlyCashFlow {
+
+        private final BigDecimal inflow;
+        private final BigDecimal outflow;
+        private final long inflowCount;
+        private final long outflowCount;
+
+        MonthlyCashFlow(BigDecimal inflow, BigDecimal outflow, Long inflowCount, Long outflowCount) {
+            this.inflow = inflow != null ? inflow : BigDecimal.ZERO;
+            this.outflow = outflow != null ? outflow : BigDecimal.ZERO;
+            this.inflowCount = inflowCount != null ? inflowCount : 0L;
+            this.outflowCount = outflowCount != null ? outflowCount : 0L;
+        }
+    }
+}
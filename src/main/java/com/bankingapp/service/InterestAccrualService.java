@@ -0,0 +1,379 @@
+package com.bankingapp.service;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadContext;
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.InterestAccrualCheckpoint;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.InterestAccrualCheckpointRepository;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service class for end-of-day interest on savings accounts
+ *
+ * Each day every active savings account accrues endOfDayBalance * annualRate / dayCountBasis, kept to
+ * ACCRUAL_SCALE decimals and added to the sub-cent remainder carried in interest_accrual. Whole cents
+ * are posted as a completed deposit dated when the run posts it, never back-dated, so a catch-up run
+ * does not change days whose balance checkpoints, rollups, cached cash flow or statements are final;
+ * the remainder carries over. The end-of-day balance is the current balance minus completed
+ * transactions created after the day, except interest for earlier days, so a late or catch-up run
+ * accrues on the same balance as an on-time one.
+ *
+ * A run splits the account ID space into aligned partitions of partitionSize IDs and processes them on
+ * a fork-join pool; each partition commits its accruals, postings and checkpoint in one transaction.
+ * Accounts already accrued for the day are skipped, so no restart or overlapping run posts twice.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    static final int ACCRUAL_SCALE = 10;
+    static final String INTEREST_TRANSACTION_PREFIX = "INT-";
+
+    private static final DateTimeFormatter TRANSACTION_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private InterestAccrualCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @Autowired
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @Value("${app.interest.annual-rate:0.02}")
+    private BigDecimal annualRate;
+
+    @Value("${app.interest.day-count-basis:365}")
+    private int dayCountBasis;
+
+    @Value("${app.interest.partition-size:10000}")
+    private long partitionSize;
+
+    @Value("${app.interest.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.interest.batch-size:1000}")
+    private int batchSize;
+
+    // ===================== Interest Rules =====================
+
+    /**
+     * Interest earned by balance over one day, to ACCRUAL_SCALE decimals (half-even); nothing on zero or negative balances
+     */
+    static BigDecimal dailyInterest(BigDecimal balance, BigDecimal annualRate, int dayCountBasis) {
+        if (balance.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(ACCRUAL_SCALE);
+        }
+        return balance.multiply(annualRate)
+            .divide(BigDecimal.valueOf(dayCountBasis), ACCRUAL_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Whole cents of accrued interest that can be posted; the rest stays accrued
+     */
+    static BigDecimal postableAmount(BigDecimal accrued) {
+        return accrued.setScale(2, RoundingMode.DOWN);
+    }
+
+    static String interestTransactionId(LocalDate accrualDate, long accountId) {
+        return interestTransactionId(accrualDate) + "-" + accountId;
+    }
+
+    private static String interestTransactionId(LocalDate accrualDate) {
+        return INTEREST_TRANSACTION_PREFIX + accrualDate.format(TRANSACTION_DATE);
+    }
+
+    // ===================== Accrual Runs =====================
+
+    /**
+     * Accrue and post one day of interest for every active savings account
+     * @return totals of the partitions processed by this call; partitions completed earlier are not counted
+     */
+    public AccrualTotals accrue(LocalDate accrualDate) {
+        if (!accrualDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Interest can only be accrued for days that have ended: " + accrualDate);
+        }
+
+        List<Object[]> bounds = accountRepository.getAccountIdBounds();
+        if (bounds.isEmpty() || bounds.get(0)[0] == null) {
+            return new AccrualTotals();
+        }
+        long firstId = ((Number) bounds.get(0)[0]).longValue();
+        long lastId = ((Number) bounds.get(0)[1]).longValue();
+        long rangeStart = firstId - Math.floorMod(firstId, partitionSize);
+        long rangeEnd = lastId - Math.floorMod(lastId, partitionSize) + partitionSize;
+
+        logger.info("Accruing interest for {} over account IDs [{}, {}) with {} workers",
+                    accrualDate, rangeStart, rangeEnd, parallelism);
+        long startedAt = System.currentTimeMillis();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        AccrualTotals totals;
+        try {
+            totals = pool.invoke(new PartitionTask(accrualDate, rangeStart, rangeEnd));
+        } finally {
+            pool.shutdown();
+        }
+
+        logger.info("Interest accrual for {} completed in {} ms: {} partitions ({} already done), {} accounts accrued, " +
+                    "{} postings totalling {}", accrualDate, System.currentTimeMillis() - startedAt,
+                    totals.partitions, totals.skippedPartitions, totals.accruedAccounts,
+                    totals.postedCount, totals.postedAmount);
+        if (totals.postedCount > 0) {
+            balanceLeaderboard.load();
+            accountTypeStatistics.reconcile();
+        }
+        return totals;
+    }
+
+    /**
+     * Splits an aligned ID range in halves down to single partitions, which run on the workers
+     */
+    private final class PartitionTask extends RecursiveTask<AccrualTotals> {
+
+        private final LocalDate accrualDate;
+        private final long start;
+        private final long end;
+
+        PartitionTask(LocalDate accrualDate, long start, long end) {
+            this.accrualDate = accrualDate;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected AccrualTotals compute() {
+            long partitions = (end - start) / partitionSize;
+            if (partitions <= 1) {
+                return WorkloadContext.call(Workload.REPORTING, () -> accruePartition(accrualDate, start, end));
+            }
+
+            long middle = start + partitions / 2 * partitionSize;
+            PartitionTask left = new PartitionTask(accrualDate, start, middle);
+            left.fork();
+            AccrualTotals totals = new PartitionTask(accrualDate, middle, end).compute();
+            return totals.add(left.join());
+        }
+    }
+
+    /**
+     * Accrue one day of interest for the savings accounts in [start, end) and post whole cents, in one transaction
+     */
+    AccrualTotals accruePartition(LocalDate accrualDate, long start, long end) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            AccrualTotals totals = new AccrualTotals();
+            totals.partitions = 1;
+            if (checkpointRepository.existsByAccrualDateAndPartitionStart(accrualDate, start)) {
+                totals.skippedPartitions = 1;
+                return totals;
+            }
+
+            LocalDateTime endOfDay = accrualDate.plusDays(1).atStartOfDay();
+            List<Accrual> accruals = findAccruals(accrualDate, endOfDay, start, end);
+            List<Accrual> postings = new ArrayList<>();
+            for (Accrual accrual : accruals) {
+                BigDecimal accrued = accrual.carried.add(dailyInterest(accrual.endOfDayBalance, annualRate, dayCountBasis));
+                accrual.posted = postableAmount(accrued);
+                accrual.carried = accrued.subtract(accrual.posted);
+                if (accrual.posted.signum() > 0) {
+                    postings.add(accrual);
+                    totals.postedAmount = totals.postedAmount.add(accrual.posted);
+                }
+            }
+
+            saveAccruals(accruals, accrualDate);
+            postInterest(postings, accrualDate);
+
+            totals.accruedAccounts = accruals.size();
+            totals.postedCount = postings.size();
+            checkpointRepository.save(new InterestAccrualCheckpoint(accrualDate, start, end,
+                totals.accruedAccounts, totals.postedCount, totals.postedAmount));
+            return totals;
+        });
+    }
+
+    /**
+     * Savings accounts in [start, end) that existed at endOfDay and have not been accrued for accrualDate,
+     * locked until the partition commits. Interest for earlier days belongs to the day's balance even when
+     * a catch-up run posted it later; interest transaction IDs sort by day, so it is the IDs below
+     * INT-{accrualDate}.
+     */
+    private List<Accrual> findAccruals(LocalDate accrualDate, LocalDateTime endOfDay, long start, long end) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("start", start)
+            .addValue("end", end)
+            .addValue("accrualDate", Date.valueOf(accrualDate))
+            .addValue("endOfDay", Timestamp.valueOf(endOfDay))
+            .addValue("accountType", Account.AccountType.SAVINGS.name())
+            .addValue("completed", Transaction.TransactionStatus.COMPLETED.name())
+            .addValue("interestPattern", INTEREST_TRANSACTION_PREFIX + "%")
+            .addValue("interestBefore", interestTransactionId(accrualDate));
+
+        return jdbcTemplate.query(
+            "SELECT a.id, a.balance, COALESCE(ia.accrued_interest, 0) AS carried, " +
+            "COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.to_account_id = a.id " +
+            "AND t.status = :completed AND t.created_at >= :endOfDay " +
+            "AND NOT (t.transaction_id LIKE :interestPattern AND t.transaction_id < :interestBefore)), 0) AS credits_after, " +
+            "COALESCE((SELECT SUM(t.amount) FROM transactions t WHERE t.from_account_id = a.id " +
+            "AND t.status = :completed AND t.created_at >= :endOfDay), 0) AS debits_after " +
+            "FROM accounts a LEFT JOIN interest_accrual ia ON ia.account_id = a.id " +
+            "WHERE a.id >= :start AND a.id < :end AND a.account_type = :accountType AND a.is_active = TRUE " +
+            "AND a.created_at < :endOfDay AND (ia.last_accrual_date IS NULL OR ia.last_accrual_date < :accrualDate) " +
+            "ORDER BY a.id FOR UPDATE",
+            parameters,
+            (resultSet, rowNum) -> {
+                Accrual accrual = new Accrual();
+                accrual.accountId = resultSet.getLong("id");
+                accrual.balance = resultSet.getBigDecimal("balance");
+                accrual.carried = resultSet.getBigDecimal("carried");
+                accrual.endOfDayBalance = accrual.balance
+                    .subtract(resultSet.getBigDecimal("credits_after"))
+                    .add(resultSet.getBigDecimal("debits_after"));
+                return accrual;
+            });
+    }
+
+    private void saveAccruals(List<Accrual> accruals, LocalDate accrualDate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO interest_accrual (account_id, accrued_interest, last_accrual_date, updated_at) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE accrued_interest = VALUES(accrued_interest), " +
+            "last_accrual_date = VALUES(last_accrual_date), updated_at = VALUES(updated_at)",
+            accruals, batchSize, (statement, accrual) -> {
+                statement.setLong(1, accrual.accountId);
+                statement.setBigDecimal(2, accrual.carried);
+                statement.setDate(3, Date.valueOf(accrualDate));
+                statement.setTimestamp(4, now);
+            });
+    }
+
+    /**
+     * Credit posted interest to the accounts as deposits dated now, and count them in today's rollups
+     */
+    private void postInterest(List<Accrual> postings, LocalDate accrualDate) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        LocalDateTime postedAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(postedAt);
+        String description = "Interest for " + accrualDate;
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO transactions (transaction_id, to_account_id, transaction_type, amount, description, status, " +
+            "created_at, to_balance_after) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+            postings, batchSize, (statement, accrual) -> {
+                statement.setString(1, interestTransactionId(accrualDate, accrual.accountId));
+                statement.setLong(2, accrual.accountId);
+                statement.setString(3, Transaction.TransactionType.DEPOSIT.name());
+                statement.setBigDecimal(4, accrual.posted);
+                statement.setString(5, description);
+                statement.setString(6, Transaction.TransactionStatus.COMPLETED.name());
+                statement.setTimestamp(7, now);
+                statement.setBigDecimal(8, accrual.balance.add(accrual.posted));
+            });
+
+        // Interest is not customer activity, so last_activity_at stays as it was
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "UPDATE accounts SET balance = balance + ?, updated_at = ? WHERE id = ?",
+            postings, batchSize, (statement, accrual) -> {
+                statement.setBigDecimal(1, accrual.posted);
+                statement.setTimestamp(2, now);
+                statement.setLong(3, accrual.accountId);
+            });
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+            "INSERT INTO daily_account_rollup (account_id, rollup_date, completed_count, pending_count, failed_count, " +
+            "inflow_count, outflow_count, deposit_count, deposit_amount, withdrawal_count, withdrawal_amount, " +
+            "transfer_in_count, transfer_in_amount, transfer_out_count, transfer_out_amount, min_amount, max_amount, " +
+            "first_transaction_at, last_transaction_at, updated_at) " +
+            "VALUES (?, ?, 1, 0, 0, 1, 0, 1, ?, 0, 0, 0, 0, 0, 0, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "completed_count = completed_count + 1, inflow_count = inflow_count + 1, deposit_count = deposit_count + 1, " +
+            "deposit_amount = deposit_amount + VALUES(deposit_amount), " +
+            "min_amount = LEAST(COALESCE(min_amount, VALUES(min_amount)), VALUES(min_amount)), " +
+            "max_amount = GREATEST(COALESCE(max_amount, VALUES(max_amount)), VALUES(max_amount)), " +
+            "first_transaction_at = LEAST(COALESCE(first_transaction_at, VALUES(first_transaction_at)), VALUES(first_transaction_at)), " +
+            "last_transaction_at = GREATEST(COALESCE(last_transaction_at, VALUES(last_transaction_at)), VALUES(last_transaction_at)), " +
+            "updated_at = VALUES(updated_at)",
+            postings, batchSize, (statement, accrual) -> {
+                statement.setLong(1, accrual.accountId);
+                statement.setDate(2, Date.valueOf(postedAt.toLocalDate()));
+                statement.setBigDecimal(3, accrual.posted);
+                statement.setBigDecimal(4, accrual.posted);
+                statement.setBigDecimal(5, accrual.posted);
+                statement.setTimestamp(6, now);
+                statement.setTimestamp(7, now);
+                statement.setTimestamp(8, now);
+            });
+    }
+
+    /**
+     * One account's accrual within a partition
+     */
+    private static final class Accrual {
+        long accountId;
+        BigDecimal balance;
+        BigDecimal endOfDayBalance;
+        BigDecimal carried;
+        BigDecimal posted;
+    }
+
+    /**
+     * Counts and amounts of an accrual run, summed over partitions
+     */
+    public static final class AccrualTotals {
+        private long partitions;
+        private long skippedPartitions;
+        private long accruedAccounts;
+        private long postedCount;
+        private BigDecimal postedAmount = BigDecimal.ZERO;
+
+        AccrualTotals add(AccrualTotals other) {
+            partitions += other.partitions;
+            skippedPartitions += other.skippedPartitions;
+            accruedAccounts += other.accruedAccounts;
+            postedCount += other.postedCount;
+            postedAmount = postedAmount.add(other.postedAmount);
+            return this;
+        }
+
+        public long getPartitions() { return partitions; }
+        public long getSkippedPartitions() { return skippedPartitions; }
+        public long getAccruedAccounts() { return accruedAccounts; }
+        public long getPostedCount() { return postedCount; }
+        public BigDecimal getPostedAmount() { return postedAmount; }
+    }
+}
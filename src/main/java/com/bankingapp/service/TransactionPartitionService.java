@@ -0,0 +1,257 @@
+package com.bankingapp.service;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.entity.ArchivedTransaction;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.TransactionRepository;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for hot/cold tiering of the transactions table
+ * On MySQL the table is range partitioned by month of created_at (partitions pYYYYMM plus p_future);
+ * whole partitions older than the hot window are copied to transactions_archive and dropped, so the
+ * hot indexes only ever cover the hot window. Without partitioning the same cutoff is applied in
+ * chunks of rows.
+ * A partitioned table cannot carry foreign keys or a unique key without created_at, so converting it
+ * drops the account foreign keys and replaces the transaction_id unique key with (transaction_id, created_at),
+ * as declared on the Transaction entity.
+ */
+@Service
+@WorkloadPool(Workload.REPORTING)
+public class TransactionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String ARCHIVE_COLUMNS = "id, transaction_id, from_account_id, to_account_id, transaction_type, " +
+        "amount, description, status, created_at, from_balance_after, to_balance_after";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Value("${app.transaction-partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    // ===================== Partition Layout =====================
+
+    /**
+     * Get partition names of the transactions table in range order; empty when it is not partitioned
+     */
+    @Transactional(readOnly = true)
+    public List<String> getPartitionNames() {
+        @SuppressWarnings("unchecked")
+        List<Object> names = entityManager.createNativeQuery(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION").getResultList();
+        return names.stream().map(Object::toString).collect(Collectors.toList());
+    }
+
+    /**
+     * Convert the transactions table to monthly range partitions, from the month of the oldest
+     * transaction through months-ahead months after currentMonth
+     * Rebuilds the whole table once; run it in a maintenance window
+     */
+    @Transactional
+    public void partitionTable(YearMonth currentMonth) {
+        logger.info("Converting transactions table to monthly partitions");
+
+        for (Object foreignKey : entityManager.createNativeQuery(
+                "SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+                "WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions'").getResultList()) {
+            execute("ALTER TABLE transactions DROP FOREIGN KEY `" + foreignKey + "`");
+        }
+        for (Object uniqueKey : entityManager.createNativeQuery(
+                "SELECT DISTINCT INDEX_NAME FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'transactions' " +
+                "AND NON_UNIQUE = 0 AND INDEX_NAME <> 'PRIMARY'").getResultList()) {
+            execute("ALTER TABLE transactions DROP INDEX `" + uniqueKey + "`");
+        }
+
+        // Partition columns must be part of the primary key, and so NOT NULL
+        execute("UPDATE transactions SET created_at = '1970-01-01 00:00:00' WHERE created_at IS NULL");
+        execute("ALTER TABLE transactions MODIFY created_at DATETIME(6) NOT NULL");
+        execute("ALTER TABLE transactions DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at), " +
+                "ADD UNIQUE KEY uk_transactions_transaction_id (transaction_id, created_at)");
+
+        Object oldest = entityManager.createNativeQuery(
+            "SELECT MIN(created_at) FROM transactions WHERE created_at > '1970-01-01 00:00:00'").getSingleResult();
+        YearMonth firstMonth = oldest != null
+            ? YearMonth.from(toLocalDateTime(oldest)) : currentMonth;
+
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = firstMonth; !month.isAfter(currentMonth.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+        partitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        execute("ALTER TABLE transactions PARTITION BY RANGE COLUMNS(created_at) (" + String.join(", ", partitions) + ")");
+
+        logger.info("Transactions table partitioned from {} with {} monthly partitions", firstMonth, partitions.size() - 1);
+    }
+
+    /**
+     * Split months up to months-ahead after currentMonth out of p_future so inserts never land in it
+     * @return number of partitions added
+     */
+    @Transactional
+    public int ensureFuturePartitions(YearMonth currentMonth) {
+        List<String> partitionNames = getPartitionNames();
+        if (partitionNames.isEmpty()) {
+            return 0;
+        }
+
+        Optional<YearMonth> lastMonth = partitionNames.stream()
+            .map(TransactionPartitionService::partitionMonth)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .max(YearMonth::compareTo);
+        YearMonth lastNeeded = currentMonth.plusMonths(monthsAhead);
+
+        List<String> partitions = new ArrayList<>();
+        for (YearMonth month = lastMonth.map(m -> m.plusMonths(1)).orElse(currentMonth);
+             !month.isAfter(lastNeeded); month = month.plusMonths(1)) {
+            partitions.add(partitionDefinition(month));
+        }
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+
+        partitions.add("PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        execute("ALTER TABLE transactions REORGANIZE PARTITION " + FUTURE_PARTITION +
+                " INTO (" + String.join(", ", partitions) + ")");
+        logger.info("Added {} transaction partitions through {}", partitions.size() - 1, lastNeeded);
+        return partitions.size() - 1;
+    }
+
+    // ===================== Archival =====================
+
+    /**
+     * Copy one monthly partition to the archive and drop it from the transactions table
+     * The copy skips rows already archived, so a run interrupted before the drop can be repeated. The partition
+     * is only dropped once every one of its rows is in the archive; any other row that fails to copy, e.g. on a
+     * duplicate transaction_id, fails the statement instead of being skipped.
+     * @return number of rows moved out of the transactions table
+     */
+    @Transactional
+    public int archivePartition(String partitionName) {
+        if (!partitionMonth(partitionName).isPresent()) {
+            throw new IllegalArgumentException("Not a monthly transaction partition: " + partitionName);
+        }
+
+        String partition = "transactions PARTITION (" + partitionName + ")";
+        int copied = nativeStatement(
+            "INSERT INTO transactions_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+            "SELECT " + ARCHIVE_COLUMNS + ", CURRENT_TIMESTAMP FROM " + partition + " t " +
+            "WHERE NOT EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = t.id)")
+            .executeUpdate();
+
+        long partitionRows = count("SELECT COUNT(*) FROM " + partition);
+        long archivedRows = count("SELECT COUNT(*) FROM " + partition + " t " +
+                                  "WHERE EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = t.id)");
+        if (archivedRows != partitionRows) {
+            throw new IllegalStateException("Partition " + partitionName + " has " + partitionRows + " rows but only " +
+                                            archivedRows + " are archived; not dropping it");
+        }
+        execute("ALTER TABLE transactions DROP PARTITION " + partitionName);
+
+        logger.info("Archived transaction partition {} ({} rows, {} copied by this run)", partitionName, partitionRows, copied);
+        return (int) partitionRows;
+    }
+
+    /**
+     * Archive the oldest batchSize transactions created before cutoff, for unpartitioned tables
+     * @return number of rows removed from the transactions table; 0 when nothing is left to archive
+     */
+    @Transactional
+    public int archiveChunk(LocalDateTime cutoff, int batchSize) {
+        List<Long> ids = transactionRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Skips rows already archived by an interrupted run
+        nativeStatement(
+            "INSERT INTO transactions_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+            "SELECT " + ARCHIVE_COLUMNS + ", CURRENT_TIMESTAMP FROM transactions t WHERE t.id IN (:ids) " +
+            "AND NOT EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = t.id)")
+            .setParameter("ids", ids)
+            .executeUpdate();
+        return transactionRepository.deleteByIds(ids);
+    }
+
+    /**
+     * Get the monthly partitions holding only transactions created before firstHotMonth
+     */
+    public static List<String> partitionsBefore(List<String> partitionNames, YearMonth firstHotMonth) {
+        return partitionNames.stream()
+            .filter(name -> partitionMonth(name).map(month -> month.isBefore(firstHotMonth)).orElse(false))
+            .collect(Collectors.toList());
+    }
+
+    static String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    static Optional<YearMonth> partitionMonth(String partitionName) {
+        try {
+            return Optional.of(YearMonth.parse(partitionName, PARTITION_NAME));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static String partitionDefinition(YearMonth month) {
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')";
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private long count(String sql) {
+        return ((Number) entityManager.createNativeQuery(sql).getSingleResult()).longValue();
+    }
+
+    private void execute(String sql) {
+        nativeStatement(sql).executeUpdate();
+    }
+
+    /**
+     * Native statement declared to touch only the transaction tables; without the query spaces Hibernate
+     * would evict every second-level cache region (users, account numbers) after each statement
+     */
+    private Query nativeStatement(String sql) {
+        return entityManager.createNativeQuery(sql)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Transaction.class)
+            .addSynchronizedEntityClass(ArchivedTransaction.class);
+    }
+}
@@ -0,0 +1,277 @@
+package com.bankingapp.service;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.dto.AccountRollupSummaryDTO;
+import com.bankingapp.entity.DailyAccountRollup;
+import com.bankingapp.entity.RollupBackfill;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.DailyAccountRollupRepository;
+import com.bankingapp.repository.RollupBackfillRepository;
+import com.bankingapp.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service class for the daily per-account transaction rollup
+ * Keeps one counter row per account and day so statistics are summed over days, not transactions
+ */
+@Service
+@Transactional
+public class TransactionRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionRollupService.class);
+
+    @Autowired
+    private DailyAccountRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private RollupBackfillRepository backfillRepository;
+
+    // Set once a completed backfill is seen; a backfill is never undone
+    private volatile boolean historyComplete;
+
+    // ===================== Incremental Maintenance =====================
+
+    /**
+     * Record a transaction in the rollup of every account it touches.
+     * Must be called exactly once per transaction, after it reaches its final status,
+     * inside the same database transaction that persisted it.
+     */
+    public void recordTransaction(Transaction transaction) {
+        LocalDate rollupDate = transaction.getCreatedAt() != null
+            ? transaction.getCreatedAt().toLocalDate() : LocalDate.now();
+
+        LocalDateTime transactionAt = transaction.getCreatedAt() != null
+            ? transaction.getCreatedAt() : LocalDateTime.now();
+
+        if (transaction.getFromAccount() != null) {
+            RollupDelta delta = new RollupDelta();
+            delta.addOutgoing(transaction.getTransactionType(), transaction.getStatus(), 1L, transaction.getAmount());
+            delta.addRange(transaction.getStatus(), transaction.getAmount(), transaction.getAmount(), transactionAt, transactionAt);
+            applyDelta(transaction.getFromAccount().getId(), rollupDate, delta);
+        }
+
+        if (transaction.getToAccount() != null) {
+            RollupDelta delta = new RollupDelta();
+            delta.addIncoming(transaction.getTransactionType(), transaction.getStatus(), 1L, transaction.getAmount());
+            delta.addRange(transaction.getStatus(), transaction.getAmount(), transaction.getAmount(), transactionAt, transactionAt);
+            applyDelta(transaction.getToAccount().getId(), rollupDate, delta);
+        }
+    }
+
+    private void applyDelta(Long accountId, LocalDate rollupDate, RollupDelta delta) {
+        // Fast path: the row for today already exists for any account that transacted earlier today
+        if (incrementRollup(accountId, rollupDate, delta) > 0) {
+            return;
+        }
+
+        rollupRepository.insertEmptyRollupIfAbsent(accountId, rollupDate);
+        if (incrementRollup(accountId, rollupDate, delta) == 0) {
+            throw new IllegalStateException("Failed to update rollup for account " + accountId + " on " + rollupDate);
+        }
+    }
+
+    private int incrementRollup(Long accountId, LocalDate rollupDate, RollupDelta delta) {
+        return rollupRepository.incrementRollup(accountId, rollupDate,
+            delta.completedCount, delta.pendingCount, delta.failedCount,
+            delta.inflowCount, delta.outflowCount,
+            delta.depositCount, delta.depositAmount,
+            delta.withdrawalCount, delta.withdrawalAmount,
+            delta.transferInCount, delta.transferInAmount,
+            delta.transferOutCount, delta.transferOutAmount,
+            delta.minAmount, delta.maxAmount, delta.firstTransactionAt, delta.lastTransactionAt);
+    }
+
+    // ===================== Rollup Queries =====================
+
+    /**
+     * Sum rollup rows for account between two days (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public AccountRollupSummaryDTO getRollupSummary(Long accountId, LocalDate startDate, LocalDate endDate) {
+        logger.debug("Summing rollup for account: {} from {} to {}", accountId, startDate, endDate);
+        return rollupRepository.summarizeByAccount(accountId, startDate, endDate);
+    }
+
+    // ===================== Backfill =====================
+
+    /**
+     * Whether rollup rows cover all history, i.e. a backfill has completed. Before that, days before the
+     * incremental path went live have no rows and rollup sums would read them as zero.
+     */
+    @Transactional(readOnly = true)
+    public boolean isHistoryComplete() {
+        if (!historyComplete) {
+            historyComplete = backfillRepository.findFirstByOrderByCutoffDateDesc().isPresent();
+        }
+        return historyComplete;
+    }
+
+    /**
+     * Record that every account's rollups before cutoffDate were rebuilt
+     */
+    public void recordBackfillCompleted(LocalDate cutoffDate, long accountCount) {
+        backfillRepository.save(new RollupBackfill(cutoffDate, accountCount));
+        historyComplete = true;
+    }
+
+    /**
+     * Rebuild rollup rows for account from its transaction history for all days before cutoff.
+     * Days on or after the cutoff are owned by the incremental path and are left untouched.
+     * Callers must evict the account's cached cash flow afterwards (CashFlowService.evictAccount).
+     * @return number of rollup rows written
+     */
+    @WorkloadPool(Workload.REPORTING)
+    public int rebuildAccountRollups(Long accountId, LocalDate cutoffDate) {
+        LocalDateTime beforeDate = cutoffDate.atStartOfDay();
+        Map<LocalDate, RollupDelta> deltas = new TreeMap<>();
+
+        for (Object[] row : transactionRepository.getDailyOutgoingRollupForAccount(accountId, beforeDate)) {
+            RollupDelta delta = deltas.computeIfAbsent(toLocalDate(row[0]), d -> new RollupDelta());
+            delta.addOutgoing((Transaction.TransactionType) row[1], (Transaction.TransactionStatus) row[2],
+                              ((Number) row[3]).longValue(), (BigDecimal) row[4]);
+            delta.addRange((Transaction.TransactionStatus) row[2], (BigDecimal) row[5], (BigDecimal) row[6],
+                           (LocalDateTime) row[7], (LocalDateTime) row[8]);
+        }
+
+        for (Object[] row : transactionRepository.getDailyIncomingRollupForAccount(accountId, beforeDate)) {
+            RollupDelta delta = deltas.computeIfAbsent(toLocalDate(row[0]), d -> new RollupDelta());
+            delta.addIncoming((Transaction.TransactionType) row[1], (Transaction.TransactionStatus) row[2],
+                              ((Number) row[3]).longValue(), (BigDecimal) row[4]);
+            delta.addRange((Transaction.TransactionStatus) row[2], (BigDecimal) row[5], (BigDecimal) row[6],
+                           (LocalDateTime) row[7], (LocalDateTime) row[8]);
+        }
+
+        rollupRepository.deleteByAccountIdBefore(accountId, cutoffDate);
+
+        for (Map.Entry<LocalDate, RollupDelta> entry : deltas.entrySet()) {
+            rollupRepository.save(entry.getValue().toRollup(accountId, entry.getKey()));
+        }
+
+        logger.debug("Rebuilt {} rollup rows for account: {}", deltas.size(), accountId);
+        return deltas.size();
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        return LocalDate.parse(value.toString().substring(0, 10));
+    }
+
+    /**
+     * Counter changes for one account and day
+     */
+    private static class RollupDelta {
+        private long completedCount;
+        private long pendingCount;
+        private long failedCount;
+        private long inflowCount;
+        private long outflowCount;
+        private long depositCount;
+        private BigDecimal depositAmount = BigDecimal.ZERO;
+        private long withdrawalCount;
+        private BigDecimal withdrawalAmount = BigDecimal.ZERO;
+        private long transferInCount;
+        private BigDecimal transferInAmount = BigDecimal.ZERO;
+        private long transferOutCount;
+        private BigDecimal transferOutAmount = BigDecimal.ZERO;
+        private BigDecimal minAmount;
+        private BigDecimal maxAmount;
+        private LocalDateTime firstTransactionAt;
+        private LocalDateTime lastTransactionAt;
+
+        void addOutgoing(Transaction.TransactionType type, Transaction.TransactionStatus status,
+                         long count, BigDecimal amount) {
+            outflowCount += count;
+            addStatus(status, count);
+            if (status != Transaction.TransactionStatus.COMPLETED) {
+                return;
+            }
+            if (type == Transaction.TransactionType.WITHDRAWAL) {
+                withdrawalCount += count;
+                withdrawalAmount = withdrawalAmount.add(amount);
+            } else if (type == Transaction.TransactionType.TRANSFER) {
+                transferOutCount += count;
+                transferOutAmount = transferOutAmount.add(amount);
+            }
+        }
+
+        void addIncoming(Transaction.TransactionType type, Transaction.TransactionStatus status,
+                         long count, BigDecimal amount) {
+            inflowCount += count;
+            addStatus(status, count);
+            if (status != Transaction.TransactionStatus.COMPLETED) {
+                return;
+            }
+            if (type == Transaction.TransactionType.DEPOSIT) {
+                depositCount += count;
+                depositAmount = depositAmount.add(amount);
+            } else if (type == Transaction.TransactionType.TRANSFER) {
+                transferInCount += count;
+                transferInAmount = transferInAmount.add(amount);
+            }
+        }
+
+        /**
+         * Widen the activity window, and the amount range for completed transactions
+         */
+        void addRange(Transaction.TransactionStatus status, BigDecimal min, BigDecimal max,
+                      LocalDateTime first, LocalDateTime last) {
+            if (status == Transaction.TransactionStatus.COMPLETED) {
+                minAmount = minAmount == null || min.compareTo(minAmount) < 0 ? min : minAmount;
+                maxAmount = maxAmount == null || max.compareTo(maxAmount) > 0 ? max : maxAmount;
+            }
+            firstTransactionAt = firstTransactionAt == null || first.isBefore(firstTransactionAt) ? first : firstTransactionAt;
+            lastTransactionAt = lastTransactionAt == null || last.isAfter(lastTransactionAt) ? last : lastTransactionAt;
+        }
+
+        private void addStatus(Transaction.TransactionStatus status, long count) {
+            if (status == Transaction.TransactionStatus.COMPLETED) {
+                completedCount += count;
+            } else if (status == Transaction.TransactionStatus.FAILED) {
+                failedCount += count;
+            } else {
+                pendingCount += count;
+            }
+        }
+
+        DailyAccountRollup toRollup(Long accountId, LocalDate rollupDate) {
+            DailyAccountRollup rollup = new DailyAccountRollup(accountId, rollupDate);
+            rollup.setCompletedCount(completedCount);
+            rollup.setPendingCount(pendingCount);
+            rollup.setFailedCount(failedCount);
+            rollup.setInflowCount(inflowCount);
+            rollup.setOutflowCount(outflowCount);
+            rollup.setDepositCount(depositCount);
+            rollup.setDepositAmount(depositAmount);
+            rollup.setWithdrawalCount(withdrawalCount);
+            rollup.setWithdrawalAmount(withdrawalAmount);
+            rollup.setTransferInCount(transferInCount);
+            rollup.setTransferInAmount(transferInAmount);
+            rollup.setTransferOutCount(transferOutCount);
+            rollup.setTransferOutAmount(transferOutAmount);
+            rollup.setMinAmount(minAmount);
+            rollup.setMaxAmount(maxAmount);
+            rollup.setFirstTransactionAt(firstTransactionAt);
+            rollup.setLastTransactionAt(lastTransactionAt);
+            return rollup;
+        }
+    }
+}
@@ -1,13 +1,25 @@
 package com.bankingapp.service;
 
+import com.bankingapp.archive.TransactionArchiveStore;
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
 import com.bankingapp.dto.*;
 import com.bankingapp.entity.Account;
 import com.bankingapp.entity.Transaction;
 import com.bankingapp.exception.AccountNotFoundException;
 import com.bankingapp.exception.InsufficientFundsException;
 import com.bankingapp.exception.TransactionNotFoundException;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
 import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.ArchivedTransactionRepository;
 import com.bankingapp.repository.TransactionRepository;
+import com.bankingapp.repository.projection.TransactionStatisticsProjection;
+import com.bankingapp.search.DescriptionTokenizer;
+import com.bankingapp.search.TransactionDescriptionIndex;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import com.bankingapp.util.PeriodUtil;
+import com.bankingapp.velocity.TransactionVelocityMonitor;
+import com.bankingapp.velocity.VelocityCheck;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,11 +31,19 @@ import org.springframework.data.domain.Sort;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -41,6 +61,12 @@ public class TransactionService {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Autowired
+    private TransactionArchiveStore transactionArchiveStore;
+
     @Autowired
     private AccountRepository accountRepository;
 
@@ -53,21 +79,46 @@ public class TransactionService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private TransactionRollupService transactionRollupService;
+
+    @Autowired
+    private TransactionDescriptionIndex transactionDescriptionIndex;
+
+    @Autowired
+    private TransactionVelocityMonitor velocityMonitor;
+
+    @Autowired
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
+    @Autowired
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @Autowired
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @Autowired
+    private CashFlowService cashFlowService;
+
     @Value("${app.kafka.topics.transaction}")
     private String transactionTopic;
 
     @Value("${app.transaction.timeout.minutes:30}")
     private int transactionTimeoutMinutes;
 
+    @Value("${app.statistics.use-rollup:true}")
+    private boolean useRollupStatistics;
+
     // ===================== Core Transaction Operations =====================
 
     /**
      * Process deposit transaction
      */
+    @WorkloadPool(Workload.MONEY_MOVEMENT)
     public TransactionDTO deposit(TransactionRequest request) {
         logger.info("Processing deposit for account: {}, amount: {}", request.getAccountId(), request.getAmount());
 
-        Account account = getAccountById(request.getAccountId());
+        Account account = lockAccount(request.getAccountId());
         validateAccountForDeposit(account);
 
         Transaction transaction = createTransaction(
@@ -77,12 +128,17 @@ public class TransactionService {
 
         try {
             // Update account balance
-            account.setBalance(account.getBalance().add(request.getAmount()));
+            BigDecimal previousBalance = account.getBalance();
+            account.setBalance(previousBalance.add(request.getAmount()));
+            account.setLastActivityAt(LocalDateTime.now());
             accountRepository.save(account);
+            balanceLeaderboard.updateAccount(account);
+            accountTypeStatistics.recordBalanceChange(account.getAccountType(), previousBalance, account.getBalance());
 
             // Mark transaction as completed
             transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            transaction.setToBalanceAfter(account.getBalance());
+            Transaction savedTransaction = saveFinalTransaction(transaction);
 
             // Send notifications and events
             sendTransactionEvent(savedTransaction, "DEPOSIT_COMPLETED");
@@ -105,11 +161,13 @@ public class TransactionService {
     /**
      * Process withdrawal transaction
      */
+    @WorkloadPool(Workload.MONEY_MOVEMENT)
     public TransactionDTO withdraw(TransactionRequest request) {
         logger.info("Processing withdrawal for account: {}, amount: {}", request.getAccountId(), request.getAmount());
 
-        Account account = getAccountById(request.getAccountId());
+        Account account = lockAccount(request.getAccountId());
         validateAccountForWithdrawal(account, request.getAmount());
+        VelocityCheck velocityCheck = velocityMonitor.checkAndRecord(account.getId(), request.getAmount());
 
         Transaction transaction = createTransaction(
             account, null, Transaction.TransactionType.WITHDRAWAL, 
@@ -118,15 +176,23 @@ public class TransactionService {
 
         try {
             // Update account balance
-            account.setBalance(account.getBalance().subtract(request.getAmount()));
+            BigDecimal previousBalance = account.getBalance();
+            account.setBalance(previousBalance.subtract(request.getAmount()));
+            account.setLastActivityAt(LocalDateTime.now());
             accountRepository.save(account);
+            balanceLeaderboard.updateAccount(account);
+            accountTypeStatistics.recordBalanceChange(account.getAccountType(), previousBalance, account.getBalance());
 
             // Mark transaction as completed
             transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            transaction.setFromBalanceAfter(account.getBalance());
+            Transaction savedTransaction = saveFinalTransaction(transaction);
 
             // Send notifications and events
             sendTransactionEvent(savedTransaction, "WITHDRAWAL_COMPLETED");
+            if (velocityCheck.isFlagged()) {
+                sendTransactionEvent(savedTransaction, "VELOCITY_FLAGGED");
+            }
             if (request.getSendNotification()) {
                 notificationService.sendWithdrawalNotification(account.getUser(), savedTransaction);
             }
@@ -146,6 +212,7 @@ public class TransactionService {
     /**
      * Process transfer transaction
      */
+    @WorkloadPool(Workload.MONEY_MOVEMENT)
     public TransactionDTO transfer(TransferRequest request) {
         logger.info("Processing transfer from account: {} to account: {}, amount: {}", 
                    request.getFromAccountId(), request.getToAccountId(), request.getAmount());
@@ -153,11 +220,20 @@ public class TransactionService {
         // Validate transfer request
         validateTransferRequest(request);
 
-        Account fromAccount = getAccountById(request.getFromAccountId());
-        Account toAccount = getAccountById(request.getToAccountId());
+        // Lock both rows in ID order so opposite transfers between the same accounts cannot deadlock
+        Account fromAccount;
+        Account toAccount;
+        if (request.getFromAccountId() < request.getToAccountId()) {
+            fromAccount = lockAccount(request.getFromAccountId());
+            toAccount = lockAccount(request.getToAccountId());
+        } else {
+            toAccount = lockAccount(request.getToAccountId());
+            fromAccount = lockAccount(request.getFromAccountId());
+        }
         
         validateAccountForWithdrawal(fromAccount, request.getAmount());
         validateAccountForDeposit(toAccount);
+        VelocityCheck velocityCheck = velocityMonitor.checkAndRecord(fromAccount.getId(), request.getAmount());
 
         Transaction transaction = createTransaction(
             fromAccount, toAccount, Transaction.TransactionType.TRANSFER, 
@@ -166,18 +242,34 @@ public class TransactionService {
 
         try {
             // Update account balances atomically
-            fromAccount.setBalance(fromAccount.getBalance().subtract(request.getAmount()));
-            toAccount.setBalance(toAccount.getBalance().add(request.getAmount()));
+            BigDecimal previousFromBalance = fromAccount.getBalance();
+            BigDecimal previousToBalance = toAccount.getBalance();
+            fromAccount.setBalance(previousFromBalance.subtract(request.getAmount()));
+            toAccount.setBalance(previousToBalance.add(request.getAmount()));
+            LocalDateTime activityAt = LocalDateTime.now();
+            fromAccount.setLastActivityAt(activityAt);
+            toAccount.setLastActivityAt(activityAt);
             
             accountRepository.save(fromAccount);
             accountRepository.save(toAccount);
+            balanceLeaderboard.updateAccount(fromAccount);
+            balanceLeaderboard.updateAccount(toAccount);
+            accountTypeStatistics.recordBalanceChange(fromAccount.getAccountType(), previousFromBalance,
+                                                      fromAccount.getBalance());
+            accountTypeStatistics.recordBalanceChange(toAccount.getAccountType(), previousToBalance,
+                                                      toAccount.getBalance());
 
             // Mark transaction as completed
             transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
-            Transaction savedTransaction = transactionRepository.save(transaction);
+            transaction.setFromBalanceAfter(fromAccount.getBalance());
+            transaction.setToBalanceAfter(toAccount.getBalance());
+            Transaction savedTransaction = saveFinalTransaction(transaction);
 
             // Send notifications and events
             sendTransactionEvent(savedTransaction, "TRANSFER_COMPLETED");
+            if (velocityCheck.isFlagged()) {
+                sendTransactionEvent(savedTransaction, "VELOCITY_FLAGGED");
+            }
             if (request.getSendNotification()) {
                 notificationService.sendTransferNotification(fromAccount.getUser(), toAccount.getUser(), savedTransaction);
             }
@@ -198,31 +290,42 @@ public class TransactionService {
 
     /**
      * Get transaction by ID
+     * Falls back to the archive for transactions moved out of the hot table
      */
+    @Transactional(readOnly = true)
     public TransactionDTO getTransactionById(Long transactionId) {
         logger.debug("Fetching transaction by ID: {}", transactionId);
         
-        Transaction transaction = transactionRepository.findById(transactionId)
+        Optional<Transaction> transaction = transactionRepository.findById(transactionId);
+        if (transaction.isPresent()) {
+            return convertToDTO(transaction.get());
+        }
+        return archivedTransactionRepository.findById(transactionId)
+            .map(TransactionDTO::fromArchived)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: " + transactionId));
-        
-        return convertToDTO(transaction);
     }
 
     /**
      * Get transaction by transaction ID
+     * Falls back to the archive for transactions moved out of the hot table
      */
+    @Transactional(readOnly = true)
     public TransactionDTO getTransactionByTransactionId(String transactionId) {
         logger.debug("Fetching transaction by transaction ID: {}", transactionId);
         
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+        Optional<Transaction> transaction = transactionRepository.findByTransactionId(transactionId);
+        if (transaction.isPresent()) {
+            return convertToDTO(transaction.get());
+        }
+        return archivedTransactionRepository.findByTransactionId(transactionId)
+            .map(TransactionDTO::fromArchived)
             .orElseThrow(() -> new TransactionNotFoundException("Transaction not found with ID: " + transactionId));
-        
-        return convertToDTO(transaction);
     }
 
     /**
      * Get transaction history for account
      */
+    @Transactional(readOnly = true)
     public Page<TransactionDTO> getTransactionHistory(Long accountId, int page, int size, String sortBy, String sortDirection) {
         logger.debug("Fetching transaction history for account: {}", accountId);
         
@@ -237,6 +340,7 @@ public class TransactionService {
     /**
      * Get filtered transaction history
      */
+    @Transactional(readOnly = true)
     public Page<TransactionDTO> getFilteredTransactionHistory(TransactionFilterDTO filter) {
         logger.debug("Fetching filtered transaction history: {}", filter);
         
@@ -252,16 +356,37 @@ public class TransactionService {
     /**
      * Search transactions with advanced criteria
      */
+    @Transactional(readOnly = true)
     public Page<TransactionDTO> searchTransactions(TransactionFilterDTO filter) {
         logger.debug("Searching transactions with criteria: {}", filter);
         
         Sort sort = Sort.by(Sort.Direction.fromString(filter.getSortDirection()), filter.getSortBy());
         Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(), sort);
         
+        // Every word of the description filter must start a word of the description, whichever path answers
+        List<String> descriptionWords = DescriptionTokenizer.tokenize(filter.getDescription());
+
+        // Resolve description filter through the index when it can narrow the account to a few candidates
+        if (filter.getAccountId() != null && !descriptionWords.isEmpty()) {
+            Optional<long[]> candidateIds = transactionDescriptionIndex.findCandidateIds(
+                filter.getAccountId(), filter.getDescription());
+            if (candidateIds.isPresent()) {
+                if (candidateIds.get().length == 0) {
+                    return Page.empty(pageable);
+                }
+                List<Long> ids = Arrays.stream(candidateIds.get()).boxed().collect(Collectors.toList());
+                return transactionRepository.searchTransactionsByIds(
+                    ids, filter.getTransactionType(), filter.getStatus(),
+                    filter.getMinAmount(), filter.getMaxAmount(), filter.getStartDate(),
+                    filter.getEndDate(), pageable
+                ).map(this::convertToDTO);
+            }
+        }
+
         Page<Transaction> transactions = transactionRepository.searchTransactions(
             filter.getAccountId(), filter.getTransactionType(), filter.getStatus(),
             filter.getMinAmount(), filter.getMaxAmount(), filter.getStartDate(),
-            filter.getEndDate(), filter.getDescription(), pageable
+            filter.getEndDate(), DescriptionTokenizer.descriptionPattern(filter.getDescription()), pageable
         );
         
         return transactions.map(this::convertToDTO);
@@ -270,6 +395,7 @@ public class TransactionService {
     /**
      * Get recent transactions for account
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getRecentTransactions(Long accountId, int days) {
         logger.debug("Fetching recent transactions for account: {} (last {} days)", accountId, days);
         
@@ -284,21 +410,92 @@ public class TransactionService {
     /**
      * Get latest transactions for account
      */
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getLatestTransactions(Long accountId, int limit) {
         logger.debug("Fetching latest {} transactions for account: {}", limit, accountId);
         
-        List<Transaction> transactions = transactionRepository.findLatestTransactionsByAccount(accountId, limit);
+        List<Transaction> transactions = transactionRepository.findLatestByAccountId(accountId, PageRequest.of(0, limit));
         
         return transactions.stream()
             .map(this::convertToDTO)
             .collect(Collectors.toList());
     }
 
+    // ===================== Transaction Summaries =====================
+
+    /**
+     * Get transaction summaries for account
+     * Reads straight into TransactionSummaryDTO, without loading entities or their accounts
+     */
+    @Transactional(readOnly = true)
+    public Page<TransactionSummaryDTO> getTransactionSummaries(Long accountId, int page, int size,
+                                                               String sortBy, String sortDirection) {
+        logger.debug("Fetching transaction summaries for account: {}", accountId);
+
+        Sort sort = Sort.by(Sort.Direction.fromString(sortDirection), sortBy);
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return transactionRepository.getTransactionSummariesByAccount(accountId, pageable)
+            .map(summary -> summary.withPerspective(accountId));
+    }
+
+    /**
+     * Get filtered transaction summaries
+     */
+    @Transactional(readOnly = true)
+    public Page<TransactionSummaryDTO> getFilteredTransactionSummaries(TransactionFilterDTO filter) {
+        logger.debug("Fetching filtered transaction summaries: {}", filter);
+
+        Sort sort = Sort.by(Sort.Direction.fromString(filter.getSortDirection()), filter.getSortBy());
+        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(), sort);
+
+        return transactionRepository.getFilteredTransactionSummaries(
+            filter.getAccountId(), filter.getTransactionType(), filter.getStatus(),
+            filter.getStartDate(), filter.getEndDate(), pageable
+        ).map(summary -> summary.withPerspective(filter.getAccountId()));
+    }
+
+    /**
+     * Get recent transaction summaries for account
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionSummaryDTO> getRecentTransactionSummaries(Long accountId, int days) {
+        logger.debug("Fetching recent transaction summaries for account: {} (last {} days)", accountId, days);
+
+        LocalDateTime sinceDate = LocalDateTime.now().minusDays(days);
+        return transactionRepository.getRecentTransactionSummaries(accountId, sinceDate).stream()
+            .map(summary -> summary.withPerspective(accountId))
+            .collect(Collectors.toList());
+    }
+
+    // ===================== Archived Transactions =====================
+
+    /**
+     * Get archived transactions of account created in [startDate, endDate), oldest first
+     * Read from the columnar archive files; months not yet exported are read from transactions_archive
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TransactionDTO> getArchivedTransactions(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Reading archived transactions for account: {} from {} to {}", accountId, startDate, endDate);
+        return transactionArchiveStore.getHistory(accountId, startDate, endDate);
+    }
+
+    /**
+     * Get counts and completed credit/debit sums of archived transactions of account created in [startDate, endDate)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ArchivedTransactionSummaryDTO getArchivedTransactionSummary(Long accountId, LocalDateTime startDate,
+                                                                      LocalDateTime endDate) {
+        logger.debug("Summarizing archived transactions for account: {} from {} to {}", accountId, startDate, endDate);
+        return transactionArchiveStore.summarize(accountId, startDate, endDate);
+    }
+
     // ===================== Transaction Statistics =====================
 
     /**
      * Get transaction count for account
      */
+    @Transactional(readOnly = true)
     public Long getTransactionCount(Long accountId) {
         logger.debug("Getting transaction count for account: {}", accountId);
         return transactionRepository.countByAccountId(accountId);
@@ -307,35 +504,219 @@ public class TransactionService {
     /**
      * Get monthly spending for account
      */
+    @Transactional(readOnly = true)
     public BigDecimal getMonthlySpending(Long accountId, LocalDateTime monthStart) {
         logger.debug("Getting monthly spending for account: {}", accountId);
-        return transactionRepository.getMonthlySpending(accountId, monthStart);
+        return transactionRepository.getMonthlySpending(accountId, monthStart, monthStart.plusMonths(1));
     }
 
     /**
      * Get monthly income for account
      */
+    @Transactional(readOnly = true)
     public BigDecimal getMonthlyIncome(Long accountId, LocalDateTime monthStart) {
         logger.debug("Getting monthly income for account: {}", accountId);
-        return transactionRepository.getMonthlyIncome(accountId, monthStart);
+        return transactionRepository.getMonthlyIncome(accountId, monthStart, monthStart.plusMonths(1));
     }
 
     /**
      * Get transaction statistics for account
+     * Sums daily rollup rows for the period, or runs one single-pass aggregate over the
+     * period's transactions when rollups are disabled (app.statistics.use-rollup=false) or
+     * no rollup backfill has completed yet. Both fill the same fields.
      */
+    @Transactional(readOnly = true)
+    @WorkloadPool(Workload.REPORTING)
     public TransactionStatisticsDTO getTransactionStatistics(Long accountId, String period) {
         logger.debug("Getting transaction statistics for account: {} (period: {})", accountId, period);
         
-        LocalDateTime startDate = calculatePeriodStartDate(period);
-        
-        // Get basic statistics
-        Long totalCount = transactionRepository.countByAccountId(accountId);
-        Long completedCount = transactionRepository.countCompletedTransactionsByAccount(accountId);
-        Long pendingCount = transactionRepository.countPendingTransactionsByAccount(accountId);
-        Long failedCount = transactionRepository.countFailedTransactionsByAccount(accountId);
-        
-        // Get sum statistics
-        BigDecimal totalDeposits = transactionRepository.sumDepositsByAccount(accountId);
-        BigDecimal totalWithdrawals = transactionRepository.sumWithdrawalsByAccount(accountId);
-        BigDecimal totalTransfersOut = transactionRepository.sumTransfersOutByAccount(accountId);
-        BigDecimal total
\ No newline at end of file
+        LocalDateTime startDate = PeriodUtil.periodStart(period, LocalDate.now());
+        LocalDateTime endDate = LocalDateTime.now();
+
+        TransactionStatisticsDTO statistics = new TransactionStatisticsDTO(accountId, period);
+        statistics.setPeriodStart(startDate);
+        statistics.setPeriodEnd(endDate);
+
+        if (useRollupStatistics && transactionRollupService.isHistoryComplete()) {
+            applyRollupStatistics(statistics, transactionRollupService.getRollupSummary(
+                accountId, startDate.toLocalDate(), endDate.toLocalDate()));
+        } else {
+            applyAggregateStatistics(statistics, transactionRepository.getAggregateStatisticsForAccount(
+                accountId, startDate, endDate));
+        }
+
+        // Breakdown by type
+        Map<String, Integer> transactionsByType = new LinkedHashMap<>();
+        transactionsByType.put(Transaction.TransactionType.DEPOSIT.name(), statistics.getDepositsCount());
+        transactionsByType.put(Transaction.TransactionType.WITHDRAWAL.name(), statistics.getWithdrawalsCount());
+        transactionsByType.put(Transaction.TransactionType.TRANSFER.name(), statistics.getTransfersCount());
+        statistics.setTransactionsByType(transactionsByType);
+
+        Map<String, BigDecimal> amountsByType = new LinkedHashMap<>();
+        amountsByType.put(Transaction.TransactionType.DEPOSIT.name(), statistics.getTotalDeposits());
+        amountsByType.put(Transaction.TransactionType.WITHDRAWAL.name(), statistics.getTotalWithdrawals());
+        amountsByType.put(Transaction.TransactionType.TRANSFER.name(), statistics.getTotalTransfers());
+        statistics.setAmountsByType(amountsByType);
+
+        transactionsByType.entrySet().stream()
+            .filter(entry -> entry.getValue() > 0)
+            .max(Map.Entry.comparingByValue())
+            .ifPresent(entry -> statistics.setMostFrequentTransactionType(entry.getKey()));
+
+        long days = Math.max(1, ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate()) + 1);
+        statistics.setTransactionFrequency((double) statistics.getTotalTransactions() / days);
+
+        return statistics;
+    }
+
+    private void applyRollupStatistics(TransactionStatisticsDTO statistics, AccountRollupSummaryDTO summary) {
+        // Count statistics
+        statistics.setTotalTransactions((int) summary.getTotalCount());
+        statistics.setCompletedCount(summary.getCompletedCount().intValue());
+        statistics.setPendingCount(summary.getPendingCount().intValue());
+        statistics.setFailedCount(summary.getFailedCount().intValue());
+        statistics.setDepositsCount(summary.getDepositCount().intValue());
+        statistics.setWithdrawalsCount(summary.getWithdrawalCount().intValue());
+        statistics.setTransfersCount((int) (summary.getTransferInCount() + summary.getTransferOutCount()));
+
+        // Sum statistics
+        applyAmountStatistics(statistics, summary.getDepositAmount(), summary.getWithdrawalAmount(),
+                              summary.getTransferInAmount().add(summary.getTransferOutAmount()));
+
+        long completedTypedCount = summary.getDepositCount() + summary.getWithdrawalCount()
+            + summary.getTransferInCount() + summary.getTransferOutCount();
+        statistics.setAverageTransactionAmount(completedTypedCount > 0
+            ? statistics.getTotalAmount().divide(BigDecimal.valueOf(completedTypedCount), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO);
+
+        // Amount distribution and activity window
+        statistics.setLargestTransaction(summary.getMaxAmount());
+        statistics.setSmallestTransaction(summary.getMinAmount());
+        statistics.setFirstTransactionDate(summary.getFirstTransactionAt());
+        statistics.setLastTransactionDate(summary.getLastTransactionAt());
+    }
+
+    private void applyAggregateStatistics(TransactionStatisticsDTO statistics, TransactionStatisticsProjection aggregate) {
+        // Count statistics
+        statistics.setTotalTransactions(aggregate.getTotalCount().intValue());
+        statistics.setCompletedCount(aggregate.getCompletedCount().intValue());
+        statistics.setPendingCount(aggregate.getPendingCount().intValue());
+        statistics.setFailedCount(aggregate.getFailedCount().intValue());
+        statistics.setDepositsCount(aggregate.getDepositCount().intValue());
+        statistics.setWithdrawalsCount(aggregate.getWithdrawalCount().intValue());
+        statistics.setTransfersCount(aggregate.getTransferCount().intValue());
+
+        // Sum statistics
+        applyAmountStatistics(statistics, aggregate.getDepositAmount(), aggregate.getWithdrawalAmount(),
+                              aggregate.getTransferInAmount().add(aggregate.getTransferOutAmount()));
+
+        // Amount distribution and activity window
+        statistics.setLargestTransaction(aggregate.getMaxAmount());
+        statistics.setSmallestTransaction(aggregate.getMinAmount());
+        statistics.setAverageTransactionAmount(aggregate.getAverageAmount() != null
+            ? BigDecimal.valueOf(aggregate.getAverageAmount()).setScale(2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO);
+        statistics.setFirstTransactionDate(aggregate.getFirstTransactionDate());
+        statistics.setLastTransactionDate(aggregate.getLastTransactionDate());
+    }
+
+    private void applyAmountStatistics(TransactionStatisticsDTO statistics, BigDecimal deposits,
+                                       BigDecimal withdrawals, BigDecimal transfers) {
+        statistics.setTotalDeposits(deposits);
+        statistics.setTotalWithdrawals(withdrawals);
+        statistics.setTotalTransfers(transfers);
+        statistics.setTotalAmount(deposits.add(withdrawals).add(transfers));
+        statistics.setNetCashFlow(deposits.subtract(withdrawals));
+    }
+
+    /**
+     * Get cash flow analysis for account, with a per-month series
+     * Day-granular: whole days from startDate to endDate are included
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @WorkloadPool(Workload.REPORTING)
+    public CashFlowDTO getCashFlowAnalysis(Long accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        logger.debug("Getting cash flow analysis for account: {} from {} to {}", accountId, startDate, endDate);
+        return cashFlowService.getCashFlow(accountId, startDate, endDate);
+    }
+
+    // ===================== Helper Methods =====================
+
+    private Account getAccountById(Long accountId) {
+        return accountRepository.findById(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    /**
+     * Load account for a balance update. The row lock keeps the balance written back from overwriting
+     * concurrent changes, including interest posted with a relative update.
+     */
+    private Account lockAccount(Long accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+            .orElseThrow(() -> new AccountNotFoundException("Account not found with ID: " + accountId));
+    }
+
+    private void validateAccountForDeposit(Account account) {
+        if (!Boolean.TRUE.equals(account.getIsActive())) {
+            throw new IllegalStateException("Account is not active: " + account.getAccountNumber());
+        }
+    }
+
+    private void validateAccountForWithdrawal(Account account, BigDecimal amount) {
+        validateAccountForDeposit(account);
+        if (account.getBalance().compareTo(amount) < 0) {
+            throw new InsufficientFundsException("Insufficient funds in account");
+        }
+    }
+
+    private void validateTransferRequest(TransferRequest request) {
+        if (request.isSelfTransfer()) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+    }
+
+    private Transaction createTransaction(Account fromAccount, Account toAccount,
+                                          Transaction.TransactionType transactionType,
+                                          BigDecimal amount, String description) {
+        Transaction transaction = new Transaction(UUID.randomUUID().toString(), transactionType, amount);
+        transaction.setFromAccount(fromAccount);
+        transaction.setToAccount(toAccount);
+        transaction.setDescription(description);
+        transaction.setStatus(Transaction.TransactionStatus.PENDING);
+        return transaction;
+    }
+
+    /**
+     * Persist a transaction in its final status and update the read models derived from it
+     */
+    private Transaction saveFinalTransaction(Transaction transaction) {
+        Transaction savedTransaction = transactionRepository.save(transaction);
+        transactionRollupService.recordTransaction(savedTransaction);
+        accountBalanceHistoryService.recordTransaction(savedTransaction);
+        transactionDescriptionIndex.indexTransaction(savedTransaction);
+        return savedTransaction;
+    }
+
+    private void handleTransactionFailure(Transaction transaction, Exception e) {
+        logger.error("Transaction {} failed: {}", transaction.getTransactionId(), e.getMessage(), e);
+
+        transaction.setStatus(Transaction.TransactionStatus.FAILED);
+        transaction.setFromBalanceAfter(null);
+        transaction.setToBalanceAfter(null);
+        Transaction failedTransaction = saveFinalTransaction(transaction);
+
+        sendTransactionEvent(failedTransaction, failedTransaction.getTransactionType().name() + "_FAILED");
+    }
+
+    private void sendTransactionEvent(Transaction transaction, String eventType) {
+        try {
+            kafkaTemplate.send(transactionTopic, transaction.getTransactionId(), eventType);
+        } catch (Exception e) {
+            logger.warn("Failed to publish {} event for transaction: {}", eventType, transaction.getTransactionId(), e);
+        }
+    }
+
+    private TransactionDTO convertToDTO(Transaction transaction) {
+        return TransactionDTO.fromEntity(transaction);
+    }
+}
@@ -1,12 +1,19 @@
 package com.bankingapp.service;
 
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
 import com.bankingapp.entity.User;
 import com.bankingapp.exception.UserNotFoundException;
 import com.bankingapp.repository.UserRepository;
+import com.bankingapp.search.UserSearchIndex;
 import com.bankingapp.security.UserPrincipal;
+import com.bankingapp.statistics.UserStatisticsCounters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -14,9 +21,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.validation.Valid;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for managing User entities and authentication
@@ -37,6 +50,15 @@ public class UserService implements UserDetailsService {
     @Autowired
     private AuditService auditService;
 
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserStatisticsCounters userStatisticsCounters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Create a new user account
      * @param user User entity to create
@@ -73,6 +95,8 @@ public class UserService implements UserDetailsService {
 
         try {
             User savedUser = userRepository.save(user);
+            userSearchIndex.indexUser(savedUser);
+            userStatisticsCounters.recordUserCreated(true, savedUser.getCreatedAt());
             logger.info("User created successfully: {} with ID: {}", savedUser.getUsername(), savedUser.getId());
 
             // Log audit event
@@ -91,14 +115,9 @@ public class UserService implements UserDetailsService {
      * @return User entity
      * @throws UserNotFoundException if user not found
      */
+    @Transactional(readOnly = true)
     public User getUserById(Long userId) {
-        logger.debug("Fetching user by ID: {}", userId);
-        
-        return userRepository.findById(userId)
-            .orElseThrow(() -> {
-                logger.error("User not found with ID: {}", userId);
-                return new UserNotFoundException("User not found with ID: " + userId);
-            });
+        return detach(findUserById(userId));
     }
 
     /**
@@ -107,14 +126,15 @@ public class UserService implements UserDetailsService {
      * @return User entity
      * @throws UserNotFoundException if user not found
      */
+    @Transactional(readOnly = true)
     public User getUserByUsername(String username) {
         logger.debug("Fetching user by username: {}", username);
         
-        return userRepository.findByUsername(username)
+        return detach(userRepository.findByUsername(username)
             .orElseThrow(() -> {
                 logger.error("User not found with username: {}", username);
                 return new UserNotFoundException("User not found with username: " + username);
-            });
+            }));
     }
 
     /**
@@ -123,14 +143,9 @@ public class UserService implements UserDetailsService {
      * @return User entity
      * @throws UserNotFoundException if user not found
      */
+    @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
-        logger.debug("Fetching user by email: {}", email);
-        
-        return userRepository.findByEmail(email)
-            .orElseThrow(() -> {
-                logger.error("User not found with email: {}", email);
-                return new UserNotFoundException("User not found with email: " + email);
-            });
+        return detach(findUserByEmail(email));
     }
 
     /**
@@ -142,7 +157,7 @@ public class UserService implements UserDetailsService {
     public User updateUser(Long userId, User userDetails) {
         logger.info("Updating user: {}", userId);
 
-        User existingUser = getUserById(userId);
+        User existingUser = findUserById(userId);
 
         // Update allowed fields
         if (userDetails.getFirstName() != null && !userDetails.getFirstName().trim().isEmpty()) {
@@ -168,6 +183,7 @@ public class UserService implements UserDetailsService {
 
         try {
             User updatedUser = userRepository.save(existingUser);
+            userSearchIndex.indexUser(updatedUser);
             logger.info("User updated successfully: {}", updatedUser.getUsername());
 
             // Log audit event
@@ -190,7 +206,7 @@ public class UserService implements UserDetailsService {
     public boolean changePassword(Long userId, String currentPassword, String newPassword) {
         logger.info("Changing password for user: {}", userId);
 
-        User user = getUserById(userId);
+        User user = findUserById(userId);
 
         // Verify current password
         if (!passwordEncoder.matches(currentPassword, user.getPassword())) {
@@ -229,11 +245,16 @@ public class UserService implements UserDetailsService {
     public void deactivateUser(Long userId) {
         logger.info("Deactivating user: {}", userId);
 
-        User user = getUserById(userId);
+        User user = findUserById(userId);
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(false);
 
         try {
             userRepository.save(user);
+            userSearchIndex.indexUser(user);
+            if (wasActive) {
+                userStatisticsCounters.recordActivationChange(false);
+            }
             logger.info("User deactivated successfully: {}", user.getUsername());
 
             // Log audit event
@@ -252,11 +273,16 @@ public class UserService implements UserDetailsService {
     public void activateUser(Long userId) {
         logger.info("Activating user: {}", userId);
 
-        User user = getUserById(userId);
+        User user = findUserById(userId);
+        boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
         user.setIsActive(true);
 
         try {
             userRepository.save(user);
+            userSearchIndex.indexUser(user);
+            if (!wasActive) {
+                userStatisticsCounters.recordActivationChange(true);
+            }
             logger.info("User activated successfully: {}", user.getUsername());
 
             // Log audit event
@@ -272,18 +298,20 @@ public class UserService implements UserDetailsService {
      * Get all active users (Admin functionality)
      * @return List of active users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllActiveUsers() {
         logger.debug("Fetching all active users");
-        return userRepository.findByIsActiveTrue();
+        return detachAll(userRepository.findByIsActiveTrue());
     }
 
     /**
      * Get all users (Admin functionality)
      * @return List of all users
      */
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         logger.debug("Fetching all users");
-        return userRepository.findAll();
+        return detachAll(userRepository.findAll());
     }
 
     /**
@@ -291,6 +319,7 @@ public class UserService implements UserDetailsService {
      * @param username Username to check
      * @return True if exists, false otherwise
      */
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         boolean exists = userRepository.existsByUsername(username);
         logger.debug("Username '{}' exists: {}", username, exists);
@@ -302,6 +331,7 @@ public class UserService implements UserDetailsService {
      * @param email Email to check
      * @return True if exists, false otherwise
      */
+    @Transactional(readOnly = true)
     public boolean existsByEmail(String email) {
         boolean exists = userRepository.existsByEmail(email);
         logger.debug("Email '{}' exists: {}", email, exists);
@@ -313,23 +343,80 @@ public class UserService implements UserDetailsService {
      * @param searchTerm Search term
      * @return List of matching users
      */
+    @Transactional(readOnly = true)
     public List<User> searchUsers(String searchTerm) {
         logger.debug("Searching users with term: {}", searchTerm);
         
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return getAllActiveUsers();
         }
+
+        Optional<Page<Long>> indexed = userSearchIndex.search(searchTerm, true, Pageable.unpaged());
+        if (indexed.isPresent()) {
+            return detachAll(loadInRankOrder(indexed.get().getContent()));
+        }
         
-        String searchPattern = "%" + searchTerm.toLowerCase() + "%";
-        return userRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
-            searchTerm, searchTerm, searchTerm, searchTerm);
+        return detachAll(userRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+            searchTerm, searchTerm, searchTerm, searchTerm));
+    }
+
+    /**
+     * Ranked, paged user search (Admin functionality)
+     * Served from the in-memory trigram index, falls back to a LIKE query while the index is loading
+     * @param searchTerm Search term matched against username, email, first and last name
+     * @param includeInactive Whether deactivated users are included
+     * @param pageable Page request
+     * @return Page of matching users, best matches first
+     */
+    @Transactional(readOnly = true)
+    public Page<User> searchUsers(String searchTerm, boolean includeInactive, Pageable pageable) {
+        logger.debug("Searching users with term: {}, page: {}", searchTerm, pageable);
+
+        Optional<Page<Long>> indexed = userSearchIndex.search(searchTerm, includeInactive, pageable);
+        if (indexed.isPresent()) {
+            Page<Long> ids = indexed.get();
+            return new PageImpl<>(detachAll(loadInRankOrder(ids.getContent())), pageable, ids.getTotalElements());
+        }
+
+        Page<User> users;
+        if (searchTerm == null || searchTerm.trim().isEmpty()) {
+            users = includeInactive ? userRepository.findAll(pageable) : userRepository.findByIsActiveTrue(pageable);
+        } else {
+            String term = searchTerm.trim();
+            users = includeInactive
+                ? userRepository.findByUsernameContainingIgnoreCaseOrEmailContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase(
+                    term, term, term, term, pageable)
+                : userRepository.searchActiveUsers(term, pageable);
+        }
+        detachAll(users.getContent());
+        return users;
+    }
+
+    private List<User> loadInRankOrder(List<Long> userIds) {
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        return userIds.stream()
+            .map(usersById::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     /**
      * Get user statistics (Admin functionality)
+     * Served from the in-memory counters once loaded; signup rates are only tracked there
      * @return User statistics
      */
+    @Transactional(readOnly = true)
+    @WorkloadPool(Workload.REPORTING)
     public UserStatistics getUserStatistics() {
+        if (userStatisticsCounters.isReady()) {
+            long totalUsers = userStatisticsCounters.getTotalUsers();
+            long activeUsers = userStatisticsCounters.getActiveUsers();
+            return new UserStatistics(totalUsers, activeUsers, totalUsers - activeUsers,
+                                      userStatisticsCounters.getSignupsLastHour(),
+                                      userStatisticsCounters.getSignupsLastDay());
+        }
+
         logger.debug("Calculating user statistics");
         
         long totalUsers = userRepository.count();
@@ -339,6 +426,40 @@ public class UserService implements UserDetailsService {
         return new UserStatistics(totalUsers, activeUsers, inactiveUsers);
     }
 
+    private User findUserById(Long userId) {
+        logger.debug("Fetching user by ID: {}", userId);
+        
+        return userRepository.findById(userId)
+            .orElseThrow(() -> {
+                logger.error("User not found with ID: {}", userId);
+                return new UserNotFoundException("User not found with ID: " + userId);
+            });
+    }
+
+    private User findUserByEmail(String email) {
+        logger.debug("Fetching user by email: {}", email);
+        
+        return userRepository.findByEmail(email)
+            .orElseThrow(() -> {
+                logger.error("User not found with email: {}", email);
+                return new UserNotFoundException("User not found with email: " + email);
+            });
+    }
+
+    /**
+     * Entities loaded in a read-only transaction stay read-only in an open-in-view session,
+     * so they are detached before returning; a later update in the same request reloads them
+     */
+    private User detach(User user) {
+        entityManager.detach(user);
+        return user;
+    }
+
+    private List<User> detachAll(List<User> users) {
+        users.forEach(entityManager::detach);
+        return users;
+    }
+
     /**
      * Validate password strength
      * @param password Password to validate
@@ -381,7 +502,7 @@ public class UserService implements UserDetailsService {
                 return new UsernameNotFoundException("User not found with username: " + username);
             });
 
-        if (!user.getIsActive()) {
+        if (!isActive(user)) {
             logger.error("User account is deactivated: {}", username);
             throw new UsernameNotFoundException("User account is deactivated");
         }
@@ -405,7 +526,7 @@ public class UserService implements UserDetailsService {
                 return new UsernameNotFoundException("User not found with id: " + id);
             });
 
-        if (!user.getIsActive()) {
+        if (!isActive(user)) {
             logger.error("User account is deactivated for JWT authentication: {}", id);
             throw new UsernameNotFoundException("User account is deactivated");
         }
@@ -414,6 +535,14 @@ public class UserService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * Active flag of user as committed, not as held in this instance's user cache region,
+     * so deactivation takes effect on every instance at once
+     */
+    private boolean isActive(User user) {
+        return userRepository.findIsActiveById(user.getId()).orElse(false);
+    }
+
     /**
      * Reset password (for forgot password functionality)
      * @param email User email
@@ -423,7 +552,7 @@ public class UserService implements UserDetailsService {
     public boolean resetPassword(String email, String newPassword) {
         logger.info("Resetting password for email: {}", email);
 
-        User user = getUserByEmail(email);
+        User user = findUserByEmail(email);
 
         // Validate new password
         if (!isValidPassword(newPassword)) {
@@ -456,16 +585,27 @@ public class UserService implements UserDetailsService {
         private final long totalUsers;
         private final long activeUsers;
         private final long inactiveUsers;
+        private final Long signupsLastHour;
+        private final Long signupsLastDay;
 
         public UserStatistics(long totalUsers, long activeUsers, long inactiveUsers) {
+            this(totalUsers, activeUsers, inactiveUsers, null, null);
+        }
+
+        public UserStatistics(long totalUsers, long activeUsers, long inactiveUsers,
+                              Long signupsLastHour, Long signupsLastDay) {
             this.totalUsers = totalUsers;
             this.activeUsers = activeUsers;
             this.inactiveUsers = inactiveUsers;
+            this.signupsLastHour = signupsLastHour;
+            this.signupsLastDay = signupsLastDay;
         }
 
         public long getTotalUsers() { return totalUsers; }
         public long getActiveUsers() { return activeUsers; }
         public long getInactiveUsers() { return inactiveUsers; }
+        public Long getSignupsLastHour() { return signupsLastHour; }
+        public Long getSignupsLastDay() { return signupsLastDay; }
         
         public double getActiveUserPercentage() {
             return totalUsers > 0 ? (double) activeUsers / totalUsers * 100 : 0;
@@ -0,0 +1,54 @@
+package com.bankingapp.statement;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One account's month: the header fields, the balances around the month and its completed transactions, oldest first
+ */
+final class AccountStatement {
+
+    final long accountId;
+    final String accountNumber;
+    final String accountType;
+    final String holderName;
+    final boolean active;
+    final YearMonth month;
+    final List<Line> lines = new ArrayList<>();
+    BigDecimal openingBalance;
+    // Set once a month transaction with a balance after has fixed the opening balance
+    boolean openingFromMonth;
+    BigDecimal closingBalance;
+
+    AccountStatement(long accountId, String accountNumber, String accountType, String holderName, boolean active,
+                     YearMonth month) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.holderName = holderName;
+        this.active = active;
+        this.month = month;
+    }
+
+    /**
+     * Completed transaction as seen from the account: amount is positive for credits and negative for debits
+     */
+    static final class Line {
+        final LocalDateTime createdAt;
+        final String transactionId;
+        final String transactionType;
+        final String description;
+        final BigDecimal amount;
+
+        Line(LocalDateTime createdAt, String transactionId, String transactionType, String description, BigDecimal amount) {
+            this.createdAt = createdAt;
+            this.transactionId = transactionId;
+            this.transactionType = transactionType;
+            this.description = description;
+            this.amount = amount;
+        }
+    }
+}
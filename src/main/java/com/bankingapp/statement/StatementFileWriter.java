@@ -0,0 +1,60 @@
+package com.bankingapp.statement;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Encodes rendered statements as UTF-8 straight into a reusable direct buffer and writes it through a file channel,
+ * so a typical statement costs one write call and no intermediate byte arrays. Not thread-safe; one per worker.
+ */
+final class StatementFileWriter {
+
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    StatementFileWriter(int bufferSize) {
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Write text to path, replacing any file left there by an interrupted run
+     * @return number of bytes written
+     */
+    long write(Path path, CharSequence text) throws IOException {
+        CharBuffer input = CharBuffer.wrap(text);
+        encoder.reset();
+        buffer.clear();
+        long written = 0;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Malformed input is replaced, so encoding only stops when the buffer is full or the text is done
+            while (encoder.encode(input, buffer, true).isOverflow()) {
+                written += drain(channel);
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                written += drain(channel);
+            }
+            written += drain(channel);
+        }
+        return written;
+    }
+
+    private long drain(FileChannel channel) throws IOException {
+        buffer.flip();
+        long written = 0;
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+        return written;
+    }
+}
@@ -0,0 +1,407 @@
+package com.bankingapp.statement;
+
+import com.bankingapp.config.Workload;
+import com.bankingapp.config.WorkloadPool;
+import com.bankingapp.entity.StatementCheckpoint;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.StatementCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Monthly statement run: one text statement per account, written to
+ * {directory}/yyyy/MM/accounts-{partitionStart}/{accountNumber}.txt
+ *
+ * The account ID space is split into aligned partitions of partitionSize IDs, processed in parallel on the
+ * statement executor. A partition costs two queries whatever its size: one for the accounts and their opening
+ * balances, taken from the balance after recorded on transactions, and one that streams the month's completed transactions of the partition ordered by account, so
+ * each statement is rendered and written as soon as the stream moves past its account. Only one account's
+ * transactions are held in memory per worker.
+ *
+ * A partition's checkpoint is saved once all of its files are written; a resumed run skips checkpointed
+ * partitions and rewrites the files of the others. Inactive accounts without transactions get no statement.
+ */
+@Component
+@WorkloadPool(Workload.REPORTING)
+public class StatementGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementGenerator.class);
+
+    private static final DateTimeFormatter YEAR_DIRECTORY = DateTimeFormatter.ofPattern("yyyy");
+    private static final DateTimeFormatter MONTH_DIRECTORY = DateTimeFormatter.ofPattern("MM");
+    private static final String FILE_SUFFIX = ".txt";
+    private static final int PROGRESS_STEPS = 10;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private StatementCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("statementExecutor")
+    private ThreadPoolTaskExecutor statementExecutor;
+
+    @Value("${app.statement.directory:data/statements}")
+    private String directory;
+
+    @Value("${app.statement.bank-name:Banking App}")
+    private String bankName;
+
+    @Value("${app.statement.partition-size:1000}")
+    private long partitionSize;
+
+    @Value("${app.statement.write-buffer-bytes:65536}")
+    private int writeBufferBytes;
+
+    @Value("${app.transaction-archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.transaction-archive.hot-months:13}")
+    private int hotMonths;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private Path outputDirectory;
+
+    // Renderers and writers keep scratch buffers, so each executor thread reuses its own
+    private final ThreadLocal<StatementRenderer> renderers = ThreadLocal.withInitial(() -> new StatementRenderer(bankName));
+    private final ThreadLocal<StatementFileWriter> writers = ThreadLocal.withInitial(() -> new StatementFileWriter(writeBufferBytes));
+
+    @PostConstruct
+    public void init() {
+        // Connector/J streams rows one at a time with this fetch size instead of reading the whole result set into memory
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(Integer.MIN_VALUE);
+        jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+        outputDirectory = Paths.get(directory);
+    }
+
+    public Path getMonthDirectory(YearMonth month) {
+        return outputDirectory.resolve(month.format(YEAR_DIRECTORY)).resolve(month.format(MONTH_DIRECTORY));
+    }
+
+    // ===================== Statement Runs =====================
+
+    /**
+     * Write the statements of every account for month, skipping partitions an earlier run completed
+     * @return totals of the partitions processed by this call
+     */
+    public StatementTotals generate(YearMonth month) {
+        YearMonth currentMonth = YearMonth.now();
+        if (!month.isBefore(currentMonth)) {
+            throw new IllegalArgumentException("Statements can only be generated for months that have ended: " + month);
+        }
+        if (archiveEnabled && month.isBefore(currentMonth.minusMonths(hotMonths))) {
+            throw new IllegalArgumentException("Transactions of " + month + " have been archived");
+        }
+
+        StatementTotals totals = new StatementTotals();
+        List<Object[]> bounds = accountRepository.getAccountIdBounds();
+        if (bounds.isEmpty() || bounds.get(0)[0] == null) {
+            return totals;
+        }
+        long firstId = ((Number) bounds.get(0)[0]).longValue();
+        long lastId = ((Number) bounds.get(0)[1]).longValue();
+        long rangeStart = firstId - Math.floorMod(firstId, partitionSize);
+        long rangeEnd = lastId - Math.floorMod(lastId, partitionSize) + partitionSize;
+
+        Set<Long> completed = new HashSet<>();
+        checkpointRepository.findByStatementMonth(month.atDay(1))
+            .forEach(checkpoint -> completed.add(checkpoint.getPartitionStart()));
+
+        Path monthDirectory = getMonthDirectory(month);
+        try {
+            Files.createDirectories(monthDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create statement directory " + monthDirectory, e);
+        }
+
+        List<CompletableFuture<StatementTotals>> partitions = new ArrayList<>();
+        for (long start = rangeStart; start < rangeEnd; start += partitionSize) {
+            totals.partitions++;
+            if (completed.contains(start)) {
+                totals.skippedPartitions++;
+                continue;
+            }
+            long partitionStart = start;
+            long partitionEnd = start + partitionSize;
+            partitions.add(CompletableFuture.supplyAsync(
+                () -> generatePartition(month, partitionStart, partitionEnd, monthDirectory), statementExecutor));
+        }
+
+        logger.info("Generating statements for {} over account IDs [{}, {}): {} partitions to write, {} already done",
+                    month, rangeStart, rangeEnd, partitions.size(), totals.skippedPartitions);
+        long startedAt = System.currentTimeMillis();
+        int step = Math.max(1, partitions.size() / PROGRESS_STEPS);
+        for (int i = 0; i < partitions.size(); i++) {
+            totals.add(await(partitions.get(i)));
+            if ((i + 1) % step == 0 && i + 1 < partitions.size()) {
+                logger.info("Statements for {}: {}/{} partitions, {} statements, {} bytes",
+                            month, i + 1, partitions.size(), totals.statements, totals.bytesWritten);
+            }
+        }
+
+        logger.info("Statements for {} completed in {} ms: {} statements, {} transactions, {} bytes",
+                    month, System.currentTimeMillis() - startedAt, totals.statements, totals.transactions,
+                    totals.bytesWritten);
+        return totals;
+    }
+
+    private static StatementTotals await(CompletableFuture<StatementTotals> partition) {
+        try {
+            return partition.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write the statements of the accounts in [start, end) from one consistent read, then checkpoint the partition
+     */
+    StatementTotals generatePartition(YearMonth month, long start, long end, Path monthDirectory) {
+        Path partitionDirectory = monthDirectory.resolve("accounts-" + start);
+        TransactionTemplate readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        StatementTotals totals = readTemplate.execute(status -> {
+            List<AccountStatement> statements = findAccounts(month, start, end);
+            if (statements.isEmpty()) {
+                return new StatementTotals();
+            }
+            try {
+                Files.createDirectories(partitionDirectory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create statement directory " + partitionDirectory, e);
+            }
+            return writeStatements(statements, month, start, end, partitionDirectory);
+        });
+
+        checkpointRepository.save(new StatementCheckpoint(month.atDay(1), start, end,
+            totals.statements, totals.transactions, totals.bytesWritten));
+        return totals;
+    }
+
+    /**
+     * Accounts in [start, end) opened before the end of month, ordered by ID, with the balance they had when it began:
+     * the balance after their last completed transaction before the month, read from whichever side it was on.
+     * Each lookup is a seek to one row per side; writeStatements replaces the value for accounts whose month
+     * transactions carry their own balance after. Accounts whose last row predates balance_after fall back to the
+     * current balance less everything completed since the month began.
+     */
+    private List<AccountStatement> findAccounts(YearMonth month, long start, long end) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("start", start)
+            .addValue("end", end)
+            .addValue("monthStart", Timestamp.valueOf(month.atDay(1).atStartOfDay()))
+            .addValue("monthEnd", Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()))
+            .addValue("completed", Transaction.TransactionStatus.COMPLETED.name());
+
+        Map<Long, AccountStatement> unrecorded = new HashMap<>();
+        List<AccountStatement> statements = jdbcTemplate.query(
+            "SELECT a.id, a.account_number, a.account_type, a.balance, a.is_active, u.first_name, u.last_name, " +
+            lastBefore("t.to_balance_after", "t.to_account_id", "credit_balance_after") + ", " +
+            lastBefore("t.created_at", "t.to_account_id", "credited_at") + ", " +
+            lastBefore("t.from_balance_after", "t.from_account_id", "debit_balance_after") + ", " +
+            lastBefore("t.created_at", "t.from_account_id", "debited_at") + " " +
+            "FROM accounts a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.id >= :start AND a.id < :end AND a.created_at < :monthEnd ORDER BY a.id",
+            parameters,
+            (resultSet, rowNum) -> {
+                AccountStatement statement = new AccountStatement(resultSet.getLong("id"),
+                    resultSet.getString("account_number"), resultSet.getString("account_type"),
+                    resultSet.getString("first_name") + " " + resultSet.getString("last_name"),
+                    resultSet.getBoolean("is_active"), month);
+                Timestamp creditedAt = resultSet.getTimestamp("credited_at");
+                Timestamp debitedAt = resultSet.getTimestamp("debited_at");
+                if (creditedAt == null && debitedAt == null) {
+                    statement.openingBalance = BigDecimal.ZERO;
+                } else {
+                    BigDecimal balanceAfter = debitedAt == null || (creditedAt != null && !creditedAt.before(debitedAt))
+                        ? resultSet.getBigDecimal("credit_balance_after")
+                        : resultSet.getBigDecimal("debit_balance_after");
+                    if (balanceAfter != null) {
+                        statement.openingBalance = balanceAfter;
+                    } else {
+                        statement.openingBalance = resultSet.getBigDecimal("balance");
+                        unrecorded.put(statement.accountId, statement);
+                    }
+                }
+                return statement;
+            });
+        if (!unrecorded.isEmpty()) {
+            subtractMovementsSince(unrecorded, parameters);
+        }
+        return statements;
+    }
+
+    /**
+     * Take the net of completed transactions from the start of month onwards off the current balance the statements
+     * were opened with. The same read sees both, so the result is the balance as the month began.
+     */
+    private void subtractMovementsSince(Map<Long, AccountStatement> statements, MapSqlParameterSource parameters) {
+        parameters.addValue("accountIds", statements.keySet());
+        jdbcTemplate.query(
+            "SELECT m.account_id, SUM(m.amount) AS net FROM (" +
+            "SELECT t.to_account_id AS account_id, t.amount FROM transactions t " +
+            "WHERE t.to_account_id IN (:accountIds) AND t.status = :completed AND t.created_at >= :monthStart " +
+            "UNION ALL " +
+            "SELECT t.from_account_id AS account_id, -t.amount AS amount FROM transactions t " +
+            "WHERE t.from_account_id IN (:accountIds) AND t.status = :completed AND t.created_at >= :monthStart" +
+            ") m GROUP BY m.account_id",
+            parameters,
+            resultSet -> {
+                AccountStatement statement = statements.get(resultSet.getLong("account_id"));
+                statement.openingBalance = statement.openingBalance.subtract(resultSet.getBigDecimal("net"));
+            });
+    }
+
+    private static String lastBefore(String column, String accountColumn, String alias) {
+        return "(SELECT " + column + " FROM transactions t WHERE " + accountColumn + " = a.id " +
+               "AND t.status = :completed AND t.created_at < :monthStart " +
+               "ORDER BY t.created_at DESC, t.id DESC LIMIT 1) AS " + alias;
+    }
+
+    /**
+     * Stream the month's completed transactions of the partition, both sides, ordered by account, and write each
+     * statement once the stream has passed its account
+     */
+    private StatementTotals writeStatements(List<AccountStatement> statements, YearMonth month, long start, long end,
+                                            Path partitionDirectory) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+            .addValue("start", start)
+            .addValue("end", end)
+            .addValue("monthStart", Timestamp.valueOf(month.atDay(1).atStartOfDay()))
+            .addValue("monthEnd", Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay()))
+            .addValue("completed", Transaction.TransactionStatus.COMPLETED.name());
+
+        StatementTotals totals = new StatementTotals();
+        int[] next = {0};
+        jdbcTemplate.query(
+            "SELECT t.to_account_id AS account_id, t.id, t.transaction_id, t.transaction_type, t.description, " +
+            "t.amount, t.to_balance_after AS balance_after, t.created_at FROM transactions t WHERE t.to_account_id >= :start AND t.to_account_id < :end " +
+            "AND t.status = :completed AND t.created_at >= :monthStart AND t.created_at < :monthEnd " +
+            "UNION ALL " +
+            "SELECT t.from_account_id, t.id, t.transaction_id, t.transaction_type, t.description, " +
+            "-t.amount, t.from_balance_after, t.created_at FROM transactions t WHERE t.from_account_id >= :start AND t.from_account_id < :end " +
+            "AND t.status = :completed AND t.created_at >= :monthStart AND t.created_at < :monthEnd " +
+            "ORDER BY account_id, created_at, id",
+            parameters,
+            resultSet -> {
+                long accountId = resultSet.getLong("account_id");
+                while (next[0] < statements.size() && statements.get(next[0]).accountId < accountId) {
+                    write(statements.get(next[0]++), partitionDirectory, totals);
+                }
+                if (next[0] < statements.size() && statements.get(next[0]).accountId == accountId) {
+                    AccountStatement statement = statements.get(next[0]);
+                    statement.lines.add(new AccountStatement.Line(
+                        resultSet.getTimestamp("created_at").toLocalDateTime(),
+                        resultSet.getString("transaction_id"),
+                        resultSet.getString("transaction_type"),
+                        resultSet.getString("description"),
+                        resultSet.getBigDecimal("amount")));
+                    BigDecimal balanceAfter = resultSet.getBigDecimal("balance_after");
+                    if (!statement.openingFromMonth && balanceAfter != null) {
+                        // The month's first balance after, less the amounts that led to it
+                        statement.openingBalance = balanceAfter.subtract(sumOf(statement.lines));
+                        statement.openingFromMonth = true;
+                    }
+                }
+            });
+        while (next[0] < statements.size()) {
+            write(statements.get(next[0]++), partitionDirectory, totals);
+        }
+        return totals;
+    }
+
+    private void write(AccountStatement statement, Path partitionDirectory, StatementTotals totals) {
+        if (!statement.active && statement.lines.isEmpty()) {
+            return;
+        }
+        statement.closingBalance = statement.openingBalance.add(sumOf(statement.lines));
+
+        StringBuilder text = new StringBuilder(2048 + statement.lines.size() * 128);
+        renderers.get().render(statement, text);
+        Path path = partitionDirectory.resolve(statement.accountNumber + FILE_SUFFIX);
+        try {
+            totals.bytesWritten += writers.get().write(path, text);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write statement " + path, e);
+        }
+        totals.statements++;
+        totals.transactions += statement.lines.size();
+        statement.lines.clear();
+    }
+
+    private static BigDecimal sumOf(List<AccountStatement.Line> lines) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (AccountStatement.Line line : lines) {
+            sum = sum.add(line.amount);
+        }
+        return sum;
+    }
+
+    /**
+     * Counts of a statement run, summed over partitions
+     */
+    public static final class StatementTotals {
+        private long partitions;
+        private long skippedPartitions;
+        private long statements;
+        private long transactions;
+        private long bytesWritten;
+
+        StatementTotals add(StatementTotals other) {
+            partitions += other.partitions;
+            skippedPartitions += other.skippedPartitions;
+            statements += other.statements;
+            transactions += other.transactions;
+            bytesWritten += other.bytesWritten;
+            return this;
+        }
+
+        public long getPartitions() { return partitions; }
+        public long getSkippedPartitions() { return skippedPartitions; }
+        public long getStatements() { return statements; }
+        public long getTransactions() { return transactions; }
+        public long getBytesWritten() { return bytesWritten; }
+    }
+}
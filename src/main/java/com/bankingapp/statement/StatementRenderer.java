@@ -0,0 +1,218 @@
+package com.bankingapp.statement;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Lays out a statement as fixed-width text pages separated by form feeds, so it prints like a paged document.
+ * The first page carries the balance summary; every page repeats the heading and column titles.
+ *
+ * Amounts are formatted by hand into a scratch buffer instead of String.format, which dominates the render
+ * time of a statement run; a renderer is therefore not thread-safe and each worker keeps its own.
+ */
+final class StatementRenderer {
+
+    static final int LINES_PER_PAGE = 40;
+    static final char PAGE_BREAK = '\f';
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final String NO_TRANSACTIONS = "No transactions this period.";
+
+    private static final int DATE_WIDTH = 10;
+    private static final int DESCRIPTION_WIDTH = 30;
+    private static final int REFERENCE_WIDTH = 36;
+    private static final int AMOUNT_WIDTH = 13;
+    private static final int BALANCE_WIDTH = 14;
+    private static final int LINE_WIDTH =
+        DATE_WIDTH + DESCRIPTION_WIDTH + REFERENCE_WIDTH + 2 * AMOUNT_WIDTH + BALANCE_WIDTH + 5;
+    private static final int LABEL_WIDTH = 17;
+
+    private final String bankName;
+    private final StringBuilder scratch = new StringBuilder(32);
+
+    StatementRenderer(String bankName) {
+        this.bankName = bankName;
+    }
+
+    static int pageCount(AccountStatement statement) {
+        return Math.max(1, (statement.lines.size() + LINES_PER_PAGE - 1) / LINES_PER_PAGE);
+    }
+
+    /**
+     * Append the whole statement to out
+     */
+    void render(AccountStatement statement, StringBuilder out) {
+        int pages = pageCount(statement);
+        int line = 0;
+        BigDecimal balance = statement.openingBalance;
+        for (int page = 1; page <= pages; page++) {
+            if (page > 1) {
+                out.append(PAGE_BREAK);
+            }
+            appendHeading(statement, page, pages, out);
+            if (page == 1) {
+                appendSummary(statement, out);
+            }
+            appendColumnTitles(out);
+            if (statement.lines.isEmpty()) {
+                out.append(NO_TRANSACTIONS).append('\n');
+            }
+            int pageEnd = Math.min(line + LINES_PER_PAGE, statement.lines.size());
+            for (; line < pageEnd; line++) {
+                AccountStatement.Line transaction = statement.lines.get(line);
+                balance = balance.add(transaction.amount);
+                appendTransaction(transaction, balance, out);
+            }
+        }
+    }
+
+    private void appendHeading(AccountStatement statement, int page, int pages, StringBuilder out) {
+        out.append(bankName).append('\n');
+        String title = "MONTHLY STATEMENT " + statement.month;
+        String pageNumber = "Page " + page + " of " + pages;
+        out.append(title);
+        repeat(' ', LINE_WIDTH - title.length() - pageNumber.length(), out);
+        out.append(pageNumber).append('\n');
+
+        appendLabel("Period:", out);
+        out.append(statement.month.atDay(1).format(DATE)).append(" to ")
+            .append(statement.month.atEndOfMonth().format(DATE)).append('\n');
+        appendLabel("Account holder:", out);
+        out.append(statement.holderName).append('\n');
+        appendLabel("Account:", out);
+        out.append(maskAccountNumber(statement.accountNumber)).append(" (").append(statement.accountType).append(")\n\n");
+    }
+
+    private void appendSummary(AccountStatement statement, StringBuilder out) {
+        int credits = 0;
+        int debits = 0;
+        BigDecimal creditAmount = BigDecimal.ZERO;
+        BigDecimal debitAmount = BigDecimal.ZERO;
+        for (AccountStatement.Line transaction : statement.lines) {
+            if (transaction.amount.signum() >= 0) {
+                credits++;
+                creditAmount = creditAmount.add(transaction.amount);
+            } else {
+                debits++;
+                debitAmount = debitAmount.subtract(transaction.amount);
+            }
+        }
+
+        appendLabel("Opening balance:", out);
+        appendAmount(statement.openingBalance, BALANCE_WIDTH, out);
+        out.append('\n');
+        appendLabel("Credits (" + credits + "):", out);
+        appendAmount(creditAmount, BALANCE_WIDTH, out);
+        out.append('\n');
+        appendLabel("Debits (" + debits + "):", out);
+        appendAmount(debitAmount, BALANCE_WIDTH, out);
+        out.append('\n');
+        appendLabel("Closing balance:", out);
+        appendAmount(statement.closingBalance, BALANCE_WIDTH, out);
+        out.append("\n\n");
+    }
+
+    private void appendColumnTitles(StringBuilder out) {
+        appendText("Date", DATE_WIDTH, out);
+        out.append(' ');
+        appendText("Description", DESCRIPTION_WIDTH, out);
+        out.append(' ');
+        appendText("Reference", REFERENCE_WIDTH, out);
+        out.append(' ');
+        appendRight("Debit", AMOUNT_WIDTH, out);
+        out.append(' ');
+        appendRight("Credit", AMOUNT_WIDTH, out);
+        out.append(' ');
+        appendRight("Balance", BALANCE_WIDTH, out);
+        out.append('\n');
+        repeat('-', LINE_WIDTH, out);
+        out.append('\n');
+    }
+
+    private void appendTransaction(AccountStatement.Line transaction, BigDecimal balance, StringBuilder out) {
+        appendText(transaction.createdAt.toLocalDate().format(DATE), DATE_WIDTH, out);
+        out.append(' ');
+        String description = transaction.description == null || transaction.description.trim().isEmpty()
+            ? transaction.transactionType : transaction.description;
+        appendText(description, DESCRIPTION_WIDTH, out);
+        out.append(' ');
+        appendText(transaction.transactionId, REFERENCE_WIDTH, out);
+        out.append(' ');
+        if (transaction.amount.signum() < 0) {
+            appendAmount(transaction.amount.negate(), AMOUNT_WIDTH, out);
+            out.append(' ');
+            repeat(' ', AMOUNT_WIDTH, out);
+        } else {
+            repeat(' ', AMOUNT_WIDTH, out);
+            out.append(' ');
+            appendAmount(transaction.amount, AMOUNT_WIDTH, out);
+        }
+        out.append(' ');
+        appendAmount(balance, BALANCE_WIDTH, out);
+        out.append('\n');
+    }
+
+    // ===================== Formatting =====================
+
+    private void appendLabel(String label, StringBuilder out) {
+        appendText(label, LABEL_WIDTH, out);
+    }
+
+    /**
+     * Append text left-aligned in width columns, cut to fit; control characters become spaces so they cannot break the layout
+     */
+    private static void appendText(String text, int width, StringBuilder out) {
+        int length = Math.min(text.length(), width);
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            out.append(Character.isISOControl(c) ? ' ' : c);
+        }
+        repeat(' ', width - length, out);
+    }
+
+    private static void appendRight(String text, int width, StringBuilder out) {
+        repeat(' ', width - text.length(), out);
+        out.append(text);
+    }
+
+    private void appendAmount(BigDecimal amount, int width, StringBuilder out) {
+        scratch.setLength(0);
+        formatCurrency(amount, scratch);
+        repeat(' ', width - scratch.length(), out);
+        out.append(scratch);
+    }
+
+    /**
+     * Append amount as -$1,234.56: rounded half-even to cents, with thousands separators
+     */
+    static void formatCurrency(BigDecimal amount, StringBuilder out) {
+        long cents = amount.setScale(2, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        out.append('$');
+        String whole = Long.toString(cents / 100);
+        int firstGroup = whole.length() % 3 == 0 ? 3 : whole.length() % 3;
+        out.append(whole, 0, firstGroup);
+        for (int i = firstGroup; i < whole.length(); i += 3) {
+            out.append(',').append(whole, i, i + 3);
+        }
+        long fraction = cents % 100;
+        out.append('.').append((char) ('0' + fraction / 10)).append((char) ('0' + fraction % 10));
+    }
+
+    static String maskAccountNumber(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() < 4) {
+            return accountNumber;
+        }
+        return "****" + accountNumber.substring(accountNumber.length() - 4);
+    }
+
+    private static void repeat(char c, int count, StringBuilder out) {
+        for (int i = 0; i < count; i++) {
+            out.append(c);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.bankingapp.statistics;
+
+import com.bankingapp.dto.AccountTypeDistributionDTO;
+import com.bankingapp.entity.Account;
+import com.bankingapp.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory count, balance sum and sum of squared balances of active accounts per account type.
+ *
+ * Account creation, deactivation, type changes and balance changes are applied as deltas once the
+ * surrounding database transaction commits, so the admin dashboard reads a fixed number of counters
+ * instead of grouping the accounts table. The counters are loaded at startup and periodically
+ * replaced with the database totals; a change committing while the reconciliation query runs can
+ * leave a small error until the next run.
+ */
+@Component
+public class AccountTypeStatistics implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountTypeStatistics.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Value("${app.account-statistics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.account-statistics.stripes:16}")
+    private int stripes;
+
+    private final Map<Account.AccountType, StripedMoments> momentsByType = new EnumMap<>(Account.AccountType.class);
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        for (Account.AccountType type : Account.AccountType.values()) {
+            momentsByType.put(type, new StripedMoments(stripes));
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            // Callers fall back to the database until the next reconciliation succeeds
+            logger.error("Failed to load account type statistics", e);
+        }
+    }
+
+    /**
+     * Replace the counters with totals from the database, logging any drift found
+     * @return number of account types whose counters had drifted
+     */
+    public int reconcile() {
+        Map<Account.AccountType, StripedMoments.Snapshot> actual = new EnumMap<>(Account.AccountType.class);
+        for (Object[] row : accountRepository.getBalanceMomentsByType()) {
+            actual.put((Account.AccountType) row[0], new StripedMoments.Snapshot(
+                ((Number) row[1]).longValue(), toBigDecimal(row[2]), toBigDecimal(row[3])));
+        }
+
+        int drifted = 0;
+        for (Account.AccountType type : Account.AccountType.values()) {
+            StripedMoments.Snapshot expected = actual.getOrDefault(type,
+                new StripedMoments.Snapshot(0L, BigDecimal.ZERO, BigDecimal.ZERO));
+            StripedMoments moments = momentsByType.get(type);
+            StripedMoments.Snapshot current = moments.snapshot();
+            if (ready && (current.count != expected.count || current.sum.compareTo(expected.sum) != 0)) {
+                logger.warn("Account type statistics drifted for {}: count {} -> {}, sum {} -> {}",
+                            type, current.count, expected.count, current.sum, expected.sum);
+                drifted++;
+            }
+            moments.reset(expected.count, expected.sum, expected.sumOfSquares);
+        }
+        ready = true;
+        return drifted;
+    }
+
+    // ===================== Maintenance =====================
+
+    /**
+     * Count a newly active account once the surrounding transaction commits
+     */
+    public void recordAccountAdded(Account.AccountType type, BigDecimal balance) {
+        BigDecimal value = orZero(balance);
+        afterCommit(type, 1L, value, value.multiply(value));
+    }
+
+    /**
+     * Remove a deactivated account once the surrounding transaction commits
+     */
+    public void recordAccountRemoved(Account.AccountType type, BigDecimal balance) {
+        BigDecimal value = orZero(balance);
+        afterCommit(type, -1L, value.negate(), value.multiply(value).negate());
+    }
+
+    /**
+     * Apply a balance change of an active account once the surrounding transaction commits
+     */
+    public void recordBalanceChange(Account.AccountType type, BigDecimal previousBalance, BigDecimal newBalance) {
+        BigDecimal before = orZero(previousBalance);
+        BigDecimal after = orZero(newBalance);
+        afterCommit(type, 0L, after.subtract(before), after.multiply(after).subtract(before.multiply(before)));
+    }
+
+    private void afterCommit(Account.AccountType type, long count, BigDecimal sum, BigDecimal sumOfSquares) {
+        if (!enabled || type == null) {
+            return;
+        }
+        StripedMoments moments = momentsByType.get(type);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    moments.add(count, sum, sumOfSquares);
+                }
+            });
+        } else {
+            moments.add(count, sum, sumOfSquares);
+        }
+    }
+
+    // ===================== Queries =====================
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Number of active accounts per account type
+     */
+    public Map<String, Long> getAccountCountByType() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Account.AccountType, StripedMoments> entry : momentsByType.entrySet()) {
+            counts.put(entry.getKey().name(), entry.getValue().snapshot().count);
+        }
+        return counts;
+    }
+
+    /**
+     * Balance total, mean and standard deviation of active accounts per account type
+     */
+    public List<AccountTypeDistributionDTO> getBalanceDistributionByType() {
+        List<AccountTypeDistributionDTO> distribution = new ArrayList<>();
+        for (Map.Entry<Account.AccountType, StripedMoments> entry : momentsByType.entrySet()) {
+            distribution.add(toDistribution(entry.getKey().name(), entry.getValue().snapshot()));
+        }
+        return distribution;
+    }
+
+    static AccountTypeDistributionDTO toDistribution(String accountType, StripedMoments.Snapshot snapshot) {
+        if (snapshot.count <= 0) {
+            return new AccountTypeDistributionDTO(accountType, 0L, snapshot.sum, BigDecimal.ZERO, BigDecimal.ZERO);
+        }
+        BigDecimal count = BigDecimal.valueOf(snapshot.count);
+        BigDecimal mean = snapshot.sum.divide(count, MathContext.DECIMAL64);
+        // Population variance: E[x^2] - E[x]^2, clamped at zero against rounding
+        BigDecimal variance = snapshot.sumOfSquares.divide(count, MathContext.DECIMAL64)
+            .subtract(mean.multiply(mean, MathContext.DECIMAL64));
+        double standardDeviation = variance.signum() > 0 ? Math.sqrt(variance.doubleValue()) : 0.0;
+        return new AccountTypeDistributionDTO(accountType, snapshot.count, snapshot.sum,
+                                              mean.setScale(2, RoundingMode.HALF_UP),
+                                              BigDecimal.valueOf(standardDeviation).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
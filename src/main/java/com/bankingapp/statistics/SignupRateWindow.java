@@ -0,0 +1,50 @@
+package com.bankingapp.statistics;
+
+import java.util.Arrays;
+
+/**
+ * Ring of per-minute event counts covering a fixed span of recent minutes. Each slot remembers
+ * the minute it counts, so slots left over from an earlier lap read as empty.
+ */
+class SignupRateWindow {
+
+    private final long[] counts;
+    private final long[] minutes;
+
+    SignupRateWindow(int spanMinutes) {
+        counts = new long[spanMinutes];
+        minutes = new long[spanMinutes];
+        Arrays.fill(minutes, Long.MIN_VALUE);
+    }
+
+    synchronized void record(long minute, long nowMinute) {
+        if (minute <= nowMinute - counts.length || minute > nowMinute) {
+            return;
+        }
+        int slot = (int) Math.floorMod(minute, (long) counts.length);
+        if (minutes[slot] != minute) {
+            minutes[slot] = minute;
+            counts[slot] = 0L;
+        }
+        counts[slot]++;
+    }
+
+    /**
+     * Events in the last spanMinutes minutes up to and including nowMinute
+     */
+    synchronized long countLast(int spanMinutes, long nowMinute) {
+        int span = Math.min(spanMinutes, counts.length);
+        long total = 0L;
+        for (int i = 0; i < counts.length; i++) {
+            if (minutes[i] > nowMinute - span && minutes[i] <= nowMinute) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+
+    synchronized void clear() {
+        Arrays.fill(counts, 0L);
+        Arrays.fill(minutes, Long.MIN_VALUE);
+    }
+}
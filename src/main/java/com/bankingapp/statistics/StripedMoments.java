@@ -0,0 +1,81 @@
+package com.bankingapp.statistics;
+
+import java.math.BigDecimal;
+
+/**
+ * Count, sum and sum of squares of a set of balances, split over stripes so concurrent
+ * writers rarely contend; a read adds up every stripe.
+ */
+class StripedMoments {
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    StripedMoments(int stripeCount) {
+        int size = 1;
+        while (size < stripeCount) {
+            size <<= 1;
+        }
+        stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new Stripe();
+        }
+        mask = size - 1;
+    }
+
+    void add(long count, BigDecimal sum, BigDecimal sumOfSquares) {
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & mask];
+        synchronized (stripe) {
+            stripe.count += count;
+            stripe.sum = stripe.sum.add(sum);
+            stripe.sumOfSquares = stripe.sumOfSquares.add(sumOfSquares);
+        }
+    }
+
+    /**
+     * Replace all stripes with the given totals
+     */
+    void reset(long count, BigDecimal sum, BigDecimal sumOfSquares) {
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            synchronized (stripe) {
+                stripe.count = i == 0 ? count : 0L;
+                stripe.sum = i == 0 ? sum : BigDecimal.ZERO;
+                stripe.sumOfSquares = i == 0 ? sumOfSquares : BigDecimal.ZERO;
+            }
+        }
+    }
+
+    Snapshot snapshot() {
+        long count = 0L;
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal sumOfSquares = BigDecimal.ZERO;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                count += stripe.count;
+                sum = sum.add(stripe.sum);
+                sumOfSquares = sumOfSquares.add(stripe.sumOfSquares);
+            }
+        }
+        return new Snapshot(count, sum, sumOfSquares);
+    }
+
+    static final class Snapshot {
+
+        final long count;
+        final BigDecimal sum;
+        final BigDecimal sumOfSquares;
+
+        Snapshot(long count, BigDecimal sum, BigDecimal sumOfSquares) {
+            this.count = count;
+            this.sum = sum;
+            this.sumOfSquares = sumOfSquares;
+        }
+    }
+
+    private static final class Stripe {
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal sumOfSquares = BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,157 @@
+package com.bankingapp.statistics;
+
+import com.bankingapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory total and active user counts plus signups per minute over the last day.
+ *
+ * User creation, activation and deactivation are applied once the surrounding database
+ * transaction commits, so the admin statistics endpoint can be polled without querying the
+ * users table. Counts are loaded at startup and periodically replaced with database totals;
+ * the signup window is seeded from user creation times at startup.
+ */
+@Component
+public class UserStatisticsCounters implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatisticsCounters.class);
+
+    private static final int HOUR_MINUTES = 60;
+    private static final int DAY_MINUTES = 24 * 60;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.user-statistics.enabled:true}")
+    private boolean enabled;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final AtomicLong totalUsers = new AtomicLong();
+    private final AtomicLong activeUsers = new AtomicLong();
+    private final SignupRateWindow signups = new SignupRateWindow(DAY_MINUTES);
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException e) {
+            // Callers fall back to the database until the next reconciliation succeeds
+            logger.error("Failed to load user statistics", e);
+        }
+    }
+
+    /**
+     * Load counts and seed the signup window from the last day of user creation times
+     */
+    public void load() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        signups.clear();
+        long nowMinute = minuteOf(now);
+        for (LocalDateTime createdAt : userRepository.findCreatedAtSince(now.minusMinutes(DAY_MINUTES))) {
+            signups.record(minuteOf(createdAt), nowMinute);
+        }
+        reconcile();
+        logger.info("User statistics loaded: {} users, {} active, {} signups in the last day",
+                    totalUsers.get(), activeUsers.get(), getSignupsLastDay());
+    }
+
+    /**
+     * Replace the user counts with database totals
+     * @return true if the in-memory counts had drifted
+     */
+    public boolean reconcile() {
+        long active = userRepository.countByIsActiveTrue();
+        long total = userRepository.count();
+        boolean drifted = ready && (totalUsers.get() != total || activeUsers.get() != active);
+        if (drifted) {
+            logger.warn("User statistics drifted: total {} -> {}, active {} -> {}",
+                        totalUsers.get(), total, activeUsers.get(), active);
+        }
+        totalUsers.set(total);
+        activeUsers.set(active);
+        ready = true;
+        return drifted;
+    }
+
+    // ===================== Maintenance =====================
+
+    /**
+     * Count a new user once the surrounding transaction commits
+     */
+    public void recordUserCreated(boolean active, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            totalUsers.incrementAndGet();
+            if (active) {
+                activeUsers.incrementAndGet();
+            }
+            signups.record(minuteOf(createdAt != null ? createdAt : LocalDateTime.now(clock)),
+                           minuteOf(LocalDateTime.now(clock)));
+        });
+    }
+
+    /**
+     * Apply a user activation or deactivation once the surrounding transaction commits
+     */
+    public void recordActivationChange(boolean active) {
+        afterCommit(() -> activeUsers.addAndGet(active ? 1L : -1L));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // ===================== Queries =====================
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers.get();
+    }
+
+    public long getActiveUsers() {
+        return activeUsers.get();
+    }
+
+    public long getSignupsLastHour() {
+        return signups.countLast(HOUR_MINUTES, minuteOf(LocalDateTime.now(clock)));
+    }
+
+    public long getSignupsLastDay() {
+        return signups.countLast(DAY_MINUTES, minuteOf(LocalDateTime.now(clock)));
+    }
+
+    private long minuteOf(LocalDateTime time) {
+        return time.atZone(clock.getZone()).toEpochSecond() / 60;
+    }
+}
@@ -0,0 +1,30 @@
+package com.bankingapp.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Statistics periods ("daily", "weekly", "monthly", "yearly") as accepted by the statistics endpoints
+ */
+public class PeriodUtil {
+
+    private PeriodUtil() {
+    }
+
+    /**
+     * Start of period ending today: today's midnight for daily, otherwise midnight one week, month or year back.
+     * Null and unknown periods are monthly.
+     */
+    public static LocalDateTime periodStart(String period, LocalDate today) {
+        if (period == null) {
+            return today.minusMonths(1).atStartOfDay();
+        }
+        switch (period.toLowerCase()) {
+            case "daily": return today.atStartOfDay();
+            case "weekly": return today.minusWeeks(1).atStartOfDay();
+            case "yearly": return today.minusYears(1).atStartOfDay();
+            case "monthly":
+            default: return today.minusMonths(1).atStartOfDay();
+        }
+    }
+}
@@ -1,5 +1,63 @@
 package com.bankingapp.util;
 
+import java.math.BigDecimal;
+import java.util.regex.Pattern;
+
+/**
+ * Field checks matching the entity and request constraints, for input that bypasses bean validation
+ */
 public class ValidationUtil {
 
+    private static final Pattern USERNAME = Pattern.compile("[A-Za-z0-9._-]{3,50}");
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+    private static final Pattern PHONE = Pattern.compile("[0-9+() -]{0,20}");
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("[0-9]{10}");
+    private static final Pattern BCRYPT_HASH = Pattern.compile("\\$2[aby]?\\$[0-9]{2}\\$[./0-9A-Za-z]{53}");
+
+    // accounts.balance is DECIMAL(15, 2)
+    private static final int AMOUNT_SCALE = 2;
+    private static final int AMOUNT_PRECISION = 15;
+
+    private ValidationUtil() {
+    }
+
+    public static boolean isValidUsername(String username) {
+        return username != null && USERNAME.matcher(username).matches();
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && email.length() <= 100 && EMAIL.matcher(email).matches();
+    }
+
+    public static boolean isValidName(String name) {
+        return name != null && !name.trim().isEmpty() && name.length() <= 50;
+    }
+
+    /**
+     * Phone is optional; null and empty are valid
+     */
+    public static boolean isValidPhone(String phone) {
+        return phone == null || PHONE.matcher(phone).matches();
+    }
+
+    public static boolean isValidAccountNumber(String accountNumber) {
+        return accountNumber != null && ACCOUNT_NUMBER.matcher(accountNumber).matches();
+    }
+
+    /**
+     * Password hash is optional; otherwise it must be a BCrypt hash, the only format the password encoder accepts
+     */
+    public static boolean isValidPasswordHash(String passwordHash) {
+        return passwordHash == null || passwordHash.isEmpty() || BCRYPT_HASH.matcher(passwordHash).matches();
+    }
+
+    /**
+     * Balance that fits an account: not negative, at most two decimals and within the column precision
+     */
+    public static boolean isValidBalance(BigDecimal balance) {
+        return balance != null
+            && balance.signum() >= 0
+            && balance.scale() <= AMOUNT_SCALE
+            && balance.precision() - balance.scale() <= AMOUNT_PRECISION - AMOUNT_SCALE;
+    }
 }
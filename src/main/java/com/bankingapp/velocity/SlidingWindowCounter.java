@@ -0,0 +1,87 @@
+package com.bankingapp.velocity;
+
+/**
+ * Per-account ring of time buckets holding running totals of debit count and amount (in cents).
+ *
+ * Slot i holds the cumulative totals as of the end of the bucket that maps to it, and the ring
+ * always covers the most recent bucketCount buckets. The totals of the last k buckets are then
+ * the current totals minus the cumulative totals k buckets ago, so every query is O(1).
+ * Advancing the ring costs one slot write per elapsed bucket, bounded by the ring size.
+ *
+ * Not thread-safe; callers synchronize on the instance.
+ */
+final class SlidingWindowCounter {
+
+    private final long[] cumulativeCounts;
+    private final long[] cumulativeCents;
+    private long currentBucket;
+    private long totalCount;
+    private long totalCents;
+
+    SlidingWindowCounter(int bucketCount, long nowBucket) {
+        cumulativeCounts = new long[bucketCount];
+        cumulativeCents = new long[bucketCount];
+        currentBucket = nowBucket;
+    }
+
+    void record(long nowBucket, long cents) {
+        advance(nowBucket);
+        totalCount++;
+        totalCents += cents;
+        int slot = slot(currentBucket);
+        cumulativeCounts[slot] = totalCount;
+        cumulativeCents[slot] = totalCents;
+    }
+
+    /**
+     * Take back a debit recorded in recordedBucket: every slot from that bucket on counted it
+     */
+    void remove(long recordedBucket, long nowBucket, long cents) {
+        advance(nowBucket);
+        totalCount--;
+        totalCents -= cents;
+        long from = Math.max(recordedBucket, currentBucket - cumulativeCounts.length + 1);
+        for (long bucket = from; bucket <= currentBucket; bucket++) {
+            int slot = slot(bucket);
+            cumulativeCounts[slot]--;
+            cumulativeCents[slot] -= cents;
+        }
+    }
+
+    /**
+     * Debits in the last buckets buckets, including the current one
+     */
+    long count(long nowBucket, int buckets) {
+        advance(nowBucket);
+        return totalCount - cumulativeCounts[slot(currentBucket - buckets)];
+    }
+
+    /**
+     * Cents debited in the last buckets buckets, including the current one
+     */
+    long cents(long nowBucket, int buckets) {
+        advance(nowBucket);
+        return totalCents - cumulativeCents[slot(currentBucket - buckets)];
+    }
+
+    long lastBucket() {
+        return currentBucket;
+    }
+
+    private void advance(long nowBucket) {
+        if (nowBucket <= currentBucket) {
+            return;
+        }
+        long steps = Math.min(nowBucket - currentBucket, cumulativeCounts.length);
+        for (long bucket = nowBucket - steps + 1; bucket <= nowBucket; bucket++) {
+            int slot = slot(bucket);
+            cumulativeCounts[slot] = totalCount;
+            cumulativeCents[slot] = totalCents;
+        }
+        currentBucket = nowBucket;
+    }
+
+    private int slot(long bucket) {
+        return (int) Math.floorMod(bucket, (long) cumulativeCounts.length);
+    }
+}
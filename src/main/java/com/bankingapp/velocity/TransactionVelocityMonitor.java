@@ -0,0 +1,186 @@
+package com.bankingapp.velocity;
+
+import com.bankingapp.exception.VelocityLimitExceededException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory sliding-window velocity counters for account debits (withdrawals and outgoing transfers).
+ *
+ * Every debit is checked against the configured rules before any balance is touched: BLOCK rules
+ * reject the debit, FLAG rules let it through and are reported back to the caller. A debit that passes
+ * is counted under the same lock that checked it, so concurrent debits of one account see each other,
+ * and taken back if the surrounding transaction rolls back, so a rolled-back debit never uses up a window.
+ * Counters are per node and are not persisted, so a restart starts every window empty.
+ */
+@Component
+public class TransactionVelocityMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionVelocityMonitor.class);
+
+    @Autowired
+    private VelocityProperties properties;
+
+    private final Map<Long, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+
+    private Clock clock = Clock.systemUTC();
+    private long bucketMillis;
+    private int ringSize;
+
+    @PostConstruct
+    void validateRules() {
+        bucketMillis = properties.getBucketSeconds() * 1000;
+        ringSize = (int) (properties.getMaxWindowSeconds() / properties.getBucketSeconds()) + 1;
+
+        for (VelocityRule rule : properties.getRules()) {
+            if (rule.getWindowSeconds() <= 0 || rule.getWindowSeconds() > properties.getMaxWindowSeconds()) {
+                throw new IllegalStateException("Velocity rule window must be between 1 and " +
+                    properties.getMaxWindowSeconds() + " seconds: " + rule);
+            }
+            if (rule.getMaxCount() == null && rule.getMaxAmount() == null) {
+                throw new IllegalStateException("Velocity rule needs maxCount or maxAmount: " + rule);
+            }
+        }
+        logger.info("Velocity monitor enabled: {}, rules: {}", properties.isEnabled(), properties.getRules());
+    }
+
+    /**
+     * Check a debit against all rules and count it unless a BLOCK rule rejects it; the count is taken back if
+     * the surrounding transaction rolls back
+     * @return rules of action FLAG the debit exceeds
+     * @throws VelocityLimitExceededException if a BLOCK rule is exceeded
+     */
+    public VelocityCheck checkAndRecord(Long accountId, BigDecimal amount) {
+        if (!properties.isEnabled() || properties.getRules().isEmpty()) {
+            return VelocityCheck.passed();
+        }
+
+        long cents = toCents(amount);
+        while (true) {
+            long nowBucket = currentBucket();
+            SlidingWindowCounter counter = counters.computeIfAbsent(accountId, id -> new SlidingWindowCounter(ringSize, nowBucket));
+
+            List<VelocityRule> flagged = null;
+            synchronized (counter) {
+                // Eviction removes counters under their lock; one removed since the lookup takes no more debits
+                if (counters.get(accountId) != counter) {
+                    continue;
+                }
+                for (VelocityRule rule : properties.getRules()) {
+                    int buckets = bucketsFor(rule.getWindowSeconds());
+                    boolean exceeded =
+                        (rule.getMaxCount() != null && counter.count(nowBucket, buckets) + 1 > rule.getMaxCount()) ||
+                        (rule.getMaxAmount() != null && counter.cents(nowBucket, buckets) + cents > toCents(rule.getMaxAmount()));
+                    if (!exceeded) {
+                        continue;
+                    }
+                    if (rule.getAction() == VelocityRule.Action.BLOCK) {
+                        logger.warn("Velocity rule {} blocked debit of {} from account: {}", rule.getName(), amount, accountId);
+                        throw new VelocityLimitExceededException("Transaction limit exceeded: " + rule.getName());
+                    }
+                    if (flagged == null) {
+                        flagged = new ArrayList<>();
+                    }
+                    flagged.add(rule);
+                }
+                counter.record(nowBucket, cents);
+            }
+            removeOnRollback(counter, nowBucket, cents);
+
+            if (flagged == null) {
+                return VelocityCheck.passed();
+            }
+            logger.warn("Velocity rules {} flagged debit of {} from account: {}", flagged, amount, accountId);
+            return new VelocityCheck(flagged);
+        }
+    }
+
+    private void removeOnRollback(SlidingWindowCounter counter, long recordedBucket, long cents) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    synchronized (counter) {
+                        counter.remove(recordedBucket, currentBucket(), cents);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Number of debits counted for the account within the window
+     */
+    public long getDebitCount(Long accountId, Duration window) {
+        SlidingWindowCounter counter = counters.get(accountId);
+        if (counter == null) {
+            return 0;
+        }
+        synchronized (counter) {
+            return counter.count(currentBucket(), bucketsFor(window.getSeconds()));
+        }
+    }
+
+    /**
+     * Amount debited from the account within the window
+     */
+    public BigDecimal getDebitAmount(Long accountId, Duration window) {
+        SlidingWindowCounter counter = counters.get(accountId);
+        if (counter == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        synchronized (counter) {
+            return BigDecimal.valueOf(counter.cents(currentBucket(), bucketsFor(window.getSeconds())), 2);
+        }
+    }
+
+    /**
+     * Drop counters of accounts without debits for longer than the longest window
+     */
+    @Scheduled(fixedDelayString = "${app.velocity.eviction-interval-ms:300000}")
+    public void evictIdleCounters() {
+        long nowBucket = currentBucket();
+        int evicted = 0;
+        for (Map.Entry<Long, SlidingWindowCounter> entry : counters.entrySet()) {
+            SlidingWindowCounter counter = entry.getValue();
+            synchronized (counter) {
+                // Remove only the counter checked idle; a debit recording meanwhile waits for the lock and retries
+                if (nowBucket - counter.lastBucket() >= ringSize && counters.remove(entry.getKey(), counter)) {
+                    evicted++;
+                }
+            }
+        }
+        logger.debug("Evicted {} idle velocity counters", evicted);
+    }
+
+    private long currentBucket() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private int bucketsFor(long windowSeconds) {
+        long buckets = (windowSeconds + properties.getBucketSeconds() - 1) / properties.getBucketSeconds();
+        return (int) Math.min(Math.max(buckets, 1), ringSize - 1);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,30 @@
+package com.bankingapp.velocity;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of an in-line velocity check that did not block the debit
+ */
+public class VelocityCheck {
+
+    private static final VelocityCheck PASSED = new VelocityCheck(Collections.emptyList());
+
+    private final List<VelocityRule> flaggedRules;
+
+    VelocityCheck(List<VelocityRule> flaggedRules) {
+        this.flaggedRules = flaggedRules;
+    }
+
+    static VelocityCheck passed() {
+        return PASSED;
+    }
+
+    public boolean isFlagged() {
+        return !flaggedRules.isEmpty();
+    }
+
+    public List<VelocityRule> getFlaggedRules() {
+        return flaggedRules;
+    }
+}
@@ -0,0 +1,41 @@
+package com.bankingapp.velocity;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration for in-line velocity checks (app.velocity.*)
+ */
+@Component
+@ConfigurationProperties(prefix = "app.velocity")
+public class VelocityProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Width of one time bucket; windows are measured in whole buckets
+     */
+    private long bucketSeconds = 10;
+
+    /**
+     * Longest window any rule may use
+     */
+    private long maxWindowSeconds = 3600;
+
+    private List<VelocityRule> rules = new ArrayList<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getBucketSeconds() { return bucketSeconds; }
+    public void setBucketSeconds(long bucketSeconds) { this.bucketSeconds = bucketSeconds; }
+
+    public long getMaxWindowSeconds() { return maxWindowSeconds; }
+    public void setMaxWindowSeconds(long maxWindowSeconds) { this.maxWindowSeconds = maxWindowSeconds; }
+
+    public List<VelocityRule> getRules() { return rules; }
+    public void setRules(List<VelocityRule> rules) { this.rules = rules; }
+}
@@ -0,0 +1,51 @@
+package com.bankingapp.velocity;
+
+import java.math.BigDecimal;
+
+/**
+ * Velocity rule bound from app.velocity.rules[*]: at most maxCount debits and/or maxAmount
+ * debited per account within windowSeconds
+ */
+public class VelocityRule {
+
+    public enum Action {
+        FLAG, BLOCK
+    }
+
+    private String name;
+    private long windowSeconds;
+    private Long maxCount;
+    private BigDecimal maxAmount;
+    private Action action = Action.FLAG;
+
+    public VelocityRule() {}
+
+    public VelocityRule(String name, long windowSeconds, Long maxCount, BigDecimal maxAmount, Action action) {
+        this.name = name;
+        this.windowSeconds = windowSeconds;
+        this.maxCount = maxCount;
+        this.maxAmount = maxAmount;
+        this.action = action;
+    }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(long windowSeconds) { this.windowSeconds = windowSeconds; }
+
+    public Long getMaxCount() { return maxCount; }
+    public void setMaxCount(Long maxCount) { this.maxCount = maxCount; }
+
+    public BigDecimal getMaxAmount() { return maxAmount; }
+    public void setMaxAmount(BigDecimal maxAmount) { this.maxAmount = maxAmount; }
+
+    public Action getAction() { return action; }
+    public void setAction(Action action) { this.action = action; }
+
+    @Override
+    public String toString() {
+        return name + "{window=" + windowSeconds + "s, maxCount=" + maxCount + ", maxAmount=" + maxAmount +
+               ", action=" + action + '}';
+    }
+}
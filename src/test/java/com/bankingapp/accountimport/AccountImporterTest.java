@@ -0,0 +1,296 @@
+package com.bankingapp.accountimport;
+
+import com.bankingapp.dto.AccountImportJobDTO;
+import com.bankingapp.dto.AccountImportResultDTO;
+import com.bankingapp.entity.AccountImportCheckpoint;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
+import com.bankingapp.repository.AccountImportCheckpointRepository;
+import com.bankingapp.search.UserSearchIndex;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import com.bankingapp.statistics.UserStatisticsCounters;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AccountImporterTest {
+
+    private static final String HEADER = String.join(",", ImportChunk.COLUMNS);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountImporter accountImporter;
+    private final Map<String, AccountImportCheckpoint> checkpoints = new HashMap<>();
+    private final UserStatisticsCounters userStatisticsCounters = mock(UserStatisticsCounters.class);
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:accountimport;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), " +
+            "email VARCHAR(100), password_hash VARCHAR(255), first_name VARCHAR(50), last_name VARCHAR(50), " +
+            "phone VARCHAR(20), is_active BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT AUTO_INCREMENT PRIMARY KEY, account_number VARCHAR(20), " +
+            "user_id BIGINT, account_type VARCHAR(20), balance DECIMAL(19,2), is_active BOOLEAN, created_at TIMESTAMP, " +
+            "updated_at TIMESTAMP, last_activity_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT AUTO_INCREMENT PRIMARY KEY, transaction_id VARCHAR(50), " +
+            "from_account_id BIGINT, to_account_id BIGINT, transaction_type VARCHAR(20), amount DECIMAL(19,2), " +
+            "description VARCHAR(255), status VARCHAR(20), created_at TIMESTAMP, to_balance_after DECIMAL(19,2))");
+        jdbcTemplate.execute("CREATE TABLE daily_account_rollup (account_id BIGINT, rollup_date DATE, completed_count BIGINT, " +
+            "pending_count BIGINT, failed_count BIGINT, inflow_count BIGINT, outflow_count BIGINT, deposit_count BIGINT, " +
+            "deposit_amount DECIMAL(19,2), withdrawal_count BIGINT, withdrawal_amount DECIMAL(19,2), transfer_in_count BIGINT, " +
+            "transfer_in_amount DECIMAL(19,2), transfer_out_count BIGINT, transfer_out_amount DECIMAL(19,2), " +
+            "min_amount DECIMAL(19,2), max_amount DECIMAL(19,2), first_transaction_at TIMESTAMP, last_transaction_at TIMESTAMP, " +
+            "updated_at TIMESTAMP, PRIMARY KEY (account_id, rollup_date))");
+        jdbcTemplate.execute("CREATE TABLE account_balance_history (id BIGINT AUTO_INCREMENT PRIMARY KEY, account_id BIGINT, " +
+            "balance DECIMAL(19,2), change_amount DECIMAL(19,2), change_type VARCHAR(20), transaction_reference VARCHAR(255), " +
+            "recorded_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE account_balance_bucket (id BIGINT AUTO_INCREMENT PRIMARY KEY, account_id BIGINT, " +
+            "resolution VARCHAR(10), bucket_start TIMESTAMP, min_balance DECIMAL(19,2), max_balance DECIMAL(19,2), " +
+            "last_balance DECIMAL(19,2), change_count BIGINT, UNIQUE (account_id, resolution, bucket_start))");
+
+        AccountImportCheckpointRepository checkpointRepository = mock(AccountImportCheckpointRepository.class);
+        when(checkpointRepository.findBySource(anyString()))
+            .thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(checkpointRepository.findById(anyLong())).thenAnswer(invocation -> checkpoints.values().stream()
+            .filter(checkpoint -> checkpoint.getId().equals(invocation.getArgument(0)))
+            .findFirst());
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            AccountImportCheckpoint checkpoint = invocation.getArgument(0);
+            if (checkpoint.getId() == null) {
+                checkpoint.setId((long) checkpoints.size() + 1);
+            }
+            checkpoints.put(checkpoint.getSource(), checkpoint);
+            return checkpoint;
+        });
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(mock(SessionFactory.class, RETURNS_DEEP_STUBS));
+        Executor sameThread = Runnable::run;
+
+        accountImporter = new AccountImporter();
+        ReflectionTestUtils.setField(accountImporter, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(accountImporter, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(accountImporter, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(accountImporter, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(accountImporter, "importExecutor", sameThread);
+        ReflectionTestUtils.setField(accountImporter, "importJobExecutor", sameThread);
+        ReflectionTestUtils.setField(accountImporter, "balanceLeaderboard", mock(BalanceLeaderboard.class));
+        ReflectionTestUtils.setField(accountImporter, "userSearchIndex", mock(UserSearchIndex.class));
+        ReflectionTestUtils.setField(accountImporter, "accountTypeStatistics", mock(AccountTypeStatistics.class));
+        ReflectionTestUtils.setField(accountImporter, "userStatisticsCounters", userStatisticsCounters);
+        ReflectionTestUtils.setField(accountImporter, "directory", directory.toString());
+        ReflectionTestUtils.setField(accountImporter, "chunkSize", 4194304L);
+        ReflectionTestUtils.setField(accountImporter, "parallelism", 2);
+        ReflectionTestUtils.setField(accountImporter, "batchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void importFile_DuplicatesInFile_KeepsFirstAndRejectsConflicts() throws Exception {
+        // Arrange
+        Path file = write(HEADER,
+            "alice,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,100.00",
+            "ALICE,Alice@Example.com,,Alice,Smith,,1000000002,CHECKING,",
+            "bob,bob@example.com,,Bob,Jones,,1000000001,SAVINGS,5.00",
+            "alice,other@example.com,,Alice,Smith,,1000000003,SAVINGS,5.00",
+            "carol,alice@example.com,,Carol,White,,1000000004,SAVINGS,5.00");
+
+        // Act
+        AccountImportResultDTO result = accountImporter.importFile(file);
+
+        // Assert: the second alice row is the same user with another account
+        assertEquals(1L, result.getImportedUsers());
+        assertEquals(2L, result.getImportedAccounts());
+        assertEquals(3L, result.getRejectedRows());
+        assertEquals(1, count("SELECT COUNT(*) FROM users"));
+        assertEquals(2, count("SELECT COUNT(*) FROM accounts a JOIN users u ON u.id = a.user_id WHERE u.username = 'alice'"));
+        assertEquals(Arrays.asList(
+            "4,\"Duplicate account number in file\"",
+            "5,\"Username listed with another email on line 2\"",
+            "6,\"Email listed with another username on line 2\""), errors(file));
+        verify(userStatisticsCounters).reconcile();
+    }
+
+    @Test
+    void importFile_ExistingUsersAndAccounts_ReusesMatchingUserAndRejectsConflicts() throws Exception {
+        // Arrange
+        long daveId = createUser("dave", "dave@example.com");
+        createUser("fay", "fay@example.com");
+        jdbcTemplate.update("INSERT INTO accounts (account_number, user_id, account_type, balance) VALUES ('2000000001', ?, 'SAVINGS', 0)",
+            daveId);
+        Path file = write(HEADER,
+            "dave,DAVE@example.com,,Dave,Brown,,2000000002,CHECKING,",
+            "erin,erin@example.com,,Erin,Green,,2000000001,SAVINGS,",
+            "fay,not-fay@example.com,,Fay,Gray,,2000000003,SAVINGS,",
+            "gus,fay@example.com,,Gus,Black,,2000000004,SAVINGS,");
+
+        // Act
+        AccountImportResultDTO result = accountImporter.importFile(file);
+
+        // Assert
+        assertEquals(0L, result.getImportedUsers());
+        assertEquals(1L, result.getImportedAccounts());
+        assertEquals(2, count("SELECT COUNT(*) FROM users"));
+        assertEquals(daveId, count("SELECT user_id FROM accounts WHERE account_number = '2000000002'"));
+        assertEquals(Arrays.asList(
+            "3,\"Account number already exists\"",
+            "4,\"Username is taken by another user\"",
+            "5,\"Email is in use by another user\""), errors(file));
+    }
+
+    @Test
+    void importFile_OpeningBalance_PostsDepositWithRollupAndBalanceHistory() throws Exception {
+        // Arrange
+        Path file = write(HEADER,
+            "alice,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,250.50",
+            "bob,bob@example.com,,Bob,Jones,,1000000002,CHECKING,");
+
+        // Act
+        accountImporter.importFile(file);
+
+        // Assert: only the funded account has a deposit, and it is counted everywhere a deposit would be
+        long accountId = count("SELECT id FROM accounts WHERE account_number = '1000000001'");
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(0, new BigDecimal("250.50").compareTo(jdbcTemplate.queryForObject(
+            "SELECT deposit_amount FROM daily_account_rollup WHERE account_id = ? AND completed_count = 1 AND " +
+            "inflow_count = 1 AND deposit_count = 1 AND min_amount = max_amount AND first_transaction_at IS NOT NULL",
+            BigDecimal.class, accountId)));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_account_rollup"));
+        assertEquals(0, new BigDecimal("250.50").compareTo(jdbcTemplate.queryForObject(
+            "SELECT balance FROM account_balance_history WHERE account_id = ? AND change_type = 'DEPOSIT' " +
+            "AND transaction_reference = 'OPENING-1000000001'", BigDecimal.class, accountId)));
+        assertEquals(1, count("SELECT COUNT(*) FROM account_balance_history"));
+        assertEquals(3, count("SELECT COUNT(*) FROM account_balance_bucket WHERE account_id = " + accountId +
+            " AND last_balance = 250.50 AND change_count = 1"));
+    }
+
+    @Test
+    void importFile_ResumedFromCheckpoint_ImportsOnlyRemainingLines() throws Exception {
+        // Arrange: an earlier run committed the header and the first row
+        String header = HEADER + "\r\n";
+        String first = "alice,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,10.00\r\n";
+        Path file = write(HEADER,
+            "alice,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,10.00",
+            "bob,bob@example.com,,Bob,Jones,,1000000002,SAVINGS,20.00",
+            "al,carol@example.com,,Carol,White,,1000000003,SAVINGS,30.00",
+            "dave,dave@example.com,,Dave,Brown,,1000000004,SAVINGS,40.00");
+        AccountImportCheckpoint checkpoint = new AccountImportCheckpoint("accounts.csv:" + Files.size(file));
+        checkpoint.setId(1L);
+        checkpoint.setNextOffset((long) (header + first).getBytes(StandardCharsets.UTF_8).length);
+        checkpoint.setNextLine(2L);
+        checkpoint.setImportedUsers(1L);
+        checkpoint.setImportedAccounts(1L);
+        checkpoints.put(checkpoint.getSource(), checkpoint);
+        // Small chunks, so the rest of the file is written in several transactions
+        ReflectionTestUtils.setField(accountImporter, "chunkSize", 64L);
+
+        // Act
+        AccountImportResultDTO result = accountImporter.importFile(file);
+        AccountImportResultDTO rerun = accountImporter.importFile(file);
+
+        // Assert
+        assertEquals((header + first).getBytes(StandardCharsets.UTF_8).length, result.getResumedFromOffset());
+        assertEquals(3L, result.getImportedUsers());
+        assertEquals(3L, result.getImportedAccounts());
+        assertEquals(1L, result.getRejectedRows());
+        assertEquals(3L, result.getProcessedLines());
+        assertNotNull(checkpoint.getCompletedAt());
+        assertEquals(0, count("SELECT COUNT(*) FROM accounts WHERE account_number = '1000000001'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM accounts"));
+        // Line numbers continue from the checkpoint
+        assertEquals(Arrays.asList("4,\"Invalid username\""), errors(file));
+
+        assertEquals(0L, rerun.getProcessedLines());
+        assertEquals(2, count("SELECT COUNT(*) FROM accounts"));
+    }
+
+    @Test
+    void submit_RunsImportAndReportsProgressByCheckpointId() throws Exception {
+        // Arrange
+        Path file = write(HEADER, "alice,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,10.00");
+
+        // Act
+        AccountImportJobDTO submitted = accountImporter.submit(accountImporter.resolve("accounts.csv"));
+        AccountImportJobDTO job = accountImporter.getJob(submitted.getId()).orElseThrow(AssertionError::new);
+
+        // Assert
+        assertEquals(AccountImportJobDTO.COMPLETED, job.getStatus());
+        assertEquals(1L, job.getImportedAccounts());
+        assertEquals(Files.size(file), job.getFileSize());
+        assertEquals(job.getFileSize(), job.getNextOffset());
+    }
+
+    @Test
+    void submit_ImportFails_ReportsFailureUntilResubmitted() throws Exception {
+        // Arrange
+        write("username,email", "alice,alice@example.com");
+
+        // Act
+        AccountImportJobDTO submitted = accountImporter.submit(accountImporter.resolve("accounts.csv"));
+        AccountImportJobDTO job = accountImporter.getJob(submitted.getId()).orElseThrow(AssertionError::new);
+
+        // Assert
+        assertEquals(AccountImportJobDTO.FAILED, job.getStatus());
+        assertTrue(job.getError().startsWith("Import file header must be"));
+        assertEquals(0L, job.getNextOffset());
+        assertFalse(accountImporter.getJob(submitted.getId() + 1).isPresent());
+    }
+
+    private long createUser(String username, String email) {
+        jdbcTemplate.update("INSERT INTO users (username, email, is_active, created_at) VALUES (?, ?, TRUE, ?)",
+            username, email, Timestamp.valueOf(LocalDateTime.now()));
+        return count("SELECT id FROM users WHERE username = '" + username + "'");
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    // Line number and reason of each rejected row
+    private List<String> errors(Path file) throws Exception {
+        List<String> lines = Files.readAllLines(file.resolveSibling(file.getFileName() + ".errors.csv"));
+        assertEquals("line,reason,row", lines.get(0));
+        lines.remove(0);
+        lines.replaceAll(line -> line.substring(0, line.indexOf("\",\"") + 1));
+        return lines;
+    }
+
+    private Path write(String... lines) throws Exception {
+        Path file = directory.resolve("accounts.csv");
+        Files.write(file, (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
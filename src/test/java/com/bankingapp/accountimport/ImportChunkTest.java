@@ -0,0 +1,142 @@
+package com.bankingapp.accountimport;
+
+import com.bankingapp.entity.Account;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportChunkTest {
+
+    private static final String HEADER = String.join(",", ImportChunk.COLUMNS);
+    private static final String BCRYPT_SALT_AND_HASH = "N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void parse_ValidRows_ReturnsRowsAndSkipsHeader() throws Exception {
+        // Arrange
+        Path file = write(HEADER,
+            "alice,alice@example.com,,Alice,Smith,+1 555 0100,1000000001,savings,250.50",
+            "\"obrien\",bob@example.com,$2a$10$" + BCRYPT_SALT_AND_HASH + ",\"Bob, Jr.\",O'Brien,,1000000002,CHECKING,");
+
+        // Act
+        ImportChunk chunk = parseAll(file);
+
+        // Assert
+        assertEquals(3, chunk.lineCount);
+        assertTrue(chunk.rejectedRows.isEmpty());
+        assertEquals(2, chunk.rows.size());
+
+        ImportChunk.Row alice = chunk.rows.get(0);
+        assertEquals(1, alice.line);
+        assertEquals("alice", alice.username);
+        assertNull(alice.passwordHash);
+        assertEquals(Account.AccountType.SAVINGS, alice.accountType);
+        assertEquals(new BigDecimal("250.50"), alice.openingBalance);
+
+        ImportChunk.Row bob = chunk.rows.get(1);
+        assertEquals("obrien", bob.username);
+        assertEquals("Bob, Jr.", bob.firstName);
+        assertNull(bob.phone);
+        assertEquals("$2a$10$" + BCRYPT_SALT_AND_HASH, bob.passwordHash);
+        assertEquals(BigDecimal.ZERO, bob.openingBalance);
+    }
+
+    @Test
+    void parse_InvalidRows_RejectsWithReason() throws Exception {
+        // Arrange
+        Path file = write(HEADER,
+            "al,alice@example.com,,Alice,Smith,,1000000001,SAVINGS,1.00",
+            "carol,not-an-email,,Carol,Jones,,1000000003,SAVINGS,1.00",
+            "dave,dave@example.com,,Dave,Brown,,12345,SAVINGS,1.00",
+            "erin,erin@example.com,,Erin,White,,1000000005,BROKERAGE,1.00",
+            "frank,frank@example.com,,Frank,Green,,1000000006,SAVINGS,-5.00",
+            "gina,gina@example.com,,Gina,Black,,1000000007,SAVINGS,1.005",
+            "hank,hank@example.com,,Hank",
+            "ivan,\"ivan@example.com,,Ivan,Gray,,1000000009,SAVINGS,1.00",
+            "jane,jane@example.com,Secret123!,Jane,Doe,,1000000010,SAVINGS,1.00",
+            "kurt,kurt@example.com,{noop}$2a$10$" + BCRYPT_SALT_AND_HASH + ",Kurt,Cole,,1000000011,SAVINGS,1.00");
+
+        // Act
+        ImportChunk chunk = parseAll(file);
+
+        // Assert
+        assertTrue(chunk.rows.isEmpty());
+        List<String> reasons = new ArrayList<>();
+        chunk.rejectedRows.forEach(row -> reasons.add(row.line + ":" + row.reason));
+        assertEquals(Arrays.asList(
+            "1:Invalid username",
+            "2:Invalid email",
+            "3:Invalid account number",
+            "4:Invalid account type",
+            "5:Invalid opening balance",
+            "6:Invalid opening balance",
+            "7:Expected 9 fields but found 4",
+            "8:Unterminated quoted field",
+            "9:Invalid password hash",
+            "10:Invalid password hash"), reasons);
+    }
+
+    @Test
+    void parse_WrongHeader_Throws() throws Exception {
+        // Arrange
+        Path file = write("username,email", "alice,alice@example.com");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> parseAll(file));
+    }
+
+    @Test
+    void chunkEnd_SplitsOnLineBoundaries_AndChunksCoverEveryLine() throws Exception {
+        // Arrange
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (int i = 0; i < 200; i++) {
+            lines.add("user" + i + ",user" + i + "@example.com,,First,Last,," + (1000000000L + i) + ",CHECKING,10.00");
+        }
+        Path file = write(lines.toArray(new String[0]));
+
+        // Act
+        int rows = 0;
+        int lineCount = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long start = 0;
+            while (start < channel.size()) {
+                long end = ImportChunk.chunkEnd(channel, start, 1000);
+                ImportChunk chunk = ImportChunk.parse(channel, start, end);
+                assertTrue(chunk.rejectedRows.isEmpty());
+                rows += chunk.rows.size();
+                lineCount += chunk.lineCount;
+                start = end;
+            }
+        }
+
+        // Assert
+        assertEquals(200, rows);
+        assertEquals(201, lineCount);
+    }
+
+    private ImportChunk parseAll(Path file) throws Exception {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return ImportChunk.parse(channel, 0, channel.size());
+        }
+    }
+
+    private Path write(String... lines) throws Exception {
+        Path file = directory.resolve("accounts.csv");
+        Files.write(file, (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,210 @@
+package com.bankingapp.archive;
+
+import com.bankingapp.dto.ArchivedTransactionSummaryDTO;
+import com.bankingapp.dto.TransactionDTO;
+import com.bankingapp.entity.ArchivedTransaction;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.ArchivedTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionArchiveStoreTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2021, 3);
+    private static final LocalDateTime MONTH_START = MONTH.atDay(1).atStartOfDay();
+    private static final LocalDateTime MONTH_END = MONTH.plusMonths(1).atDay(1).atStartOfDay();
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @InjectMocks
+    private TransactionArchiveStore store;
+
+    @TempDir
+    Path archiveDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(store, "enabled", true);
+        ReflectionTestUtils.setField(store, "directory", archiveDirectory.toString());
+        ReflectionTestUtils.setField(store, "accountRangeSize", 100L);
+        store.init();
+    }
+
+    @Test
+    void exportMonth_WritesOneFilePerAccountRangeAndMarksMonthComplete() {
+        // Arrange
+        stubMonth();
+
+        // Act
+        int files = store.exportMonth(MONTH);
+
+        // Assert
+        assertEquals(2, files);
+        assertTrue(store.isExported(MONTH));
+        assertTrue(Files.exists(archiveDirectory.resolve("202103").resolve("range-0.bca")));
+        assertTrue(Files.exists(archiveDirectory.resolve("202103").resolve("range-100.bca")));
+        assertFalse(store.isExported(MONTH.plusMonths(1)));
+    }
+
+    @Test
+    void getHistory_ReturnsAccountRowsInRangeOldestFirst() {
+        // Arrange
+        stubMonth();
+        store.exportMonth(MONTH);
+
+        // Act
+        List<TransactionDTO> history = store.getHistory(10L, MONTH_START, MONTH_START.plusDays(20));
+
+        // Assert
+        assertEquals(3, history.size());
+        assertEquals("TX-1", history.get(0).getTransactionId());
+        assertEquals("Salary", history.get(0).getDescription());
+        assertEquals(new BigDecimal("2500.00"), history.get(0).getAmount());
+        assertEquals(new BigDecimal("2500.00"), history.get(0).getBalanceAfter());
+        assertEquals(MONTH_START.plusDays(1).plusNanos(123_000), history.get(0).getCreatedAt());
+        assertEquals("TX-2", history.get(1).getTransactionId());
+        assertNull(history.get(1).getDescription());
+        assertEquals(Long.valueOf(150L), history.get(2).getToAccountId());
+        assertEquals(Transaction.TransactionType.TRANSFER, history.get(2).getTransactionType());
+    }
+
+    @Test
+    void summarize_SumsCompletedCreditsAndDebitsFromBothRangeFiles() {
+        // Arrange
+        stubMonth();
+        store.exportMonth(MONTH);
+
+        // Act
+        ArchivedTransactionSummaryDTO account10 = store.summarize(10L, MONTH_START, MONTH_END);
+        ArchivedTransactionSummaryDTO account150 = store.summarize(150L, MONTH_START, MONTH_END);
+
+        // Assert
+        assertEquals(4, account10.getTotalCount());
+        assertEquals(3, account10.getCompletedCount());
+        assertEquals(1, account10.getCreditCount());
+        assertEquals(new BigDecimal("2500.00"), account10.getCreditAmount());
+        assertEquals(2, account10.getDebitCount());
+        assertEquals(new BigDecimal("340.25"), account10.getDebitAmount());
+        assertEquals(1, account150.getTotalCount());
+        assertEquals(new BigDecimal("300.00"), account150.getCreditAmount());
+        assertEquals(4, store.count(10L, MONTH_START, MONTH_END));
+        assertEquals(0, store.count(11L, MONTH_START, MONTH_END));
+    }
+
+    @Test
+    void queries_MonthNotExported_ReadArchiveTable() {
+        // Arrange
+        when(archivedTransactionRepository.findForAccount(10L, MONTH_START, MONTH_END)).thenReturn(monthRows());
+
+        // Act
+        List<TransactionDTO> history = store.getHistory(10L, MONTH_START, MONTH_END);
+        ArchivedTransactionSummaryDTO summary = store.summarize(10L, MONTH_START, MONTH_END);
+        long count = store.count(10L, MONTH_START, MONTH_END);
+
+        // Assert
+        assertEquals(4, history.size());
+        assertEquals("TX-1", history.get(0).getTransactionId());
+        assertEquals(4, summary.getTotalCount());
+        assertEquals(new BigDecimal("2500.00"), summary.getCreditAmount());
+        assertEquals(new BigDecimal("340.25"), summary.getDebitAmount());
+        assertEquals(4, count);
+    }
+
+    @Test
+    void getHistory_ExportedAndUnexportedMonths_ReadsOnlyMissingMonthsFromArchiveTable() {
+        // Arrange - March is exported, the archive job has moved April but not exported it yet
+        stubMonth();
+        store.exportMonth(MONTH);
+        LocalDateTime aprilEnd = MONTH_END.plusMonths(1);
+        ArchivedTransaction april = archived(7L, "TX-7", null, 10L, Transaction.TransactionType.DEPOSIT,
+            Transaction.TransactionStatus.COMPLETED, "15.00", "Refund", MONTH_END.plusDays(2));
+        when(archivedTransactionRepository.findForAccount(10L, MONTH_END, aprilEnd))
+            .thenReturn(Collections.singletonList(april));
+
+        // Act
+        List<TransactionDTO> history = store.getHistory(10L, MONTH_START, aprilEnd);
+        ArchivedTransactionSummaryDTO summary = store.summarize(10L, MONTH_START, aprilEnd);
+
+        // Assert
+        assertEquals(Arrays.asList("TX-1", "TX-2", "TX-5", "TX-4", "TX-7"),
+            history.stream().map(TransactionDTO::getTransactionId).collect(Collectors.toList()));
+        assertEquals(5, summary.getTotalCount());
+        assertEquals(new BigDecimal("2515.00"), summary.getCreditAmount());
+        verify(archivedTransactionRepository, never()).findForAccount(eq(10L), eq(MONTH_START), any());
+    }
+
+    @Test
+    void queries_ColumnarDisabled_ReadArchiveTable() {
+        // Arrange
+        ReflectionTestUtils.setField(store, "enabled", false);
+        when(archivedTransactionRepository.findForAccount(10L, MONTH_START.plusDays(2), MONTH_END))
+            .thenReturn(monthRows().subList(1, 4));
+
+        // Act
+        long count = store.count(10L, MONTH_START.plusDays(2), MONTH_END);
+
+        // Assert
+        assertEquals(3, count);
+    }
+
+    private void stubMonth() {
+        List<ArchivedTransaction> rows = monthRows();
+        when(archivedTransactionRepository.getMaxAccountId(MONTH_START, MONTH_END)).thenReturn(150L);
+        when(archivedTransactionRepository.findForAccountRange(MONTH_START, MONTH_END, 0L, 100L))
+            .thenReturn(rows);
+        when(archivedTransactionRepository.findForAccountRange(MONTH_START, MONTH_END, 100L, 200L))
+            .thenReturn(Collections.singletonList(rows.get(2)));
+    }
+
+    private List<ArchivedTransaction> monthRows() {
+        ArchivedTransaction salary = archived(1L, "TX-1", null, 10L, Transaction.TransactionType.DEPOSIT,
+            Transaction.TransactionStatus.COMPLETED, "2500.00", "Salary", MONTH_START.plusDays(1).plusNanos(123_000));
+        salary.setToBalanceAfter(new BigDecimal("2500.00"));
+        ArchivedTransaction atm = archived(2L, "TX-2", 10L, null, Transaction.TransactionType.WITHDRAWAL,
+            Transaction.TransactionStatus.COMPLETED, "40.25", null, MONTH_START.plusDays(3));
+        ArchivedTransaction transfer = archived(5L, "TX-5", 10L, 150L, Transaction.TransactionType.TRANSFER,
+            Transaction.TransactionStatus.COMPLETED, "300.00", "Rent", MONTH_START.plusDays(10));
+        ArchivedTransaction failed = archived(4L, "TX-4", 10L, null, Transaction.TransactionType.WITHDRAWAL,
+            Transaction.TransactionStatus.FAILED, "9999.00", null, MONTH_START.plusDays(25));
+        return Arrays.asList(salary, atm, transfer, failed);
+    }
+
+    private ArchivedTransaction archived(Long id, String transactionId, Long fromAccountId, Long toAccountId,
+                                         Transaction.TransactionType type, Transaction.TransactionStatus status,
+                                         String amount, String description, LocalDateTime createdAt) {
+        ArchivedTransaction transaction = new ArchivedTransaction();
+        transaction.setId(id);
+        transaction.setTransactionId(transactionId);
+        transaction.setFromAccountId(fromAccountId);
+        transaction.setToAccountId(toAccountId);
+        transaction.setTransactionType(type);
+        transaction.setStatus(status);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(description);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+}
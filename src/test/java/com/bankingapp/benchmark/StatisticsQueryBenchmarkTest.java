@@ -0,0 +1,183 @@
+package com.bankingapp.benchmark;
+
+import com.bankingapp.repository.TransactionRepository;
+import com.bankingapp.repository.projection.TransactionStatisticsProjection;
+import org.hibernate.dialect.MySQL8Dialect;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the multi-query statistics path with TransactionRepository.getAggregateStatisticsForAccount
+ * on an account with 1M transactions. Both paths run through the repository as the services call it.
+ * Run with -Dbenchmark=true; timings are logged, only the results are asserted.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StatisticsQueryBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsQueryBenchmarkTest.class);
+
+    private static final long ACCOUNT_ID = 1L;
+    private static final int ROW_COUNT = 1_000_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 10;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private TransactionRepository transactionRepository;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    @BeforeAll
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:statistics_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.dialect", MySQL8Dialect.class.getName());
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.bankingapp.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManager = factoryBean.getObject().createEntityManager();
+        transactionRepository = new JpaRepositoryFactory(entityManager).getRepository(TransactionRepository.class);
+
+        // Every row falls inside the period, so both paths cover the same transactions
+        LocalDateTime now = LocalDateTime.now();
+        startDate = now.minusYears(2);
+        endDate = now;
+
+        String[] types = {"DEPOSIT", "WITHDRAWAL", "TRANSFER"};
+        String[] statuses = {"COMPLETED", "COMPLETED", "COMPLETED", "PENDING", "FAILED"};
+        Random random = new Random(42);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 1; i <= ROW_COUNT; i++) {
+            String type = types[random.nextInt(types.length)];
+            boolean outgoing = !"DEPOSIT".equals(type) && ("WITHDRAWAL".equals(type) || random.nextBoolean());
+            Long counterparty = "TRANSFER".equals(type) ? Long.valueOf(2L + random.nextInt(1000)) : null;
+            batch.add(new Object[]{"TXN-" + i, outgoing ? Long.valueOf(ACCOUNT_ID) : counterparty,
+                outgoing ? counterparty : Long.valueOf(ACCOUNT_ID),
+                type, statuses[random.nextInt(statuses.length)], BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2),
+                Timestamp.valueOf(now.minusMinutes(1 + random.nextInt(400 * 24 * 60)))});
+            if (batch.size() == 10_000) {
+                insert(jdbcTemplate, batch);
+            }
+        }
+        jdbcTemplate.execute("CREATE INDEX idx_from_account_created ON transactions (from_account_id, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_to_account_created ON transactions (to_account_id, created_at)");
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO transactions (transaction_id, from_account_id, to_account_id, " +
+            "transaction_type, status, amount, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (entityManager != null) {
+            entityManager.close();
+        }
+        if (factoryBean != null) {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    void singlePassAggregate_MatchesMultiQueryPath() {
+        // Arrange
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            runMultiQueryPath();
+            transactionRepository.getAggregateStatisticsForAccount(ACCOUNT_ID, startDate, endDate);
+        }
+
+        // Act
+        long multiQueryNanos = 0;
+        long singlePassNanos = 0;
+        MultiQueryStatistics multiQuery = null;
+        TransactionStatisticsProjection singlePass = null;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            multiQuery = runMultiQueryPath();
+            multiQueryNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            singlePass = transactionRepository.getAggregateStatisticsForAccount(ACCOUNT_ID, startDate, endDate);
+            singlePassNanos += System.nanoTime() - start;
+        }
+
+        // Assert
+        logger.info("Statistics benchmark ({} rows, {} runs): multi-query avg {} ms, single-pass avg {} ms",
+                    ROW_COUNT, MEASURED_RUNS, multiQueryNanos / 1_000_000 / MEASURED_RUNS,
+                    singlePassNanos / 1_000_000 / MEASURED_RUNS);
+        assertEquals(multiQuery.totalCount, singlePass.getTotalCount());
+        assertEquals(multiQuery.completedCount, singlePass.getCompletedCount());
+        assertEquals(multiQuery.pendingCount, singlePass.getPendingCount());
+        assertEquals(multiQuery.failedCount, singlePass.getFailedCount());
+        assertEquals(multiQuery.countsByType.get("DEPOSIT"), singlePass.getDepositCount());
+        assertEquals(multiQuery.countsByType.get("WITHDRAWAL"), singlePass.getWithdrawalCount());
+        assertEquals(multiQuery.countsByType.get("TRANSFER"), singlePass.getTransferCount());
+        assertEquals(0, multiQuery.depositAmount.compareTo(singlePass.getDepositAmount()));
+        assertEquals(0, multiQuery.withdrawalAmount.compareTo(singlePass.getWithdrawalAmount()));
+        assertEquals(0, multiQuery.transferInAmount.compareTo(singlePass.getTransferInAmount()));
+        assertEquals(0, multiQuery.transferOutAmount.compareTo(singlePass.getTransferOutAmount()));
+    }
+
+    /**
+     * The per-statistic repository queries the statistics were computed from before the single pass
+     */
+    private MultiQueryStatistics runMultiQueryPath() {
+        MultiQueryStatistics statistics = new MultiQueryStatistics();
+        statistics.totalCount = transactionRepository.countByAccountId(ACCOUNT_ID);
+        statistics.completedCount = transactionRepository.countCompletedTransactionsByAccount(ACCOUNT_ID);
+        statistics.pendingCount = transactionRepository.countPendingTransactionsByAccount(ACCOUNT_ID);
+        statistics.failedCount = transactionRepository.countFailedTransactionsByAccount(ACCOUNT_ID);
+        for (Object[] row : transactionRepository.getTransactionCountByTypeForAccount(ACCOUNT_ID)) {
+            statistics.countsByType.put(row[0].toString(), (Long) row[1]);
+        }
+        statistics.depositAmount = transactionRepository.sumDepositsByAccount(ACCOUNT_ID);
+        statistics.withdrawalAmount = transactionRepository.sumWithdrawalsByAccount(ACCOUNT_ID);
+        statistics.transferInAmount = transactionRepository.sumTransfersInByAccount(ACCOUNT_ID);
+        statistics.transferOutAmount = transactionRepository.sumTransfersOutByAccount(ACCOUNT_ID);
+        transactionRepository.getLastTransactionDate(ACCOUNT_ID);
+        return statistics;
+    }
+
+    private static final class MultiQueryStatistics {
+        Long totalCount;
+        Long completedCount;
+        Long pendingCount;
+        Long failedCount;
+        final Map<String, Long> countsByType = new HashMap<>();
+        BigDecimal depositAmount;
+        BigDecimal withdrawalAmount;
+        BigDecimal transferInAmount;
+        BigDecimal transferOutAmount;
+    }
+}
@@ -0,0 +1,144 @@
+package com.bankingapp.config;
+
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * With open-in-view one EntityManager serves every transaction of a request. Guards that the
+ * configured connection handling mode gives each transaction its own routed connection instead of
+ * reusing the one the first transaction was routed to.
+ */
+public class ConnectionHandlingTest {
+
+    private static final String HANDLING_MODE = "spring.jpa.properties.hibernate.connection.handling_mode";
+
+    private final List<DriverManagerDataSource> databases = new ArrayList<>();
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private EntityManager entityManager;
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (entityManagerFactory != null) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(entityManagerFactory);
+            entityManager.close();
+            factoryBean.destroy();
+        }
+        if (replicaRoutingDataSource != null) {
+            replicaRoutingDataSource.destroy();
+        }
+        databases.forEach(database -> new JdbcTemplate(database).execute("DROP ALL OBJECTS"));
+    }
+
+    @Test
+    void writeAfterReadOnlyTransaction_SameEntityManager_GoesToPrimary() {
+        // Arrange
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setLagQuery("");
+        properties.setHealthCheckIntervalMs(0);
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(database("primary"),
+            Collections.singletonMap("replica", database("replica")), properties);
+        replicaRoutingDataSource.afterPropertiesSet();
+        openInView(replicaRoutingDataSource);
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+        readOnlyTransaction.setReadOnly(true);
+        TransactionTemplate readWriteTransaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        // Act
+        String reader = readOnlyTransaction.execute(status -> currentNode());
+        String writer = readWriteTransaction.execute(status -> currentNode());
+
+        // Assert
+        assertEquals("replica", reader);
+        assertEquals("primary", writer);
+    }
+
+    @Test
+    void transactionsOfDifferentWorkloads_SameEntityManager_UseTheirOwnPools() {
+        // Arrange
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            pools.put(workload, database(workload.poolName()));
+        }
+        WorkloadRoutingDataSource workloadRoutingDataSource = new WorkloadRoutingDataSource(pools);
+        workloadRoutingDataSource.afterPropertiesSet();
+        openInView(workloadRoutingDataSource);
+        TransactionTemplate transaction = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+
+        // Act
+        String first = transaction.execute(status -> currentNode());
+        String reporting = WorkloadContext.call(Workload.REPORTING, () -> transaction.execute(status -> currentNode()));
+        String moneyMovement = WorkloadContext.call(Workload.MONEY_MOVEMENT, () -> transaction.execute(status -> currentNode()));
+
+        // Assert
+        assertEquals("interactive", first);
+        assertEquals("reporting", reporting);
+        assertEquals("money-movement", moneyMovement);
+    }
+
+    private void openInView(DataSource routingDataSource) {
+        Properties applicationProperties = applicationProperties();
+        Map<String, Object> jpaProperties = new HashMap<>();
+        jpaProperties.put("hibernate.dialect", H2Dialect.class.getName());
+        jpaProperties.put("hibernate.connection.handling_mode", applicationProperties.getProperty(HANDLING_MODE));
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new LazyConnectionDataSourceProxy(routingDataSource));
+        factoryBean.setPackagesToScan("com.bankingapp.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(jpaProperties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        // What OpenEntityManagerInViewInterceptor does for each request
+        entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+    }
+
+    private Properties applicationProperties() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        return yaml.getObject();
+    }
+
+    private String currentNode() {
+        return (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult();
+    }
+
+    private DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:handling-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        databases.add(dataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bankingapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class DatabaseConfigTest {
+
+    private WorkloadRoutingDataSource routingDataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (routingDataSource != null) {
+            routingDataSource.destroy();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void primaryDataSource_WorkloadPools_ApplyHikariSettingsThenPoolOverrides() {
+        // Arrange
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:database-config;DB_CLOSE_DELAY=-1");
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("spring.datasource.hikari.max-lifetime", "900000")
+            .withProperty("spring.datasource.hikari.leak-detection-threshold", "20000")
+            .withProperty("spring.datasource.hikari.minimum-idle", "4")
+            .withProperty("spring.datasource.hikari.idle-timeout", "300000");
+        WorkloadPoolProperties workloadPools = new WorkloadPoolProperties();
+        workloadPools.setEnabled(true);
+        workloadPools.getReporting().setMinimumIdle(1);
+        workloadPools.getReporting().setIdleTimeoutMs(60000L);
+
+        // Act
+        routingDataSource = (WorkloadRoutingDataSource) new DatabaseConfig()
+            .primaryDataSource(properties, workloadPools, environment, mock(ObjectProvider.class));
+        routingDataSource.afterPropertiesSet();
+        Map<Object, DataSource> pools = routingDataSource.getResolvedDataSources();
+        HikariDataSource interactive = (HikariDataSource) pools.get(Workload.INTERACTIVE);
+        HikariDataSource reporting = (HikariDataSource) pools.get(Workload.REPORTING);
+
+        // Assert
+        assertEquals("interactive", interactive.getPoolName());
+        assertEquals(900000, interactive.getMaxLifetime());
+        assertEquals(20000, interactive.getLeakDetectionThreshold());
+        assertEquals(4, interactive.getMinimumIdle());
+        assertEquals(300000, interactive.getIdleTimeout());
+        assertEquals(15, interactive.getMaximumPoolSize());
+
+        assertEquals(900000, reporting.getMaxLifetime());
+        assertEquals(1, reporting.getMinimumIdle());
+        assertEquals(60000, reporting.getIdleTimeout());
+        assertEquals(5, reporting.getMaximumPoolSize());
+        assertEquals(30000, reporting.getConnectionTimeout());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void primaryDataSource_NoMinimumIdleConfigured_KeepsDefaultIdleConnections() {
+        // Arrange
+        DataSourceProperties properties = new DataSourceProperties();
+        properties.setUrl("jdbc:h2:mem:database-config;DB_CLOSE_DELAY=-1");
+        WorkloadPoolProperties workloadPools = new WorkloadPoolProperties();
+        workloadPools.setEnabled(true);
+
+        // Act
+        routingDataSource = (WorkloadRoutingDataSource) new DatabaseConfig()
+            .primaryDataSource(properties, workloadPools, new MockEnvironment(), mock(ObjectProvider.class));
+        routingDataSource.afterPropertiesSet();
+
+        // Assert
+        HikariDataSource moneyMovement = (HikariDataSource) routingDataSource.getResolvedDataSources().get(Workload.MONEY_MOVEMENT);
+        assertEquals(WorkloadPoolProperties.Pool.DEFAULT_MINIMUM_IDLE, moneyMovement.getMinimumIdle());
+    }
+}
@@ -0,0 +1,131 @@
+package com.bankingapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+    private DriverManagerDataSource replicaA;
+    private DriverManagerDataSource replicaB;
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+        ReplicaDataSourceProperties properties = new ReplicaDataSourceProperties();
+        properties.setMaxLagSeconds(5);
+        properties.setLagQuery("SELECT lag_seconds FROM replica_lag");
+        properties.setHealthCheckIntervalMs(0);
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, properties);
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routingDataSource.destroy();
+        for (DriverManagerDataSource database : new DriverManagerDataSource[] {primary, replicaA, replicaB}) {
+            new JdbcTemplate(database).execute("DROP ALL OBJECTS");
+        }
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactions_RoundRobinAcrossReplicas_WritesStayOnPrimary() {
+        // Act
+        Set<String> readers = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(readOnlyTransaction.execute(status -> currentNode()));
+        }
+        String writer = readWriteTransaction.execute(status -> currentNode());
+
+        // Assert
+        assertEquals(new HashSet<>(Arrays.asList("replica-a", "replica-b")), readers);
+        assertEquals("primary", writer);
+    }
+
+    @Test
+    void checkReplicas_ReplicaLaggingBeyondLimit_TakenOutOfRotation() {
+        // Arrange
+        new JdbcTemplate(replicaA).update("UPDATE replica_lag SET lag_seconds = 30");
+        new JdbcTemplate(replicaB).update("UPDATE replica_lag SET lag_seconds = NULL");
+
+        // Act
+        routingDataSource.checkReplicas();
+        String reader = readOnlyTransaction.execute(status -> currentNode());
+
+        // Assert
+        assertFalse(routingDataSource.isAvailable("replica-a"));
+        assertFalse(routingDataSource.isAvailable("replica-b"));
+        assertEquals("primary", reader);
+    }
+
+    @Test
+    void checkReplicas_ReplicaCaughtUp_ReturnsToRotation() {
+        // Arrange
+        new JdbcTemplate(replicaA).update("UPDATE replica_lag SET lag_seconds = 30");
+        routingDataSource.checkReplicas();
+        new JdbcTemplate(replicaA).update("UPDATE replica_lag SET lag_seconds = 1");
+
+        // Act
+        routingDataSource.checkReplicas();
+
+        // Assert
+        assertTrue(routingDataSource.isAvailable("replica-a"));
+    }
+
+    @Test
+    void onPrimary_ReadOnlyTransaction_ReadsFromPrimary() {
+        // Act
+        String reader = ReplicaRoutingContext.onPrimary(() -> readOnlyTransaction.execute(status -> currentNode()));
+
+        // Assert
+        assertEquals("primary", reader);
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+    }
+
+    private String currentNode() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private DriverManagerDataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        template.execute("CREATE TABLE replica_lag (lag_seconds BIGINT)");
+        template.update("INSERT INTO replica_lag VALUES (0)");
+        return dataSource;
+    }
+}
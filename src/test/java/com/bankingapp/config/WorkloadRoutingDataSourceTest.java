@@ -0,0 +1,97 @@
+package com.bankingapp.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkloadRoutingDataSourceTest {
+
+    private final Map<Workload, DriverManagerDataSource> databases = new EnumMap<>(Workload.class);
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            DriverManagerDataSource database = new DriverManagerDataSource("jdbc:h2:mem:" + workload.poolName() + ";DB_CLOSE_DELAY=-1");
+            JdbcTemplate template = new JdbcTemplate(database);
+            template.execute("CREATE TABLE node (name VARCHAR(20))");
+            template.update("INSERT INTO node VALUES (?)", workload.poolName());
+            databases.put(workload, database);
+            pools.put(workload, database);
+        }
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource(pools);
+        routingDataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+
+    @AfterEach
+    void tearDown() {
+        databases.values().forEach(database -> new JdbcTemplate(database).execute("DROP ALL OBJECTS"));
+    }
+
+    @Test
+    void connection_NoWorkloadSet_UsesInteractivePool() {
+        // Act & Assert
+        assertEquals("interactive", currentPool());
+    }
+
+    @Test
+    void call_NestedWorkloads_RestoresOuterWorkload() {
+        // Act
+        String inner = WorkloadContext.call(Workload.REPORTING,
+            () -> WorkloadContext.call(Workload.MONEY_MOVEMENT, this::currentPool));
+        String after = currentPool();
+
+        // Assert
+        assertEquals("money-movement", inner);
+        assertEquals("interactive", after);
+    }
+
+    @Test
+    void aspect_AnnotatedBeanAndMethod_MethodAnnotationWins() {
+        // Arrange
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ReportingBean(this));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new WorkloadPoolAspect());
+        ReportingBean bean = factory.getProxy();
+
+        // Act & Assert
+        assertEquals("reporting", bean.report());
+        assertEquals("money-movement", bean.transfer());
+        assertEquals("interactive", currentPool());
+    }
+
+    private String currentPool() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    @WorkloadPool(Workload.REPORTING)
+    static class ReportingBean {
+
+        private final WorkloadRoutingDataSourceTest test;
+
+        ReportingBean(WorkloadRoutingDataSourceTest test) {
+            this.test = test;
+        }
+
+        public String report() {
+            return test.currentPool();
+        }
+
+        @WorkloadPool(Workload.MONEY_MOVEMENT)
+        public String transfer() {
+            return test.currentPool();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.bankingapp.job;
+
+import com.bankingapp.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DormantAccountJobTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @InjectMocks
+    private DormantAccountJob dormantAccountJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dormantAccountJob, "accountTopic", "account-events");
+        ReflectionTestUtils.setField(dormantAccountJob, "chunkSize", 2);
+        ReflectionTestUtils.setField(dormantAccountJob, "sendTimeoutSeconds", 1L);
+    }
+
+    @Test
+    void detectDormantAccounts_ContinuesFromLastActivityAndIdOfEachChunk() {
+        // Arrange
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime lastActivity = LocalDateTime.of(2022, 6, 1, 12, 0);
+        List<Object[]> firstChunk = Arrays.asList(
+            new Object[] {7L, "1000000007", 1L, lastActivity.minusDays(3)},
+            new Object[] {3L, "1000000003", 2L, lastActivity});
+        List<Object[]> secondChunk = Collections.singletonList(
+            new Object[] {9L, "1000000009", 3L, lastActivity});
+        when(accountRepository.findDormantAccountChunk(eq(since), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+            .thenReturn(firstChunk);
+        when(accountRepository.findDormantAccountChunk(eq(since), eq(lastActivity), eq(3L), any(Pageable.class)))
+            .thenReturn(secondChunk);
+        when(accountRepository.findDormantAccountChunk(eq(since), eq(lastActivity), eq(9L), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+        when(kafkaTemplate.send(eq("account-events"), anyString(), eq("ACCOUNT_DORMANT"))).thenAnswer(invocation -> sent());
+
+        // Act
+        long dormant = dormantAccountJob.detectDormantAccounts(since);
+
+        // Assert
+        assertEquals(3, dormant);
+        verify(kafkaTemplate).send("account-events", "1000000007", "ACCOUNT_DORMANT");
+        verify(kafkaTemplate).send("account-events", "1000000003", "ACCOUNT_DORMANT");
+        verify(kafkaTemplate).send("account-events", "1000000009", "ACCOUNT_DORMANT");
+        verify(accountRepository).markDormant(eq(Arrays.asList(7L, 3L)), eq(since), any(LocalDateTime.class));
+        verify(accountRepository).markDormant(eq(Collections.singletonList(9L)), eq(since), any(LocalDateTime.class));
+    }
+
+    @Test
+    void detectDormantAccounts_FailedEvent_LeavesAccountUnmarked() {
+        // Arrange - one send fails once the broker answers, another cannot even be queued
+        LocalDateTime since = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime lastActivity = LocalDateTime.of(2022, 6, 1, 12, 0);
+        List<Object[]> chunk = Arrays.asList(
+            new Object[] {7L, "1000000007", 1L, lastActivity},
+            new Object[] {8L, "1000000008", 2L, lastActivity},
+            new Object[] {11L, "1000000011", 3L, lastActivity});
+        when(accountRepository.findDormantAccountChunk(eq(since), any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+            .thenReturn(chunk);
+        when(accountRepository.findDormantAccountChunk(eq(since), eq(lastActivity), eq(11L), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+        SettableListenableFuture<SendResult<String, String>> rejected = new SettableListenableFuture<>();
+        rejected.setException(new KafkaException("broker unavailable"));
+        when(kafkaTemplate.send("account-events", "1000000007", "ACCOUNT_DORMANT")).thenReturn(rejected);
+        when(kafkaTemplate.send("account-events", "1000000008", "ACCOUNT_DORMANT")).thenReturn(sent());
+        when(kafkaTemplate.send("account-events", "1000000011", "ACCOUNT_DORMANT"))
+            .thenThrow(new IllegalStateException("producer closed"));
+
+        // Act
+        long dormant = dormantAccountJob.detectDormantAccounts(since);
+
+        // Assert
+        assertEquals(3, dormant);
+        verify(accountRepository).markDormant(eq(Collections.singletonList(8L)), eq(since), any(LocalDateTime.class));
+    }
+
+    @Test
+    void backfillLastActivity_UpdatesOneIdRangePerChunk() {
+        // Arrange
+        when(accountRepository.findAccountIdsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 4L));
+        when(accountRepository.findAccountIdsAfter(eq(4L), any(Pageable.class))).thenReturn(Collections.singletonList(6L));
+        when(accountRepository.findAccountIdsAfter(eq(6L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(accountRepository.backfillLastActivity(anyLong(), anyLong())).thenReturn(2, 0);
+
+        // Act
+        long updated = dormantAccountJob.backfillLastActivity();
+
+        // Assert
+        assertEquals(2, updated);
+        verify(accountRepository).backfillLastActivity(0L, 4L);
+        verify(accountRepository).backfillLastActivity(4L, 6L);
+    }
+
+    private static SettableListenableFuture<SendResult<String, String>> sent() {
+        SettableListenableFuture<SendResult<String, String>> future = new SettableListenableFuture<>();
+        future.set(null);
+        return future;
+    }
+}
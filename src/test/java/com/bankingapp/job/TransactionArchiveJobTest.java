@@ -0,0 +1,91 @@
+package com.bankingapp.job;
+
+import com.bankingapp.service.TransactionPartitionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionArchiveJobTest {
+
+    @Mock
+    private TransactionPartitionService transactionPartitionService;
+
+    @InjectMocks
+    private TransactionArchiveJob transactionArchiveJob;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(transactionArchiveJob, "batchSize", 2);
+    }
+
+    @Test
+    void archiveBefore_Partitioned_ArchivesOnlyPartitionsBeforeHotWindow() {
+        // Arrange
+        ReflectionTestUtils.setField(transactionArchiveJob, "partitioningEnabled", true);
+        when(transactionPartitionService.getPartitionNames())
+            .thenReturn(Arrays.asList("p202312", "p202401", "p202402", "p202403", "p_future"));
+        when(transactionPartitionService.archivePartition("p202312")).thenReturn(5);
+        when(transactionPartitionService.archivePartition("p202401")).thenReturn(7);
+
+        // Act
+        long archived = transactionArchiveJob.archiveBefore(YearMonth.of(2024, 2));
+
+        // Assert
+        assertEquals(12, archived);
+        verify(transactionPartitionService).archivePartition("p202312");
+        verify(transactionPartitionService).archivePartition("p202401");
+        verify(transactionPartitionService, times(2)).archivePartition(anyString());
+        verify(transactionPartitionService, never()).archiveChunk(any(), anyInt());
+    }
+
+    @Test
+    void archiveBefore_Unpartitioned_ArchivesInChunksUntilNoneLeft() {
+        // Arrange
+        LocalDateTime cutoff = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(transactionPartitionService.archiveChunk(cutoff, 2)).thenReturn(2, 2, 1, 0);
+
+        // Act
+        long archived = transactionArchiveJob.archiveBefore(YearMonth.of(2024, 2));
+
+        // Assert
+        assertEquals(5, archived);
+        verify(transactionPartitionService, times(4)).archiveChunk(cutoff, 2);
+        verify(transactionPartitionService, never()).archivePartition(anyString());
+    }
+
+    @Test
+    void maintainPartitions_UnpartitionedTable_PartitionsBeforeAddingFuturePartitions() {
+        // Arrange
+        YearMonth currentMonth = YearMonth.of(2024, 5);
+        when(transactionPartitionService.getPartitionNames()).thenReturn(Collections.emptyList());
+
+        // Act
+        transactionArchiveJob.maintainPartitions(currentMonth);
+
+        // Assert
+        verify(transactionPartitionService).partitionTable(currentMonth);
+        verify(transactionPartitionService).ensureFuturePartitions(currentMonth);
+    }
+
+    @Test
+    void partitionsBefore_IgnoresFuturePartitionAndHotMonths() {
+        assertEquals(Arrays.asList("p202311", "p202312"), TransactionPartitionService.partitionsBefore(
+            Arrays.asList("p202311", "p202312", "p202401", "p_future"), YearMonth.of(2024, 1)));
+    }
+}
@@ -0,0 +1,160 @@
+package com.bankingapp.leaderboard;
+
+import com.bankingapp.entity.Account;
+import com.bankingapp.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceLeaderboardTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private BalanceLeaderboard balanceLeaderboard;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(balanceLeaderboard, "enabled", true);
+        ReflectionTestUtils.setField(balanceLeaderboard, "loadParallelism", 3);
+        ReflectionTestUtils.setField(balanceLeaderboard, "loadBatchSize", 2);
+    }
+
+    @Test
+    void load_ScansIdRangesInParallel_RanksEveryActiveAccount() {
+        // Arrange
+        when(accountRepository.getAccountIdBounds())
+            .thenReturn(Collections.singletonList(new Object[] {1L, 9L}));
+        when(accountRepository.findActiveBalancesInRange(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = afterId + 1; id <= toId && rows.size() < 2; id++) {
+                rows.add(new Object[] {id, BigDecimal.valueOf(id * 100)});
+            }
+            return rows;
+        });
+
+        // Act
+        int loaded = balanceLeaderboard.load();
+
+        // Assert
+        assertEquals(9, loaded);
+        assertTrue(balanceLeaderboard.isReady());
+        assertEquals(Arrays.asList(9L, 8L, 7L), accountIds(balanceLeaderboard.getTop(3)));
+        assertEquals(Arrays.asList(9L, 8L), accountIds(balanceLeaderboard.getAbove(new BigDecimal("700.00"))));
+    }
+
+    @Test
+    void reconcile_BalancesChangedInDatabase_CountsAndCorrectsDrift() {
+        // Arrange
+        Map<Long, BigDecimal> database = new HashMap<>();
+        for (long id = 1; id <= 5; id++) {
+            database.put(id, BigDecimal.valueOf(id * 100));
+        }
+        when(accountRepository.getAccountIdBounds())
+            .thenReturn(Collections.singletonList(new Object[] {1L, 5L}));
+        when(accountRepository.findActiveBalancesInRange(anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            long toId = invocation.getArgument(1);
+            List<Object[]> rows = new ArrayList<>();
+            for (long id = afterId + 1; id <= toId && rows.size() < 2; id++) {
+                if (database.containsKey(id)) {
+                    rows.add(new Object[] {id, database.get(id)});
+                }
+            }
+            return rows;
+        });
+        assertEquals(0, balanceLeaderboard.reconcile());
+
+        // Bulk updates that never reached updateAccount: a new balance and a deactivation
+        database.put(1L, new BigDecimal("900.00"));
+        database.remove(5L);
+
+        // Act
+        int drifted = balanceLeaderboard.reconcile();
+
+        // Assert
+        assertEquals(2, drifted);
+        assertEquals(Arrays.asList(1L, 4L, 3L, 2L), accountIds(balanceLeaderboard.getTop(10)));
+        assertEquals(0, balanceLeaderboard.reconcile());
+    }
+
+    @Test
+    void updateAccount_BalanceChange_MovesAccountAndBreaksTiesById() {
+        // Arrange
+        balanceLeaderboard.updateAccount(createAccount(1L, "500.00", true));
+        balanceLeaderboard.updateAccount(createAccount(2L, "300.00", true));
+        balanceLeaderboard.updateAccount(createAccount(3L, "300.00", true));
+
+        // Act
+        balanceLeaderboard.updateAccount(createAccount(1L, "100.00", true));
+
+        // Assert
+        assertEquals(Arrays.asList(2L, 3L, 1L), accountIds(balanceLeaderboard.getTop(10)));
+        assertEquals(3, balanceLeaderboard.size());
+        BalanceEntry entry = balanceLeaderboard.getEntry(1L).orElseThrow(IllegalStateException::new);
+        assertEquals(3L, balanceLeaderboard.getRank(entry));
+        assertEquals(new BigDecimal("100.00"), entry.getBalance());
+    }
+
+    @Test
+    void updateAccount_Deactivated_RemovesAccount() {
+        // Arrange
+        balanceLeaderboard.updateAccount(createAccount(1L, "500.00", true));
+        balanceLeaderboard.updateAccount(createAccount(2L, "300.00", true));
+
+        // Act
+        balanceLeaderboard.updateAccount(createAccount(1L, "500.00", false));
+
+        // Assert
+        assertFalse(balanceLeaderboard.getEntry(1L).isPresent());
+        assertEquals(Arrays.asList(2L), accountIds(balanceLeaderboard.getTop(10)));
+    }
+
+    @Test
+    void getAbove_ExcludesAccountsAtThreshold() {
+        // Arrange
+        balanceLeaderboard.updateAccount(createAccount(1L, "1000.00", true));
+        balanceLeaderboard.updateAccount(createAccount(2L, "1000.0", true));
+        balanceLeaderboard.updateAccount(createAccount(3L, "1000.01", true));
+
+        // Act
+        List<BalanceEntry> above = balanceLeaderboard.getAbove(new BigDecimal("1000"));
+
+        // Assert
+        assertEquals(Arrays.asList(3L), accountIds(above));
+    }
+
+    private Account createAccount(Long id, String balance, boolean active) {
+        Account account = new Account();
+        account.setId(id);
+        account.setBalance(new BigDecimal(balance));
+        account.setIsActive(active);
+        return account;
+    }
+
+    private List<Long> accountIds(List<BalanceEntry> entries) {
+        return entries.stream().map(BalanceEntry::getAccountId).collect(Collectors.toList());
+    }
+}
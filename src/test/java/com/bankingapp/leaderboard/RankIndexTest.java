@@ -0,0 +1,59 @@
+package com.bankingapp.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankIndexTest {
+
+    @Test
+    void countBefore_AfterRandomAddsAndRemoves_MatchesSortedSet() {
+        // Arrange - few distinct balances, so ties are broken by account ID
+        Random random = new Random(42);
+        RankIndex index = new RankIndex();
+        TreeSet<BalanceEntry> expected = new TreeSet<>();
+        List<BalanceEntry> present = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            // Act
+            if (present.isEmpty() || random.nextInt(3) > 0) {
+                BalanceEntry entry = new BalanceEntry(i, BigDecimal.valueOf(random.nextInt(50), 1));
+                index.add(entry);
+                expected.add(entry);
+                present.add(entry);
+            } else {
+                BalanceEntry entry = present.remove(random.nextInt(present.size()));
+                index.remove(entry);
+                expected.remove(entry);
+            }
+
+            // Assert
+            if (i % 97 == 0) {
+                assertEquals(expected.size(), index.size());
+                for (BalanceEntry entry : present) {
+                    assertEquals(expected.headSet(entry).size(), index.countBefore(entry), entry.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    void countBefore_EntryNotPresent_CountsEntriesOrderedAhead() {
+        // Arrange
+        RankIndex index = new RankIndex();
+        index.add(new BalanceEntry(1L, new BigDecimal("500.00")));
+        index.add(new BalanceEntry(2L, new BigDecimal("300.00")));
+        index.add(new BalanceEntry(4L, new BigDecimal("300.00")));
+
+        // Act & Assert
+        assertEquals(0, index.countBefore(new BalanceEntry(9L, new BigDecimal("600.00"))));
+        assertEquals(2, index.countBefore(new BalanceEntry(3L, new BigDecimal("300.00"))));
+        assertEquals(3, index.countBefore(new BalanceEntry(1L, BigDecimal.ZERO)));
+    }
+}
@@ -0,0 +1,152 @@
+package com.bankingapp.reconciliation;
+
+import com.bankingapp.dto.BalanceReconciliationResultDTO;
+import com.bankingapp.repository.AccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class BalanceReconcilerTest {
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor reconciliationExecutor;
+    private BalanceReconciler balanceReconciler;
+    private long nextTransactionId = 1;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:reconciliation;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, account_number VARCHAR(20), balance DECIMAL(19,2))");
+        for (String table : new String[]{"transactions", "transactions_archive"}) {
+            jdbcTemplate.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, from_account_id BIGINT, " +
+                "to_account_id BIGINT, amount DECIMAL(19,2), status VARCHAR(20))");
+        }
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.getAccountIdBounds()).thenAnswer(invocation -> jdbcTemplate.query(
+            "SELECT MIN(id), MAX(id) FROM accounts", (resultSet, rowNum) -> new Object[]{resultSet.getObject(1), resultSet.getObject(2)}));
+
+        reconciliationExecutor = new ThreadPoolTaskExecutor();
+        reconciliationExecutor.setCorePoolSize(2);
+        reconciliationExecutor.setMaxPoolSize(2);
+        reconciliationExecutor.initialize();
+
+        balanceReconciler = new BalanceReconciler();
+        ReflectionTestUtils.setField(balanceReconciler, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(balanceReconciler, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(balanceReconciler, "reconciliationExecutor", reconciliationExecutor);
+        ReflectionTestUtils.setField(balanceReconciler, "partitionSize", 10);
+        ReflectionTestUtils.setField(balanceReconciler, "dbLoadBudget", 100.0);
+        ReflectionTestUtils.setField(balanceReconciler, "burstMillis", 1000L);
+        // H2 rejects the streaming fetch size init() sets, so wire the template and directory directly
+        ReflectionTestUtils.setField(balanceReconciler, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(balanceReconciler, "reportDirectory", directory);
+
+        // Partition 0: deposits in both tables, a withdrawal and a pending deposit that does not count
+        account(3, "ACC0000003", "120.00");
+        insert("transactions_archive", null, 3L, "100.00", "COMPLETED");
+        insert("transactions", null, 3L, "50.00", "COMPLETED");
+        insert("transactions", 3L, null, "30.00", "COMPLETED");
+        insert("transactions", null, 3L, "999.00", "PENDING");
+        // Partition 10: balance 5.00 above its transactions
+        account(14, "ACC0000014", "80.00");
+        insert("transactions", null, 14L, "75.00", "COMPLETED");
+        // Partition 20: both sides of a transfer
+        account(27, "ACC0000027", "15.00");
+        account(28, "ACC0000028", "60.00");
+        insert("transactions", null, 28L, "75.00", "COMPLETED");
+        insert("transactions", 28L, 27L, "15.00", "COMPLETED");
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciliationExecutor.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void reconcilePartition_SumsCompletedMovementsPerAccount() {
+        // Act
+        BalanceReconciler.PartitionResult result = balanceReconciler.reconcilePartition(20, 30, new LoadBudget(100, 0));
+
+        // Assert
+        assertEquals(2, result.accounts);
+        assertEquals(3, result.transactions);
+        assertTrue(result.discrepancies.isEmpty());
+    }
+
+    @Test
+    void reconcile_AcrossPartitions_ReportsMismatchedAccount() throws IOException {
+        // Act
+        BalanceReconciliationResultDTO result = balanceReconciler.reconcile();
+
+        // Assert
+        assertEquals(3L, result.getPartitions());
+        assertEquals(4L, result.getAccountsChecked());
+        assertEquals(7L, result.getTransactionsAggregated());
+        assertEquals(1L, result.getDiscrepancies());
+        assertEquals(0, new BigDecimal("5.00").compareTo(result.getNetDifference()));
+
+        List<String> report = Files.readAllLines(Paths.get(result.getReportFile()));
+        assertEquals(2, report.size());
+        assertEquals("14,ACC0000014,80.00,75.00,5.00,1", report.get(1));
+    }
+
+    @Test
+    void reconcile_AccountFixedBeforeRecheck_IsNotReported() throws IOException {
+        // Arrange - the partition sees the balance of a deposit to account 14 whose row it missed
+        List<BalanceReconciler.Discrepancy> suspects = new ArrayList<>();
+        BalanceReconciler reconciler = spy(balanceReconciler);
+        doAnswer(invocation -> {
+            BalanceReconciler.PartitionResult result = (BalanceReconciler.PartitionResult) invocation.callRealMethod();
+            if (invocation.getArgument(0).equals(10L)) {
+                suspects.addAll(result.discrepancies);
+                insert("transactions", null, 14L, "5.00", "COMPLETED");
+            }
+            return result;
+        }).when(reconciler).reconcilePartition(anyLong(), anyLong(), any());
+
+        // Act
+        BalanceReconciliationResultDTO result = reconciler.reconcile();
+
+        // Assert - the partition suspected the account, the recheck found it balanced
+        assertEquals(1, suspects.size());
+        assertEquals(14L, suspects.get(0).accountId);
+        assertEquals(0L, result.getDiscrepancies());
+        assertTrue(result.isBalanced());
+        assertEquals(1, Files.readAllLines(Paths.get(result.getReportFile())).size());
+    }
+
+    private void account(long id, String accountNumber, String balance) {
+        jdbcTemplate.update("INSERT INTO accounts VALUES (?, ?, ?)", id, accountNumber, new BigDecimal(balance));
+    }
+
+    private void insert(String table, Long fromAccountId, Long toAccountId, String amount, String status) {
+        jdbcTemplate.update("INSERT INTO " + table + " VALUES (?, ?, ?, ?, ?)",
+            nextTransactionId++, fromAccountId, toAccountId, new BigDecimal(amount), status);
+    }
+}
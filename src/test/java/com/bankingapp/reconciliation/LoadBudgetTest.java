@@ -0,0 +1,62 @@
+package com.bankingapp.reconciliation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadBudgetTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void charge_WithinBurst_DoesNotPause() {
+        LoadBudget budget = new LoadBudget(0.25, 1000 * MS);
+
+        // 200 ms of database time costs 800 ms of budget, covered by the burst credit
+        assertEquals(0, budget.charge(10_000 * MS, 200 * MS));
+        assertEquals(0, budget.getPausedNanos());
+    }
+
+    @Test
+    void charge_SustainedLoad_PacesToShare() {
+        // Arrange
+        LoadBudget budget = new LoadBudget(0.25, 0);
+
+        // Act: 100 ms queries back to back; each must be followed by 300 ms of idle time
+        long now = 0;
+        long busy = 0;
+        for (int i = 0; i < 50; i++) {
+            now += 100 * MS;
+            busy += 100 * MS;
+            now += budget.charge(now, 100 * MS);
+        }
+
+        // Assert
+        assertEquals(0.25, (double) busy / now, 0.001);
+        assertEquals(now - busy, budget.getPausedNanos());
+    }
+
+    @Test
+    void charge_ConcurrentWorkers_ShareOneBudget() {
+        LoadBudget budget = new LoadBudget(0.5, 0);
+
+        // Two workers finish 100 ms queries at the same moment: the second waits for both
+        assertEquals(100 * MS, budget.charge(100 * MS, 100 * MS));
+        assertEquals(300 * MS, budget.charge(100 * MS, 100 * MS));
+    }
+
+    @Test
+    void charge_AfterIdle_CreditIsCappedAtBurst() {
+        LoadBudget budget = new LoadBudget(0.5, 100 * MS);
+        budget.charge(0, 10 * MS);
+
+        // An hour idle leaves only the 100 ms burst: 200 ms of work costs 400 ms, 300 ms of which it has used
+        assertEquals(100 * MS, budget.charge(3_600_000 * MS, 200 * MS));
+    }
+
+    @Test
+    void constructor_NonPositiveShare_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadBudget(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new LoadBudget(Double.NaN, 0));
+    }
+}
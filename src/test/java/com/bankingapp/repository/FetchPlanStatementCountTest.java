@@ -0,0 +1,135 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.config.SqlStatementCounter;
+import com.bankingapp.dto.TransactionDTO;
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.entity.User;
+import org.hibernate.dialect.MySQL8Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the fetch plans of list queries: converting a page of transactions to DTOs
+ * must not issue one query per row for accounts or their owners.
+ */
+public class FetchPlanStatementCountTest {
+
+    private static final int COUNTERPARTY_COUNT = 10;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private TransactionRepository transactionRepository;
+    private Long hubAccountId;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:fetch_plans;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.dialect", MySQL8Dialect.class.getName());
+        properties.put("hibernate.session_factory.statement_inspector", SqlStatementCounter.class.getName());
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.bankingapp.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+        entityManager = entityManagerFactory.createEntityManager();
+        transactionRepository = new JpaRepositoryFactory(entityManager).getRepository(TransactionRepository.class);
+
+        entityManager.getTransaction().begin();
+        Account hub = persistAccount("hub", "8000000000");
+        hubAccountId = hub.getId();
+        for (int i = 0; i < COUNTERPARTY_COUNT; i++) {
+            Account counterparty = persistAccount("user" + i, "900000000" + i);
+            Transaction transfer = new Transaction("TXN-" + i, Transaction.TransactionType.TRANSFER, new BigDecimal("10.00"));
+            transfer.setFromAccount(counterparty);
+            transfer.setToAccount(hub);
+            entityManager.persist(transfer);
+        }
+        entityManager.getTransaction().commit();
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityManager.close();
+        factoryBean.destroy();
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    void findByAccountId_ConvertingToDTOs_IssuesSingleStatement() {
+        // Arrange
+        SqlStatementCounter.reset();
+
+        // Act
+        List<TransactionDTO> dtos = transactionRepository.findByAccountId(hubAccountId).stream()
+            .map(TransactionDTO::fromEntity)
+            .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(COUNTERPARTY_COUNT, dtos.size());
+        assertNotNull(dtos.get(0).getFromAccountOwner());
+        assertEquals(1, SqlStatementCounter.getCount());
+    }
+
+    @Test
+    void findLatestByAccountId_ConvertingToDTOs_IssuesSingleStatement() {
+        // Arrange
+        SqlStatementCounter.reset();
+
+        // Act
+        List<TransactionDTO> dtos = transactionRepository.findLatestByAccountId(hubAccountId, PageRequest.of(0, 5)).stream()
+            .map(TransactionDTO::fromEntity)
+            .collect(Collectors.toList());
+
+        // Assert
+        assertEquals(5, dtos.size());
+        assertEquals(1, SqlStatementCounter.getCount());
+    }
+
+    @Test
+    void findByFromAccountId_WithoutFetchPlan_IsDetectedAsNPlusOne() {
+        // Arrange
+        Long counterpartyId = transactionRepository.findByAccountId(hubAccountId).get(0).getFromAccount().getId();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        // Act
+        transactionRepository.findByFromAccountIdOrderByCreatedAtDesc(counterpartyId)
+            .forEach(TransactionDTO::fromEntity);
+
+        // Assert - transaction select plus a lazy load for each account and owner touched
+        assertTrue(SqlStatementCounter.getCount() > 1);
+    }
+
+    private Account persistAccount(String username, String accountNumber) {
+        User user = new User(username, username + "@example.com", "password123", "First", "Last");
+        entityManager.persist(user);
+        Account account = new Account(accountNumber, user, Account.AccountType.CHECKING);
+        entityManager.persist(account);
+        return account;
+    }
+}
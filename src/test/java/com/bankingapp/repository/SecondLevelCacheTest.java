@@ -0,0 +1,218 @@
+package com.bankingapp.repository;
+
+import com.bankingapp.config.SqlStatementCounter;
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.User;
+import org.hibernate.dialect.MySQL8Dialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the second-level cache: repeated user lookups and account number lookups from a new
+ * persistence context must not reach the database beyond the account row itself, and account
+ * balances must always be read from the database.
+ */
+public class SecondLevelCacheTest {
+
+    private static final String ACCOUNT_NUMBER = "8000000001";
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory entityManagerFactory;
+    private Long userId;
+    private Long accountId;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:second_level_cache;MODE=MySQL;DB_CLOSE_DELAY=-1");
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.dialect", MySQL8Dialect.class.getName());
+        properties.put("hibernate.session_factory.statement_inspector", SqlStatementCounter.class.getName());
+        properties.put("hibernate.cache.use_second_level_cache", "true");
+        properties.put("hibernate.cache.use_query_cache", "true");
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.provider", "org.ehcache.jsr107.EhcacheCachingProvider");
+        properties.put("hibernate.javax.cache.uri", "ehcache.xml");
+
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.bankingapp.entity");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(properties);
+        factoryBean.afterPropertiesSet();
+        entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        User user = new User("cached", "cached@example.com", "password123", "First", "Last");
+        entityManager.persist(user);
+        Account account = new Account(ACCOUNT_NUMBER, user, Account.AccountType.CHECKING);
+        entityManager.persist(account);
+        entityManager.getTransaction().commit();
+        entityManager.close();
+        userId = user.getId();
+        accountId = account.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        factoryBean.destroy();
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    void findUserById_FromNewPersistenceContext_ServedFromCache() {
+        // Arrange
+        loadUser(userId);
+        SqlStatementCounter.reset();
+
+        // Act
+        User user = loadUser(userId);
+
+        // Assert
+        assertEquals("cached", user.getUsername());
+        assertEquals(0, SqlStatementCounter.getCount());
+    }
+
+    @Test
+    void findUserById_AfterEntityUpdate_ReturnsCommittedState() {
+        // Arrange
+        loadUser(userId);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.find(User.class, userId).setEmail("updated@example.com");
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        // Act
+        User user = loadUser(userId);
+
+        // Assert
+        assertEquals("updated@example.com", user.getEmail());
+    }
+
+    @Test
+    void findById_FromNewPersistenceContext_ReadsAccountFromDatabase() {
+        // Arrange
+        load(accountId);
+        SqlStatementCounter.reset();
+
+        // Act
+        Account account = load(accountId);
+
+        // Assert: balances are read-modify-written, so accounts are never served from the cache
+        assertEquals(ACCOUNT_NUMBER, account.getAccountNumber());
+        assertEquals(1, SqlStatementCounter.getCount());
+    }
+
+    @Test
+    void findByAccountNumber_FromNewPersistenceContext_ResolvesIdFromNaturalIdCache() {
+        // Arrange
+        findByAccountNumber(ACCOUNT_NUMBER);
+        SqlStatementCounter.reset();
+
+        // Act
+        Account account = findByAccountNumber(ACCOUNT_NUMBER);
+
+        // Assert: only the row itself is read, by primary key
+        assertEquals(accountId, account.getId());
+        assertEquals(1, SqlStatementCounter.getCount());
+    }
+
+    @Test
+    void findById_AfterBulkUpdate_ReturnsUpdatedBalance() {
+        // Arrange
+        load(accountId);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("UPDATE accounts SET balance = balance + 40.00 WHERE id = :accountId")
+            .setParameter("accountId", accountId)
+            .executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        // Act
+        Account account = load(accountId);
+
+        // Assert
+        assertEquals(0, new BigDecimal("40.00").compareTo(account.getBalance()));
+    }
+
+    @Test
+    void findByIdForUpdate_AfterBulkUpdate_LocksCurrentRow() {
+        // Arrange
+        load(accountId);
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        entityManager.createNativeQuery("UPDATE accounts SET balance = balance + 25.00 WHERE id = :accountId")
+            .setParameter("accountId", accountId)
+            .executeUpdate();
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        // Act
+        entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+            Account account = repository(entityManager).findByIdForUpdate(accountId).orElseThrow(IllegalStateException::new);
+
+            // Assert: the balance a transaction writes back is the one it holds the lock on
+            assertEquals(0, new BigDecimal("25.00").compareTo(account.getBalance()));
+            assertEquals(LockModeType.PESSIMISTIC_WRITE, entityManager.getLockMode(account));
+            entityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private User loadUser(Long id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(User.class, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Account load(Long id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(Account.class, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private Account findByAccountNumber(String accountNumber) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return repository(entityManager).findByAccountNumber(accountNumber).orElseThrow(IllegalStateException::new);
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static AccountRepository repository(EntityManager entityManager) {
+        AccountRepositoryImpl lookup = new AccountRepositoryImpl();
+        ReflectionTestUtils.setField(lookup, "entityManager", entityManager);
+        return new JpaRepositoryFactory(entityManager)
+            .getRepository(AccountRepository.class, RepositoryFragments.just(lookup));
+    }
+}
@@ -0,0 +1,222 @@
+package com.bankingapp.search;
+
+import com.bankingapp.repository.TransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionDescriptionIndexTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @TempDir
+    Path indexDirectory;
+
+    private TransactionDescriptionIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = createIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void catchUp_IndexesBothSidesAndMatchesWordPrefixes() {
+        // Arrange
+        List<Object[]> rows = Arrays.asList(
+            new Object[] {1L, 10L, 20L, "Coffee Shop downtown"},
+            new Object[] {2L, 10L, null, "ATM withdrawal"},
+            new Object[] {3L, null, 10L, "Salary March"},
+            new Object[] {4L, 30L, 10L, "coffee beans"});
+        when(transactionRepository.findDescriptionsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        when(transactionRepository.findDescriptionsAfter(eq(4L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        long processed = index.catchUp(0L);
+
+        // Assert
+        assertEquals(4, processed);
+        assertArrayEquals(new long[] {1L, 4L}, index.findCandidateIds(10L, "coff").get());
+        assertArrayEquals(new long[] {1L}, index.findCandidateIds(10L, "coffee sh").get());
+        assertArrayEquals(new long[] {1L}, index.findCandidateIds(20L, "COFFEE").get());
+        assertArrayEquals(new long[0], index.findCandidateIds(20L, "salary").get());
+        assertFalse(index.findCandidateIds(10L, "a").isPresent());
+    }
+
+    @Test
+    void findCandidateIds_BeforeCatchUp_FallsBackToDatabase() {
+        // Act
+        Optional<long[]> candidates = index.findCandidateIds(10L, "coffee");
+
+        // Assert
+        assertFalse(candidates.isPresent());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void findCandidateIds_TooManyCandidates_FallsBackToDatabase() {
+        // Arrange
+        ReflectionTestUtils.setField(index, "maxCandidates", 1);
+        when(transactionRepository.findDescriptionsAfter(eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(
+            new Object[] {1L, 10L, null, "grocery store"},
+            new Object[] {2L, 10L, null, "grocery market"}));
+        when(transactionRepository.findDescriptionsAfter(eq(2L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        index.catchUp(0L);
+
+        // Act & Assert
+        assertFalse(index.findCandidateIds(10L, "grocery").isPresent());
+        assertArrayEquals(new long[] {2L}, index.findCandidateIds(10L, "grocery market").get());
+    }
+
+    @Test
+    void reopen_LoadsSegmentsAndResumesAfterCheckpoint() throws Exception {
+        // Arrange
+        when(transactionRepository.findDescriptionsAfter(eq(0L), any(Pageable.class))).thenReturn(
+            Collections.singletonList(new Object[] {1500L, 10L, null, "Rent payment"}));
+        when(transactionRepository.findDescriptionsAfter(eq(1500L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        index.catchUp(0L);
+        index.close();
+
+        // Act
+        index = createIndex();
+        index.run(null);
+
+        // Assert - resumes from the checkpoint less the overlap, and the segment answers without re-reading
+        assertTrue(Files.list(indexDirectory).anyMatch(file -> file.toString().endsWith(".seg")));
+        verify(transactionRepository).findDescriptionsAfter(eq(500L), any(Pageable.class));
+        assertArrayEquals(new long[] {1500L}, index.findCandidateIds(10L, "rent").get());
+    }
+
+    @Test
+    void flushAll_MergesSegmentsAboveLimit() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(index, "maxSegmentsPerShard", 2);
+        when(transactionRepository.findDescriptionsAfter(any(), any(Pageable.class))).thenReturn(Collections.emptyList());
+        index.catchUp(0L);
+
+        // Act
+        for (long id = 1; id <= 4; id++) {
+            ReflectionTestUtils.invokeMethod(index, "add", id, 10L, null, "invoice " + id);
+            index.flushAll();
+        }
+
+        // Assert
+        long segmentFiles = Files.list(indexDirectory).filter(file -> file.toString().endsWith(".seg")).count();
+        assertTrue(segmentFiles <= 2);
+        assertArrayEquals(new long[] {1L, 2L, 3L, 4L}, index.findCandidateIds(10L, "invoice").get());
+    }
+
+    @Test
+    void catchUpRecent_ReadsTransactionsSavedElsewhereSinceLastCatchUp() {
+        // Arrange
+        when(transactionRepository.findDescriptionsAfter(eq(0L), any(Pageable.class))).thenReturn(
+            Collections.singletonList(new Object[] {1500L, 10L, null, "Rent payment"}));
+        when(transactionRepository.findDescriptionsAfter(eq(1500L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        index.catchUp(0L);
+        // Saved by another instance after the first catch-up, so never indexed after commit here
+        when(transactionRepository.findDescriptionsAfter(eq(500L), any(Pageable.class))).thenReturn(Arrays.asList(
+            new Object[] {1500L, 10L, null, "Rent payment"},
+            new Object[] {1501L, 10L, null, "Rent deposit"}));
+        when(transactionRepository.findDescriptionsAfter(eq(1501L), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        long processed = index.catchUpRecent();
+
+        // Assert - re-reads from the last catch-up less the overlap
+        assertEquals(2, processed);
+        assertArrayEquals(new long[] {1500L, 1501L}, index.findCandidateIds(10L, "rent").get());
+    }
+
+    @Test
+    void catchUpRecent_BeforeStartupCatchUp_DoesNothing() {
+        assertEquals(0, index.catchUpRecent());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void wordPrefixPattern_MatchesTheSameTransactionsAsTheIndex() {
+        // Arrange
+        List<String> descriptions = Arrays.asList("Coffee Shop downtown", "payment for rent", "Rent-payment\nline 2",
+                                                  "Zahlung Müller", "ATM");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < descriptions.size(); i++) {
+            rows.add(new Object[] {i + 1L, 10L, null, descriptions.get(i)});
+        }
+        when(transactionRepository.findDescriptionsAfter(eq(0L), any(Pageable.class))).thenReturn(rows);
+        when(transactionRepository.findDescriptionsAfter(eq((long) rows.size()), any(Pageable.class)))
+            .thenReturn(Collections.emptyList());
+        index.catchUp(0L);
+
+        for (String filter : Arrays.asList("coff", "ent", "pay rent", "LINE", "shop coffee", "mü", "ller", "atm")) {
+            // Act
+            Pattern pattern = Pattern.compile(DescriptionTokenizer.wordPrefixPattern(DescriptionTokenizer.tokenize(filter)));
+            List<Long> matched = new ArrayList<>();
+            for (int i = 0; i < descriptions.size(); i++) {
+                if (pattern.matcher(descriptions.get(i).toLowerCase(Locale.ROOT)).find()) {
+                    matched.add(i + 1L);
+                }
+            }
+
+            // Assert
+            assertArrayEquals(matched.stream().mapToLong(Long::longValue).toArray(),
+                              index.findCandidateIds(10L, filter).get(), filter);
+        }
+        assertNull(DescriptionTokenizer.wordPrefixPattern(DescriptionTokenizer.tokenize("a -")));
+    }
+
+    @Test
+    void descriptionPattern_FilterWithoutTokens_MatchesAsSubstring() {
+        // Act
+        Pattern pattern = Pattern.compile(DescriptionTokenizer.descriptionPattern(" A-1 "));
+
+        // Assert
+        assertTrue(pattern.matcher("plan a-1 refund").find());
+        assertFalse(pattern.matcher("plan a 1 refund").find());
+        assertFalse(pattern.matcher("coffee shop").find());
+        assertEquals(DescriptionTokenizer.wordPrefixPattern(DescriptionTokenizer.tokenize("pay rent")),
+                     DescriptionTokenizer.descriptionPattern("pay rent"));
+        assertNull(DescriptionTokenizer.descriptionPattern("  "));
+    }
+
+    private TransactionDescriptionIndex createIndex() throws Exception {
+        TransactionDescriptionIndex created = new TransactionDescriptionIndex();
+        ReflectionTestUtils.setField(created, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "directory", indexDirectory.toString());
+        ReflectionTestUtils.setField(created, "shardCount", 4);
+        ReflectionTestUtils.setField(created, "flushThreshold", 1000);
+        ReflectionTestUtils.setField(created, "maxSegmentsPerShard", 8);
+        ReflectionTestUtils.setField(created, "maxCandidates", 1000);
+        ReflectionTestUtils.setField(created, "catchUpBatchSize", 100);
+        ReflectionTestUtils.setField(created, "catchUpOverlap", 1000L);
+        created.open();
+        return created;
+    }
+}
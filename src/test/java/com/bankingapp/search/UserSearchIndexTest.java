@@ -0,0 +1,137 @@
+package com.bankingapp.search;
+
+import com.bankingapp.entity.User;
+import com.bankingapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserSearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "loadBatchSize", 2);
+
+        List<Object[]> firstBatch = Arrays.asList(
+            new Object[] {1L, "jsmith", "john.smith@example.com", "John", "Smith", true},
+            new Object[] {2L, "smithy", "smithy@example.com", "Anna", "Lee", true});
+        List<Object[]> secondBatch = Collections.singletonList(
+            new Object[] {3L, "bob", "bob@smithfield.org", "Bob", "Jones", false});
+        when(userRepository.findSearchFieldsAfter(eq(0L), any(Pageable.class))).thenReturn(firstBatch);
+        when(userRepository.findSearchFieldsAfter(eq(2L), any(Pageable.class))).thenReturn(secondBatch);
+        when(userRepository.findSearchFieldsAfter(eq(3L), any(Pageable.class))).thenReturn(Collections.emptyList());
+        index.load();
+    }
+
+    @Test
+    void search_RanksExactMatchesAbovePrefixAndSubstring() {
+        // Act
+        Optional<Page<Long>> result = index.search("SMITH", true, Pageable.unpaged());
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(Arrays.asList(1L, 2L, 3L), result.get().getContent());
+    }
+
+    @Test
+    void search_ExcludesInactiveUsersAndPages() {
+        // Act
+        Page<Long> firstPage = index.search("smith", false, PageRequest.of(0, 1)).get();
+        Page<Long> secondPage = index.search("smith", false, PageRequest.of(1, 1)).get();
+
+        // Assert
+        assertEquals(2, firstPage.getTotalElements());
+        assertEquals(Collections.singletonList(1L), firstPage.getContent());
+        assertEquals(Collections.singletonList(2L), secondPage.getContent());
+    }
+
+    @Test
+    void search_ShortTermScansAllDocuments() {
+        // Act
+        Page<Long> result = index.search("an", true, Pageable.unpaged()).get();
+
+        // Assert
+        assertEquals(Collections.singletonList(2L), result.getContent());
+    }
+
+    @Test
+    void indexUser_ReplacesPreviousTextOutsideTransaction() {
+        // Arrange
+        User renamed = new User();
+        renamed.setId(1L);
+        renamed.setUsername("jdoe");
+        renamed.setEmail("john.doe@example.com");
+        renamed.setFirstName("John");
+        renamed.setLastName("Doe");
+        renamed.setIsActive(true);
+
+        // Act
+        index.indexUser(renamed);
+
+        // Assert
+        assertEquals(Arrays.asList(2L, 3L), index.search("smith", true, Pageable.unpaged()).get().getContent());
+        assertEquals(Collections.singletonList(1L), index.search("doe", true, Pageable.unpaged()).get().getContent());
+    }
+
+    @Test
+    void load_UpsertCommittedWhileReading_SurvivesRebuild() {
+        // Arrange - the rename commits after the reload has read the old row
+        User renamed = new User();
+        renamed.setId(1L);
+        renamed.setUsername("jdoe");
+        renamed.setEmail("john.doe@example.com");
+        renamed.setFirstName("John");
+        renamed.setLastName("Doe");
+        renamed.setIsActive(true);
+        List<Object[]> staleBatch = Arrays.asList(
+            new Object[] {1L, "jsmith", "john.smith@example.com", "John", "Smith", true},
+            new Object[] {2L, "smithy", "smithy@example.com", "Anna", "Lee", true});
+        when(userRepository.findSearchFieldsAfter(eq(2L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.indexUser(renamed);
+            return Collections.singletonList(new Object[] {3L, "bob", "bob@smithfield.org", "Bob", "Jones", false});
+        });
+        when(userRepository.findSearchFieldsAfter(eq(0L), any(Pageable.class))).thenReturn(staleBatch);
+
+        // Act
+        int loaded = index.load();
+
+        // Assert
+        assertEquals(3, loaded);
+        assertEquals(Arrays.asList(2L, 3L), index.search("smith", true, Pageable.unpaged()).get().getContent());
+        assertEquals(Collections.singletonList(1L), index.search("doe", true, Pageable.unpaged()).get().getContent());
+    }
+
+    @Test
+    void search_NotReady_ReturnsEmpty() {
+        // Arrange
+        UserSearchIndex unloaded = new UserSearchIndex();
+
+        // Act & Assert
+        assertFalse(unloaded.search("smith", true, Pageable.unpaged()).isPresent());
+    }
+}
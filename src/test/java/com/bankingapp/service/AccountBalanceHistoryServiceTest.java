@@ -0,0 +1,169 @@
+package com.bankingapp.service;
+
+import com.bankingapp.dto.BalanceHistoryPointDTO;
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.AccountBalanceBucket;
+import com.bankingapp.entity.AccountBalanceHistory;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.repository.AccountBalanceBucketRepository;
+import com.bankingapp.repository.AccountBalanceHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountBalanceHistoryServiceTest {
+
+    @Mock
+    private AccountBalanceHistoryRepository historyRepository;
+
+    @Mock
+    private AccountBalanceBucketRepository bucketRepository;
+
+    @InjectMocks
+    private AccountBalanceHistoryService accountBalanceHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountBalanceHistoryService, "maxChartPoints", 500);
+        ReflectionTestUtils.setField(accountBalanceHistoryService, "minuteRetentionDays", 7);
+        ReflectionTestUtils.setField(accountBalanceHistoryService, "hourRetentionDays", 180);
+    }
+
+    @Test
+    void recordTransaction_CompletedTransfer_RecordsSignedChangeForBothAccounts() {
+        // Arrange
+        Account from = createAccount(1L, "750.00");
+        Account to = createAccount(2L, "1250.00");
+        Transaction transfer = new Transaction("TXN-1", Transaction.TransactionType.TRANSFER, new BigDecimal("250.00"));
+        transfer.setFromAccount(from);
+        transfer.setToAccount(to);
+        transfer.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(bucketRepository.foldIntoBucket(anyLong(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        accountBalanceHistoryService.recordTransaction(transfer);
+
+        // Assert
+        ArgumentCaptor<AccountBalanceHistory> captor = ArgumentCaptor.forClass(AccountBalanceHistory.class);
+        verify(historyRepository, times(2)).save(captor.capture());
+        assertEquals(new BigDecimal("-250.00"), captor.getAllValues().get(0).getChangeAmount());
+        assertEquals(new BigDecimal("750.00"), captor.getAllValues().get(0).getBalance());
+        assertEquals(new BigDecimal("250.00"), captor.getAllValues().get(1).getChangeAmount());
+        assertEquals("TXN-1", captor.getAllValues().get(1).getTransactionReference());
+        verify(bucketRepository, times(6)).foldIntoBucket(anyLong(), any(), any(), any());
+        verify(bucketRepository, never()).insertBucketIfAbsent(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void recordTransaction_WithRecordedBalanceAfter_PrefersItOverAccountBalance() {
+        // Arrange
+        Transaction deposit = new Transaction("TXN-3", Transaction.TransactionType.DEPOSIT, new BigDecimal("40.00"));
+        deposit.setToAccount(createAccount(2L, "999.00"));
+        deposit.setToBalanceAfter(new BigDecimal("140.00"));
+        deposit.setStatus(Transaction.TransactionStatus.COMPLETED);
+        when(bucketRepository.foldIntoBucket(anyLong(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        accountBalanceHistoryService.recordTransaction(deposit);
+
+        // Assert
+        ArgumentCaptor<AccountBalanceHistory> captor = ArgumentCaptor.forClass(AccountBalanceHistory.class);
+        verify(historyRepository).save(captor.capture());
+        assertEquals(new BigDecimal("140.00"), captor.getValue().getBalance());
+    }
+
+    @Test
+    void recordTransaction_FailedTransaction_RecordsNothing() {
+        // Arrange
+        Transaction withdrawal = new Transaction("TXN-2", Transaction.TransactionType.WITHDRAWAL, BigDecimal.TEN);
+        withdrawal.setFromAccount(createAccount(1L, "100.00"));
+        withdrawal.setStatus(Transaction.TransactionStatus.FAILED);
+
+        // Act
+        accountBalanceHistoryService.recordTransaction(withdrawal);
+
+        // Assert
+        verifyNoInteractions(historyRepository, bucketRepository);
+    }
+
+    @Test
+    void recordBalanceChange_NewBucket_InsertsIt() {
+        // Arrange
+        LocalDateTime recordedAt = LocalDateTime.of(2024, 3, 5, 14, 27, 31);
+        BigDecimal balance = new BigDecimal("90.00");
+        when(bucketRepository.foldIntoBucket(anyLong(), any(), any(), any())).thenReturn(0);
+        when(bucketRepository.insertBucketIfAbsent(anyLong(), anyString(), any(), any())).thenReturn(1);
+
+        // Act
+        accountBalanceHistoryService.recordBalanceChange(1L, balance, BigDecimal.TEN, "DEPOSIT", "TXN-3", recordedAt);
+
+        // Assert
+        verify(bucketRepository).insertBucketIfAbsent(1L, "MINUTE", LocalDateTime.of(2024, 3, 5, 14, 27), balance);
+        verify(bucketRepository).insertBucketIfAbsent(1L, "HOUR", LocalDateTime.of(2024, 3, 5, 14, 0), balance);
+        verify(bucketRepository).insertBucketIfAbsent(eq(1L), eq("DAY"), eq(LocalDateTime.of(2024, 3, 5, 0, 0)), eq(balance));
+    }
+
+    @Test
+    void resolveResolution_PicksFinestRetainedTierWithinPointBudget() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+        // Act & Assert
+        assertEquals(AccountBalanceBucket.Resolution.MINUTE,
+            accountBalanceHistoryService.resolveResolution(now.minusHours(6), now, now));
+        assertEquals(AccountBalanceBucket.Resolution.HOUR,
+            accountBalanceHistoryService.resolveResolution(now.minusDays(14), now, now));
+        assertEquals(AccountBalanceBucket.Resolution.HOUR,
+            accountBalanceHistoryService.resolveResolution(now.minusDays(30), now.minusDays(29), now));
+        assertEquals(AccountBalanceBucket.Resolution.DAY,
+            accountBalanceHistoryService.resolveResolution(now.minusYears(2), now, now));
+    }
+
+    @Test
+    void downsample_MergesNeighbouringBucketsKeepingExtremesAndLast() {
+        // Arrange
+        List<BalanceHistoryPointDTO> points = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        for (int i = 0; i < 10; i++) {
+            BigDecimal value = BigDecimal.valueOf(i * 10L);
+            points.add(new BalanceHistoryPointDTO(start.plusDays(i), value, value.add(BigDecimal.ONE), value, 1L));
+        }
+
+        // Act
+        List<BalanceHistoryPointDTO> merged = AccountBalanceHistoryService.downsample(points, 4);
+
+        // Assert
+        assertEquals(4, merged.size());
+        assertEquals(start, merged.get(0).getBucketStart());
+        assertEquals(BigDecimal.valueOf(0L), merged.get(0).getMinBalance());
+        assertEquals(BigDecimal.valueOf(21L), merged.get(0).getMaxBalance());
+        assertEquals(BigDecimal.valueOf(20L), merged.get(0).getLastBalance());
+        assertEquals(3L, merged.get(0).getChangeCount());
+        assertEquals(BigDecimal.valueOf(90L), merged.get(3).getLastBalance());
+    }
+
+    private Account createAccount(Long id, String balance) {
+        Account account = new Account();
+        account.setId(id);
+        account.setBalance(new BigDecimal(balance));
+        return account;
+    }
+}
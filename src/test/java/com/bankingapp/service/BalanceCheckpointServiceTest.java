@@ -0,0 +1,184 @@
+package com.bankingapp.service;
+
+import com.bankingapp.dto.BalanceAsOfDTO;
+import com.bankingapp.entity.BalanceCheckpoint;
+import com.bankingapp.repository.ArchivedTransactionRepository;
+import com.bankingapp.repository.BalanceCheckpointRepository;
+import com.bankingapp.repository.TransactionRepository;
+import com.bankingapp.repository.projection.BalanceDeltaProjection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BalanceCheckpointServiceTest {
+
+    @Mock
+    private BalanceCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ArchivedTransactionRepository archivedTransactionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BalanceCheckpointService balanceCheckpointService;
+
+    private ExecutorService executor;
+    private LocalDateTime checkpointAt;
+    private LocalDateTime asOf;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        ReflectionTestUtils.setField(balanceCheckpointService, "auditExecutor", executor);
+        ReflectionTestUtils.setField(balanceCheckpointService, "hotMonths", 13);
+        checkpointAt = LocalDateTime.of(2024, 3, 1, 0, 0);
+        asOf = LocalDateTime.of(2024, 3, 1, 15, 30);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getBalanceAsOf_ReplaysOnlyTransactionsAfterNearestCheckpoint() {
+        // Arrange
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+            .thenReturn(Optional.of(new BalanceCheckpoint(1L, checkpointAt, new BigDecimal("1000.00"), 12L)));
+        when(transactionRepository.getBalanceDelta(1L, checkpointAt, asOf))
+            .thenReturn(delta("300.00", "125.50", 3L));
+        when(archivedTransactionRepository.getBalanceDelta(1L, checkpointAt, asOf))
+            .thenReturn(delta("0", "0", 0L));
+
+        // Act
+        BalanceAsOfDTO balance = balanceCheckpointService.getBalanceAsOf(1L, asOf);
+
+        // Assert
+        assertEquals(new BigDecimal("1174.50"), balance.getBalance());
+        assertEquals(checkpointAt, balance.getCheckpointAt());
+        assertEquals(3L, balance.getReplayedTransactions());
+    }
+
+    @Test
+    void getBalanceAsOf_NoCheckpoint_ReplaysHotAndArchivedTransactions() {
+        // Arrange
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, asOf))
+            .thenReturn(Optional.empty());
+        when(transactionRepository.getBalanceDelta(eq(1L), any(LocalDateTime.class), eq(asOf)))
+            .thenReturn(delta("50.00", "20.00", 2L));
+        when(archivedTransactionRepository.getBalanceDelta(eq(1L), any(LocalDateTime.class), eq(asOf)))
+            .thenReturn(delta("200.00", "80.00", 3L));
+
+        // Act
+        BalanceAsOfDTO balance = balanceCheckpointService.getBalanceAsOf(1L, asOf);
+
+        // Assert
+        assertEquals(new BigDecimal("150.00"), balance.getBalance());
+        assertNull(balance.getCheckpointAt());
+        assertEquals(5L, balance.getReplayedTransactions());
+    }
+
+    @Test
+    void getBalanceAsOf_CheckpointInHotWindow_DoesNotReadArchive() {
+        // Arrange
+        LocalDateTime recentCheckpointAt = LocalDate.now().atStartOfDay();
+        LocalDateTime recentAsOf = recentCheckpointAt.plusHours(1);
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, recentAsOf))
+            .thenReturn(Optional.of(new BalanceCheckpoint(1L, recentCheckpointAt, new BigDecimal("10.00"), 1L)));
+        when(transactionRepository.getBalanceDelta(1L, recentCheckpointAt, recentAsOf))
+            .thenReturn(delta("5.00", "0", 1L));
+
+        // Act
+        BalanceAsOfDTO balance = balanceCheckpointService.getBalanceAsOf(1L, recentAsOf);
+
+        // Assert
+        assertEquals(new BigDecimal("15.00"), balance.getBalance());
+        verifyNoInteractions(archivedTransactionRepository);
+    }
+
+    @Test
+    void getBalancesAsOf_ComputesEachAccountInItsOwnTransaction() {
+        // Arrange
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(anyLong(), eq(asOf)))
+            .thenReturn(Optional.empty());
+        when(transactionRepository.getBalanceDelta(anyLong(), any(LocalDateTime.class), eq(asOf)))
+            .thenAnswer(invocation -> delta(invocation.getArgument(0).toString(), "0", 1L));
+        when(archivedTransactionRepository.getBalanceDelta(anyLong(), any(LocalDateTime.class), eq(asOf)))
+            .thenReturn(delta("0", "0", 0L));
+
+        // Act
+        Map<Long, BalanceAsOfDTO> balances = balanceCheckpointService.getBalancesAsOf(Arrays.asList(3L, 1L, 2L, 1L), asOf);
+
+        // Assert
+        assertEquals(Arrays.asList(3L, 1L, 2L), Arrays.asList(balances.keySet().toArray()));
+        assertEquals(new BigDecimal("2"), balances.get(2L).getBalance());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void createCheckpoint_StoresReplayedBalanceOnce() {
+        // Arrange
+        when(checkpointRepository.existsByAccountIdAndCheckpointAt(1L, checkpointAt)).thenReturn(false, true);
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointAtLessThanEqualOrderByCheckpointAtDesc(1L, checkpointAt))
+            .thenReturn(Optional.empty());
+        when(transactionRepository.getBalanceDelta(eq(1L), any(LocalDateTime.class), eq(checkpointAt)))
+            .thenReturn(delta("500.00", "100.00", 4L));
+        when(archivedTransactionRepository.getBalanceDelta(eq(1L), any(LocalDateTime.class), eq(checkpointAt)))
+            .thenReturn(delta("0", "0", 0L));
+
+        // Act
+        boolean first = balanceCheckpointService.createCheckpoint(1L, checkpointAt);
+        boolean second = balanceCheckpointService.createCheckpoint(1L, checkpointAt);
+
+        // Assert
+        assertTrue(first);
+        assertFalse(second);
+        ArgumentCaptor<BalanceCheckpoint> captor = ArgumentCaptor.forClass(BalanceCheckpoint.class);
+        verify(checkpointRepository).save(captor.capture());
+        assertEquals(new BigDecimal("400.00"), captor.getValue().getBalance());
+        assertEquals(4L, captor.getValue().getTransactionCount());
+    }
+
+    private BalanceDeltaProjection delta(String credits, String debits, Long count) {
+        return new BalanceDeltaProjection() {
+            @Override
+            public BigDecimal getCreditAmount() { return new BigDecimal(credits); }
+
+            @Override
+            public BigDecimal getDebitAmount() { return new BigDecimal(debits); }
+
+            @Override
+            public Long getTransactionCount() { return count; }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.bankingapp.service;
+
+import com.bankingapp.dto.AccountRollupSummaryDTO;
+import com.bankingapp.dto.CashFlowDTO;
+import com.bankingapp.repository.DailyAccountRollupRepository;
+import com.bankingapp.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CashFlowServiceTest {
+
+    @Mock
+    private DailyAccountRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionRollupService transactionRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private CashFlowService cashFlowService;
+
+    @BeforeEach
+    void setUp() {
+        Executor directExecutor = Runnable::run;
+        ReflectionTestUtils.setField(cashFlowService, "analyticsExecutor", directExecutor);
+        ReflectionTestUtils.setField(cashFlowService, "maxCachedAccounts", 100);
+        ReflectionTestUtils.setField(cashFlowService, "clock",
+            Clock.fixed(LocalDateTime.of(2024, 3, 15, 12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void partition_ClipsFirstAndLastMonthToRange() {
+        // Act
+        List<CashFlowService.Partition> partitions =
+            CashFlowService.partition(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 3, 10));
+
+        // Assert
+        assertEquals(3, partitions.size());
+        assertEquals(LocalDate.of(2024, 1, 20), partitions.get(0).from);
+        assertEquals(LocalDate.of(2024, 1, 31), partitions.get(0).to);
+        assertTrue(partitions.get(1).isWholeMonth());
+        assertEquals(LocalDate.of(2024, 3, 1), partitions.get(2).from);
+        assertEquals(LocalDate.of(2024, 3, 10), partitions.get(2).to);
+        assertFalse(partitions.get(2).isWholeMonth());
+    }
+
+    @Test
+    void getCashFlow_MergesMonthsIntoTotalsAndSeries() {
+        // Arrange
+        when(transactionRollupService.isHistoryComplete()).thenReturn(true);
+        when(rollupRepository.summarizeByAccount(eq(1L), any(), any()))
+            .thenReturn(summary("100.00", "40.00"), summary("50.00", "70.00"));
+
+        // Act
+        CashFlowDTO cashFlow = cashFlowService.getCashFlow(1L,
+            LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 29, 23, 59));
+
+        // Assert
+        assertEquals(2, cashFlow.getPeriods().size());
+        assertEquals(new BigDecimal("150.00"), cashFlow.getTotalInflow());
+        assertEquals(new BigDecimal("110.00"), cashFlow.getTotalOutflow());
+        assertEquals(new BigDecimal("-20.00"), cashFlow.getPeriods().get(1).getNetCashFlow());
+        assertEquals(4L, cashFlow.getInflowCount());
+    }
+
+    @Test
+    void getCashFlow_ClosedMonthsCachedCurrentMonthRecomputed() {
+        // Arrange
+        when(transactionRollupService.isHistoryComplete()).thenReturn(true);
+        when(rollupRepository.summarizeByAccount(eq(1L), any(), any())).thenReturn(summary("10.00", "5.00"));
+        LocalDateTime start = LocalDateTime.of(2024, 2, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 3, 31, 0, 0);
+
+        // Act
+        cashFlowService.getCashFlow(1L, start, end);
+        CashFlowDTO second = cashFlowService.getCashFlow(1L, start, end);
+
+        // Assert
+        verify(rollupRepository, times(1)).summarizeByAccount(1L, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        verify(rollupRepository, times(2)).summarizeByAccount(1L, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+        assertEquals(new BigDecimal("20.00"), second.getTotalInflow());
+    }
+
+    @Test
+    void getCashFlow_BeforeBackfillCompletes_SumsTransactionsWithoutCaching() {
+        // Arrange
+        when(transactionRollupService.isHistoryComplete()).thenReturn(false);
+        when(transactionRepository.getCashFlowAnalysis(eq(1L), any(), any())).thenReturn(Collections.singletonList(
+            new Object[] {new BigDecimal("30.00"), new BigDecimal("12.00"), 3L, 1L}));
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 31, 0, 0);
+
+        // Act
+        cashFlowService.getCashFlow(1L, start, end);
+        CashFlowDTO second = cashFlowService.getCashFlow(1L, start, end);
+
+        // Assert
+        verify(transactionRepository, times(2)).getCashFlowAnalysis(1L, start,
+            LocalDate.of(2024, 1, 31).atTime(LocalTime.MAX));
+        verify(rollupRepository, never()).summarizeByAccount(any(), any(), any());
+        assertEquals(new BigDecimal("30.00"), second.getTotalInflow());
+        assertEquals(1L, second.getOutflowCount());
+    }
+
+    private AccountRollupSummaryDTO summary(String inflow, String outflow) {
+        return new AccountRollupSummaryDTO(0L, 0L, 0L, 2L, 1L, 2L, new BigDecimal(inflow), 1L,
+                                           new BigDecimal(outflow), 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,233 @@
+package com.bankingapp.service;
+
+import com.bankingapp.entity.InterestAccrualCheckpoint;
+import com.bankingapp.leaderboard.BalanceLeaderboard;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.InterestAccrualCheckpointRepository;
+import com.bankingapp.statistics.AccountTypeStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class InterestAccrualServiceTest {
+
+    private static final BigDecimal RATE = new BigDecimal("0.02");
+
+    private JdbcTemplate jdbcTemplate;
+    private AccountRepository accountRepository;
+    private InterestAccrualCheckpointRepository checkpointRepository;
+    private InterestAccrualService interestAccrualService;
+    private final Set<String> checkpoints = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:interest;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, balance DECIMAL(19,2), account_type VARCHAR(20), " +
+            "is_active BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT AUTO_INCREMENT PRIMARY KEY, transaction_id VARCHAR(50), " +
+            "from_account_id BIGINT, to_account_id BIGINT, transaction_type VARCHAR(20), amount DECIMAL(19,2), " +
+            "description VARCHAR(255), status VARCHAR(20), created_at TIMESTAMP, to_balance_after DECIMAL(19,2))");
+        jdbcTemplate.execute("CREATE TABLE interest_accrual (account_id BIGINT PRIMARY KEY, accrued_interest DECIMAL(19,10), " +
+            "last_accrual_date DATE, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE daily_account_rollup (account_id BIGINT, rollup_date DATE, completed_count BIGINT, " +
+            "pending_count BIGINT, failed_count BIGINT, inflow_count BIGINT, outflow_count BIGINT, deposit_count BIGINT, " +
+            "deposit_amount DECIMAL(19,2), withdrawal_count BIGINT, withdrawal_amount DECIMAL(19,2), transfer_in_count BIGINT, " +
+            "transfer_in_amount DECIMAL(19,2), transfer_out_count BIGINT, transfer_out_amount DECIMAL(19,2), " +
+            "min_amount DECIMAL(19,2), max_amount DECIMAL(19,2), first_transaction_at TIMESTAMP, last_transaction_at TIMESTAMP, " +
+            "updated_at TIMESTAMP, PRIMARY KEY (account_id, rollup_date))");
+
+        accountRepository = mock(AccountRepository.class);
+        checkpointRepository = mock(InterestAccrualCheckpointRepository.class);
+        when(checkpointRepository.existsByAccrualDateAndPartitionStart(any(), any()))
+            .thenAnswer(invocation -> checkpoints.contains(invocation.getArgument(0) + "/" + invocation.getArgument(1)));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            InterestAccrualCheckpoint checkpoint = invocation.getArgument(0);
+            checkpoints.add(checkpoint.getAccrualDate() + "/" + checkpoint.getPartitionStart());
+            return checkpoint;
+        });
+
+        interestAccrualService = new InterestAccrualService();
+        ReflectionTestUtils.setField(interestAccrualService, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(interestAccrualService, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(interestAccrualService, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(interestAccrualService, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(interestAccrualService, "balanceLeaderboard", mock(BalanceLeaderboard.class));
+        ReflectionTestUtils.setField(interestAccrualService, "accountTypeStatistics", mock(AccountTypeStatistics.class));
+        ReflectionTestUtils.setField(interestAccrualService, "annualRate", RATE);
+        ReflectionTestUtils.setField(interestAccrualService, "dayCountBasis", 365);
+        ReflectionTestUtils.setField(interestAccrualService, "partitionSize", 10L);
+        ReflectionTestUtils.setField(interestAccrualService, "parallelism", 2);
+        ReflectionTestUtils.setField(interestAccrualService, "batchSize", 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void dailyInterest_PositiveBalance_UsesAccrualScaleHalfEven() {
+        // 1000.00 * 0.02 / 365 = 0.05479452054794...
+        assertEquals(new BigDecimal("0.0547945205"),
+            InterestAccrualService.dailyInterest(new BigDecimal("1000.00"), RATE, 365));
+    }
+
+    @Test
+    void dailyInterest_ZeroOrNegativeBalance_AccruesNothing() {
+        assertEquals(0, InterestAccrualService.dailyInterest(BigDecimal.ZERO, RATE, 365).signum());
+        assertEquals(0, InterestAccrualService.dailyInterest(new BigDecimal("-50.00"), RATE, 365).signum());
+    }
+
+    @Test
+    void postableAmount_TruncatesToWholeCents() {
+        assertEquals(new BigDecimal("0.05"), InterestAccrualService.postableAmount(new BigDecimal("0.0599999999")));
+        assertEquals(new BigDecimal("0.00"), InterestAccrualService.postableAmount(new BigDecimal("0.0099999999")));
+    }
+
+    @Test
+    void carriedRemainder_OverAYear_PostsFullAnnualInterest() {
+        // Arrange
+        BigDecimal balance = new BigDecimal("1000.00");
+        BigDecimal carried = BigDecimal.ZERO;
+        BigDecimal posted = BigDecimal.ZERO;
+
+        // Act - 365 days at a constant balance, posting whole cents and carrying the rest
+        for (int day = 0; day < 365; day++) {
+            BigDecimal accrued = carried.add(InterestAccrualService.dailyInterest(balance, RATE, 365));
+            BigDecimal postable = InterestAccrualService.postableAmount(accrued);
+            posted = posted.add(postable);
+            carried = accrued.subtract(postable);
+        }
+
+        // Assert - 20.00 a year; rounding each day to cents would have posted 18.25
+        assertEquals(new BigDecimal("19.99"), posted);
+        assertTrue(carried.compareTo(new BigDecimal("0.01")) < 0);
+        assertEquals(0, posted.add(carried).setScale(2, RoundingMode.HALF_EVEN).compareTo(new BigDecimal("20.00")));
+    }
+
+    @Test
+    void interestTransactionId_IsUniquePerAccountAndDay() {
+        assertEquals("INT-20240131-42", InterestAccrualService.interestTransactionId(LocalDate.of(2024, 1, 31), 42L));
+    }
+
+    @Test
+    void accrue_CatchUpDay_PostsAtRunTimeInTodaysRollup() {
+        // Arrange
+        LocalDate accrualDate = LocalDate.now().minusDays(3);
+        createSavingsAccount(5L, "10000.00");
+        LocalDateTime runStartedAt = LocalDateTime.now().withNano(0);
+
+        // Act
+        InterestAccrualService.AccrualTotals totals = interestAccrualService.accrue(accrualDate);
+
+        // Assert: 10000.00 * 0.02 / 365 = 0.5479..., posted today rather than on the day after accrualDate
+        assertEquals(1, totals.getPostedCount());
+        Timestamp postedAt = jdbcTemplate.queryForObject(
+            "SELECT created_at FROM transactions WHERE transaction_id = ?", Timestamp.class,
+            InterestAccrualService.interestTransactionId(accrualDate, 5L));
+        assertFalse(postedAt.toLocalDateTime().isBefore(runStartedAt));
+        assertEquals(0, new BigDecimal("0.54").compareTo(jdbcTemplate.queryForObject(
+            "SELECT deposit_amount FROM daily_account_rollup WHERE account_id = 5 AND rollup_date = ?",
+            BigDecimal.class, LocalDate.now())));
+        assertEquals(1, count("SELECT COUNT(*) FROM daily_account_rollup"));
+    }
+
+    @Test
+    void accrue_SameDayTwice_PostsOnce() {
+        // Arrange
+        LocalDate accrualDate = LocalDate.now().minusDays(1);
+        createSavingsAccount(5L, "10000.00");
+        interestAccrualService.accrue(accrualDate);
+        // A second run that does not see the first run's checkpoint, e.g. overlapping it
+        checkpoints.clear();
+
+        // Act
+        InterestAccrualService.AccrualTotals totals = interestAccrualService.accrue(accrualDate);
+
+        // Assert
+        assertEquals(0, totals.getPostedCount());
+        assertEquals(1, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(0, new BigDecimal("10000.54").compareTo(balance(5L)));
+    }
+
+    @Test
+    void accrue_CheckpointedPartition_IsSkippedOnResume() {
+        // Arrange
+        LocalDate accrualDate = LocalDate.now().minusDays(1);
+        createSavingsAccount(5L, "10000.00");
+        createSavingsAccount(15L, "10000.00");
+        checkpoints.add(accrualDate + "/0");
+
+        // Act
+        InterestAccrualService.AccrualTotals totals = interestAccrualService.accrue(accrualDate);
+
+        // Assert
+        assertEquals(2, totals.getPartitions());
+        assertEquals(1, totals.getSkippedPartitions());
+        assertEquals(1, totals.getPostedCount());
+        assertEquals(0, new BigDecimal("10000.00").compareTo(balance(5L)));
+        assertEquals(0, new BigDecimal("10000.54").compareTo(balance(15L)));
+        assertTrue(checkpoints.contains(accrualDate + "/10"));
+    }
+
+    @Test
+    void accrue_ConsecutiveCatchUpDays_CompoundLikeOnTimeRuns() {
+        // Arrange
+        LocalDate firstDay = LocalDate.now().minusDays(3);
+        createSavingsAccount(5L, "1000000.00");
+        // A deposit after both days does not count towards either
+        jdbcTemplate.update("INSERT INTO transactions (transaction_id, to_account_id, transaction_type, amount, status, created_at) " +
+            "VALUES ('TXN-1', 5, 'DEPOSIT', 500.00, 'COMPLETED', ?)", Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + 500.00 WHERE id = 5");
+
+        // Act
+        interestAccrualService.accrue(firstDay);
+        interestAccrualService.accrue(firstDay.plusDays(1));
+
+        // Assert: the second day accrues on the first day's interest although it was posted after both days
+        BigDecimal firstAccrued = InterestAccrualService.dailyInterest(new BigDecimal("1000000.00"), RATE, 365);
+        BigDecimal firstPosted = InterestAccrualService.postableAmount(firstAccrued);
+        BigDecimal secondAccrued = firstAccrued.subtract(firstPosted)
+            .add(InterestAccrualService.dailyInterest(new BigDecimal("1000000.00").add(firstPosted), RATE, 365));
+        BigDecimal secondPosted = InterestAccrualService.postableAmount(secondAccrued);
+        assertEquals(0, secondPosted.compareTo(jdbcTemplate.queryForObject(
+            "SELECT amount FROM transactions WHERE transaction_id = ?", BigDecimal.class,
+            InterestAccrualService.interestTransactionId(firstDay.plusDays(1), 5L))));
+        assertEquals(0, new BigDecimal("1000500.00").add(firstPosted).add(secondPosted).compareTo(balance(5L)));
+    }
+
+    private void createSavingsAccount(long id, String balance) {
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, account_type, is_active, created_at) VALUES (?, ?, 'SAVINGS', TRUE, ?)",
+            id, new BigDecimal(balance), Timestamp.valueOf(LocalDateTime.now().minusDays(30)));
+        when(accountRepository.getAccountIdBounds()).thenReturn(Collections.singletonList(
+            jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM accounts",
+                (resultSet, rowNum) -> new Object[] {resultSet.getLong(1), resultSet.getLong(2)})));
+    }
+
+    private BigDecimal balance(long accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, accountId);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,184 @@
+package com.bankingapp.service;
+
+import com.bankingapp.entity.Account;
+import com.bankingapp.entity.DailyAccountRollup;
+import com.bankingapp.entity.Transaction;
+import com.bankingapp.entity.RollupBackfill;
+import com.bankingapp.repository.DailyAccountRollupRepository;
+import com.bankingapp.repository.RollupBackfillRepository;
+import com.bankingapp.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TransactionRollupServiceTest {
+
+    @Mock
+    private DailyAccountRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private RollupBackfillRepository backfillRepository;
+
+
+    @InjectMocks
+    private TransactionRollupService transactionRollupService;
+
+    private Account fromAccount;
+    private Account toAccount;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        fromAccount = new Account();
+        fromAccount.setId(1L);
+        toAccount = new Account();
+        toAccount.setId(2L);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void recordTransaction_CompletedTransfer_UpdatesBothSides() {
+        // Arrange
+        Transaction transfer = createTransaction(fromAccount, toAccount, Transaction.TransactionType.TRANSFER,
+            Transaction.TransactionStatus.COMPLETED, "250.00");
+        when(rollupRepository.incrementRollup(anyLong(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+            anyLong(), any(), anyLong(), any(), anyLong(), any(), anyLong(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        transactionRollupService.recordTransaction(transfer);
+
+        // Assert
+        verify(rollupRepository).incrementRollup(1L, today, 1L, 0L, 0L, 0L, 1L,
+            0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 1L, new BigDecimal("250.00"),
+            new BigDecimal("250.00"), new BigDecimal("250.00"), transfer.getCreatedAt(), transfer.getCreatedAt());
+        verify(rollupRepository).incrementRollup(2L, today, 1L, 0L, 0L, 1L, 0L,
+            0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 1L, new BigDecimal("250.00"), 0L, BigDecimal.ZERO,
+            new BigDecimal("250.00"), new BigDecimal("250.00"), transfer.getCreatedAt(), transfer.getCreatedAt());
+        verify(rollupRepository, never()).insertEmptyRollupIfAbsent(anyLong(), any());
+    }
+
+    @Test
+    void recordTransaction_FailedWithdrawal_CountsStatusWithoutAmount() {
+        // Arrange
+        Transaction withdrawal = createTransaction(fromAccount, null, Transaction.TransactionType.WITHDRAWAL,
+            Transaction.TransactionStatus.FAILED, "75.00");
+        when(rollupRepository.incrementRollup(anyLong(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+            anyLong(), any(), anyLong(), any(), anyLong(), any(), anyLong(), any(), any(), any(), any(), any())).thenReturn(1);
+
+        // Act
+        transactionRollupService.recordTransaction(withdrawal);
+
+        // Assert
+        verify(rollupRepository).incrementRollup(1L, today, 0L, 0L, 1L, 0L, 1L,
+            0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO,
+            null, null, withdrawal.getCreatedAt(), withdrawal.getCreatedAt());
+    }
+
+    @Test
+    void recordTransaction_FirstTransactionOfDay_CreatesRowThenIncrements() {
+        // Arrange
+        Transaction deposit = createTransaction(null, toAccount, Transaction.TransactionType.DEPOSIT,
+            Transaction.TransactionStatus.COMPLETED, "100.00");
+        when(rollupRepository.incrementRollup(anyLong(), any(), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+            anyLong(), any(), anyLong(), any(), anyLong(), any(), anyLong(), any(), any(), any(), any(), any())).thenReturn(0, 1);
+
+        // Act
+        transactionRollupService.recordTransaction(deposit);
+
+        // Assert
+        verify(rollupRepository).insertEmptyRollupIfAbsent(2L, today);
+        verify(rollupRepository, times(2)).incrementRollup(2L, today, 1L, 0L, 0L, 1L, 0L,
+            1L, new BigDecimal("100.00"), 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO,
+            new BigDecimal("100.00"), new BigDecimal("100.00"), deposit.getCreatedAt(), deposit.getCreatedAt());
+    }
+
+    @Test
+    void rebuildAccountRollups_GroupsRowsByDay() {
+        // Arrange
+        LocalDate day = LocalDate.of(2024, 3, 1);
+        LocalDate cutoff = LocalDate.of(2024, 4, 1);
+        List<Object[]> outgoing = Collections.singletonList(new Object[] {
+            Date.valueOf(day), Transaction.TransactionType.WITHDRAWAL, Transaction.TransactionStatus.COMPLETED,
+            2L, new BigDecimal("40.00"), new BigDecimal("15.00"), new BigDecimal("25.00"),
+            day.atTime(9, 0), day.atTime(12, 0)});
+        List<Object[]> incoming = Arrays.asList(
+            new Object[] {Date.valueOf(day), Transaction.TransactionType.DEPOSIT,
+                Transaction.TransactionStatus.COMPLETED, 3L, new BigDecimal("300.00"), new BigDecimal("50.00"),
+                new BigDecimal("150.00"), day.atTime(10, 0), day.atTime(11, 0)},
+            new Object[] {Date.valueOf(day), Transaction.TransactionType.TRANSFER,
+                Transaction.TransactionStatus.FAILED, 1L, new BigDecimal("10.00"), new BigDecimal("10.00"),
+                new BigDecimal("10.00"), day.atTime(8, 0), day.atTime(8, 0)});
+        when(transactionRepository.getDailyOutgoingRollupForAccount(1L, cutoff.atStartOfDay())).thenReturn(outgoing);
+        when(transactionRepository.getDailyIncomingRollupForAccount(1L, cutoff.atStartOfDay())).thenReturn(incoming);
+
+        // Act
+        int rows = transactionRollupService.rebuildAccountRollups(1L, cutoff);
+
+        // Assert
+        assertEquals(1, rows);
+        verify(rollupRepository).deleteByAccountIdBefore(1L, cutoff);
+        ArgumentCaptor<DailyAccountRollup> captor = ArgumentCaptor.forClass(DailyAccountRollup.class);
+        verify(rollupRepository).save(captor.capture());
+
+        DailyAccountRollup rollup = captor.getValue();
+        assertEquals(day, rollup.getRollupDate());
+        assertEquals(5L, rollup.getCompletedCount());
+        assertEquals(1L, rollup.getFailedCount());
+        assertEquals(4L, rollup.getInflowCount());
+        assertEquals(2L, rollup.getOutflowCount());
+        assertEquals(new BigDecimal("300.00"), rollup.getDepositAmount());
+        assertEquals(new BigDecimal("40.00"), rollup.getWithdrawalAmount());
+        assertEquals(0L, rollup.getTransferInCount());
+        // The failed transfer widens the activity window but not the amount range
+        assertEquals(new BigDecimal("15.00"), rollup.getMinAmount());
+        assertEquals(new BigDecimal("150.00"), rollup.getMaxAmount());
+        assertEquals(day.atTime(8, 0), rollup.getFirstTransactionAt());
+        assertEquals(day.atTime(12, 0), rollup.getLastTransactionAt());
+    }
+
+    @Test
+    void isHistoryComplete_UntilBackfillCompletes_ReturnsFalse() {
+        // Arrange
+        LocalDate cutoff = LocalDate.of(2024, 4, 1);
+        when(backfillRepository.findFirstByOrderByCutoffDateDesc())
+            .thenReturn(Optional.empty(), Optional.of(new RollupBackfill(cutoff, 10L)));
+
+        // Act & Assert: checked again until a backfill is seen, then remembered
+        assertFalse(transactionRollupService.isHistoryComplete());
+        assertTrue(transactionRollupService.isHistoryComplete());
+        assertTrue(transactionRollupService.isHistoryComplete());
+        verify(backfillRepository, times(2)).findFirstByOrderByCutoffDateDesc();
+    }
+
+    private Transaction createTransaction(Account from, Account to, Transaction.TransactionType type,
+                                          Transaction.TransactionStatus status, String amount) {
+        Transaction transaction = new Transaction("TXN-" + type, type, new BigDecimal(amount));
+        transaction.setFromAccount(from);
+        transaction.setToAccount(to);
+        transaction.setStatus(status);
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
+}
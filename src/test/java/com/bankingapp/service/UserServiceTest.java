@@ -3,14 +3,19 @@ package com.bankingapp.service;
 import com.bankingapp.entity.User;
 import com.bankingapp.exception.UserNotFoundException;
 import com.bankingapp.repository.UserRepository;
+import com.bankingapp.search.UserSearchIndex;
+import com.bankingapp.statistics.UserStatisticsCounters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import javax.persistence.EntityManager;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +37,15 @@ public class UserServiceTest {
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private UserStatisticsCounters userStatisticsCounters;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -125,6 +139,7 @@ public class UserServiceTest {
         assertNotNull(result);
         assertEquals(testUser.getId(), result.getId());
         assertEquals(testUser.getUsername(), result.getUsername());
+        verify(entityManager).detach(testUser);
     }
 
     @Test
@@ -162,6 +177,31 @@ public class UserServiceTest {
         assertEquals("User not found with username: nonexistent", exception.getMessage());
     }
 
+    @Test
+    void loadUserById_ActiveInDatabase_ReturnsPrincipal() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findIsActiveById(1L)).thenReturn(Optional.of(true));
+
+        // Act
+        UserDetails result = userService.loadUserById(1L);
+
+        // Assert
+        assertEquals("testuser", result.getUsername());
+    }
+
+    @Test
+    void loadUserById_DeactivatedOnAnotherInstance_ThrowsException() {
+        // Arrange - the cached user is still active, the committed row is not
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.findIsActiveById(1L)).thenReturn(Optional.of(false));
+
+        // Act & Assert
+        UsernameNotFoundException exception = assertThrows(UsernameNotFoundException.class,
+            () -> userService.loadUserById(1L));
+        assertEquals("User account is deactivated", exception.getMessage());
+    }
+
     @Test
     void updateUser_Success() {
         // Arrange
@@ -182,6 +222,7 @@ public class UserServiceTest {
         assertEquals("Name", testUser.getLastName());
         assertEquals("1234567890", testUser.getPhone());
         verify(auditService).logUserUpdate(testUser);
+        verify(entityManager, never()).detach(any());
     }
 
     @Test
@@ -248,6 +289,7 @@ public class UserServiceTest {
         // Assert
         assertFalse(testUser.getIsActive());
         verify(auditService).logUserDeactivation(testUser);
+        verify(userStatisticsCounters).recordActivationChange(false);
     }
 
     @Test
@@ -369,6 +411,26 @@ public class UserServiceTest {
         assertEquals(80.0, result.getActiveUserPercentage(), 0.01);
     }
 
+    @Test
+    void getUserStatistics_CountersReady_ServesFromMemory() {
+        // Arrange
+        when(userStatisticsCounters.isReady()).thenReturn(true);
+        when(userStatisticsCounters.getTotalUsers()).thenReturn(10L);
+        when(userStatisticsCounters.getActiveUsers()).thenReturn(7L);
+        when(userStatisticsCounters.getSignupsLastHour()).thenReturn(2L);
+        when(userStatisticsCounters.getSignupsLastDay()).thenReturn(5L);
+
+        // Act
+        UserService.UserStatistics result = userService.getUserStatistics();
+
+        // Assert
+        assertEquals(3L, result.getInactiveUsers());
+        assertEquals(2L, result.getSignupsLastHour());
+        assertEquals(5L, result.getSignupsLastDay());
+        verify(userRepository, never()).count();
+        verify(userRepository, never()).countByIsActiveTrue();
+    }
+
     @Test
     void resetPassword_Success() {
         // Arrange
@@ -0,0 +1,210 @@
+package com.bankingapp.statement;
+
+import com.bankingapp.entity.StatementCheckpoint;
+import com.bankingapp.repository.AccountRepository;
+import com.bankingapp.repository.StatementCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class StatementGeneratorTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 2);
+
+    @TempDir
+    Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor statementExecutor;
+    private StatementGenerator statementGenerator;
+    private final List<StatementCheckpoint> checkpoints = Collections.synchronizedList(new ArrayList<>());
+    private long nextTransactionId = 1;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:statements;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, first_name VARCHAR(50), last_name VARCHAR(50))");
+        jdbcTemplate.execute("CREATE TABLE accounts (id BIGINT PRIMARY KEY, account_number VARCHAR(20), " +
+            "account_type VARCHAR(20), balance DECIMAL(19,2), is_active BOOLEAN, user_id BIGINT, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transactions (id BIGINT PRIMARY KEY, transaction_id VARCHAR(50), " +
+            "from_account_id BIGINT, to_account_id BIGINT, transaction_type VARCHAR(20), amount DECIMAL(19,2), " +
+            "description VARCHAR(255), status VARCHAR(20), created_at TIMESTAMP, from_balance_after DECIMAL(19,2), " +
+            "to_balance_after DECIMAL(19,2))");
+        jdbcTemplate.update("INSERT INTO users VALUES (1, 'Ada', 'Lovelace')");
+
+        AccountRepository accountRepository = mock(AccountRepository.class);
+        when(accountRepository.getAccountIdBounds()).thenAnswer(invocation -> jdbcTemplate.query(
+            "SELECT MIN(id), MAX(id) FROM accounts", (resultSet, rowNum) -> new Object[]{resultSet.getObject(1), resultSet.getObject(2)}));
+        StatementCheckpointRepository checkpointRepository = mock(StatementCheckpointRepository.class);
+        when(checkpointRepository.findByStatementMonth(any())).thenAnswer(invocation -> checkpoints.stream()
+            .filter(checkpoint -> checkpoint.getStatementMonth().equals(invocation.getArgument(0)))
+            .collect(Collectors.toList()));
+        when(checkpointRepository.save(any())).thenAnswer(invocation -> {
+            checkpoints.add(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+
+        statementExecutor = new ThreadPoolTaskExecutor();
+        statementExecutor.setCorePoolSize(2);
+        statementExecutor.setMaxPoolSize(2);
+        statementExecutor.initialize();
+
+        statementGenerator = new StatementGenerator();
+        ReflectionTestUtils.setField(statementGenerator, "accountRepository", accountRepository);
+        ReflectionTestUtils.setField(statementGenerator, "checkpointRepository", checkpointRepository);
+        ReflectionTestUtils.setField(statementGenerator, "transactionManager", new DataSourceTransactionManager(dataSource));
+        ReflectionTestUtils.setField(statementGenerator, "statementExecutor", statementExecutor);
+        ReflectionTestUtils.setField(statementGenerator, "bankName", "Test Bank");
+        ReflectionTestUtils.setField(statementGenerator, "partitionSize", 10L);
+        ReflectionTestUtils.setField(statementGenerator, "writeBufferBytes", 4096);
+        // H2 rejects the streaming fetch size init() sets, so wire the template and directory directly
+        ReflectionTestUtils.setField(statementGenerator, "jdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(statementGenerator, "outputDirectory", directory);
+
+        // Partition 0: a month with activity and a later deposit, and an account idle for the month
+        account(3, "ACC0000003", "1450.00", true);
+        deposit(3, "500.00", "500.00", LocalDateTime.of(2024, 1, 10, 9, 0));
+        withdrawal(3, "100.00", "400.00", LocalDateTime.of(2024, 2, 5, 9, 0));
+        deposit(3, "1000.00", "1450.00", LocalDateTime.of(2024, 3, 1, 9, 0));
+        account(5, "ACC0000005", "999.00", true);
+        deposit(5, "200.00", "200.00", LocalDateTime.of(2024, 1, 2, 9, 0));
+        transfer(5, 12, "20.00", "180.00", null, LocalDateTime.of(2024, 1, 20, 9, 0));
+        // Idle for the month after a row that predates balance_after, with deposits since
+        account(7, "ACC0000007", "260.00", true);
+        deposit(7, "200.00", null, LocalDateTime.of(2024, 1, 3, 9, 0));
+        deposit(7, "40.00", null, LocalDateTime.of(2024, 3, 2, 9, 0));
+        deposit(7, "20.00", "260.00", LocalDateTime.of(2024, 3, 9, 9, 0));
+        // Partition 10: only rows that predate balance_after before the month, fixed by a month transfer
+        account(12, "ACC0000012", "950.00", true);
+        transfer(12, 3, "50.00", "950.00", "450.00", LocalDateTime.of(2024, 2, 15, 9, 0));
+        // Partition 20: inactive and idle, so no statement
+        account(25, "ACC0000025", "0.00", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementExecutor.shutdown();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void generate_WritesEachPartitionWithBalancesFromBalanceAfter() throws IOException {
+        // Act
+        StatementGenerator.StatementTotals totals = statementGenerator.generate(MONTH);
+
+        // Assert
+        assertEquals(3, totals.getPartitions());
+        assertEquals(0, totals.getSkippedPartitions());
+        assertEquals(4, totals.getStatements());
+        assertEquals(3, totals.getTransactions());
+
+        Path monthDirectory = statementGenerator.getMonthDirectory(MONTH);
+        String active = read(monthDirectory.resolve("accounts-0").resolve("ACC0000003.txt"));
+        assertEquals("$500.00", summary(active, "Opening balance:"));
+        assertEquals("$450.00", summary(active, "Closing balance:"));
+
+        String idle = read(monthDirectory.resolve("accounts-0").resolve("ACC0000005.txt"));
+        assertEquals("$180.00", summary(idle, "Opening balance:"));
+        assertEquals("$180.00", summary(idle, "Closing balance:"));
+
+        String unrecorded = read(monthDirectory.resolve("accounts-0").resolve("ACC0000007.txt"));
+        assertEquals("$200.00", summary(unrecorded, "Opening balance:"));
+        assertEquals("$200.00", summary(unrecorded, "Closing balance:"));
+
+        String legacy = read(monthDirectory.resolve("accounts-10").resolve("ACC0000012.txt"));
+        assertEquals("$1,000.00", summary(legacy, "Opening balance:"));
+        assertEquals("$950.00", summary(legacy, "Closing balance:"));
+
+        assertFalse(Files.exists(monthDirectory.resolve("accounts-20").resolve("ACC0000025.txt")));
+        assertEquals(3, checkpoints.size());
+    }
+
+    @Test
+    void generate_AfterCheckpoint_SkipsCompletedPartitions() throws IOException {
+        // Arrange
+        checkpoints.add(new StatementCheckpoint(MONTH.atDay(1), 0L, 10L, 2L, 2L, 100L));
+
+        // Act
+        StatementGenerator.StatementTotals totals = statementGenerator.generate(MONTH);
+
+        // Assert
+        assertEquals(3, totals.getPartitions());
+        assertEquals(1, totals.getSkippedPartitions());
+        assertEquals(1, totals.getStatements());
+        Path monthDirectory = statementGenerator.getMonthDirectory(MONTH);
+        assertFalse(Files.exists(monthDirectory.resolve("accounts-0")));
+        assertTrue(Files.exists(monthDirectory.resolve("accounts-10").resolve("ACC0000012.txt")));
+        assertEquals(3, checkpoints.size());
+
+        // A second run finds every partition done
+        StatementGenerator.StatementTotals rerun = statementGenerator.generate(MONTH);
+        assertEquals(3, rerun.getSkippedPartitions());
+        assertEquals(0, rerun.getStatements());
+        assertEquals(3, checkpoints.size());
+    }
+
+    private void account(long id, String accountNumber, String balance, boolean active) {
+        jdbcTemplate.update("INSERT INTO accounts VALUES (?, ?, 'CHECKING', ?, ?, 1, ?)",
+            id, accountNumber, new BigDecimal(balance), active, Timestamp.valueOf(LocalDateTime.of(2023, 12, 1, 0, 0)));
+    }
+
+    private void deposit(long accountId, String amount, String balanceAfter, LocalDateTime createdAt) {
+        insert(null, accountId, "DEPOSIT", amount, null, balanceAfter, createdAt);
+    }
+
+    private void withdrawal(long accountId, String amount, String balanceAfter, LocalDateTime createdAt) {
+        insert(accountId, null, "WITHDRAWAL", amount, balanceAfter, null, createdAt);
+    }
+
+    private void transfer(long fromAccountId, long toAccountId, String amount, String fromBalanceAfter,
+                          String toBalanceAfter, LocalDateTime createdAt) {
+        insert(fromAccountId, toAccountId, "TRANSFER", amount, fromBalanceAfter, toBalanceAfter, createdAt);
+    }
+
+    private void insert(Long fromAccountId, Long toAccountId, String type, String amount, String fromBalanceAfter,
+                        String toBalanceAfter, LocalDateTime createdAt) {
+        long id = nextTransactionId++;
+        jdbcTemplate.update("INSERT INTO transactions VALUES (?, ?, ?, ?, ?, ?, ?, 'COMPLETED', ?, ?, ?)",
+            id, "TXN" + id, fromAccountId, toAccountId, type, new BigDecimal(amount), type.toLowerCase(),
+            Timestamp.valueOf(createdAt), fromBalanceAfter == null ? null : new BigDecimal(fromBalanceAfter),
+            toBalanceAfter == null ? null : new BigDecimal(toBalanceAfter));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    private static String summary(String text, String label) {
+        for (String line : text.split("\n")) {
+            if (line.startsWith(label)) {
+                return line.substring(label.length()).trim();
+            }
+        }
+        throw new AssertionError("No " + label + " line in statement");
+    }
+}
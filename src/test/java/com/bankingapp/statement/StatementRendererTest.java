@@ -0,0 +1,134 @@
+package com.bankingapp.statement;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementRendererTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 2);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void formatCurrency_GroupsThousandsAndRoundsToCents() {
+        assertEquals("$0.00", format("0"));
+        assertEquals("$999.99", format("999.99"));
+        assertEquals("$1,000.00", format("1000"));
+        assertEquals("$1,234,567.88", format("1234567.885"));
+        assertEquals("$1,234,567.90", format("1234567.895"));
+        assertEquals("-$12,345.60", format("-12345.6"));
+    }
+
+    @Test
+    void render_ShowsSummaryAndRunningBalance() {
+        // Arrange
+        AccountStatement statement = statement(new BigDecimal("100.00"));
+        statement.lines.add(line(1, "Salary", "2500.00"));
+        statement.lines.add(line(2, null, "-40.25"));
+        statement.closingBalance = new BigDecimal("2559.75");
+
+        // Act
+        String text = render(statement);
+
+        // Assert
+        assertEquals(-1, text.indexOf(StatementRenderer.PAGE_BREAK));
+        assertTrue(text.contains("Page 1 of 1"));
+        assertTrue(text.contains("Period:          2024-02-01 to 2024-02-29"));
+        assertTrue(text.contains("****7890 (SAVINGS)"));
+        assertTrue(text.contains("Credits (1):          $2,500.00"));
+        assertTrue(text.contains("Debits (1):              $40.25"));
+        assertTrue(text.contains("Closing balance:      $2,559.75"));
+        assertTrue(text.contains("2024-02-02 WITHDRAWAL"));
+
+        String[] lines = text.split("\n");
+        String last = lines[lines.length - 1];
+        assertTrue(last.endsWith("$40.25                    $2,559.75"), last);
+    }
+
+    @Test
+    void render_NoTransactions_SaysSo() {
+        AccountStatement statement = statement(new BigDecimal("5.00"));
+        statement.closingBalance = statement.openingBalance;
+
+        String text = render(statement);
+
+        assertTrue(text.contains("No transactions this period."));
+        assertTrue(text.contains("Opening balance:          $5.00"));
+    }
+
+    @Test
+    void render_ManyTransactions_SplitsIntoPages() {
+        // Arrange
+        AccountStatement statement = statement(BigDecimal.ZERO);
+        int count = StatementRenderer.LINES_PER_PAGE * 2 + 1;
+        for (int i = 0; i < count; i++) {
+            statement.lines.add(line(1 + i % 28, "Deposit\n" + i, "1.00"));
+        }
+        statement.closingBalance = BigDecimal.valueOf(count);
+
+        // Act
+        String text = render(statement);
+
+        // Assert
+        String[] pages = text.split(String.valueOf(StatementRenderer.PAGE_BREAK));
+        assertEquals(3, pages.length);
+        assertTrue(pages[0].contains("Page 1 of 3") && pages[0].contains("Closing balance:"));
+        assertTrue(pages[2].contains("Page 3 of 3") && !pages[2].contains("Closing balance:"));
+        assertTrue(pages[2].contains("Deposit " + (count - 1)));
+        assertTrue(pages[2].trim().endsWith("$" + count + ".00"));
+    }
+
+    @Test
+    void write_TextLargerThanBuffer_WritesEveryByte() throws Exception {
+        // Arrange
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("\u00dcberweisung ").append(i).append(" \u20ac\n");
+        }
+        Path path = directory.resolve("statement.txt");
+        Files.write(path, new byte[100000]);
+        StatementFileWriter writer = new StatementFileWriter(1024);
+
+        // Act
+        long written = writer.write(path, text);
+
+        // Assert
+        byte[] expected = text.toString().getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected.length, written);
+        assertArrayEquals(expected, Files.readAllBytes(path));
+    }
+
+    private static String format(String amount) {
+        StringBuilder out = new StringBuilder();
+        StatementRenderer.formatCurrency(new BigDecimal(amount), out);
+        return out.toString();
+    }
+
+    private static AccountStatement statement(BigDecimal openingBalance) {
+        AccountStatement statement = new AccountStatement(7L, "1234567890", "SAVINGS", "Jane Doe", true, MONTH);
+        statement.openingBalance = openingBalance;
+        return statement;
+    }
+
+    private static AccountStatement.Line line(int day, String description, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        return new AccountStatement.Line(LocalDateTime.of(2024, 2, day, 9, 30), "TXN-" + day,
+            value.signum() < 0 ? "WITHDRAWAL" : "DEPOSIT", description, value);
+    }
+
+    private static String render(AccountStatement statement) {
+        StringBuilder out = new StringBuilder();
+        new StatementRenderer("Test Bank").render(statement, out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,101 @@
+package com.bankingapp.statistics;
+
+import com.bankingapp.dto.AccountTypeDistributionDTO;
+import com.bankingapp.entity.Account;
+import com.bankingapp.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccountTypeStatisticsTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @InjectMocks
+    private AccountTypeStatistics accountTypeStatistics;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(accountTypeStatistics, "enabled", true);
+        ReflectionTestUtils.setField(accountTypeStatistics, "stripes", 4);
+        accountTypeStatistics.init();
+    }
+
+    @Test
+    void reconcile_FirstRun_LoadsDatabaseTotals() {
+        // Arrange
+        when(accountRepository.getBalanceMomentsByType()).thenReturn(Collections.singletonList(
+            new Object[] {Account.AccountType.SAVINGS, 2L, new BigDecimal("300.00"), new BigDecimal("50000.0000")}));
+
+        // Act
+        int drifted = accountTypeStatistics.reconcile();
+
+        // Assert
+        assertEquals(0, drifted);
+        assertTrue(accountTypeStatistics.isReady());
+        Map<String, Long> counts = accountTypeStatistics.getAccountCountByType();
+        assertEquals(2L, counts.get("SAVINGS"));
+        assertEquals(0L, counts.get("CHECKING"));
+    }
+
+    @Test
+    void recordChanges_MaintainCountSumAndStandardDeviation() {
+        // Arrange
+        when(accountRepository.getBalanceMomentsByType()).thenReturn(Collections.emptyList());
+        accountTypeStatistics.reconcile();
+
+        // Act
+        accountTypeStatistics.recordAccountAdded(Account.AccountType.CHECKING, BigDecimal.ZERO);
+        accountTypeStatistics.recordAccountAdded(Account.AccountType.CHECKING, BigDecimal.ZERO);
+        accountTypeStatistics.recordAccountAdded(Account.AccountType.CHECKING, BigDecimal.ZERO);
+        accountTypeStatistics.recordBalanceChange(Account.AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("100.00"));
+        accountTypeStatistics.recordBalanceChange(Account.AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("300.00"));
+        accountTypeStatistics.recordBalanceChange(Account.AccountType.CHECKING, BigDecimal.ZERO, new BigDecimal("500.00"));
+        accountTypeStatistics.recordAccountRemoved(Account.AccountType.CHECKING, new BigDecimal("500.00"));
+
+        // Assert
+        AccountTypeDistributionDTO checking = findType(accountTypeStatistics.getBalanceDistributionByType(), "CHECKING");
+        assertEquals(2L, checking.getAccountCount());
+        assertEquals(0, new BigDecimal("400.00").compareTo(checking.getTotalBalance()));
+        assertEquals(new BigDecimal("200.00"), checking.getAverageBalance());
+        assertEquals(new BigDecimal("100.00"), checking.getBalanceStandardDeviation());
+    }
+
+    @Test
+    void reconcile_CountersDrifted_ReplacesThemAndReportsDrift() {
+        // Arrange
+        when(accountRepository.getBalanceMomentsByType()).thenReturn(Collections.emptyList(), Arrays.<Object[]>asList(
+            new Object[] {Account.AccountType.CREDIT, 1L, new BigDecimal("-50.00"), new BigDecimal("2500.0000")}));
+        accountTypeStatistics.reconcile();
+        accountTypeStatistics.recordAccountAdded(Account.AccountType.SAVINGS, BigDecimal.TEN);
+
+        // Act
+        int drifted = accountTypeStatistics.reconcile();
+
+        // Assert
+        assertEquals(2, drifted);
+        Map<String, Long> counts = accountTypeStatistics.getAccountCountByType();
+        assertEquals(0L, counts.get("SAVINGS"));
+        assertEquals(1L, counts.get("CREDIT"));
+    }
+
+    private AccountTypeDistributionDTO findType(List<AccountTypeDistributionDTO> distribution, String type) {
+        return distribution.stream().filter(dto -> type.equals(dto.getAccountType())).findFirst()
+            .orElseThrow(IllegalStateException::new);
+    }
+}
@@ -0,0 +1,92 @@
+package com.bankingapp.statistics;
+
+import com.bankingapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserStatisticsCountersTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 10, 12, 0, 30);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserStatisticsCounters userStatisticsCounters;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userStatisticsCounters, "enabled", true);
+        ReflectionTestUtils.setField(userStatisticsCounters, "clock",
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @Test
+    void load_SeedsCountsAndSignupWindowsFromDatabase() {
+        // Arrange
+        when(userRepository.count()).thenReturn(50L);
+        when(userRepository.countByIsActiveTrue()).thenReturn(45L);
+        when(userRepository.findCreatedAtSince(NOW.minusDays(1))).thenReturn(Arrays.asList(
+            NOW.minusMinutes(5), NOW.minusMinutes(59), NOW.minusMinutes(60), NOW.minusHours(23)));
+
+        // Act
+        userStatisticsCounters.load();
+
+        // Assert
+        assertTrue(userStatisticsCounters.isReady());
+        assertEquals(50L, userStatisticsCounters.getTotalUsers());
+        assertEquals(45L, userStatisticsCounters.getActiveUsers());
+        assertEquals(2L, userStatisticsCounters.getSignupsLastHour());
+        assertEquals(4L, userStatisticsCounters.getSignupsLastDay());
+    }
+
+    @Test
+    void recordChanges_UpdateCountsAndSignupRate() {
+        // Arrange
+        when(userRepository.count()).thenReturn(0L);
+        when(userRepository.countByIsActiveTrue()).thenReturn(0L);
+        when(userRepository.findCreatedAtSince(any())).thenReturn(Arrays.asList());
+        userStatisticsCounters.load();
+
+        // Act
+        userStatisticsCounters.recordUserCreated(true, NOW);
+        userStatisticsCounters.recordUserCreated(true, NOW.minusSeconds(20));
+        userStatisticsCounters.recordActivationChange(false);
+
+        // Assert
+        assertEquals(2L, userStatisticsCounters.getTotalUsers());
+        assertEquals(1L, userStatisticsCounters.getActiveUsers());
+        assertEquals(2L, userStatisticsCounters.getSignupsLastHour());
+    }
+
+    @Test
+    void reconcile_CountsDrifted_ReplacesThem() {
+        // Arrange
+        when(userRepository.count()).thenReturn(10L, 12L);
+        when(userRepository.countByIsActiveTrue()).thenReturn(9L, 9L);
+        userStatisticsCounters.reconcile();
+
+        // Act
+        boolean drifted = userStatisticsCounters.reconcile();
+
+        // Assert
+        assertTrue(drifted);
+        assertEquals(12L, userStatisticsCounters.getTotalUsers());
+        assertEquals(9L, userStatisticsCounters.getActiveUsers());
+    }
+}
@@ -0,0 +1,194 @@
+package com.bankingapp.velocity;
+
+import com.bankingapp.exception.VelocityLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionVelocityMonitorTest {
+
+    private static final Long ACCOUNT_ID = 1L;
+
+    private TransactionVelocityMonitor monitor;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        VelocityProperties properties = new VelocityProperties();
+        properties.setBucketSeconds(10);
+        properties.setMaxWindowSeconds(3600);
+        properties.setRules(Arrays.asList(
+            new VelocityRule("rapid-debits", 60, 3L, null, VelocityRule.Action.FLAG),
+            new VelocityRule("debit-burst", 600, 5L, null, VelocityRule.Action.BLOCK),
+            new VelocityRule("hourly-amount", 3600, null, new BigDecimal("1000.00"), VelocityRule.Action.BLOCK)));
+
+        monitor = new TransactionVelocityMonitor();
+        ReflectionTestUtils.setField(monitor, "properties", properties);
+        ReflectionTestUtils.invokeMethod(monitor, "validateRules");
+        now = Instant.parse("2024-05-01T10:00:00Z");
+        setTime(now);
+    }
+
+    @Test
+    void checkAndRecord_FlagsOnceCountExceededWithinWindow() {
+        // Act
+        for (int i = 0; i < 3; i++) {
+            assertFalse(monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00")).isFlagged());
+        }
+        VelocityCheck fourth = monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+
+        // Assert
+        assertTrue(fourth.isFlagged());
+        assertEquals("rapid-debits", fourth.getFlaggedRules().get(0).getName());
+        assertEquals(4, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(1)));
+        assertEquals(new BigDecimal("40.00"), monitor.getDebitAmount(ACCOUNT_ID, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void checkAndRecord_OldDebitsSlideOutOfWindow() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+        }
+
+        // Act
+        setTime(now.plusSeconds(70));
+        VelocityCheck check = monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+
+        // Assert
+        assertFalse(check.isFlagged());
+        assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(1)));
+        assertEquals(4, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void checkAndRecord_BlockRuleRejectsWithoutCounting() {
+        // Arrange
+        monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("600.00"));
+
+        // Act & Assert
+        assertThrows(VelocityLimitExceededException.class,
+            () -> monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("500.00")));
+        assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofHours(1)));
+        assertFalse(monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("400.00")).isFlagged());
+    }
+
+    @Test
+    void checkAndRecord_InTransaction_CountsBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+
+            // Assert - reserved while the transaction runs, kept once it commits
+            assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(1)));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void checkAndRecord_RolledBack_IsTakenBack() {
+        // Arrange
+        monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("25.00"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+            setTime(now.plusSeconds(30));
+
+            // Act
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(1)));
+        assertEquals(new BigDecimal("25.00"), monitor.getDebitAmount(ACCOUNT_ID, Duration.ofMinutes(1)));
+        assertEquals(1, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void checkAndRecord_ConcurrentDebits_BlockRuleHoldsBeforeAnyCommit() throws Exception {
+        // Arrange - every debit runs in its own transaction that commits only after all debits were checked
+        int debits = 20;
+        CyclicBarrier start = new CyclicBarrier(debits);
+        CyclicBarrier checked = new CyclicBarrier(debits);
+        AtomicInteger passed = new AtomicInteger();
+        AtomicInteger blocked = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(debits);
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < debits; i++) {
+            results.add(executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    start.await();
+                    try {
+                        monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+                        passed.incrementAndGet();
+                    } catch (VelocityLimitExceededException e) {
+                        blocked.incrementAndGet();
+                    }
+                    checked.await();
+                    TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - debit-burst allows 5 debits in 10 minutes
+        assertEquals(5, passed.get());
+        assertEquals(debits - 5, blocked.get());
+        assertEquals(5, monitor.getDebitCount(ACCOUNT_ID, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void evictIdleCounters_DropsAccountsIdleLongerThanLongestWindow() {
+        // Arrange
+        monitor.checkAndRecord(ACCOUNT_ID, new BigDecimal("10.00"));
+        setTime(now.plusSeconds(7200));
+
+        // Act
+        monitor.evictIdleCounters();
+
+        // Assert
+        assertEquals(0, monitor.getDebitCount(ACCOUNT_ID, Duration.ofHours(1)));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(monitor, "counters")).isEmpty());
+    }
+
+    private void setTime(Instant instant) {
+        ReflectionTestUtils.setField(monitor, "clock", Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}